@@ -0,0 +1,106 @@
+package com.fullStack.expenseTracker;
+
+import com.fullStack.expenseTracker.enums.AccountType;
+import com.fullStack.expenseTracker.enums.ERole;
+import com.fullStack.expenseTracker.enums.ETransactionFrequency;
+import com.fullStack.expenseTracker.enums.ETransactionType;
+import com.fullStack.expenseTracker.models.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic in-memory fixtures for the benchmarks, shaped like one page of a regular user's data.
+ */
+public final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    public static User user() {
+        Role role = new Role(ERole.ROLE_USER);
+        role.setId(1);
+        User user = new User("alice", "alice@example.com", "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4Gs1n0P4VEqT5dDqDcBq5Ja",
+                null, null, true, Set.of(role));
+        user.setId(1L);
+        return user;
+    }
+
+    /**
+     * Transactions spread over the last 30 days, several per day, across four categories and two accounts.
+     */
+    public static List<Transaction> transactions(User user, int count) {
+        TransactionType expense = new TransactionType(ETransactionType.TYPE_EXPENSE);
+        expense.setTransactionTypeId(1);
+        TransactionType income = new TransactionType(ETransactionType.TYPE_INCOME);
+        income.setTransactionTypeId(2);
+
+        List<Category> categories = List.of(
+                category(1, "Groceries", expense),
+                category(2, "Rent", expense),
+                category(3, "Transport", expense),
+                category(4, "Salary", income)
+        );
+        List<Account> accounts = List.of(
+                account(1L, "Checking", AccountType.BANK, user),
+                account(2L, "Wallet", AccountType.CASH, user)
+        );
+
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = new Transaction(
+                    user,
+                    categories.get(random.nextInt(categories.size())),
+                    accounts.get(random.nextInt(accounts.size())),
+                    "Transaction " + i,
+                    Math.round(random.nextDouble() * 20000) / 100.0,
+                    today.minusDays(random.nextInt(30))
+            );
+            transaction.setTransactionId((long) i + 1);
+            transaction.setTimestamp(transaction.getDate().atTime(8, 0).plusMinutes(random.nextInt(720)));
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    /**
+     * Saved transactions due from two months ago to two weeks ahead, covering every due message.
+     */
+    public static List<SavedTransaction> savedTransactions(int count) {
+        ETransactionFrequency[] frequencies = ETransactionFrequency.values();
+        LocalDate today = LocalDate.now();
+        List<SavedTransaction> savedTransactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate upcomingDate = today.plusDays(14 - (i * 7L) % 75);
+            savedTransactions.add(SavedTransaction.builder()
+                    .planId(i + 1)
+                    .userId(1L)
+                    .transactionTypeId(1)
+                    .categoryId(1)
+                    .amount(50)
+                    .description("Plan " + i)
+                    .frequency(frequencies[i % frequencies.length])
+                    .upcomingDate(upcomingDate)
+                    .startDate(upcomingDate)
+                    .build());
+        }
+        return savedTransactions;
+    }
+
+    private static Category category(int id, String name, TransactionType transactionType) {
+        Category category = new Category(name, transactionType, true);
+        category.setCategoryId(id);
+        return category;
+    }
+
+    private static Account account(Long id, String name, AccountType accountType, User user) {
+        Account account = new Account(name, accountType, 1000, user);
+        account.setId(id);
+        return account;
+    }
+}
@@ -0,0 +1,55 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullStack.expenseTracker.BenchmarkData;
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.dto.reponses.PageResponseDto;
+import com.fullStack.expenseTracker.dto.reponses.TransactionResponseDto;
+import com.fullStack.expenseTracker.enums.ApiResponseStatus;
+import com.fullStack.expenseTracker.models.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialisation of the transaction list response, with the object mapper configured like Spring Boot's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"20", "200"})
+    private int pageSize;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private ApiResponseDto<PageResponseDto<Map<String, List<TransactionResponseDto>>>> response;
+
+    @Setup
+    public void setUp() {
+        TransactionServiceImpl transactionService = new TransactionServiceImpl();
+        List<TransactionResponseDto> dtos = new ArrayList<>();
+        for (Transaction transaction : BenchmarkData.transactions(BenchmarkData.user(), pageSize)) {
+            dtos.add(transactionService.transactionToTransactionResponseDto(transaction));
+        }
+        response = new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.OK,
+                new PageResponseDto<>(transactionService.groupTransactionsByDate(dtos), 5, 5L * pageSize)
+        );
+    }
+
+    @Benchmark
+    public byte[] serializeTransactionPage() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,37 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.BenchmarkData;
+import com.fullStack.expenseTracker.models.SavedTransaction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Due messages of a user's saved transactions, computed for each of them on every list request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SavedTransactionServiceBenchmark {
+
+    private final SavedTransactionServiceImpl savedTransactionService = new SavedTransactionServiceImpl();
+
+    private List<SavedTransaction> savedTransactions;
+
+    @Setup
+    public void setUp() {
+        savedTransactions = BenchmarkData.savedTransactions(50);
+    }
+
+    @Benchmark
+    public void getDueInformation(Blackhole blackhole) {
+        for (SavedTransaction savedTransaction : savedTransactions) {
+            blackhole.consume(savedTransactionService.getDueInformation(savedTransaction));
+        }
+    }
+}
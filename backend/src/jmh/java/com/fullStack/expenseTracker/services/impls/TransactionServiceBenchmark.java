@@ -0,0 +1,56 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.BenchmarkData;
+import com.fullStack.expenseTracker.dto.reponses.TransactionResponseDto;
+import com.fullStack.expenseTracker.models.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping and grouping of one page of transactions, as done by every transaction list request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionServiceBenchmark {
+
+    @Param({"20", "200"})
+    private int pageSize;
+
+    private final TransactionServiceImpl transactionService = new TransactionServiceImpl();
+
+    private List<Transaction> transactions;
+
+    private List<TransactionResponseDto> responseDtos;
+
+    @Setup
+    public void setUp() {
+        transactions = BenchmarkData.transactions(BenchmarkData.user(), pageSize);
+        responseDtos = toResponseDtos();
+    }
+
+    @Benchmark
+    public List<TransactionResponseDto> transactionToTransactionResponseDto() {
+        return toResponseDtos();
+    }
+
+    @Benchmark
+    public Map<String, List<TransactionResponseDto>> groupTransactionsByDate() {
+        return transactionService.groupTransactionsByDate(responseDtos);
+    }
+
+    private List<TransactionResponseDto> toResponseDtos() {
+        List<TransactionResponseDto> dtos = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            dtos.add(transactionService.transactionToTransactionResponseDto(transaction));
+        }
+        return dtos;
+    }
+}
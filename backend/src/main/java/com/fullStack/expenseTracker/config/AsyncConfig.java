@@ -0,0 +1,124 @@
+package com.fullStack.expenseTracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * With spring.threads.virtual.enabled Spring Boot moves Tomcat, @Async and the @Scheduled jobs to virtual threads,
+ * and the push and webhook executors below follow. Image and background jobs are CPU bound or deliberately
+ * single threaded and stay on their bounded platform pools.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${app.async.image.pool-size:2}")
+    private int imagePoolSize;
+
+    @Value("${app.async.image.queue-capacity:100}")
+    private int imageQueueCapacity;
+
+    @Value("${app.async.background.pool-size:1}")
+    private int backgroundPoolSize;
+
+    @Value("${app.async.push.pool-size:2}")
+    private int pushPoolSize;
+
+    @Value("${app.async.webhook.pool-size:4}")
+    private int webhookPoolSize;
+
+    /**
+     * Carries the trace and the other thread-bound context of the caller over to the task. Spring Boot applies it
+     * to the executors it builds as well, virtual thread ones included.
+     */
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    @Bean(name = "imageTaskExecutor")
+    public ThreadPoolTaskExecutor imageTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(imagePoolSize);
+        executor.setMaxPoolSize(imagePoolSize);
+        executor.setQueueCapacity(imageQueueCapacity);
+        executor.setThreadNamePrefix("image-");
+        // Thumbnails are best effort: when the queue is full the newest job is dropped instead of blocking uploads
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setTaskDecorator(contextPropagatingTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs one-off maintenance jobs such as index backfills, away from request and image threads.
+     */
+    @Bean(name = "backgroundTaskExecutor")
+    public ThreadPoolTaskExecutor backgroundTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(backgroundPoolSize);
+        executor.setMaxPoolSize(backgroundPoolSize);
+        executor.setThreadNamePrefix("background-");
+        executor.setTaskDecorator(contextPropagatingTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Writes dashboard updates to the open event streams, so a slow client never holds up a request thread.
+     * Each subscriber has at most one drain in flight, so on virtual threads no limit is needed.
+     */
+    @Bean(name = "pushTaskExecutor")
+    public TaskExecutor pushTaskExecutor() {
+        if (virtualThreads) {
+            return virtualThreadExecutor("push-", -1);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(pushPoolSize);
+        executor.setMaxPoolSize(pushPoolSize);
+        executor.setThreadNamePrefix("push-");
+        executor.setTaskDecorator(contextPropagatingTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Sends webhook batches. Each endpoint has at most one batch in flight, so a slow endpoint takes one thread
+     * and the queue never holds more than one task per endpoint. On virtual threads the pool size still caps the
+     * batches sent at once, and the poll waits for a free slot instead of queueing.
+     */
+    @Bean(name = "webhookTaskExecutor")
+    public TaskExecutor webhookTaskExecutor() {
+        if (virtualThreads) {
+            return virtualThreadExecutor("webhook-", webhookPoolSize);
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(webhookPoolSize);
+        executor.setMaxPoolSize(webhookPoolSize);
+        executor.setThreadNamePrefix("webhook-");
+        executor.setTaskDecorator(contextPropagatingTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    private SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskDecorator(contextPropagatingTaskDecorator());
+        // Lets running batches finish on shutdown, like the pools do
+        executor.setTaskTerminationTimeout(10_000);
+        return executor;
+    }
+}
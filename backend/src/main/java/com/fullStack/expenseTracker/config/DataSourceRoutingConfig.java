@@ -0,0 +1,90 @@
+package com.fullStack.expenseTracker.config;
+
+import com.fullStack.expenseTracker.datasource.ReadYourWritesTracker;
+import com.fullStack.expenseTracker.datasource.ReportingRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Two connection pools instead of Spring Boot's one: "primary", configured by spring.datasource.*, for the requests
+ * and writes, and "reporting" for the @ReportingRead methods, on the same database or on the replica set in
+ * app.datasource.reporting.url. The application uses the routingDataSource in front of them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.reporting.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Value("${app.datasource.reporting.url:}")
+    private String reportingUrl;
+
+    @Value("${app.datasource.reporting.username:}")
+    private String reportingUsername;
+
+    @Value("${app.datasource.reporting.password:}")
+    private String reportingPassword;
+
+    @Value("${app.datasource.reporting.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    @Value("${app.datasource.reporting.read-your-writes-max-users:10000}")
+    private int readYourWritesMaxUsers;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Same database and credentials as the primary pool unless a replica is configured.
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.reporting.hikari")
+    public HikariDataSource reportingDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(hasReplica() ? reportingUrl : properties.determineUrl())
+                .username(StringUtils.hasText(reportingUsername) ? reportingUsername : properties.determineUsername())
+                .password(StringUtils.hasText(reportingPassword) ? reportingPassword : properties.determinePassword())
+                .build();
+        dataSource.setPoolName("reporting");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                        @Qualifier("reportingDataSource") DataSource reportingDataSource) {
+        // Without a replica both pools see the same data, so there is nothing to wait for after a write
+        ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(
+                hasReplica() ? readYourWritesWindow : Duration.ZERO, readYourWritesMaxUsers);
+        ReportingRoutingDataSource routingDataSource = new ReportingRoutingDataSource(readYourWrites);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReportingRoutingDataSource.Route.PRIMARY, primaryDataSource,
+                ReportingRoutingDataSource.Route.REPORTING, reportingDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private boolean hasReplica() {
+        return StringUtils.hasText(reportingUrl);
+    }
+}
@@ -0,0 +1,46 @@
+package com.fullStack.expenseTracker.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.fullStack.expenseTracker.logging.RingBufferLogAppender;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LogBufferConfig {
+
+    private static final String APPENDER_NAME = "RING_BUFFER";
+
+    @Value("${app.admin.log-buffer.capacity:2000}")
+    private int capacity;
+
+    /**
+     * Attached to the root logger programmatically, so it works with Spring Boot's default console-only setup.
+     */
+    @Bean(destroyMethod = "")
+    public RingBufferLogAppender ringBufferLogAppender() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger rootLogger = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLogger.detachAppender(APPENDER_NAME);
+
+        RingBufferLogAppender appender = new RingBufferLogAppender(capacity);
+        appender.setName(APPENDER_NAME);
+        appender.setContext(loggerContext);
+        appender.start();
+        rootLogger.addAppender(appender);
+        return appender;
+    }
+
+    @PreDestroy
+    public void detachRingBufferLogAppender() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger rootLogger = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        if (rootLogger.getAppender(APPENDER_NAME) instanceof RingBufferLogAppender appender) {
+            rootLogger.detachAppender(appender);
+            appender.stop();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.fullStack.expenseTracker.config;
+
+import com.fullStack.expenseTracker.metrics.ServiceMetricsAspect;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Keeps the number of metric series bounded. Tags that would carry a user are dropped from every meter, and the
+ * tags filled from request paths and method names are capped, any series over the cap is not recorded.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Tag keys whose values would be one per user
+    private static final String[] USER_TAG_KEYS = {"user", "userId", "user.id", "email", "username"};
+
+    @Value("${app.metrics.max-uri-tags:100}")
+    private int maxUriTags;
+
+    @Value("${app.metrics.max-method-tags:300}")
+    private int maxMethodTags;
+
+    /**
+     * Records the methods annotated with @Timed.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    @Order(0)
+    public MeterFilter userTagsFilter() {
+        return MeterFilter.ignoreTags(USER_TAG_KEYS);
+    }
+
+    @Bean
+    @Order(1)
+    public MeterFilter uriTagLimit() {
+        return MeterFilter.maximumAllowableTags("http.server.requests", "uri", maxUriTags, MeterFilter.deny());
+    }
+
+    @Bean
+    @Order(1)
+    public MeterFilter requestQueriesUriTagLimit() {
+        return MeterFilter.maximumAllowableTags("expensia.request", "uri", maxUriTags, MeterFilter.deny());
+    }
+
+    @Bean
+    @Order(1)
+    public MeterFilter serviceMethodTagLimit() {
+        return MeterFilter.maximumAllowableTags(ServiceMetricsAspect.METRIC_NAME, "method", maxMethodTags, MeterFilter.deny());
+    }
+
+    @Bean
+    @Order(1)
+    public MeterFilter repositoryMethodTagLimit() {
+        return MeterFilter.maximumAllowableTags("spring.data.repository.invocations", "method", maxMethodTags, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,54 @@
+package com.fullStack.expenseTracker.config;
+
+import com.fullStack.expenseTracker.metrics.QueryAccountingDataSource;
+import com.fullStack.expenseTracker.metrics.QueryAccountingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Counts the SQL statements of every request, see QueryAccounting. Tests import it to count the statements of
+ * the code they run.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-accounting.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryAccountingConfig {
+
+    @Bean
+    public static BeanPostProcessor queryAccountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Wrappers of other DataSource beans, such as the routing one, are skipped, the pools behind
+                // them are wrapped already and each statement would count twice
+                if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)
+                        && !(bean instanceof AbstractRoutingDataSource)) {
+                    return new QueryAccountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication
+    public FilterRegistrationBean<QueryAccountingFilter> queryAccountingFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.query-accounting.repeat-threshold:10}") int repeatThreshold) {
+        FilterRegistrationBean<QueryAccountingFilter> registration =
+                new FilterRegistrationBean<>(new QueryAccountingFilter(meterRegistry, repeatThreshold));
+        // Outermost, so the statements of the security filters count too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,31 @@
+package com.fullStack.expenseTracker.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Creates the beans listed in app.startup.lazy-beans on first use instead of during startup. Meant for clients of
+ * services a request may never need, such as the mail sender and the S3 clients. A bean injected into an eager one
+ * is still created at startup unless the injection point is @Lazy as well.
+ */
+@Configuration
+@Slf4j
+public class StartupConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyBeansPostProcessor(Environment environment) {
+        String[] lazyBeans = environment.getProperty("app.startup.lazy-beans", String[].class, new String[0]);
+        return beanFactory -> {
+            for (String beanName : lazyBeans) {
+                if (beanFactory.containsBeanDefinition(beanName)) {
+                    beanFactory.getBeanDefinition(beanName).setLazyInit(true);
+                } else {
+                    log.debug("No bean {} to initialize lazily", beanName);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.fullStack.expenseTracker.config;
+
+import com.fullStack.expenseTracker.tracing.FileSpanExporter;
+import com.fullStack.expenseTracker.tracing.RepositorySpanInterceptor;
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.contextpropagation.ObservationAwareSpanThreadLocalAccessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Tracing on top of what Spring Boot traces by itself, the requests, scheduled jobs and, through
+ * datasource-micrometer, the SQL statements. Adds the repository spans here, the service and mail spans in
+ * TracingAspect and the S3 spans in S3Config. Spans go to the OTLP collector when
+ * management.otlp.tracing.endpoint is set, and to a file when app.tracing.file is.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public static BeanPostProcessor repositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        // Resolved on first use, a post processor is created before the tracer
+        SingletonSupplier<Tracer> tracerSupplier = SingletonSupplier.of(() -> tracer.getIfAvailable(() -> Tracer.NOOP));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    new RepositorySpanInterceptor(tracerSupplier, repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Lets ContextPropagatingTaskDecorator carry the spans opened with the Tracer, not only the observations, over
+     * to @Async tasks, so their spans are children of the service span that started them.
+     */
+    @Bean
+    public ObservationAwareSpanThreadLocalAccessor spanThreadLocalAccessor(ObservationRegistry observationRegistry,
+                                                                          Tracer tracer) {
+        ObservationAwareSpanThreadLocalAccessor accessor =
+                new ObservationAwareSpanThreadLocalAccessor(observationRegistry, tracer);
+        ContextRegistry.getInstance().registerThreadLocalAccessor(accessor);
+        return accessor;
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${app.tracing.file:}' != ''")
+    public FileSpanExporter fileSpanExporter(@Value("${app.tracing.file}") String file) throws IOException {
+        return new FileSpanExporter(Path.of(file));
+    }
+}
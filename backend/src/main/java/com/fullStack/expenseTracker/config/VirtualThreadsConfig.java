@@ -0,0 +1,63 @@
+package com.fullStack.expenseTracker.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullStack.expenseTracker.concurrency.RequestConcurrencyLimitFilter;
+import com.fullStack.expenseTracker.jfr.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Active with spring.threads.virtual.enabled. Virtual threads take away the bound the Tomcat thread pool used to
+ * put on concurrent requests, so the limit is derived from the primary connection pool instead, and pinned
+ * virtual threads are reported.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    // Most requests spend a fraction of their time on a connection, so a few of them share one
+    @Value("${app.threads.virtual.requests-per-connection:4}")
+    private int requestsPerConnection;
+
+    @Value("${app.threads.virtual.max-concurrent-requests:0}")
+    private int maxConcurrentRequests;
+
+    @Value("${app.threads.virtual.request-queue-timeout:5s}")
+    private Duration requestQueueTimeout;
+
+    @Bean
+    @ConditionalOnWebApplication
+    public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitFilter(
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        int limit = maxConcurrentRequests > 0 ? maxConcurrentRequests : connectionPoolSize * requestsPerConnection;
+        log.info("Virtual threads enabled, handling at most {} requests at once", limit);
+        FilterRegistrationBean<RequestConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new RequestConcurrencyLimitFilter(limit, requestQueueTimeout, objectMapper, meterRegistry));
+        // Before the security filters, which already load users from the database
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.threads.virtual.pinned-monitor.enabled", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.threads.virtual.pinned-monitor.threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+}
@@ -1,26 +1,41 @@
 package com.fullStack.expenseTracker.controllers;
 
 import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.dto.reponses.LogEventDto;
+import com.fullStack.expenseTracker.dto.reponses.LogTailDto;
 import com.fullStack.expenseTracker.dto.reponses.SystemOverviewDto;
+import com.fullStack.expenseTracker.dto.requests.WebhookRequestDto;
 import com.fullStack.expenseTracker.enums.ApiResponseStatus;
-import com.fullStack.expenseTracker.repository.CategoryRepository;
-import com.fullStack.expenseTracker.repository.TransactionRepository;
-import com.fullStack.expenseTracker.repository.UserRepository;
+import com.fullStack.expenseTracker.exceptions.WebhookNotFoundException;
+import com.fullStack.expenseTracker.exceptions.WebhookServiceLogicException;
+import com.fullStack.expenseTracker.outbox.OutboxDispatcher;
+import com.fullStack.expenseTracker.services.BlobStore;
+import com.fullStack.expenseTracker.services.FlightRecorderService;
+import com.fullStack.expenseTracker.services.LogStreamService;
+import com.fullStack.expenseTracker.services.SystemStatsService;
+import com.fullStack.expenseTracker.services.WebhookService;
+import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,35 +44,38 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AdminController {
 
+    private static final int LOG_TAIL_CHUNK_SIZE = 8192;
+
+    private static final int MAX_LOG_EVENTS = 1000;
+
+    @Autowired
+    private SystemStatsService systemStatsService;
+
     @Autowired
-    private UserRepository userRepository;
+    private BlobStore blobStore;
 
     @Autowired
-    private CategoryRepository categoryRepository;
+    private LogStreamService logStreamService;
 
     @Autowired
-    private TransactionRepository transactionRepository;
+    private OutboxDispatcher outboxDispatcher;
 
-    @Value("${app.user.profile.upload.dir}")
-    private String uploadDir;
+    @Autowired
+    private WebhookService webhookService;
+
+    @Autowired
+    private FlightRecorderService flightRecorderService;
 
     @GetMapping("/system-overview")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<ApiResponseDto<?>> getSystemOverview() {
         try {
-            long totalUsers = userRepository.count();
-            long totalAdmins = 0;
-            long totalRegularUsers = 0;
-            
-            try {
-                totalAdmins = userRepository.countByRolesRoleName("ROLE_ADMIN");
-                totalRegularUsers = userRepository.countByRolesRoleName("ROLE_USER");
-            } catch (Exception e) {
-                log.warn("Error counting users by role: {}", e.getMessage());
-            }
-
-            long totalCategories = categoryRepository.count();
-            long totalTransactions = transactionRepository.count();
+            // Counters are maintained in memory, so the overview never runs COUNT queries
+            long totalUsers = systemStatsService.getTotalUsers();
+            long totalAdmins = systemStatsService.getTotalAdmins();
+            long totalRegularUsers = systemStatsService.getTotalRegularUsers();
+            long totalCategories = systemStatsService.getTotalCategories();
+            long totalTransactions = systemStatsService.getTotalTransactions();
             double storageUsedMB = calculateStorageUsage();
             List<String> recentLogs = getRecentLogs(50);
 
@@ -86,38 +104,223 @@ public class AdminController {
         }
     }
 
-    private double calculateStorageUsage() {
+    /**
+     * Without "after" returns the latest events, otherwise the events written after that sequence.
+     * The returned cursor can be passed as "after" on the next call.
+     */
+    @GetMapping("/logs")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDto<?>> getLogs(@RequestParam(value = "after", required = false) Long after,
+                                                     @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                     @RequestParam(value = "level", required = false) String level,
+                                                     @RequestParam(value = "logger", required = false) String logger) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LOG_EVENTS));
+        LogTailDto tail = after != null
+                ? logStreamService.getEventsAfter(after, boundedLimit, level, logger)
+                : logStreamService.getRecentEvents(boundedLimit, level, logger);
+
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.OK,
+                tail
+        ));
+    }
+
+    /**
+     * Live tail as server-sent events. Reconnecting clients resume from the Last-Event-ID header.
+     */
+    @GetMapping(value = "/logs/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public SseEmitter streamLogs(@RequestParam(value = "level", required = false) String level,
+                                 @RequestParam(value = "logger", required = false) String logger,
+                                 @RequestParam(value = "after", required = false) Long after,
+                                 @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return logStreamService.subscribe(level, logger, after != null ? after : lastEventId);
+    }
+
+    /**
+     * Position, backlog and failures of every outbox consumer.
+     */
+    @GetMapping("/outbox")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDto<?>> getOutboxStatus() {
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.OK,
+                outboxDispatcher.getStatus()
+        ));
+    }
+
+    /**
+     * Rebuilds a consumer's derived data by handling the retained events from fromEventId on again.
+     */
+    @PostMapping("/outbox/{consumer}/replay")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDto<?>> replayOutbox(@PathVariable("consumer") String consumer,
+                                                          @RequestParam(value = "fromEventId", defaultValue = "0") long fromEventId) {
         try {
-            File uploadDirectory = new File(uploadDir);
-            if (!uploadDirectory.exists()) {
-                return 0.0;
-            }
-            return getFolderSize(uploadDirectory) / (1024.0 * 1024.0);
-        } catch (Exception e) {
-            log.error("Error calculating storage usage: {}", e.getMessage());
-            return 0.0;
+            outboxDispatcher.replay(consumer, fromEventId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponseDto<>(
+                    ApiResponseStatus.FAILED,
+                    HttpStatus.NOT_FOUND,
+                    e.getMessage()
+            ));
         }
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.OK,
+                "Outbox consumer " + consumer + " replays from event " + fromEventId
+        ));
+    }
+
+    /**
+     * Every webhook endpoint with its delivery lag, backlog, failures and circuit state.
+     */
+    @GetMapping("/webhooks")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDto<?>> getWebhooks() {
+        return webhookService.getAllWebhooks();
+    }
+
+    /**
+     * Registers an endpoint that receives the events of every user.
+     */
+    @PostMapping("/webhooks")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDto<?>> createWebhook(@RequestBody @Valid WebhookRequestDto webhookRequestDto)
+            throws WebhookServiceLogicException {
+        return webhookService.createGlobalWebhook(webhookRequestDto);
+    }
+
+    @DeleteMapping("/webhooks/{webhookId}")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDto<?>> deleteWebhook(@PathVariable("webhookId") Long webhookId)
+            throws WebhookNotFoundException {
+        return webhookService.deleteWebhookById(webhookId);
+    }
+
+    @GetMapping("/jfr")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDto<?>> getFlightRecordings() {
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.OK,
+                flightRecorderService.getRecordings()
+        ));
     }
 
-    private long getFolderSize(File folder) {
-        long size = 0;
-        if (folder.isFile()) {
-            return folder.length();
+    /**
+     * Starts a Flight Recorder recording with the "default" or "profile" settings. The duration is given as 90s,
+     * 5m or PT5M and defaults to the longest allowed.
+     */
+    @PostMapping("/jfr")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDto<?>> startFlightRecording(@RequestParam(value = "profile", defaultValue = "default") String profile,
+                                                                  @RequestParam(value = "duration", required = false) String duration,
+                                                                  @RequestParam(value = "name", required = false) String name) {
+        try {
+            Duration recordingDuration = duration != null ? DurationStyle.detectAndParse(duration) : null;
+            return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponseDto<>(
+                    ApiResponseStatus.SUCCESS,
+                    HttpStatus.CREATED,
+                    flightRecorderService.start(profile, recordingDuration, name)
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponseDto<>(
+                    ApiResponseStatus.FAILED,
+                    HttpStatus.BAD_REQUEST,
+                    e.getMessage()
+            ));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponseDto<>(
+                    ApiResponseStatus.FAILED,
+                    HttpStatus.CONFLICT,
+                    e.getMessage()
+            ));
         }
-        File[] files = folder.listFiles();
-        if (files != null) {
-            for (File file : files) {
-                if (file.isFile()) {
-                    size += file.length();
-                } else {
-                    size += getFolderSize(file);
-                }
+    }
+
+    @PostMapping("/jfr/{recordingId}/stop")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDto<?>> stopFlightRecording(@PathVariable("recordingId") long recordingId) {
+        try {
+            return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                    ApiResponseStatus.SUCCESS,
+                    HttpStatus.OK,
+                    flightRecorderService.stop(recordingId)
+            ));
+        } catch (IllegalArgumentException e) {
+            return recordingNotFound(e);
+        }
+    }
+
+    /**
+     * Streams what the recording holds so far as a .jfr file, for JDK Mission Control or "jfr print".
+     * Works on running recordings too, they keep recording.
+     */
+    @GetMapping("/jfr/{recordingId}/file")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<?> dumpFlightRecording(@PathVariable("recordingId") long recordingId) throws IOException {
+        Path file;
+        try {
+            file = flightRecorderService.dump(recordingId);
+        } catch (IllegalArgumentException e) {
+            return recordingNotFound(e);
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                Files.copy(file, outputStream);
+            } finally {
+                Files.deleteIfExists(file);
             }
+        };
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Stops the recording if needed and discards its data.
+     */
+    @DeleteMapping("/jfr/{recordingId}")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDto<?>> deleteFlightRecording(@PathVariable("recordingId") long recordingId) {
+        try {
+            flightRecorderService.close(recordingId);
+        } catch (IllegalArgumentException e) {
+            return recordingNotFound(e);
         }
-        return size;
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.OK,
+                "JFR recording " + recordingId + " has been deleted"
+        ));
+    }
+
+    private ResponseEntity<ApiResponseDto<?>> recordingNotFound(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponseDto<>(
+                ApiResponseStatus.FAILED,
+                HttpStatus.NOT_FOUND,
+                e.getMessage()
+        ));
+    }
+
+    private double calculateStorageUsage() {
+        // Maintained incrementally by the blob store, no directory walk or bucket listing per request
+        return blobStore.getUsedBytes() / (1024.0 * 1024.0);
     }
 
     private List<String> getRecentLogs(int lineCount) {
+        // The in-memory buffer also covers containers that only log to stdout, files are the fallback
+        List<LogEventDto> events = logStreamService.getRecentEvents(lineCount, null, null).getEvents();
+        if (!events.isEmpty()) {
+            return events.stream().map(LogEventDto::toString).collect(Collectors.toList());
+        }
+
         try {
             String[] logPaths = {
                     "logs/application.log",
@@ -126,11 +329,9 @@ public class AdminController {
             };
 
             for (String logPath : logPaths) {
-                File logFile = new File(logPath);
-                if (logFile.exists()) {
-                    List<String> allLines = Files.readAllLines(Paths.get(logPath));
-                    int startIndex = Math.max(0, allLines.size() - lineCount);
-                    return allLines.subList(startIndex, allLines.size());
+                Path logFile = Paths.get(logPath);
+                if (Files.isRegularFile(logFile)) {
+                    return readLastLines(logFile, lineCount);
                 }
             }
 
@@ -144,4 +345,49 @@ public class AdminController {
             return errorLog;
         }
     }
+
+    /**
+     * Reads the file backwards in fixed-size chunks until enough line breaks are found,
+     * so the cost depends on the tail length and not on the size of the log.
+     */
+    private List<String> readLastLines(Path file, int lineCount) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            long end = raf.length();
+            if (end > 0) {
+                raf.seek(end - 1);
+                if (raf.read() == '\n') {
+                    end--;
+                }
+            }
+
+            byte[] chunk = new byte[LOG_TAIL_CHUNK_SIZE];
+            long start = end;
+            int newlines = 0;
+
+            search:
+            while (start > 0) {
+                int length = (int) Math.min(chunk.length, start);
+                long chunkStart = start - length;
+                raf.seek(chunkStart);
+                raf.readFully(chunk, 0, length);
+
+                for (int i = length - 1; i >= 0; i--) {
+                    if (chunk[i] == '\n' && ++newlines == lineCount) {
+                        start = chunkStart + i + 1;
+                        break search;
+                    }
+                }
+                start = chunkStart;
+            }
+
+            byte[] tail = new byte[(int) (end - start)];
+            raf.seek(start);
+            raf.readFully(tail);
+
+            if (tail.length == 0) {
+                return new ArrayList<>();
+            }
+            return new ArrayList<>(Arrays.asList(new String(tail, StandardCharsets.UTF_8).split("\r?\n", -1)));
+        }
+    }
 }
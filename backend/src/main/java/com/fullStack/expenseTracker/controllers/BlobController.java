@@ -0,0 +1,46 @@
+package com.fullStack.expenseTracker.controllers;
+
+import com.fullStack.expenseTracker.services.BlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves blobs when they are kept on local disk. With S3 the public bucket URL is used instead.
+ */
+@RestController
+@RequestMapping("/expensia/blobs")
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class BlobController {
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @GetMapping("/**")
+    public ResponseEntity<Resource> getBlob(HttpServletRequest request) throws IOException {
+        String key = request.getRequestURI().substring(request.getContextPath().length() + "/expensia/blobs/".length());
+
+        if (!blobStore.exists(key)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        MediaType mediaType = MediaTypeFactory.getMediaType(key).orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS))
+                .body(new InputStreamResource(blobStore.get(key)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.fullStack.expenseTracker.controllers;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.dto.requests.CategoryRuleRequestDto;
+import com.fullStack.expenseTracker.exceptions.CategoryNotFoundException;
+import com.fullStack.expenseTracker.exceptions.CategoryRuleNotFoundException;
+import com.fullStack.expenseTracker.exceptions.CategoryRuleServiceLogicException;
+import com.fullStack.expenseTracker.exceptions.UserNotFoundException;
+import com.fullStack.expenseTracker.services.CategoryRuleService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.repository.query.Param;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/expensia/rules")
+public class CategoryRuleController {
+
+    @Autowired
+    private CategoryRuleService categoryRuleService;
+
+    @PostMapping("/create")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<ApiResponseDto<?>> createRule(@RequestBody @Valid CategoryRuleRequestDto categoryRuleRequestDto)
+            throws UserNotFoundException, CategoryNotFoundException, CategoryRuleServiceLogicException {
+        return categoryRuleService.createRule(categoryRuleRequestDto);
+    }
+
+    @GetMapping("/getByUser")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<ApiResponseDto<?>> getRulesByUser(@Param("email") String email)
+            throws UserNotFoundException {
+        return categoryRuleService.getRulesByUser(email);
+    }
+
+    @PutMapping("/update")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<ApiResponseDto<?>> updateRule(@Param("ruleId") Long ruleId,
+                                                        @RequestBody @Valid CategoryRuleRequestDto categoryRuleRequestDto)
+            throws UserNotFoundException, CategoryNotFoundException, CategoryRuleNotFoundException {
+        return categoryRuleService.updateRule(ruleId, categoryRuleRequestDto);
+    }
+
+    @DeleteMapping("/delete")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<ApiResponseDto<?>> deleteRule(@Param("ruleId") Long ruleId,
+                                                        @Param("email") String email)
+            throws UserNotFoundException, CategoryRuleNotFoundException {
+        return categoryRuleService.deleteRule(ruleId, email);
+    }
+
+    @PostMapping("/apply")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<ApiResponseDto<?>> applyRulesToHistory(@Param("email") String email)
+            throws UserNotFoundException {
+        return categoryRuleService.applyRulesToHistory(email);
+    }
+}
@@ -1,14 +1,19 @@
 package com.fullStack.expenseTracker.controllers;
 
 import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.security.UserDetailsImpl;
+import com.fullStack.expenseTracker.services.DashboardUpdateService;
 import com.fullStack.expenseTracker.services.ReportService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.repository.query.Param;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/expensia/report")
@@ -17,6 +22,9 @@ public class ReportController {
     @Autowired
     ReportService reportService;
 
+    @Autowired
+    DashboardUpdateService dashboardUpdateService;
+
 
     @GetMapping("/getTotalIncomeOrExpense")
     @PreAuthorize(("hasRole('ROLE_USER')"))
@@ -56,6 +64,16 @@ public class ReportController {
         return reportService.getDashboardSummary(email);
     }
 
+    /**
+     * Balance and budget changes of the signed-in user as server-sent events, replacing polling of the dashboard
+     * summary and budget progress. Load both once after (re)connecting, then apply the events.
+     */
+    @GetMapping(value = "/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize(("hasRole('ROLE_USER')"))
+    public SseEmitter streamDashboardUpdates(@AuthenticationPrincipal UserDetailsImpl user) {
+        return dashboardUpdateService.subscribe(user.getId());
+    }
+
     @GetMapping("/getCategoryExpenseBreakdown")
     @PreAuthorize(("hasRole('ROLE_USER')"))
     public ResponseEntity<ApiResponseDto<?>> getCategoryExpenseBreakdown(@Param("email") String email,
@@ -0,0 +1,26 @@
+package com.fullStack.expenseTracker.controllers;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.exceptions.UserNotFoundException;
+import com.fullStack.expenseTracker.services.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/expensia/sync")
+public class SyncController {
+
+    @Autowired
+    private SyncService syncService;
+
+    @GetMapping("/changes")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<ApiResponseDto<?>> getChanges(@RequestParam("email") String email,
+                                                        @RequestParam(value = "cursor", defaultValue = "0") long cursor,
+                                                        @RequestParam(value = "limit", defaultValue = "500") int limit)
+            throws UserNotFoundException {
+        return syncService.getChanges(email, cursor, limit);
+    }
+}
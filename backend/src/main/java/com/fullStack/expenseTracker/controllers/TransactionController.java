@@ -1,15 +1,20 @@
 package com.fullStack.expenseTracker.controllers;
 
+import com.fullStack.expenseTracker.enums.StatementFormat;
 import com.fullStack.expenseTracker.exceptions.*;
+import com.fullStack.expenseTracker.services.StatementImportService;
 import com.fullStack.expenseTracker.services.TransactionService;
 import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.dto.requests.TransactionFilterRequestDto;
 import com.fullStack.expenseTracker.dto.requests.TransactionRequestDto;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.repository.query.Param;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequestMapping("/expensia/transaction")
@@ -18,6 +23,9 @@ public class TransactionController {
     @Autowired
     TransactionService transactionService;
 
+    @Autowired
+    StatementImportService statementImportService;
+
     @GetMapping("/getAll")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public ResponseEntity<ApiResponseDto<?>> getAllTransactions(@Param("pageNumber") int pageNumber,
@@ -28,10 +36,24 @@ public class TransactionController {
 
     @PostMapping("/new")
     @PreAuthorize("hasRole('ROLE_USER')")
-    public ResponseEntity<ApiResponseDto<?>> addTransaction(@RequestBody @Valid TransactionRequestDto transactionRequestDto)
-            throws UserNotFoundException, CategoryNotFoundException, TransactionServiceLogicException {
+    public ResponseEntity<ApiResponseDto<?>> addTransaction(@RequestBody @Valid TransactionRequestDto transactionRequestDto,
+                                                            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey)
+            throws UserNotFoundException, CategoryNotFoundException, TransactionServiceLogicException, IdempotencyKeyConflictException {
 
-        return transactionService.addTransaction(transactionRequestDto);
+        return transactionService.addTransaction(transactionRequestDto, idempotencyKey);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<ApiResponseDto<?>> importStatement(@RequestParam("email") String email,
+                                                             @RequestParam("file") MultipartFile file,
+                                                             @RequestParam(value = "format", required = false) StatementFormat format,
+                                                             @RequestParam(value = "accountId", required = false) Long accountId,
+                                                             @RequestParam(value = "expenseCategoryId", required = false) Integer expenseCategoryId,
+                                                             @RequestParam(value = "incomeCategoryId", required = false) Integer incomeCategoryId)
+            throws UserNotFoundException, AccountNotFoundException, CategoryNotFoundException, StatementImportException {
+
+        return statementImportService.importStatement(email, file, format, accountId, expenseCategoryId, incomeCategoryId);
     }
 
     @GetMapping("/getByUser")
@@ -42,10 +64,20 @@ public class TransactionController {
                                                                    @Param("searchKey") String searchKey,
                                                                    @Param("sortField") String sortField,
                                                                    @Param("sortDirec") String sortDirec,
-                                                                   @Param("transactionType") String transactionType)
+                                                                   @Param("transactionType") String transactionType,
+                                                                   TransactionFilterRequestDto filterRequestDto)
             throws UserNotFoundException, TransactionServiceLogicException {
 
-        return transactionService.getTransactionsByUser(email, pageNumber, pageSize, searchKey, sortField, sortDirec, transactionType);
+        return transactionService.getTransactionsByUser(email, pageNumber, pageSize, searchKey, sortField, sortDirec, transactionType, filterRequestDto);
+    }
+
+    @GetMapping("/suggestions")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<ApiResponseDto<?>> getDescriptionSuggestions(@RequestParam("email") String email,
+                                                                       @RequestParam("prefix") String prefix,
+                                                                       @RequestParam(value = "limit", defaultValue = "10") int limit) {
+
+        return transactionService.getDescriptionSuggestions(email, prefix, limit);
     }
 
     @GetMapping("/getById")
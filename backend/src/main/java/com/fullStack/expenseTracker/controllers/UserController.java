@@ -64,11 +64,38 @@ public class UserController {
         return userService.uploadProfileImg(email, file);
     }
 
+    @PostMapping("/settings/profileImg/uploadUrl")
+    @PreAuthorize("hasRole('ROLE_USER') or hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDto<?>> createProfileImgUploadUrl(@RequestParam("email") String email,
+                                                                       @RequestParam("fileName") String fileName,
+                                                                       @RequestParam("contentType") String contentType,
+                                                                       @RequestParam("contentLength") long contentLength)
+            throws UserNotFoundException, UserServiceLogicException {
+        return userService.createProfileImgUploadUrl(email, fileName, contentType, contentLength);
+    }
+
+    @PostMapping("/settings/profileImg/complete")
+    @PreAuthorize("hasRole('ROLE_USER') or hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDto<?>> completeProfileImgUpload(@RequestParam("email") String email,
+                                                                      @RequestParam("key") String key)
+            throws UserNotFoundException, UserServiceLogicException {
+        return userService.completeProfileImgUpload(email, key);
+    }
+
+    @GetMapping("/settings/profileImg/downloadUrl")
+    @PreAuthorize("hasRole('ROLE_USER') or hasRole('ROLE_ADMIN')")
+    public ResponseEntity<ApiResponseDto<?>> getProfileImgDownloadUrl(@RequestParam("email") String email,
+                                                                      @RequestParam(value = "size", required = false) Integer size)
+            throws UserNotFoundException, UserServiceLogicException {
+        return userService.getProfileImgDownloadUrl(email, size);
+    }
+
     @GetMapping("/settings/profileImg")
     @PreAuthorize("hasRole('ROLE_USER') or hasRole('ROLE_ADMIN')")
-    public ResponseEntity<ApiResponseDto<?>> getProfileImg(@RequestParam("email") String email)
+    public ResponseEntity<ApiResponseDto<?>> getProfileImg(@RequestParam("email") String email,
+                                                           @RequestParam(value = "size", required = false) Integer size)
             throws UserNotFoundException, UserServiceLogicException, IOException {
-        return userService.getProfileImg(email);
+        return userService.getProfileImg(email, size);
     }
 
     @DeleteMapping("/settings/profileImg")
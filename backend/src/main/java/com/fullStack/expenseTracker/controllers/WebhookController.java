@@ -0,0 +1,63 @@
+package com.fullStack.expenseTracker.controllers;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.dto.requests.WebhookRequestDto;
+import com.fullStack.expenseTracker.exceptions.UserNotFoundException;
+import com.fullStack.expenseTracker.exceptions.WebhookNotFoundException;
+import com.fullStack.expenseTracker.exceptions.WebhookServiceLogicException;
+import com.fullStack.expenseTracker.services.WebhookService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.repository.query.Param;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/expensia/webhooks")
+public class WebhookController {
+
+    @Autowired
+    private WebhookService webhookService;
+
+    /**
+     * The signing secret is only part of this response, the receiver has to store it.
+     */
+    @PostMapping("/create")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<ApiResponseDto<?>> createWebhook(@RequestBody @Valid WebhookRequestDto webhookRequestDto)
+            throws UserNotFoundException, WebhookServiceLogicException {
+        return webhookService.createWebhook(webhookRequestDto);
+    }
+
+    @GetMapping("/getByUser")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<ApiResponseDto<?>> getWebhooksByUser(@Param("email") String email)
+            throws UserNotFoundException {
+        return webhookService.getWebhooksByUser(email);
+    }
+
+    @PutMapping("/update")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<ApiResponseDto<?>> updateWebhook(@Param("webhookId") Long webhookId,
+                                                           @RequestBody @Valid WebhookRequestDto webhookRequestDto)
+            throws UserNotFoundException, WebhookNotFoundException, WebhookServiceLogicException {
+        return webhookService.updateWebhook(webhookId, webhookRequestDto);
+    }
+
+    @DeleteMapping("/delete")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<ApiResponseDto<?>> deleteWebhook(@Param("webhookId") Long webhookId,
+                                                           @Param("email") String email)
+            throws UserNotFoundException, WebhookNotFoundException {
+        return webhookService.deleteWebhook(webhookId, email);
+    }
+
+    @PostMapping("/retryFailed")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    public ResponseEntity<ApiResponseDto<?>> retryFailedDeliveries(@Param("webhookId") Long webhookId,
+                                                                   @Param("email") String email)
+            throws UserNotFoundException, WebhookNotFoundException {
+        return webhookService.retryFailedDeliveries(webhookId, email);
+    }
+}
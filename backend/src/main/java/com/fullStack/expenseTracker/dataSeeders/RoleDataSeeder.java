@@ -11,6 +11,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class RoleDataSeeder {
@@ -20,12 +22,19 @@ public class RoleDataSeeder {
     @EventListener
     @Transactional
     public void LoadRoles(ContextRefreshedEvent event) {
+        // The refresh of the management context reaches this listener too
+        if (event.getApplicationContext().getParent() != null) {
+            return;
+        }
 
-        List<ERole> roles = Arrays.stream(ERole.values()).toList();
-        for(ERole erole: roles) {
-            if (!roleRepository.existsByName(erole)) {
-                roleRepository.save(new Role(erole));
-            }
+        // One query for all roles, inserts only for the missing ones
+        Set<ERole> existing = roleRepository.findAll().stream().map(Role::getName).collect(Collectors.toSet());
+        List<Role> missing = Arrays.stream(ERole.values())
+                .filter(erole -> !existing.contains(erole))
+                .map(Role::new)
+                .toList();
+        if (!missing.isEmpty()) {
+            roleRepository.saveAll(missing);
         }
     }
 
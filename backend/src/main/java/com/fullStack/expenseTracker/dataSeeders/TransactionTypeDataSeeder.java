@@ -11,6 +11,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class TransactionTypeDataSeeder {
@@ -20,14 +22,21 @@ public class TransactionTypeDataSeeder {
     @EventListener
     @Transactional
     public void LoadTransactionTypes(ContextRefreshedEvent event) {
-
-        List<ETransactionType> transactionTypes = Arrays.stream(ETransactionType.values()).toList();
-
-        for(ETransactionType eTransactionType: transactionTypes) {
-            if (!transactionTypeRepository.existsByTransactionTypeName(eTransactionType)) {
-                transactionTypeRepository.save(new TransactionType(eTransactionType));
-            }
+        // The refresh of the management context reaches this listener too
+        if (event.getApplicationContext().getParent() != null) {
+            return;
         }
 
+        // One query for all types, inserts only for the missing ones
+        Set<ETransactionType> existing = transactionTypeRepository.findAll().stream()
+                .map(TransactionType::getTransactionTypeName)
+                .collect(Collectors.toSet());
+        List<TransactionType> missing = Arrays.stream(ETransactionType.values())
+                .filter(eTransactionType -> !existing.contains(eTransactionType))
+                .map(TransactionType::new)
+                .toList();
+        if (!missing.isEmpty()) {
+            transactionTypeRepository.saveAll(missing);
+        }
     }
 }
@@ -0,0 +1,40 @@
+package com.fullStack.expenseTracker.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users committed a write within the window, the replication lag the replica is allowed, so their
+ * own reports still show what they just wrote. Expired users are dropped once the map grows past maxUsers.
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+
+    private final int maxUsers;
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window, int maxUsers) {
+        this.windowNanos = window.toNanos();
+        this.maxUsers = maxUsers;
+    }
+
+    public boolean isEnabled() {
+        return windowNanos > 0;
+    }
+
+    public void recordWrite(String user) {
+        long now = System.nanoTime();
+        lastWrites.put(user, now);
+        if (lastWrites.size() > maxUsers) {
+            lastWrites.values().removeIf(written -> now - written > windowNanos);
+        }
+    }
+
+    public boolean wroteRecently(String user) {
+        Long written = lastWrites.get(user);
+        return written != null && System.nanoTime() - written <= windowNanos;
+    }
+}
@@ -0,0 +1,20 @@
+package com.fullStack.expenseTracker.datasource;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks heavy report and admin reads. They run in a read-only transaction on the reporting pool, so a burst of them
+ * cannot take the connections of the write path. See ReportingRoutingDataSource.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReportingRead {
+}
@@ -0,0 +1,22 @@
+package com.fullStack.expenseTracker.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens a ReportingReads scope around the methods marked with @ReportingRead.
+ */
+@Aspect
+@Component
+public class ReportingReadAspect {
+
+    @Around("@within(com.fullStack.expenseTracker.datasource.ReportingRead)"
+            + " || @annotation(com.fullStack.expenseTracker.datasource.ReportingRead)")
+    public Object reportingRead(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (ReportingReads.Scope ignored = ReportingReads.begin()) {
+            return joinPoint.proceed();
+        }
+    }
+}
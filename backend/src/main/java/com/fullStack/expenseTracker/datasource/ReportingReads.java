@@ -0,0 +1,41 @@
+package com.fullStack.expenseTracker.datasource;
+
+/**
+ * Tells ReportingRoutingDataSource that the current thread runs a reporting read, between begin() and closing the
+ * returned scope. Scopes nest.
+ */
+public final class ReportingReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private ReportingReads() {
+    }
+
+    public static Scope begin() {
+        Scope scope = new Scope(ACTIVE.get());
+        ACTIVE.set(Boolean.TRUE);
+        return scope;
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Boolean previous;
+
+        private Scope(Boolean previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                ACTIVE.remove();
+            } else {
+                ACTIVE.set(previous);
+            }
+        }
+    }
+}
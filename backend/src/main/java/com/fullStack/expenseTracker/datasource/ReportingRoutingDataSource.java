@@ -0,0 +1,171 @@
+package com.fullStack.expenseTracker.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Sends the read-only transactions of @ReportingRead methods to the reporting pool and everything else to the
+ * primary one. A user who committed a write within the read-your-writes window reads from the primary, in case the
+ * reporting pool points at a lagging replica. A write is a transaction that executed an INSERT, UPDATE, DELETE or
+ * other data-changing statement and committed, see isWrite.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager asks for the connection before the
+ * transaction is marked read-only, the proxy only picks the pool when the first statement runs.
+ */
+public class ReportingRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPORTING
+    }
+
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReportingRoutingDataSource(ReadYourWritesTracker readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trackingWrites(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trackingWrites(super.getConnection(username, password));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly || !ReportingReads.isActive()) {
+            return Route.PRIMARY;
+        }
+        if (readYourWrites.isEnabled()) {
+            String user = currentUser();
+            if (user != null && readYourWrites.wroteRecently(user)) {
+                return Route.PRIMARY;
+            }
+        }
+        return Route.REPORTING;
+    }
+
+    /**
+     * Only statements that change data start the window, so plain reads outside read-only transactions do not pin
+     * the user's reports to the primary.
+     */
+    private Connection trackingWrites(Connection connection) {
+        if (!readYourWrites.isEnabled()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(ReportingRoutingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private void wrote() {
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The window starts when the write is visible on the primary
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWrites.recordWrite(user);
+                }
+            });
+        } else {
+            // Auto-commit, the write is already visible
+            readYourWrites.recordWrite(user);
+        }
+    }
+
+    /**
+     * Example: "select ..." and "with ... select" -> false, "insert ...", "update ...", a call or unknown SQL -> true.
+     */
+    static boolean isWrite(String sql) {
+        if (sql == null) {
+            return true;
+        }
+        String statement = sql.stripLeading();
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        String keyword = statement.substring(0, end).toLowerCase(Locale.ROOT);
+        return !(keyword.equals("select") || keyword.equals("with") || keyword.equals("show")
+                || keyword.equals("explain") || keyword.equals("values"));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        // One synchronization per transaction is enough, Spring binds one connection to it
+        private boolean wrote;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ReportingRoutingDataSource.invoke(connection, method, args);
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                // prepareStatement and prepareCall name their SQL up front, createStatement at execute time
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return Proxy.newProxyInstance(ReportingRoutingDataSource.class.getClassLoader(),
+                        new Class<?>[]{method.getReturnType()}, new StatementHandler(this, statement, sql));
+            }
+            if (method.getName().equals("commit") || method.getName().equals("rollback")) {
+                wrote = false;
+            }
+            return result;
+        }
+
+        private void executed(String sql) {
+            if (!wrote && isWrite(sql)) {
+                wrote = TransactionSynchronizationManager.isSynchronizationActive();
+                wrote();
+            }
+        }
+    }
+
+    private record StatementHandler(ConnectionHandler connection, Statement statement, String preparedSql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ReportingRoutingDataSource.invoke(statement, method, args);
+            if (method.getName().startsWith("execute")) {
+                connection.executed(args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql);
+            }
+            return result;
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
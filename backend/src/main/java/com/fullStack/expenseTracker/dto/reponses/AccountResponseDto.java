@@ -13,4 +13,5 @@ public class AccountResponseDto {
     private String accountName;
     private AccountType accountType;
     private double balance;
+    private String accountNumber;
 }
@@ -0,0 +1,16 @@
+package com.fullStack.expenseTracker.dto.reponses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryRuleResponseDto {
+    private Long id;
+    private String pattern;
+    private Integer categoryId;
+    private String categoryName;
+    private int priority;
+}
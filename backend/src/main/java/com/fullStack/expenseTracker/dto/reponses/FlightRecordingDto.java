@@ -0,0 +1,19 @@
+package com.fullStack.expenseTracker.dto.reponses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FlightRecordingDto {
+    private long id;
+    private String name;
+    private String profile;
+    // NEW, DELAYED, RUNNING, STOPPED or CLOSED
+    private String state;
+    private String startTime;
+    private String duration;
+    private long sizeBytes;
+}
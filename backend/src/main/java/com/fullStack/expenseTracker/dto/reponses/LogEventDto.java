@@ -0,0 +1,26 @@
+package com.fullStack.expenseTracker.dto.reponses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LogEventDto {
+    private long sequence;
+    private Instant timestamp;
+    private String level;
+    private String logger;
+    private String thread;
+    private String message;
+    private String throwable;
+
+    @Override
+    public String toString() {
+        String line = timestamp + " " + level + " [" + thread + "] " + logger + " - " + message;
+        return throwable != null ? line + System.lineSeparator() + throwable : line;
+    }
+}
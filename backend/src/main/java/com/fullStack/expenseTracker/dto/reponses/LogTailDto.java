@@ -0,0 +1,16 @@
+package com.fullStack.expenseTracker.dto.reponses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LogTailDto {
+    // Sequence of the last examined event, pass it back as "after" to continue from here
+    private long cursor;
+    private List<LogEventDto> events;
+}
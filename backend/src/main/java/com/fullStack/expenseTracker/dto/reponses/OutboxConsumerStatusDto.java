@@ -0,0 +1,18 @@
+package com.fullStack.expenseTracker.dto.reponses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxConsumerStatusDto {
+    private String consumer;
+    private long lastEventId;
+    private long pendingEvents;
+    // Skipped event ids that are still waited for
+    private long openGaps;
+    private int failures;
+    private String lastError;
+}
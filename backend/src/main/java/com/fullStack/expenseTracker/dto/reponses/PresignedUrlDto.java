@@ -0,0 +1,21 @@
+package com.fullStack.expenseTracker.dto.reponses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PresignedUrlDto {
+    private String key;
+    private String method;
+    private String url;
+    // Headers the client must send unchanged, they are part of the signature
+    private Map<String, List<String>> headers;
+    private Instant expiresAt;
+}
@@ -0,0 +1,21 @@
+package com.fullStack.expenseTracker.dto.reponses;
+
+import com.fullStack.expenseTracker.enums.StatementFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatementImportResultDto {
+    private StatementFormat format;
+    private long entries;
+    private long imported;
+    private long duplicates;
+    private long skipped;
+    // The first few reasons entries were skipped, with their line number in the file
+    private List<String> problems;
+}
@@ -0,0 +1,24 @@
+package com.fullStack.expenseTracker.dto.reponses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Entities inserted or updated, and deleted, after the requested cursor, each list in change order.
+ * The client stores the returned cursor and asks again while hasMore is set.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SyncChangesDto {
+    private long cursor;
+    private boolean hasMore;
+    private List<TransactionResponseDto> transactions;
+    private List<AccountResponseDto> accounts;
+    private List<CategoryBudgetResponseDto> budgets;
+    private List<SavedTransactionResponseDto> savedTransactions;
+    private List<SyncDeletionDto> deletions;
+}
@@ -0,0 +1,20 @@
+package com.fullStack.expenseTracker.dto.reponses;
+
+import com.fullStack.expenseTracker.webhooks.CircuitBreaker;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WebhookDeliveryStatusDto {
+    private CircuitBreaker.State circuit;
+    private long pendingDeliveries;
+    private long failedDeliveries;
+    // Age of the oldest event still waiting for delivery
+    private long lagSeconds;
+    private long deliveredEvents;
+    private long failedAttempts;
+    private String lastError;
+}
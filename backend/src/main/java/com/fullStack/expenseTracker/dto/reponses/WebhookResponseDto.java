@@ -0,0 +1,25 @@
+package com.fullStack.expenseTracker.dto.reponses;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fullStack.expenseTracker.enums.WebhookTopic;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WebhookResponseDto {
+    private Long id;
+    private String url;
+    private Set<WebhookTopic> topics;
+    private boolean enabled;
+    private LocalDateTime createdAt;
+    // Only returned when the endpoint is created
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String secret;
+    private WebhookDeliveryStatusDto delivery;
+}
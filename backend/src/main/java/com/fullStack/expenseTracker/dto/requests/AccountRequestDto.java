@@ -19,6 +19,8 @@ public class AccountRequestDto {
     private AccountType accountType;
     
     private double balance;
+
+    private String accountNumber;
     
     @NotBlank(message = "User email is required")
     private String email;
@@ -0,0 +1,26 @@
+package com.fullStack.expenseTracker.dto.requests;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryRuleRequestDto {
+
+    @NotBlank(message = "User email is required")
+    private String email;
+
+    @NotBlank(message = "Pattern is required")
+    @Size(max = 50, message = "Pattern can have atmost 50 characters!")
+    private String pattern;
+
+    @NotNull(message = "Category id is required")
+    private Integer categoryId;
+
+    private int priority;
+}
@@ -0,0 +1,32 @@
+package com.fullStack.expenseTracker.dto.requests;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Optional listing filters, bound from query parameters. Every field left out adds no predicate.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionFilterRequestDto {
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate fromDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate toDate;
+
+    private Double minAmount;
+
+    private Double maxAmount;
+
+    private List<Integer> categoryIds;
+
+    private List<Long> accountIds;
+}
@@ -0,0 +1,28 @@
+package com.fullStack.expenseTracker.dto.requests;
+
+import com.fullStack.expenseTracker.enums.WebhookTopic;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WebhookRequestDto {
+
+    private String email;
+
+    @NotBlank(message = "Webhook url is required")
+    @Size(max = 500, message = "Webhook url can have atmost 500 characters!")
+    private String url;
+
+    @NotEmpty(message = "At least one topic is required")
+    private Set<WebhookTopic> topics;
+
+    private boolean enabled = true;
+}
@@ -0,0 +1,10 @@
+package com.fullStack.expenseTracker.enums;
+
+public enum OutboxEventType {
+    TRANSACTION_CREATED,
+    TRANSACTION_UPDATED,
+    TRANSACTION_DELETED,
+    ACCOUNT_CHANGED,
+    BUDGET_CHANGED,
+    BUDGET_DELETED
+}
@@ -0,0 +1,29 @@
+package com.fullStack.expenseTracker.enums;
+
+import java.util.Locale;
+
+public enum StatementFormat {
+    CSV,
+    OFX,
+    CAMT053;
+
+    /**
+     * Guesses the format from the uploaded file name, returns null when the extension is unknown.
+     */
+    public static StatementFormat fromFileName(String fileName) {
+        if (fileName == null) {
+            return null;
+        }
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv") || name.endsWith(".txt")) {
+            return CSV;
+        }
+        if (name.endsWith(".ofx") || name.endsWith(".qfx")) {
+            return OFX;
+        }
+        if (name.endsWith(".xml") || name.endsWith(".053")) {
+            return CAMT053;
+        }
+        return null;
+    }
+}
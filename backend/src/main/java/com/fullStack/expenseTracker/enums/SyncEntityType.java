@@ -0,0 +1,8 @@
+package com.fullStack.expenseTracker.enums;
+
+public enum SyncEntityType {
+    TRANSACTION,
+    ACCOUNT,
+    CATEGORY_BUDGET,
+    SAVED_TRANSACTION
+}
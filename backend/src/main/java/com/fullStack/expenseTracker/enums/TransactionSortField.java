@@ -0,0 +1,44 @@
+package com.fullStack.expenseTracker.enums;
+
+import java.util.Locale;
+
+/**
+ * Sort orders accepted for transaction listings. Each one is backed by a (user_id, column) index on transaction.
+ */
+public enum TransactionSortField {
+    DATE("date", "t.date"),
+    AMOUNT("amount", "t.amount"),
+    ID("transactionId", "t.transaction_id");
+
+    private final String property;
+    private final String column;
+
+    TransactionSortField(String property, String column) {
+        this.property = property;
+        this.column = column;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Resolves a client supplied sort field, returns null when it is not one of the supported orders.
+     */
+    public static TransactionSortField fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return DATE;
+        }
+        String normalized = value.trim().replace("_", "").toLowerCase(Locale.ROOT);
+        for (TransactionSortField field : values()) {
+            if (field.property.toLowerCase(Locale.ROOT).equals(normalized) || field.name().toLowerCase(Locale.ROOT).equals(normalized)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
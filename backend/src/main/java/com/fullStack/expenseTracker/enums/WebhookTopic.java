@@ -0,0 +1,17 @@
+package com.fullStack.expenseTracker.enums;
+
+public enum WebhookTopic {
+    TRANSACTION,
+    BUDGET;
+
+    /**
+     * The topic an outbox event is delivered under, or null when webhooks do not carry it.
+     */
+    public static WebhookTopic of(OutboxEventType eventType) {
+        return switch (eventType) {
+            case TRANSACTION_CREATED, TRANSACTION_UPDATED, TRANSACTION_DELETED -> TRANSACTION;
+            case BUDGET_CHANGED, BUDGET_DELETED -> BUDGET;
+            default -> null;
+        };
+    }
+}
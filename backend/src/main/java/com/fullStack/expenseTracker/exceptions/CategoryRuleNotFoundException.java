@@ -0,0 +1,7 @@
+package com.fullStack.expenseTracker.exceptions;
+
+public class CategoryRuleNotFoundException extends Exception {
+    public CategoryRuleNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.fullStack.expenseTracker.exceptions;
+
+public class CategoryRuleServiceLogicException extends Exception {
+    public CategoryRuleServiceLogicException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.fullStack.expenseTracker.exceptions;
+
+public class IdempotencyKeyConflictException extends Exception {
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.fullStack.expenseTracker.exceptions;
+
+public class StatementImportException extends Exception {
+    public StatementImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.fullStack.expenseTracker.exceptions;
+
+public class WebhookNotFoundException extends Exception {
+    public WebhookNotFoundException(String message) {
+        super(message);
+    }
+}
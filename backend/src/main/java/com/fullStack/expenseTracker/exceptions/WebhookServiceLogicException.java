@@ -0,0 +1,7 @@
+package com.fullStack.expenseTracker.exceptions;
+
+public class WebhookServiceLogicException extends Exception {
+    public WebhookServiceLogicException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.fullStack.expenseTracker.handlers;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.enums.ApiResponseStatus;
+import com.fullStack.expenseTracker.exceptions.CategoryRuleNotFoundException;
+import com.fullStack.expenseTracker.exceptions.CategoryRuleServiceLogicException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class CategoryRuleExceptionHandler {
+
+    @ExceptionHandler(value = CategoryRuleNotFoundException.class)
+    public ResponseEntity<ApiResponseDto<String>> CategoryRuleNotFoundExceptionHandler(CategoryRuleNotFoundException exception) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(
+                        new ApiResponseDto<>(ApiResponseStatus.FAILED, HttpStatus.NOT_FOUND, exception.getMessage())
+                );
+    }
+
+    @ExceptionHandler(value = CategoryRuleServiceLogicException.class)
+    public ResponseEntity<ApiResponseDto<String>> CategoryRuleServiceLogicExceptionHandler(CategoryRuleServiceLogicException exception) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(
+                        new ApiResponseDto<>(ApiResponseStatus.FAILED, HttpStatus.BAD_REQUEST, exception.getMessage())
+                );
+    }
+}
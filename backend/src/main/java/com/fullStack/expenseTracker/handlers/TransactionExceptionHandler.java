@@ -2,6 +2,8 @@ package com.fullStack.expenseTracker.handlers;
 
 import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
 import com.fullStack.expenseTracker.enums.ApiResponseStatus;
+import com.fullStack.expenseTracker.exceptions.IdempotencyKeyConflictException;
+import com.fullStack.expenseTracker.exceptions.StatementImportException;
 import com.fullStack.expenseTracker.exceptions.TransactionNotFoundException;
 import com.fullStack.expenseTracker.exceptions.TransactionServiceLogicException;
 import com.fullStack.expenseTracker.exceptions.TransactionTypeNotFoundException;
@@ -38,4 +40,22 @@ public class TransactionExceptionHandler {
                         new ApiResponseDto<>(ApiResponseStatus.FAILED, HttpStatus.NOT_FOUND, exception.getMessage())
                 );
     }
-}
+
+    @ExceptionHandler(value = StatementImportException.class)
+    public ResponseEntity<ApiResponseDto<String>> StatementImportExceptionHandler(StatementImportException exception) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(
+                        new ApiResponseDto<>(ApiResponseStatus.FAILED, HttpStatus.BAD_REQUEST, exception.getMessage())
+                );
+    }
+
+    @ExceptionHandler(value = IdempotencyKeyConflictException.class)
+    public ResponseEntity<ApiResponseDto<String>> IdempotencyKeyConflictExceptionHandler(IdempotencyKeyConflictException exception) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(
+                        new ApiResponseDto<>(ApiResponseStatus.FAILED, HttpStatus.CONFLICT, exception.getMessage())
+                );
+    }
+}
\ No newline at end of file
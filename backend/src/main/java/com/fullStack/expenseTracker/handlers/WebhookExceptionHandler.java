@@ -0,0 +1,32 @@
+package com.fullStack.expenseTracker.handlers;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.enums.ApiResponseStatus;
+import com.fullStack.expenseTracker.exceptions.WebhookNotFoundException;
+import com.fullStack.expenseTracker.exceptions.WebhookServiceLogicException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class WebhookExceptionHandler {
+
+    @ExceptionHandler(value = WebhookNotFoundException.class)
+    public ResponseEntity<ApiResponseDto<String>> WebhookNotFoundExceptionHandler(WebhookNotFoundException exception) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(
+                        new ApiResponseDto<>(ApiResponseStatus.FAILED, HttpStatus.NOT_FOUND, exception.getMessage())
+                );
+    }
+
+    @ExceptionHandler(value = WebhookServiceLogicException.class)
+    public ResponseEntity<ApiResponseDto<String>> WebhookServiceLogicExceptionHandler(WebhookServiceLogicException exception) {
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(
+                        new ApiResponseDto<>(ApiResponseStatus.FAILED, HttpStatus.BAD_REQUEST, exception.getMessage())
+                );
+    }
+}
@@ -0,0 +1,158 @@
+package com.fullStack.expenseTracker.imports;
+
+import com.fullStack.expenseTracker.enums.StatementFormat;
+import com.fullStack.expenseTracker.exceptions.StatementImportException;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Reads ISO 20022 camt.053 bank-to-customer statements with StAX, one Ntry element at a time.
+ * Elements are matched by local name, so every camt.053 schema version is accepted.
+ */
+@Component
+public class Camt053StatementParser implements StatementParser {
+
+    private final XMLInputFactory inputFactory;
+
+    public Camt053StatementParser() {
+        inputFactory = XMLInputFactory.newFactory();
+        // Statements come from users, so no DTDs and no external entities
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    @Override
+    public StatementFormat getFormat() {
+        return StatementFormat.CAMT053;
+    }
+
+    @Override
+    public void parse(InputStream in, StatementLineHandler handler) throws StatementImportException {
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(in);
+            Deque<String> path = new ArrayDeque<>();
+            boolean seenStatement = false;
+            String accountId = null;
+            Entry entry = null;
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    path.push(name);
+                    if (name.equals("Stmt")) {
+                        seenStatement = true;
+                        accountId = null;
+                    } else if (name.equals("Ntry")) {
+                        entry = new Entry(reader.getLocation().getLineNumber());
+                    }
+                } else if (event == XMLStreamConstants.CHARACTERS && !reader.isWhiteSpace()) {
+                    String text = reader.getText().trim();
+                    String name = path.peek();
+                    String parent = parentOf(path);
+                    if (entry == null) {
+                        // Stmt/Acct/Id/IBAN or Stmt/Acct/Id/Othr/Id
+                        if (path.contains("Acct") && (name.equals("IBAN") || (name.equals("Id") && "Othr".equals(parent)))) {
+                            accountId = text;
+                        }
+                    } else {
+                        entry.collect(name, parent, path, text);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    String name = path.pop();
+                    if (name.equals("Ntry") && entry != null) {
+                        entry.emit(accountId, handler);
+                        entry = null;
+                    }
+                }
+            }
+
+            if (!seenStatement) {
+                throw new StatementImportException("The file is not a camt.053 statement");
+            }
+        } catch (XMLStreamException e) {
+            throw new StatementImportException("The camt.053 statement is not valid XML: " + e.getMessage());
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // the underlying stream is closed by the caller
+                }
+            }
+        }
+    }
+
+    private static String parentOf(Deque<String> path) {
+        var iterator = path.iterator();
+        iterator.next();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private static class Entry {
+        private final long lineNumber;
+        private String amount;
+        private String creditDebit;
+        private String bookingDate;
+        private String reference;
+        private String remittance;
+        private String additionalInfo;
+
+        private Entry(long lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+
+        private void collect(String name, String parent, Deque<String> path, String text) {
+            // Amounts nested in transaction details repeat or convert the entry amount, the entry level wins
+            boolean entryLevel = "Ntry".equals(parent);
+            if (name.equals("Amt") && entryLevel) {
+                amount = text;
+            } else if (name.equals("CdtDbtInd") && entryLevel) {
+                creditDebit = text;
+            } else if ((name.equals("Dt") || name.equals("DtTm")) && "BookgDt".equals(parent) && bookingDate == null) {
+                bookingDate = text;
+            } else if (name.equals("AcctSvcrRef") && reference == null) {
+                reference = text;
+            } else if (name.equals("Ustrd") && path.contains("RmtInf") && remittance == null) {
+                remittance = text;
+            } else if (name.equals("AddtlNtryInf") && entryLevel) {
+                additionalInfo = text;
+            }
+        }
+
+        private void emit(String accountId, StatementLineHandler handler) {
+            BigDecimal value;
+            LocalDate date;
+            try {
+                value = StatementValues.parseAmount(amount).abs();
+                date = StatementValues.parseDate(bookingDate);
+            } catch (RuntimeException e) {
+                handler.invalidLine(lineNumber, e.getMessage());
+                return;
+            }
+            if ("DBIT".equals(creditDebit)) {
+                value = value.negate();
+            }
+            // Outside the try, a failure to store the line must fail the import rather than skip the line
+            handler.line(new StatementLine(
+                    lineNumber,
+                    date,
+                    value,
+                    remittance != null ? remittance : additionalInfo,
+                    reference,
+                    accountId
+            ));
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.fullStack.expenseTracker.imports;
+
+import com.fullStack.expenseTracker.enums.StatementFormat;
+import com.fullStack.expenseTracker.exceptions.StatementImportException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Reads delimiter separated exports with a header line. Columns are recognised by their header,
+ * the delimiter (comma, semicolon or tab) by whichever occurs most often in the header.
+ */
+@Component
+public class CsvStatementParser implements StatementParser {
+
+    // Physical lines one record may span through quoted line breaks
+    private static final int MAX_RECORD_LINES = 20;
+
+    private static final Set<String> DATE_HEADERS = Set.of("date", "booking date", "bookingdate", "transaction date", "posted", "posting date", "buchungstag", "datum");
+
+    private static final Set<String> AMOUNT_HEADERS = Set.of("amount", "value", "betrag", "montant");
+
+    private static final Set<String> DEBIT_HEADERS = Set.of("debit", "withdrawal", "paid out", "soll");
+
+    private static final Set<String> CREDIT_HEADERS = Set.of("credit", "deposit", "paid in", "haben");
+
+    private static final Set<String> DESCRIPTION_HEADERS = Set.of("description", "details", "payee", "memo", "name", "narrative", "text", "verwendungszweck");
+
+    private static final Set<String> REFERENCE_HEADERS = Set.of("reference", "id", "transaction id", "fitid", "referenz");
+
+    private static final Set<String> ACCOUNT_HEADERS = Set.of("account", "iban", "account number", "konto");
+
+    @Override
+    public StatementFormat getFormat() {
+        return StatementFormat.CSV;
+    }
+
+    @Override
+    public void parse(InputStream in, StatementLineHandler handler) throws IOException, StatementImportException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String header = reader.readLine();
+        if (header == null) {
+            throw new StatementImportException("The statement file is empty");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        char delimiter = detectDelimiter(header);
+        Columns columns = new Columns(splitLine(header, delimiter));
+
+        // Lines read ahead for a quoted field that never closed, read again as records of their own
+        Deque<String> pushedBack = new ArrayDeque<>();
+        long lineNumber = 1;
+        String line;
+        while ((line = nextLine(reader, pushedBack)) != null) {
+            lineNumber++;
+            long startLine = lineNumber;
+            // A quoted field may span several physical lines, but a stray quote must not pull in the rest of the file
+            List<String> continuation = new ArrayList<>();
+            boolean open = hasOpenQuote(line);
+            while (open && continuation.size() < MAX_RECORD_LINES - 1) {
+                String next = nextLine(reader, pushedBack);
+                if (next == null) {
+                    break;
+                }
+                continuation.add(next);
+                open ^= hasOpenQuote(next);
+            }
+            if (open && continuation.size() == MAX_RECORD_LINES - 1) {
+                handler.invalidLine(startLine, "Unterminated quoted field");
+                for (int i = continuation.size() - 1; i >= 0; i--) {
+                    pushedBack.addFirst(continuation.get(i));
+                }
+                continue;
+            }
+            lineNumber += continuation.size();
+            if (!continuation.isEmpty()) {
+                line = line + "\n" + String.join("\n", continuation);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+
+            List<String> fields = splitLine(line, delimiter);
+            StatementLine statementLine;
+            try {
+                statementLine = columns.toLine(startLine, fields);
+            } catch (RuntimeException e) {
+                handler.invalidLine(startLine, e.getMessage());
+                continue;
+            }
+            // Outside the try, a failure to store the line must fail the import rather than skip the line
+            handler.line(statementLine);
+        }
+    }
+
+    private static String nextLine(BufferedReader reader, Deque<String> pushedBack) throws IOException {
+        return pushedBack.isEmpty() ? reader.readLine() : pushedBack.pollFirst();
+    }
+
+    static char detectDelimiter(String header) {
+        char best = ',';
+        long bestCount = -1;
+        for (char candidate : new char[]{',', ';', '\t'}) {
+            long count = header.chars().filter(c -> c == candidate).count();
+            if (count > bestCount) {
+                best = candidate;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * RFC 4180 splitting: fields may be quoted, quotes inside quoted fields are doubled.
+     */
+    static List<String> splitLine(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static boolean hasOpenQuote(String line) {
+        long quotes = line.chars().filter(c -> c == '"').count();
+        return quotes % 2 != 0;
+    }
+
+    private static class Columns {
+        private int date = -1;
+        private int amount = -1;
+        private int debit = -1;
+        private int credit = -1;
+        private int description = -1;
+        private int reference = -1;
+        private int account = -1;
+
+        private Columns(List<String> headers) throws StatementImportException {
+            for (int i = 0; i < headers.size(); i++) {
+                String name = headers.get(i).toLowerCase(Locale.ROOT).trim();
+                if (date < 0 && DATE_HEADERS.contains(name)) date = i;
+                else if (amount < 0 && AMOUNT_HEADERS.contains(name)) amount = i;
+                else if (debit < 0 && DEBIT_HEADERS.contains(name)) debit = i;
+                else if (credit < 0 && CREDIT_HEADERS.contains(name)) credit = i;
+                else if (description < 0 && DESCRIPTION_HEADERS.contains(name)) description = i;
+                else if (reference < 0 && REFERENCE_HEADERS.contains(name)) reference = i;
+                else if (account < 0 && ACCOUNT_HEADERS.contains(name)) account = i;
+            }
+            if (date < 0 || (amount < 0 && debit < 0 && credit < 0)) {
+                throw new StatementImportException("The CSV header needs a date column and an amount, debit or credit column");
+            }
+        }
+
+        private StatementLine toLine(long lineNumber, List<String> fields) {
+            BigDecimal value;
+            if (amount >= 0) {
+                value = StatementValues.parseAmount(field(fields, amount));
+            } else {
+                String paidOut = StatementValues.emptyToNull(field(fields, debit));
+                value = paidOut != null
+                        ? StatementValues.parseAmount(paidOut).abs().negate()
+                        : StatementValues.parseAmount(field(fields, credit)).abs();
+            }
+            return new StatementLine(
+                    lineNumber,
+                    StatementValues.parseDate(field(fields, date)),
+                    value,
+                    StatementValues.emptyToNull(field(fields, description)),
+                    StatementValues.emptyToNull(field(fields, reference)),
+                    StatementValues.emptyToNull(field(fields, account))
+            );
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index >= 0 && index < fields.size() ? fields.get(index) : null;
+        }
+    }
+}
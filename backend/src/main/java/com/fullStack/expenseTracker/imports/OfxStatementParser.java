@@ -0,0 +1,106 @@
+package com.fullStack.expenseTracker.imports;
+
+import com.fullStack.expenseTracker.enums.StatementFormat;
+import com.fullStack.expenseTracker.exceptions.StatementImportException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads OFX 1.x (SGML, leaf elements without closing tags) and OFX 2.x (XML) statements line by line.
+ * Only the tags of the current STMTTRN aggregate are held in memory.
+ */
+@Component
+public class OfxStatementParser implements StatementParser {
+
+    @Override
+    public StatementFormat getFormat() {
+        return StatementFormat.OFX;
+    }
+
+    @Override
+    public void parse(InputStream in, StatementLineHandler handler) throws IOException, StatementImportException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        boolean seenOfx = false;
+        String accountId = null;
+        Map<String, String> entry = null;
+        long entryLine = 0;
+        long lineNumber = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int start = line.indexOf('<');
+            while (start >= 0) {
+                int end = line.indexOf('>', start);
+                if (end < 0) {
+                    break;
+                }
+                String tag = line.substring(start + 1, end).trim().toUpperCase(Locale.ROOT);
+                int next = line.indexOf('<', end);
+                String value = decode(line.substring(end + 1, next < 0 ? line.length() : next).trim());
+                start = next;
+
+                if (tag.equals("OFX")) {
+                    seenOfx = true;
+                } else if (tag.equals("STMTTRN")) {
+                    entry = new HashMap<>();
+                    entryLine = lineNumber;
+                } else if (tag.equals("/STMTTRN")) {
+                    if (entry != null) {
+                        emit(entry, entryLine, accountId, handler);
+                    }
+                    entry = null;
+                } else if (tag.equals("ACCTID") && !value.isEmpty()) {
+                    accountId = value;
+                } else if (entry != null && !tag.startsWith("/") && !value.isEmpty()) {
+                    entry.putIfAbsent(tag, value);
+                }
+            }
+        }
+
+        if (!seenOfx) {
+            throw new StatementImportException("The file is not an OFX statement");
+        }
+    }
+
+    private void emit(Map<String, String> entry, long lineNumber, String accountId, StatementLineHandler handler) {
+        String name = entry.get("NAME");
+        String memo = entry.get("MEMO");
+        String description = name != null && memo != null && !memo.equalsIgnoreCase(name)
+                ? name + " " + memo
+                : (name != null ? name : memo);
+        StatementLine line;
+        try {
+            line = new StatementLine(
+                    lineNumber,
+                    StatementValues.parseDate(entry.get("DTPOSTED")),
+                    StatementValues.parseAmount(entry.get("TRNAMT")),
+                    description,
+                    entry.get("FITID"),
+                    accountId
+            );
+        } catch (RuntimeException e) {
+            handler.invalidLine(lineNumber, e.getMessage());
+            return;
+        }
+        // Outside the try, a failure to store the line must fail the import rather than skip the line
+        handler.line(line);
+    }
+
+    private static String decode(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+}
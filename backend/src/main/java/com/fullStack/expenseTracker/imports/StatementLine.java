@@ -0,0 +1,25 @@
+package com.fullStack.expenseTracker.imports;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One booked entry of a bank statement. Negative amounts are debits.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatementLine {
+    private long lineNumber;
+    private LocalDate bookingDate;
+    private BigDecimal amount;
+    private String description;
+    // Bank assigned id of the entry (FITID, AcctSvcrRef, ...), null when the format has none
+    private String reference;
+    // Account the entry was booked on (IBAN, ACCTID, ...), null when unknown
+    private String accountIdentifier;
+}
@@ -0,0 +1,11 @@
+package com.fullStack.expenseTracker.imports;
+
+/**
+ * Receives statement entries one at a time while the file is being read.
+ */
+public interface StatementLineHandler {
+
+    void line(StatementLine line);
+
+    void invalidLine(long lineNumber, String reason);
+}
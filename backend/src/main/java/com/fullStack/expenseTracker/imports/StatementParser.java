@@ -0,0 +1,17 @@
+package com.fullStack.expenseTracker.imports;
+
+import com.fullStack.expenseTracker.enums.StatementFormat;
+import com.fullStack.expenseTracker.exceptions.StatementImportException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streams a statement file into a handler. Implementations keep at most one entry in memory.
+ */
+public interface StatementParser {
+
+    StatementFormat getFormat();
+
+    void parse(InputStream in, StatementLineHandler handler) throws IOException, StatementImportException;
+}
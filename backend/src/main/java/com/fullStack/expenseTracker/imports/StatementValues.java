@@ -0,0 +1,85 @@
+package com.fullStack.expenseTracker.imports;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Lenient parsing of the amount and date notations found in bank exports.
+ */
+final class StatementValues {
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd.MM.yyyy"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+            DateTimeFormatter.BASIC_ISO_DATE
+    );
+
+    private StatementValues() {
+    }
+
+    /**
+     * Example: "1.234,56" -> 1234.56, "-1,234.56" -> -1234.56, "(12.00)" -> -12.00.
+     * The right-most separator is taken as the decimal separator when it is followed by at most two digits.
+     */
+    static BigDecimal parseAmount(String text) {
+        if (text == null || text.isBlank()) {
+            throw new NumberFormatException("amount is empty");
+        }
+        String value = text.trim().replace(" ", "").replace("\u00A0", "").replace("'", "");
+        boolean negative = false;
+        if (value.startsWith("(") && value.endsWith(")")) {
+            negative = true;
+            value = value.substring(1, value.length() - 1);
+        }
+        if (value.endsWith("-")) {
+            negative = true;
+            value = value.substring(0, value.length() - 1);
+        }
+        if (value.startsWith("-")) {
+            negative = !negative;
+            value = value.substring(1);
+        } else if (value.startsWith("+")) {
+            value = value.substring(1);
+        }
+
+        int decimal = Math.max(value.lastIndexOf(','), value.lastIndexOf('.'));
+        if (decimal >= 0 && value.length() - decimal - 1 <= 2) {
+            value = value.substring(0, decimal).replace(",", "").replace(".", "") + "." + value.substring(decimal + 1);
+        } else {
+            value = value.replace(",", "").replace(".", "");
+        }
+
+        BigDecimal amount = new BigDecimal(value);
+        return negative ? amount.negate() : amount;
+    }
+
+    static LocalDate parseDate(String text) {
+        if (text == null || text.isBlank()) {
+            throw new DateTimeParseException("date is empty", String.valueOf(text), 0);
+        }
+        String value = text.trim();
+        // OFX and CAMT date-times: 20240105120000[-5:EST], 2024-01-05T12:00:00+01:00
+        if (value.length() > 10 && value.charAt(4) == '-' && value.charAt(10) == 'T') {
+            value = value.substring(0, 10);
+        } else if (value.length() > 8 && value.chars().limit(8).allMatch(Character::isDigit)) {
+            value = value.substring(0, 8);
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next notation
+            }
+        }
+        throw new DateTimeParseException("unsupported date " + text, text, 0);
+    }
+
+    static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
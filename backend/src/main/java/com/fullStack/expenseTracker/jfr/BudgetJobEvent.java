@@ -0,0 +1,29 @@
+package com.fullStack.expenseTracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One run of the scheduled budget alert check.
+ */
+@Name("expensia.BudgetJob")
+@Label("Budget Job")
+@Category({"Expensia", "Budgets"})
+@Description("A run of the scheduled budget alert check")
+public class BudgetJobEvent extends Event {
+
+    @Label("Job")
+    public String job;
+
+    @Label("Budgets Checked")
+    public int budgetsChecked;
+
+    @Label("Alerts Sent")
+    public int alertsSent;
+
+    @Label("Failures")
+    public int failures;
+}
@@ -0,0 +1,68 @@
+package com.fullStack.expenseTracker.jfr;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits the JFR events of the transaction writes and report computations, so they show up next to the GC pauses,
+ * lock waits and I/O of a recording. An event not enabled in the running recordings costs a flag check.
+ */
+@Aspect
+@Component
+public class BusinessEventsAspect {
+
+    @Around("execution(* com.fullStack.expenseTracker.services.TransactionService.addTransaction(..))"
+            + " || execution(* com.fullStack.expenseTracker.services.TransactionService.updateTransaction(..))"
+            + " || execution(* com.fullStack.expenseTracker.services.TransactionService.deleteTransaction(..))"
+            + " || execution(* com.fullStack.expenseTracker.services.StatementImportService.importStatement(..))")
+    public Object transactionWrite(ProceedingJoinPoint joinPoint) throws Throwable {
+        TransactionWriteEvent event = new TransactionWriteEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.operation = joinPoint.getSignature().getName();
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.status = statusOf(result);
+            return result;
+        } catch (Throwable e) {
+            event.status = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Around("execution(public * com.fullStack.expenseTracker.services.ReportService.*(..))")
+    public Object reportComputation(ProceedingJoinPoint joinPoint) throws Throwable {
+        ReportComputationEvent event = new ReportComputationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.report = joinPoint.getSignature().getName();
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.status = statusOf(result);
+            return result;
+        } catch (Throwable e) {
+            event.status = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private static String statusOf(Object result) {
+        if (result instanceof ResponseEntity<?> response && response.getBody() instanceof ApiResponseDto<?> body
+                && body.getStatus() != null) {
+            return body.getStatus().name();
+        }
+        return "NONE";
+    }
+}
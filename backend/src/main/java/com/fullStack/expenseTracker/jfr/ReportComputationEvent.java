@@ -0,0 +1,26 @@
+package com.fullStack.expenseTracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One report or dashboard figure computed for a user.
+ */
+@Name("expensia.ReportComputation")
+@Label("Report Computation")
+@Category({"Expensia", "Reports"})
+@Description("A report or dashboard summary computed for an API call")
+@StackTrace(false)
+public class ReportComputationEvent extends Event {
+
+    @Label("Report")
+    public String report;
+
+    @Label("Status")
+    @Description("ApiResponseStatus of the answer, or the exception thrown")
+    public String status;
+}
@@ -0,0 +1,26 @@
+package com.fullStack.expenseTracker.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One API call that creates, changes or deletes transactions, statement imports included.
+ */
+@Name("expensia.TransactionWrite")
+@Label("Transaction Write")
+@Category({"Expensia", "Transactions"})
+@Description("Transactions added, updated, deleted or imported by one API call")
+@StackTrace(false)
+public class TransactionWriteEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Status")
+    @Description("ApiResponseStatus of the answer, or the exception thrown")
+    public String status;
+}
@@ -0,0 +1,131 @@
+package com.fullStack.expenseTracker.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import com.fullStack.expenseTracker.dto.reponses.LogEventDto;
+import com.fullStack.expenseTracker.dto.reponses.LogTailDto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the most recent log events in memory.
+ * Writers claim a slot with a single atomic increment, so logging threads never block each other or the readers.
+ * A slot only ever moves to a newer sequence: a writer that was overtaken by the writer a full lap ahead drops its event.
+ */
+public class RingBufferLogAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private static final int MAX_THROWABLE_LENGTH = 4096;
+
+    private final AtomicReferenceArray<LogEventDto> slots;
+
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    public RingBufferLogAppender(int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Formatting happens before the sequence is claimed, so readers wait on an unpublished slot as briefly as possible
+        LogEventDto published = new LogEventDto(
+                -1,
+                Instant.ofEpochMilli(event.getTimeStamp()),
+                event.getLevel().toString(),
+                event.getLoggerName(),
+                event.getThreadName(),
+                event.getFormattedMessage(),
+                formatThrowable(event.getThrowableProxy())
+        );
+        long sequence = nextSequence.getAndIncrement();
+        published.setSequence(sequence);
+
+        int slot = slot(sequence);
+        LogEventDto current;
+        do {
+            current = slots.get(slot);
+            if (current != null && current.getSequence() > sequence) {
+                return;
+            }
+        } while (!slots.compareAndSet(slot, current, published));
+    }
+
+    /**
+     * Returns up to limit matching events written after the given sequence, oldest first.
+     * Stops at the first slot that has been claimed but not yet published so the cursor never skips an event.
+     */
+    public LogTailDto readAfter(long afterSequence, int limit, Predicate<LogEventDto> filter) {
+        long next = nextSequence.get();
+        long sequence = Math.max(afterSequence + 1, next - slots.length());
+        long cursor = sequence - 1;
+        List<LogEventDto> events = new ArrayList<>();
+
+        while (sequence < next && events.size() < limit) {
+            LogEventDto event = slots.get(slot(sequence));
+            if (event == null || event.getSequence() < sequence) {
+                break;
+            }
+            // A newer event means this one was overwritten while reading, it is lost either way
+            if (event.getSequence() == sequence && filter.test(event)) {
+                events.add(event);
+            }
+            cursor = sequence++;
+        }
+        return new LogTailDto(cursor, events);
+    }
+
+    /**
+     * Returns the latest limit matching events, oldest first, and a cursor to continue streaming from.
+     */
+    public LogTailDto recent(int limit, Predicate<LogEventDto> filter) {
+        long cursor = nextSequence.get() - 1;
+        long oldest = Math.max(0, cursor - slots.length() + 1);
+        List<LogEventDto> events = new ArrayList<>();
+
+        for (long sequence = cursor; sequence >= oldest && events.size() < limit; sequence--) {
+            LogEventDto event = slots.get(slot(sequence));
+            if (event != null && event.getSequence() == sequence && filter.test(event)) {
+                events.add(event);
+            }
+        }
+        Collections.reverse(events);
+        return new LogTailDto(cursor, events);
+    }
+
+    public boolean isEmpty() {
+        return nextSequence.get() == 0;
+    }
+
+    /**
+     * Matches events at or above the given level whose logger name starts with the given prefix. Blank values match everything.
+     */
+    public static Predicate<LogEventDto> filter(String minLevel, String loggerPrefix) {
+        int threshold = minLevel == null || minLevel.isBlank()
+                ? Level.ALL.toInt()
+                : Level.toLevel(minLevel.trim(), Level.ALL).toInt();
+        String prefix = loggerPrefix == null ? "" : loggerPrefix.trim();
+
+        return event -> Level.toLevel(event.getLevel()).toInt() >= threshold
+                && event.getLogger().startsWith(prefix);
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % slots.length());
+    }
+
+    private String formatThrowable(IThrowableProxy throwableProxy) {
+        if (throwableProxy == null) {
+            return null;
+        }
+        String throwable = ThrowableProxyUtil.asString(throwableProxy);
+        return throwable.length() > MAX_THROWABLE_LENGTH ? throwable.substring(0, MAX_THROWABLE_LENGTH) + "..." : throwable;
+    }
+}
@@ -0,0 +1,37 @@
+package com.fullStack.expenseTracker.metrics;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Notes the ApiResponseStatus of every answer, from the controllers and the exception handlers alike, on the
+ * request, where ApiStatusObservationConvention adds it to the request metrics.
+ */
+@ControllerAdvice
+public class ApiResponseStatusAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATUS_ATTRIBUTE = ApiResponseStatusAdvice.class.getName() + ".status";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof ApiResponseDto<?> apiResponse && apiResponse.getStatus() != null
+                && request instanceof ServletServerHttpRequest servletRequest) {
+            servletRequest.getServletRequest().setAttribute(STATUS_ATTRIBUTE, apiResponse.getStatus());
+        }
+        return body;
+    }
+}
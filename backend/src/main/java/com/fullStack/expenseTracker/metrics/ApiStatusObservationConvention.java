@@ -0,0 +1,20 @@
+package com.fullStack.expenseTracker.metrics;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * The standard http.server.requests tags plus api.status, the ApiResponseStatus the endpoint answered with, or
+ * NONE for answers that are not an ApiResponseDto.
+ */
+@Component
+public class ApiStatusObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        Object status = context.getCarrier().getAttribute(ApiResponseStatusAdvice.STATUS_ATTRIBUTE);
+        return super.getLowCardinalityKeyValues(context).and("api.status", status != null ? status.toString() : "NONE");
+    }
+}
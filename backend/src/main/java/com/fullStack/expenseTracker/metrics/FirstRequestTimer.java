@@ -0,0 +1,43 @@
+package com.fullStack.expenseTracker.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures time to first request: from the start of the JVM to the end of the first request the app handled,
+ * logged once and exported as expensia.startup.first.request. Unlike the "Started in" line it includes the JVM
+ * and class loading, and whatever the first request still has to initialize.
+ */
+@Component
+@Slf4j
+public class FirstRequestTimer {
+
+    private final AtomicLong firstRequestMillis = new AtomicLong(-1);
+
+    @Autowired
+    public FirstRequestTimer(MeterRegistry meterRegistry) {
+        TimeGauge.builder("expensia.startup.first.request", firstRequestMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time from JVM start to the end of the first handled request, -1 until then")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        if (firstRequestMillis.get() >= 0) {
+            return;
+        }
+        long millis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        if (firstRequestMillis.compareAndSet(-1, millis)) {
+            log.info("First request ({} {}) handled {} ms after JVM start", event.getMethod(), event.getRequestUrl(), millis);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.fullStack.expenseTracker.metrics;
+
+/**
+ * Collects the SQL statements of the current thread between begin() and closing the returned scope. Statements
+ * run outside a scope, by scheduled jobs or executors, are not collected. Scopes nest, an inner scope's statements
+ * count for the outer one as well.
+ */
+public final class QueryAccounting {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryAccounting() {
+    }
+
+    public static Scope begin() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope.stats);
+        return scope;
+    }
+
+    /**
+     * The statements of the innermost open scope, or null outside a scope.
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void record(String sql, long nanos) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.record(sql, nanos);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final QueryStats stats = new QueryStats();
+
+        private final QueryStats parent;
+
+        private Scope(QueryStats parent) {
+            this.parent = parent;
+        }
+
+        public QueryStats stats() {
+            return stats;
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                parent.add(stats);
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.fullStack.expenseTracker.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements of every request and their time into expensia.request.queries and
+ * expensia.request.query.time, by endpoint, and warns when one statement shape repeats more than the threshold.
+ */
+@Slf4j
+public class QueryAccountingFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    private final int repeatThreshold;
+
+    public QueryAccountingFilter(MeterRegistry meterRegistry, int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats;
+        try (QueryAccounting.Scope scope = QueryAccounting.begin()) {
+            stats = scope.stats();
+            filterChain.doFilter(request, response);
+        }
+
+        // The matched mapping, not the path, so ids in paths do not become tags
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("expensia.request.queries")
+                .description("SQL statements run by one request")
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("expensia.request.query.time")
+                .description("Time one request spent executing SQL statements")
+                .tag("uri", uri)
+                .tag("method", request.getMethod())
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+
+        for (Map.Entry<String, Integer> repeated : stats.repeatedOver(repeatThreshold).entrySet()) {
+            log.warn("Possible N+1 in {} {}: statement run {} times: {}",
+                    request.getMethod(), uri, repeated.getValue(), repeated.getKey());
+        }
+    }
+}
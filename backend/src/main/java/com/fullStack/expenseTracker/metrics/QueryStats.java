@@ -0,0 +1,76 @@
+package com.fullStack.expenseTracker.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The SQL statements one request or test ran: how many, how long they took together and how often each statement
+ * shape came up. Used by a single thread.
+ */
+public class QueryStats {
+
+    // Distinct shapes tracked per request, statements beyond it are still counted
+    private static final int MAX_SHAPES = 200;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    private int statements;
+
+    private long nanos;
+
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+
+    void record(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        String shape = shapeOf(sql);
+        if (shapes.containsKey(shape) || shapes.size() < MAX_SHAPES) {
+            shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    void add(QueryStats other) {
+        statements += other.statements;
+        nanos += other.nanos;
+        other.shapes.forEach((shape, count) -> {
+            if (shapes.containsKey(shape) || shapes.size() < MAX_SHAPES) {
+                shapes.merge(shape, count, Integer::sum);
+            }
+        });
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public Map<String, Integer> getShapes() {
+        return Collections.unmodifiableMap(shapes);
+    }
+
+    /**
+     * Shapes run more than threshold times, the usual sign of one query per row.
+     */
+    public Map<String, Integer> repeatedOver(int threshold) {
+        return shapes.entrySet().stream()
+                .filter(shape -> shape.getValue() > threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    // Statements differing only in whitespace or the length of an IN list have the same shape
+    static String shapeOf(String sql) {
+        if (sql == null) {
+            return "batch";
+        }
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(shape).replaceAll("in (...)");
+    }
+}
@@ -0,0 +1,54 @@
+package com.fullStack.expenseTracker.metrics;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the service methods behind the controllers, the ones answering a ResponseEntity, as expensia.service.
+ * Tagged with the service, the method, the ApiResponseStatus of the answer and the exception when one was thrown,
+ * all of them fixed by the code, so the number of series cannot grow with users or data.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    public static final String METRIC_NAME = "expensia.service";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Around("execution(public org.springframework.http.ResponseEntity com.fullStack.expenseTracker.services..*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = "NONE";
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            if (result instanceof ResponseEntity<?> response && response.getBody() instanceof ApiResponseDto<?> body
+                    && body.getStatus() != null) {
+                status = body.getStatus().name();
+            }
+            return result;
+        } catch (Throwable e) {
+            // Turned into a FAILED answer by the exception handlers
+            status = "FAILED";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Latency of the service methods answering API requests")
+                    .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("status", status)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.fullStack.expenseTracker.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fullStack.expenseTracker.enums.AccountType;
+import com.fullStack.expenseTracker.enums.SyncEntityType;
+import com.fullStack.expenseTracker.sync.ChangeSequenceListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,7 +13,11 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class Account {
+@Table(indexes = {
+        @Index(name = "idx_account_user_change_seq", columnList = "user_id, change_seq")
+})
+@EntityListeners(ChangeSequenceListener.class)
+public class Account implements SyncTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,15 +30,37 @@ public class Account {
 
     private double balance;
 
+    // IBAN or bank account number, used to map imported statement entries to this account
+    private String accountNumber;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "userId")
     @JsonIgnore
     private User user;
 
+    @Column(name = "change_seq")
+    @JsonIgnore
+    private Long changeSeq;
+
     public Account(String accountName, AccountType accountType, double balance, User user) {
         this.accountName = accountName;
         this.accountType = accountType;
         this.balance = balance;
         this.user = user;
     }
+
+    @Override
+    public Long syncUserId() {
+        return user != null ? user.getId() : null;
+    }
+
+    @Override
+    public Long syncEntityId() {
+        return id;
+    }
+
+    @Override
+    public SyncEntityType syncEntityType() {
+        return SyncEntityType.ACCOUNT;
+    }
 }
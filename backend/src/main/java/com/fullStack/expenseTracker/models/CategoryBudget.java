@@ -1,6 +1,8 @@
 package com.fullStack.expenseTracker.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fullStack.expenseTracker.enums.SyncEntityType;
+import com.fullStack.expenseTracker.sync.ChangeSequenceListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,7 +12,11 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class CategoryBudget {
+@Table(indexes = {
+        @Index(name = "idx_category_budget_user_change_seq", columnList = "user_id, change_seq")
+})
+@EntityListeners(ChangeSequenceListener.class)
+public class CategoryBudget implements SyncTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -33,6 +39,10 @@ public class CategoryBudget {
     @JoinColumn(name = "categoryId")
     private Category category;
 
+    @Column(name = "change_seq")
+    @JsonIgnore
+    private Long changeSeq;
+
     public CategoryBudget(double amount, int month, int year, User user, Category category) {
         this.amount = amount;
         this.month = month;
@@ -41,4 +51,19 @@ public class CategoryBudget {
         this.category = category;
         this.alertSent = false;
     }
+
+    @Override
+    public Long syncUserId() {
+        return user != null ? user.getId() : null;
+    }
+
+    @Override
+    public Long syncEntityId() {
+        return id;
+    }
+
+    @Override
+    public SyncEntityType syncEntityType() {
+        return SyncEntityType.CATEGORY_BUDGET;
+    }
 }
@@ -0,0 +1,46 @@
+package com.fullStack.expenseTracker.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * "Description contains pattern -> category" rule of one user.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "category_rule", indexes = {
+        @Index(name = "idx_category_rule_user", columnList = "user_id")
+})
+public class CategoryRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    @Column(nullable = false, length = 50)
+    private String pattern;
+
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "categoryId", nullable = false)
+    private Category category;
+
+    // When several rules match, the highest priority wins, then the longest pattern
+    private int priority;
+
+    public CategoryRule(User user, String pattern, Category category, int priority) {
+        this.user = user;
+        this.pattern = pattern;
+        this.category = category;
+        this.priority = priority;
+    }
+}
@@ -0,0 +1,46 @@
+package com.fullStack.expenseTracker.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Client supplied key of a transaction request. The transaction id is set once the request has been recorded,
+ * so a retry with the same key can be answered with the original result.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "idempotency_key", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_idempotency_key_user_key", columnNames = {"user_id", "idempotency_key"})
+}, indexes = {
+        @Index(name = "idx_idempotency_key_created_at", columnList = "created_at")
+})
+public class IdempotencyKey {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false, length = MAX_KEY_LENGTH)
+    private String key;
+
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public IdempotencyKey(Long userId, String key) {
+        this.userId = userId;
+        this.key = key;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,39 @@
+package com.fullStack.expenseTracker.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event id a consumer's checkpoint has moved past while the event was not visible yet. The event belongs to a
+ * write that is still running, or was rolled back, and is delivered late if it shows up before the gap expires.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "outbox_gap", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_outbox_gap_consumer_event", columnNames = {"consumer", "event_id"})
+})
+public class OutboxGap {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "consumer", nullable = false, length = 64)
+    private String consumer;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "skipped_at", nullable = false)
+    private LocalDateTime skippedAt;
+
+    public OutboxGap(String consumer, Long eventId) {
+        this.consumer = consumer;
+        this.eventId = eventId;
+        this.skippedAt = LocalDateTime.now();
+    }
+}
@@ -1,6 +1,9 @@
 package com.fullStack.expenseTracker.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fullStack.expenseTracker.enums.ETransactionFrequency;
+import com.fullStack.expenseTracker.enums.SyncEntityType;
+import com.fullStack.expenseTracker.sync.ChangeSequenceListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -14,7 +17,11 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-public class SavedTransaction {
+@Table(indexes = {
+        @Index(name = "idx_saved_transaction_user_change_seq", columnList = "user_id, change_seq")
+})
+@EntityListeners(ChangeSequenceListener.class)
+public class SavedTransaction implements SyncTracked {
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private long planId;
@@ -37,4 +44,23 @@ public class SavedTransaction {
     private LocalDate upcomingDate;
     
     private LocalDate startDate;  // Original start date for the saved transaction
+
+    @Column(name = "change_seq")
+    @JsonIgnore
+    private Long changeSeq;
+
+    @Override
+    public Long syncUserId() {
+        return userId;
+    }
+
+    @Override
+    public Long syncEntityId() {
+        return planId;
+    }
+
+    @Override
+    public SyncEntityType syncEntityType() {
+        return SyncEntityType.SAVED_TRANSACTION;
+    }
 }
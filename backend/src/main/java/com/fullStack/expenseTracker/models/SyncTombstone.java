@@ -0,0 +1,40 @@
+package com.fullStack.expenseTracker.models;
+
+import com.fullStack.expenseTracker.enums.SyncEntityType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records the deletion of a SyncTracked entity, so clients syncing from an older cursor learn about it.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "sync_tombstone", indexes = {
+        @Index(name = "idx_sync_tombstone_user_change_seq", columnList = "user_id, change_seq")
+})
+public class SyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 32)
+    private SyncEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,20 @@
+package com.fullStack.expenseTracker.models;
+
+import com.fullStack.expenseTracker.enums.SyncEntityType;
+
+/**
+ * A user owned entity that clients keep a copy of. Every write stamps it with the next change sequence number
+ * of its owner, see ChangeSequenceListener.
+ */
+public interface SyncTracked {
+
+    Long getChangeSeq();
+
+    void setChangeSeq(Long changeSeq);
+
+    Long syncUserId();
+
+    Long syncEntityId();
+
+    SyncEntityType syncEntityType();
+}
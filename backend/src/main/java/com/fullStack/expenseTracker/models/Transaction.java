@@ -2,6 +2,8 @@ package com.fullStack.expenseTracker.models;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fullStack.expenseTracker.enums.SyncEntityType;
+import com.fullStack.expenseTracker.sync.ChangeSequenceListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,7 +16,21 @@ import java.util.Date;
 @Entity
 @Data
 @NoArgsConstructor
-public class Transaction {
+@Table(uniqueConstraints = {
+        // Statement imports skip entries whose fingerprint the user already has
+        @UniqueConstraint(name = "uk_transaction_user_import_fingerprint", columnNames = {"user_id", "import_fingerprint"}),
+        // Manually entered transactions with the same content in the same duplicate window are rejected
+        @UniqueConstraint(name = "uk_transaction_user_dedupe_key", columnNames = {"user_id", "dedupe_key"})
+}, indexes = {
+        // One index per supported sort order and per id filter, all led by the owner
+        @Index(name = "idx_transaction_user_date", columnList = "user_id, date, transaction_id"),
+        @Index(name = "idx_transaction_user_amount", columnList = "user_id, amount, transaction_id"),
+        @Index(name = "idx_transaction_user_category", columnList = "user_id, category_id"),
+        @Index(name = "idx_transaction_user_account", columnList = "user_id, account_id"),
+        @Index(name = "idx_transaction_user_change_seq", columnList = "user_id, change_seq")
+})
+@EntityListeners(ChangeSequenceListener.class)
+public class Transaction implements SyncTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,6 +56,18 @@ public class Transaction {
     @Column(name = "timestamp", nullable = true)
     private LocalDateTime timestamp;
 
+    @Column(name = "import_fingerprint", length = 64)
+    @JsonIgnore
+    private String importFingerprint;
+
+    @Column(name = "dedupe_key", length = 64)
+    @JsonIgnore
+    private String dedupeKey;
+
+    @Column(name = "change_seq")
+    @JsonIgnore
+    private Long changeSeq;
+
     public Transaction(User user, Category category, String description, double amount, LocalDate date) {
         this.user = user;
         this.category = category;
@@ -66,6 +94,21 @@ public class Transaction {
         }
     }
 
+    @Override
+    public Long syncUserId() {
+        return user != null ? user.getId() : null;
+    }
+
+    @Override
+    public Long syncEntityId() {
+        return transactionId;
+    }
+
+    @Override
+    public SyncEntityType syncEntityType() {
+        return SyncEntityType.TRANSACTION;
+    }
+
     // Expose transactionType through category for frontend compatibility
     @JsonProperty("transactionType")
     public TransactionType getTransactionType() {
@@ -0,0 +1,40 @@
+package com.fullStack.expenseTracker.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One normalised word of a transaction description. Searches prefix-match these instead of scanning descriptions.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "transaction_search_token", indexes = {
+        @Index(name = "idx_search_token_user_token", columnList = "user_id, token"),
+        @Index(name = "idx_search_token_token", columnList = "token"),
+        @Index(name = "idx_search_token_transaction", columnList = "transaction_id")
+})
+public class TransactionSearchToken {
+
+    public static final int MAX_TOKEN_LENGTH = 64;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "transaction_id", nullable = false)
+    private Long transactionId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "token", nullable = false, length = MAX_TOKEN_LENGTH)
+    private String token;
+
+    public TransactionSearchToken(Long transactionId, Long userId, String token) {
+        this.transactionId = transactionId;
+        this.userId = userId;
+        this.token = token;
+    }
+}
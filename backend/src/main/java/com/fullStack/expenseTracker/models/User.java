@@ -4,6 +4,7 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -56,6 +57,11 @@ public class User {
 
     private String currency;
 
+    // Last change sequence number handed out to this user's entities, only ever written by ChangeSequencer
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    @JsonIgnore
+    private long changeSeq;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(  name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -0,0 +1,60 @@
+package com.fullStack.expenseTracker.models;
+
+import com.fullStack.expenseTracker.enums.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One event waiting to be delivered to one endpoint. Delivered events are deleted, events that failed
+ * every attempt are kept as failed until they are retried or their endpoint is removed.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "webhook_delivery", indexes = {
+        @Index(name = "idx_webhook_delivery_due", columnList = "endpoint_id, failed, next_attempt_at")
+})
+public class WebhookDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "endpoint_id", nullable = false)
+    private Long endpointId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private OutboxEventType eventType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private boolean failed;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public WebhookDelivery(Long endpointId, OutboxEvent event) {
+        this.endpointId = endpointId;
+        this.eventId = event.getId();
+        this.eventType = event.getEventType();
+        this.payload = event.getPayload();
+        this.createdAt = event.getCreatedAt();
+        this.nextAttemptAt = event.getCreatedAt();
+    }
+}
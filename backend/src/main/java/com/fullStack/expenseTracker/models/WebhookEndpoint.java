@@ -0,0 +1,61 @@
+package com.fullStack.expenseTracker.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fullStack.expenseTracker.enums.WebhookTopic;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * URL that receives the events of its user. Endpoints without a user are registered by admins and receive
+ * the events of every user.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "webhook_endpoint", indexes = {
+        @Index(name = "idx_webhook_endpoint_user", columnList = "user_id")
+})
+public class WebhookEndpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    @JsonIgnore
+    private User user;
+
+    @Column(nullable = false, length = 500)
+    private String url;
+
+    // Key of the HMAC signature, the receiver verifies every batch with it
+    @Column(nullable = false, length = 64)
+    @JsonIgnore
+    private String secret;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "webhook_endpoint_topic", joinColumns = @JoinColumn(name = "endpoint_id"))
+    @Enumerated(EnumType.STRING)
+    @Column(name = "topic", length = 20)
+    private Set<WebhookTopic> topics = new HashSet<>();
+
+    private boolean enabled;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public WebhookEndpoint(User user, String url, String secret, Set<WebhookTopic> topics) {
+        this.user = user;
+        this.url = url;
+        this.secret = secret;
+        this.topics = new HashSet<>(topics);
+        this.enabled = true;
+        this.createdAt = LocalDateTime.now();
+    }
+}
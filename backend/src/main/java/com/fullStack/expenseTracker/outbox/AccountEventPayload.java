@@ -0,0 +1,14 @@
+package com.fullStack.expenseTracker.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccountEventPayload {
+    private Long accountId;
+    private double balance;
+    private boolean deleted;
+}
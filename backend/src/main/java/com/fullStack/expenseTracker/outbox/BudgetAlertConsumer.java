@@ -0,0 +1,60 @@
+package com.fullStack.expenseTracker.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullStack.expenseTracker.enums.OutboxEventType;
+import com.fullStack.expenseTracker.models.OutboxEvent;
+import com.fullStack.expenseTracker.services.BudgetAlertService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks the budget of the current month as soon as spending in its category changes,
+ * instead of waiting for the daily budget alert run.
+ */
+@Component
+public class BudgetAlertConsumer implements OutboxConsumer {
+
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public String getName() {
+        return "budget-alerts";
+    }
+
+    @Override
+    public void handle(List<OutboxEvent> events) throws Exception {
+        YearMonth currentMonth = YearMonth.now();
+        // Each user and category once per batch, alerts only depend on the totals
+        Map<Long, Set<Integer>> touched = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            if (event.getEventType() == OutboxEventType.TRANSACTION_CREATED
+                    || event.getEventType() == OutboxEventType.TRANSACTION_UPDATED) {
+                TransactionEventPayload transaction = objectMapper.readValue(event.getPayload(), TransactionEventPayload.class);
+                if (transaction.getCategoryId() != null && isIn(currentMonth, transaction.getDate())) {
+                    touched.computeIfAbsent(event.getUserId(), id -> new LinkedHashSet<>()).add(transaction.getCategoryId());
+                }
+            }
+        }
+        for (Map.Entry<Long, Set<Integer>> user : touched.entrySet()) {
+            for (Integer categoryId : user.getValue()) {
+                budgetAlertService.checkBudgets(user.getKey(), categoryId, currentMonth.getMonthValue(), currentMonth.getYear());
+            }
+        }
+    }
+
+    private boolean isIn(YearMonth month, LocalDate date) {
+        return date != null && YearMonth.from(date).equals(month);
+    }
+}
@@ -0,0 +1,16 @@
+package com.fullStack.expenseTracker.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BudgetEventPayload {
+    private Long budgetId;
+    private Integer categoryId;
+    private double amount;
+    private int month;
+    private int year;
+}
@@ -0,0 +1,20 @@
+package com.fullStack.expenseTracker.outbox;
+
+import com.fullStack.expenseTracker.models.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Derives data from the outbox event stream. Batches arrive in event order, inside the transaction that moves the
+ * consumer's checkpoint past them: when handle throws, the batch is rolled back and delivered again later.
+ * Replays deliver events a second time, so handling an event twice must leave the same result.
+ */
+public interface OutboxConsumer {
+
+    /**
+     * Stable name, the key of the consumer's checkpoint.
+     */
+    String getName();
+
+    void handle(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,321 @@
+package com.fullStack.expenseTracker.outbox;
+
+import com.fullStack.expenseTracker.dto.reponses.OutboxConsumerStatusDto;
+import com.fullStack.expenseTracker.models.OutboxCheckpoint;
+import com.fullStack.expenseTracker.models.OutboxEvent;
+import com.fullStack.expenseTracker.models.OutboxGap;
+import com.fullStack.expenseTracker.repository.OutboxCheckpointRepository;
+import com.fullStack.expenseTracker.repository.OutboxEventRepository;
+import com.fullStack.expenseTracker.repository.OutboxGapRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers outbox events to the consumers, in batches and in event order, from one dispatcher thread.
+ *
+ * Writes of one user lock the user's row before they write events and until they commit (see OutboxWriter), so
+ * the events of a user are committed in id order and every consumer sees them in the order they happened. Each
+ * batch is handled in the transaction that advances the consumer's checkpoint, and a consumer that fails is
+ * retried with backoff without holding up the others.
+ *
+ * An id still missing after the gap wait is passed over and remembered as a gap. If its event commits later it
+ * is delivered with the next batch, ahead of the newer events, so a slow write is delivered late rather than lost.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    @Autowired
+    private List<OutboxConsumer> consumers;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxCheckpointRepository outboxCheckpointRepository;
+
+    @Autowired
+    private OutboxGapRepository outboxGapRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.poll-interval:1s}")
+    private Duration pollInterval;
+
+    // How long a missing id is waited for before newer events are delivered past it and it becomes a gap
+    @Value("${app.outbox.gap-wait:5s}")
+    private Duration gapWait;
+
+    // How long a passed over id is still looked for, ids that never show up were rolled back
+    @Value("${app.outbox.gap-expiry:1h}")
+    private Duration gapExpiry;
+
+    @Value("${app.outbox.retention:7d}")
+    private Duration retention;
+
+    @Value("${app.outbox.max-retry-delay:1m}")
+    private Duration maxRetryDelay;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+
+    private final Map<String, Retry> retries = new ConcurrentHashMap<>();
+
+    private volatile Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (OutboxConsumer consumer : consumers) {
+            createCheckpoint(consumer);
+        }
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        worker = builder.name("outbox-dispatcher").start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread current = worker;
+        worker = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    /**
+     * Called after a transaction with outbox events has committed.
+     */
+    public void wakeUp() {
+        if (wakeUps.availablePermits() == 0) {
+            wakeUps.release();
+        }
+    }
+
+    /**
+     * Delivers the next batch to one consumer and returns the number of events it handled.
+     */
+    public int dispatch(OutboxConsumer consumer) {
+        Integer handled = transactionTemplate.execute(status -> {
+            OutboxCheckpoint checkpoint = outboxCheckpointRepository.lockByConsumer(consumer.getName())
+                    .orElseThrow(() -> new IllegalStateException("No checkpoint for outbox consumer " + consumer.getName()));
+            List<OutboxEvent> events = settled(consumer.getName(), checkpoint.getLastEventId(), outboxEventRepository
+                    .findByIdGreaterThanOrderByIdAsc(checkpoint.getLastEventId(), PageRequest.of(0, batchSize)));
+            // Read after the batch: an event of a gap commits before any later event of the same user
+            List<OutboxEvent> late = lateEvents(consumer.getName());
+            if (events.isEmpty() && late.isEmpty()) {
+                return 0;
+            }
+
+            List<OutboxEvent> delivery = new ArrayList<>(late);
+            delivery.addAll(events);
+            try {
+                consumer.handle(delivery);
+            } catch (Exception e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            if (!events.isEmpty()) {
+                checkpoint.setLastEventId(events.get(events.size() - 1).getId());
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                outboxCheckpointRepository.save(checkpoint);
+            }
+            return delivery.size();
+        });
+        return handled != null ? handled : 0;
+    }
+
+    /**
+     * Moves the consumer back, so it handles every retained event from fromEventId on again.
+     * Also moves it forward, past an event it keeps failing on.
+     */
+    public void replay(String consumerName, long fromEventId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            OutboxCheckpoint checkpoint = outboxCheckpointRepository.lockByConsumer(consumerName)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown outbox consumer: " + consumerName));
+            checkpoint.setLastEventId(Math.max(0, fromEventId - 1));
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            outboxCheckpointRepository.save(checkpoint);
+            outboxGapRepository.deleteByConsumer(consumerName);
+        });
+        retries.remove(consumerName);
+        log.info("Outbox consumer {} replays from event {}", consumerName, fromEventId);
+        wakeUp();
+    }
+
+    public List<OutboxConsumerStatusDto> getStatus() {
+        long lastEventId = outboxEventRepository.findLastId();
+        List<OutboxConsumerStatusDto> status = new ArrayList<>();
+        for (OutboxConsumer consumer : consumers) {
+            long handledUpTo = outboxCheckpointRepository.findById(consumer.getName())
+                    .map(OutboxCheckpoint::getLastEventId)
+                    .orElse(0L);
+            Retry retry = retries.get(consumer.getName());
+            status.add(new OutboxConsumerStatusDto(
+                    consumer.getName(),
+                    handledUpTo,
+                    Math.max(0, lastEventId - handledUpTo),
+                    outboxGapRepository.countByConsumer(consumer.getName()),
+                    retry != null ? retry.failures : 0,
+                    retry != null ? retry.lastError : null
+            ));
+        }
+        return status;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.prune-interval-ms:3600000}")
+    public void prune() {
+        Long handledByAll = outboxCheckpointRepository.findLowestLastEventId();
+        if (handledByAll == null) {
+            return;
+        }
+        int deleted = outboxEventRepository.deleteHandledBefore(handledByAll, LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Deleted {} handled outbox events", deleted);
+        }
+    }
+
+    private void run() {
+        while (worker == Thread.currentThread()) {
+            try {
+                if (dispatchAll() == 0) {
+                    wakeUps.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                log.error("Outbox dispatcher failed: {}", e.getMessage());
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private int dispatchAll() {
+        int handled = 0;
+        long now = System.currentTimeMillis();
+        for (OutboxConsumer consumer : consumers) {
+            Retry retry = retries.get(consumer.getName());
+            if (retry != null && retry.retryAt > now) {
+                continue;
+            }
+            try {
+                handled += dispatch(consumer);
+                retries.remove(consumer.getName());
+            } catch (Exception e) {
+                Retry next = retries.merge(consumer.getName(), new Retry(), (previous, ignored) -> previous);
+                next.failed(e, pollInterval.toMillis(), maxRetryDelay.toMillis());
+                log.warn("Outbox consumer {} failed {} times, retrying in {} ms: {}",
+                        consumer.getName(), next.failures, next.retryAt - now, e.getMessage());
+            }
+        }
+        return handled;
+    }
+
+    /**
+     * Cuts the batch at the first missing id that may still belong to an uncommitted write.
+     * Ids missing for longer than the gap wait are passed over and recorded as gaps of the consumer.
+     */
+    private List<OutboxEvent> settled(String consumerName, long lastEventId, List<OutboxEvent> events) {
+        LocalDateTime settledBefore = LocalDateTime.now().minus(gapWait);
+        long expected = lastEventId + 1;
+        int ready = 0;
+        List<OutboxGap> gaps = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            if (event.getId() != expected) {
+                if (event.getCreatedAt().isAfter(settledBefore)) {
+                    break;
+                }
+                // Bounded, a large jump in the ids is the database skipping them rather than writes in flight
+                for (long id = expected; id < event.getId() && gaps.size() < batchSize; id++) {
+                    gaps.add(new OutboxGap(consumerName, id));
+                }
+            }
+            expected = event.getId() + 1;
+            ready++;
+        }
+        if (!gaps.isEmpty()) {
+            outboxGapRepository.saveAll(gaps);
+        }
+        return events.subList(0, ready);
+    }
+
+    /**
+     * Events of earlier gaps that have been committed since, in id order. Their gaps are closed, and gaps older
+     * than the gap expiry are given up.
+     */
+    private List<OutboxEvent> lateEvents(String consumerName) {
+        outboxGapRepository.deleteExpired(consumerName, LocalDateTime.now().minus(gapExpiry));
+        List<OutboxGap> gaps = outboxGapRepository.findByConsumer(consumerName);
+        if (gaps.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, OutboxGap> gapsByEventId = new HashMap<>();
+        for (OutboxGap gap : gaps) {
+            gapsByEventId.put(gap.getEventId(), gap);
+        }
+        List<OutboxEvent> late = new ArrayList<>(outboxEventRepository.findAllById(gapsByEventId.keySet()));
+        if (late.isEmpty()) {
+            return late;
+        }
+        late.sort(Comparator.comparing(OutboxEvent::getId));
+        outboxGapRepository.deleteAll(late.stream().map(event -> gapsByEventId.get(event.getId())).toList());
+        log.info("Outbox consumer {} receives {} late events", consumerName, late.size());
+        return late;
+    }
+
+    // A new consumer starts at the end of the stream, rebuilding from older events is an explicit replay
+    private void createCheckpoint(OutboxConsumer consumer) {
+        if (outboxCheckpointRepository.existsById(consumer.getName())) {
+            return;
+        }
+        try {
+            long lastEventId = outboxEventRepository.findLastId();
+            outboxCheckpointRepository.save(new OutboxCheckpoint(consumer.getName(), lastEventId, LocalDateTime.now()));
+            log.info("Outbox consumer {} starts after event {}", consumer.getName(), lastEventId);
+        } catch (DataIntegrityViolationException e) {
+            // Created by another instance at the same time
+        }
+    }
+
+    private static class Retry {
+        private int failures;
+        private long retryAt;
+        private String lastError;
+
+        private void failed(Exception e, long initialDelay, long maxDelay) {
+            failures++;
+            lastError = e.getMessage();
+            long delay = Math.min(maxDelay, initialDelay << Math.min(failures - 1, 16));
+            retryAt = System.currentTimeMillis() + delay;
+        }
+    }
+}
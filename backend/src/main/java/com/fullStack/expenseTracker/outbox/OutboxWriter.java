@@ -0,0 +1,161 @@
+package com.fullStack.expenseTracker.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullStack.expenseTracker.enums.OutboxEventType;
+import com.fullStack.expenseTracker.models.Account;
+import com.fullStack.expenseTracker.models.Category;
+import com.fullStack.expenseTracker.models.CategoryBudget;
+import com.fullStack.expenseTracker.models.OutboxEvent;
+import com.fullStack.expenseTracker.models.Transaction;
+import com.fullStack.expenseTracker.repository.OutboxEventRepository;
+import com.fullStack.expenseTracker.sync.ChangeSequencer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Appends domain events to the outbox. Events are only written inside the transaction of the change they describe,
+ * so either both are stored or neither is. The dispatcher is woken up once the transaction has committed.
+ * The user's row is locked before an event gets its id, so the events of one user commit in id order even when
+ * the change itself is flushed, and sequenced, only later in the transaction.
+ */
+@Component
+public class OutboxWriter {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private ChangeSequencer changeSequencer;
+
+    public void transactionCreated(Transaction transaction) {
+        write(event(transaction.getUser().getId(), OutboxEventType.TRANSACTION_CREATED, transaction.getTransactionId(),
+                payloadOf(transaction)));
+    }
+
+    public void transactionUpdated(Transaction transaction, Category previousCategory, Account previousAccount, LocalDate previousDate) {
+        TransactionEventPayload payload = payloadOf(transaction);
+        payload.setPreviousCategoryId(previousCategory != null ? previousCategory.getCategoryId() : null);
+        payload.setPreviousAccountId(previousAccount != null ? previousAccount.getId() : null);
+        payload.setPreviousDate(previousDate);
+        write(event(transaction.getUser().getId(), OutboxEventType.TRANSACTION_UPDATED, transaction.getTransactionId(), payload));
+    }
+
+    public void transactionDeleted(Transaction transaction) {
+        write(event(transaction.getUser().getId(), OutboxEventType.TRANSACTION_DELETED, transaction.getTransactionId(),
+                payloadOf(transaction)));
+    }
+
+    public void accountChanged(Long userId, Account account) {
+        write(event(userId, OutboxEventType.ACCOUNT_CHANGED, account.getId(),
+                new AccountEventPayload(account.getId(), account.getBalance(), false)));
+    }
+
+    public void accountDeleted(Long userId, Long accountId) {
+        write(event(userId, OutboxEventType.ACCOUNT_CHANGED, accountId, new AccountEventPayload(accountId, 0, true)));
+    }
+
+    public void budgetChanged(Long userId, CategoryBudget budget) {
+        write(event(userId, OutboxEventType.BUDGET_CHANGED, budget.getId(), new BudgetEventPayload(
+                budget.getId(),
+                budget.getCategory() != null ? budget.getCategory().getCategoryId() : null,
+                budget.getAmount(),
+                budget.getMonth(),
+                budget.getYear()
+        )));
+    }
+
+    public void budgetDeleted(Long userId, CategoryBudget budget) {
+        write(event(userId, OutboxEventType.BUDGET_DELETED, budget.getId(), new BudgetEventPayload(
+                budget.getId(),
+                budget.getCategory() != null ? budget.getCategory().getCategoryId() : null,
+                budget.getAmount(),
+                budget.getMonth(),
+                budget.getYear()
+        )));
+    }
+
+    /**
+     * Builds an event for writeAll, for write paths that insert their rows with JDBC.
+     */
+    public OutboxEvent event(Long userId, OutboxEventType type, Long aggregateId, Object payload) {
+        try {
+            return new OutboxEvent(userId, type, aggregateId, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + type + " event payload", e);
+        }
+    }
+
+    /**
+     * Writes the events with one JDBC batch.
+     */
+    public void writeAll(List<OutboxEvent> events) {
+        requireTransaction();
+        // In id order, so two batches for the same users cannot deadlock
+        events.stream().map(OutboxEvent::getUserId).distinct().sorted().forEach(changeSequencer::lock);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO outbox_event (user_id, event_type, aggregate_id, payload, created_at) VALUES (?, ?, ?, ?, ?)",
+                events, events.size(),
+                (statement, event) -> {
+                    statement.setLong(1, event.getUserId());
+                    statement.setString(2, event.getEventType().name());
+                    statement.setLong(3, event.getAggregateId());
+                    statement.setString(4, event.getPayload());
+                    statement.setTimestamp(5, Timestamp.valueOf(event.getCreatedAt()));
+                });
+        wakeUpAfterCommit();
+    }
+
+    private void write(OutboxEvent event) {
+        requireTransaction();
+        changeSequencer.lock(event.getUserId());
+        outboxEventRepository.save(event);
+        wakeUpAfterCommit();
+    }
+
+    private TransactionEventPayload payloadOf(Transaction transaction) {
+        return new TransactionEventPayload(
+                transaction.getTransactionId(),
+                transaction.getUser().getId(),
+                transaction.getCategory() != null ? transaction.getCategory().getCategoryId() : null,
+                transaction.getAccount() != null ? transaction.getAccount().getId() : null,
+                transaction.getAmount(),
+                transaction.getDate(),
+                transaction.getDescription(),
+                null,
+                null,
+                null
+        );
+    }
+
+    private void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox events must be written in the transaction of their change");
+        }
+    }
+
+    private void wakeUpAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxDispatcher.wakeUp();
+            }
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.fullStack.expenseTracker.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullStack.expenseTracker.models.OutboxEvent;
+import com.fullStack.expenseTracker.services.impls.TransactionSearchIndexer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the transaction search index in step with the transactions, off the request path.
+ * Only the last state of a transaction within a batch is indexed.
+ */
+@Component
+public class SearchIndexConsumer implements OutboxConsumer {
+
+    @Autowired
+    private TransactionSearchIndexer transactionSearchIndexer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public String getName() {
+        return "search-index";
+    }
+
+    @Override
+    public void handle(List<OutboxEvent> events) throws Exception {
+        Map<Long, TransactionEventPayload> changed = new LinkedHashMap<>();
+        Set<Long> removed = new HashSet<>();
+        for (OutboxEvent event : events) {
+            switch (event.getEventType()) {
+                case TRANSACTION_CREATED, TRANSACTION_UPDATED -> {
+                    changed.put(event.getAggregateId(), objectMapper.readValue(event.getPayload(), TransactionEventPayload.class));
+                    removed.remove(event.getAggregateId());
+                }
+                case TRANSACTION_DELETED -> {
+                    changed.remove(event.getAggregateId());
+                    removed.add(event.getAggregateId());
+                }
+                default -> {
+                }
+            }
+        }
+        if (!changed.isEmpty() || !removed.isEmpty()) {
+            transactionSearchIndexer.reindex(changed.values(), removed);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.fullStack.expenseTracker.outbox;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * State of a transaction after the change, or before it for a deletion.
+ * Updates also carry the previous category, account and date, whose totals lost the old amount.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionEventPayload {
+    private Long transactionId;
+    private Long userId;
+    private Integer categoryId;
+    private Long accountId;
+    private double amount;
+    private LocalDate date;
+    private String description;
+    private Integer previousCategoryId;
+    private Long previousAccountId;
+    private LocalDate previousDate;
+}
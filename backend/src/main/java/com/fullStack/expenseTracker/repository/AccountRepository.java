@@ -2,8 +2,13 @@ package com.fullStack.expenseTracker.repository;
 
 import com.fullStack.expenseTracker.models.Account;
 import com.fullStack.expenseTracker.models.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,4 +18,10 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     List<Account> findByUser(User user);
     Optional<Account> findByIdAndUser(Long id, User user);
     List<Account> findByUserId(Long userId);
+    List<Account> findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long userId, Long changeSeq, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE account SET balance = balance + :delta, change_seq = :changeSeq WHERE id = :id", nativeQuery = true)
+    int adjustBalance(@Param("id") Long id, @Param("delta") double delta, @Param("changeSeq") long changeSeq);
 }
@@ -2,6 +2,7 @@ package com.fullStack.expenseTracker.repository;
 
 import com.fullStack.expenseTracker.models.CategoryBudget;
 import com.fullStack.expenseTracker.models.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -14,4 +15,6 @@ public interface CategoryBudgetRepository extends JpaRepository<CategoryBudget,
     Optional<CategoryBudget> findByIdAndUser(Long id, User user);
     List<CategoryBudget> findByUser(User user);
     List<CategoryBudget> findByMonthAndYear(int month, int year);
+    List<CategoryBudget> findByUserIdAndCategoryCategoryIdAndMonthAndYear(Long userId, Integer categoryId, int month, int year);
+    List<CategoryBudget> findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long userId, Long changeSeq, Pageable pageable);
 }
@@ -0,0 +1,16 @@
+package com.fullStack.expenseTracker.repository;
+
+import com.fullStack.expenseTracker.models.CategoryRule;
+import com.fullStack.expenseTracker.models.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRuleRepository extends JpaRepository<CategoryRule, Long> {
+    List<CategoryRule> findByUserIdOrderByIdAsc(Long userId);
+    Optional<CategoryRule> findByIdAndUser(Long id, User user);
+    long countByUser(User user);
+}
@@ -0,0 +1,36 @@
+package com.fullStack.expenseTracker.repository;
+
+import com.fullStack.expenseTracker.models.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+
+    Optional<IdempotencyKey> findByUserIdAndKey(Long userId, String key);
+
+    /**
+     * Records the transaction on a reservation that is still open, 0 when it was taken over or completed meanwhile.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyKey k SET k.transactionId = :transactionId WHERE k.id = :id AND k.transactionId IS NULL")
+    int completeReservation(@Param("id") Long id, @Param("transactionId") Long transactionId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKey k WHERE k.id = :id AND k.transactionId IS NULL")
+    int deleteReservation(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,25 @@
+package com.fullStack.expenseTracker.repository;
+
+import com.fullStack.expenseTracker.models.OutboxCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxCheckpointRepository extends JpaRepository<OutboxCheckpoint, String> {
+
+    /**
+     * Locks the checkpoint until the surrounding transaction ends, so a consumer never runs twice at the same time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM OutboxCheckpoint c WHERE c.consumer = :consumer")
+    Optional<OutboxCheckpoint> lockByConsumer(@Param("consumer") String consumer);
+
+    @Query("SELECT MIN(c.lastEventId) FROM OutboxCheckpoint c")
+    Long findLowestLastEventId();
+}
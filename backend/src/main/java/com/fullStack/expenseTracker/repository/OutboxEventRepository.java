@@ -0,0 +1,30 @@
+package com.fullStack.expenseTracker.repository;
+
+import com.fullStack.expenseTracker.models.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM OutboxEvent e")
+    long findLastId();
+
+    /**
+     * Drops events that every consumer has handled and that are older than the replay window.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent e WHERE e.id <= :handledUpTo AND e.createdAt < :cutoff")
+    int deleteHandledBefore(@Param("handledUpTo") long handledUpTo, @Param("cutoff") LocalDateTime cutoff);
+}
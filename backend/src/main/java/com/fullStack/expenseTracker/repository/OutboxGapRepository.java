@@ -0,0 +1,27 @@
+package com.fullStack.expenseTracker.repository;
+
+import com.fullStack.expenseTracker.models.OutboxGap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxGapRepository extends JpaRepository<OutboxGap, Long> {
+
+    List<OutboxGap> findByConsumer(String consumer);
+
+    long countByConsumer(String consumer);
+
+    @Modifying
+    @Query("DELETE FROM OutboxGap g WHERE g.consumer = :consumer")
+    int deleteByConsumer(@Param("consumer") String consumer);
+
+    @Modifying
+    @Query("DELETE FROM OutboxGap g WHERE g.consumer = :consumer AND g.skippedAt < :cutoff")
+    int deleteExpired(@Param("consumer") String consumer, @Param("cutoff") LocalDateTime cutoff);
+}
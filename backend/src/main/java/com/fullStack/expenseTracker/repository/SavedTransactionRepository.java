@@ -1,6 +1,7 @@
 package com.fullStack.expenseTracker.repository;
 
 import com.fullStack.expenseTracker.models.SavedTransaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +10,5 @@ import java.util.List;
 @Repository
 public interface SavedTransactionRepository extends JpaRepository<SavedTransaction, Long> {
     List<SavedTransaction> findByUserIdOrderByUpcomingDateAsc(long userId);
+    List<SavedTransaction> findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(long userId, Long changeSeq, Pageable pageable);
 }
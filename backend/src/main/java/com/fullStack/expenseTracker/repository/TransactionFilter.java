@@ -0,0 +1,33 @@
+package com.fullStack.expenseTracker.repository;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Resolved transaction listing filter. Null values mean the predicate is left out of the query entirely.
+ */
+@Data
+@NoArgsConstructor
+public class TransactionFilter {
+    private Long userId;
+
+    // Restricts results to these categories, for example the categories of one transaction type
+    private Set<Integer> categoryIds;
+    private Set<Long> accountIds;
+
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private Double minAmount;
+    private Double maxAmount;
+
+    // Set when the caller gave a search term. A transaction then has to match one of the alternatives below
+    private boolean searching;
+    private List<String> descriptionTokens = new ArrayList<>();
+    private Set<Integer> matchingCategoryIds;
+    private String emailPrefix;
+}
@@ -12,29 +12,44 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionSearchRepository {
 
-    @Query(value = "SELECT t.*, c.category_id AS c_category_id, c.category_name AS c_category_name, " +
-            "u.id AS u_id, u.email AS u_email, " +
-            "tt.transaction_type_id AS tt_transaction_type_id, tt.transaction_type_name AS tt_transaction_type_name " +
-            "FROM transaction t JOIN category c ON t.category_id = c.category_id JOIN users u ON t.user_id = u.id " +
-            "JOIN transaction_type tt ON c.transaction_type_id = tt.transaction_type_id " +
-            "WHERE u.email = :email and tt.transaction_type_name LIKE %:transactionType% and " +
-            "(t.description LIKE %:searchKey% OR c.category_name LIKE %:searchKey%)", nativeQuery = true)
-    Page<Transaction> findByUser(String email, Pageable pageable, String searchKey, String transactionType);
+    List<Transaction> findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long userId, Long changeSeq, Pageable pageable);
 
-    @Query(value = "SELECT t.*, c.category_id AS c_category_id, c.category_name AS c_category_name, " +
-            "u.id AS u_id, u.email AS u_email, " +
-            "tt.transaction_type_id AS tt_transaction_type_id, tt.transaction_type_name AS tt_transaction_type_name " +
-            "FROM transaction t JOIN category c ON t.category_id = c.category_id JOIN users u ON t.user_id = u.id " +
-            "JOIN transaction_type tt ON c.transaction_type_id = tt.transaction_type_id " +
-            "WHERE t.description LIKE %:searchKey% OR c.category_name LIKE %:searchKey% OR " +
-            "tt.transaction_type_name LIKE %:searchKey% OR u.email LIKE %:searchKey%", nativeQuery = true)
-    Page<Transaction> findAll(Pageable pageable, @Param("searchKey") String searchKey);
+    /**
+     * Distinct descriptions of a user with their use count and last date, most recently entered first.
+     */
+    @Query(value = "SELECT t.description, COUNT(*), MAX(t.date) FROM transaction t " +
+            "JOIN users u ON t.user_id = u.id " +
+            "WHERE u.email = :email AND t.description IS NOT NULL AND t.description <> '' " +
+            "GROUP BY t.description ORDER BY MAX(t.transaction_id) DESC LIMIT :limit", nativeQuery = true)
+    List<Object[]> findDescriptionUsageByUser(@Param("email") String email, @Param("limit") int limit);
+
+    /**
+     * Keyset page of a user's transactions as [transaction_id, description, category_id].
+     */
+    @Query(value = "SELECT t.transaction_id, t.description, t.category_id, t.account_id, t.amount, t.date FROM transaction t " +
+            "WHERE t.user_id = :userId AND t.transaction_id > :afterId " +
+            "ORDER BY t.transaction_id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findCategorisationChunk(@Param("userId") long userId, @Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Query(value = "SELECT t.transaction_id FROM transaction t WHERE t.user_id = :userId AND t.dedupe_key = :dedupeKey", nativeQuery = true)
+    Long findIdByDedupeKey(@Param("userId") long userId, @Param("dedupeKey") String dedupeKey);
+
+    @Query(value = "SELECT t.import_fingerprint FROM transaction t " +
+            "WHERE t.user_id = :userId AND t.import_fingerprint IN (:fingerprints)", nativeQuery = true)
+    List<String> findExistingImportFingerprints(@Param("userId") long userId, @Param("fingerprints") Collection<String> fingerprints);
 
+    /**
+     * Ids of imported transactions as [transaction_id, import_fingerprint].
+     */
+    @Query(value = "SELECT t.transaction_id, t.import_fingerprint FROM transaction t " +
+            "WHERE t.user_id = :userId AND t.import_fingerprint IN (:fingerprints)", nativeQuery = true)
+    List<Object[]> findIdsByImportFingerprints(@Param("userId") long userId, @Param("fingerprints") Collection<String> fingerprints);
 
     @Query(value = "SELECT SUM(amount) FROM `transaction` t " +
             "JOIN users u ON t.user_id = u.id " +
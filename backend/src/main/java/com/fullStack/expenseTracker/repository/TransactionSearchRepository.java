@@ -0,0 +1,10 @@
+package com.fullStack.expenseTracker.repository;
+
+import com.fullStack.expenseTracker.models.Transaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface TransactionSearchRepository {
+
+    Page<Transaction> search(TransactionFilter filter, Pageable pageable);
+}
@@ -0,0 +1,169 @@
+package com.fullStack.expenseTracker.repository;
+
+import com.fullStack.expenseTracker.enums.TransactionSortField;
+import com.fullStack.expenseTracker.models.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the transaction listing query from only the predicates a request actually uses.
+ * Description matches go through the transaction_search_token index instead of LIKE '%term%' scans.
+ */
+public class TransactionSearchRepositoryImpl implements TransactionSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Page<Transaction> search(TransactionFilter filter, Pageable pageable) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (filter.getUserId() != null) {
+            predicates.add("t.user_id = :userId");
+            parameters.put("userId", filter.getUserId());
+        }
+
+        if (filter.getCategoryIds() != null) {
+            if (filter.getCategoryIds().isEmpty()) {
+                return Page.empty(pageable);
+            }
+            predicates.add("t.category_id IN (:categoryIds)");
+            parameters.put("categoryIds", filter.getCategoryIds());
+        }
+
+        if (filter.getAccountIds() != null) {
+            if (filter.getAccountIds().isEmpty()) {
+                return Page.empty(pageable);
+            }
+            predicates.add("t.account_id IN (:accountIds)");
+            parameters.put("accountIds", filter.getAccountIds());
+        }
+
+        if (filter.getFromDate() != null) {
+            predicates.add("t.date >= :fromDate");
+            parameters.put("fromDate", filter.getFromDate());
+        }
+
+        if (filter.getToDate() != null) {
+            predicates.add("t.date <= :toDate");
+            parameters.put("toDate", filter.getToDate());
+        }
+
+        if (filter.getMinAmount() != null) {
+            predicates.add("t.amount >= :minAmount");
+            parameters.put("minAmount", filter.getMinAmount());
+        }
+
+        if (filter.getMaxAmount() != null) {
+            predicates.add("t.amount <= :maxAmount");
+            parameters.put("maxAmount", filter.getMaxAmount());
+        }
+
+        if (filter.isSearching()) {
+            String searchPredicate = searchPredicate(filter, parameters);
+            if (searchPredicate == null) {
+                return Page.empty(pageable);
+            }
+            predicates.add(searchPredicate);
+        }
+
+        String from = " FROM transaction t" + (predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates));
+
+        Query query = entityManager.createNativeQuery("SELECT t.*" + from + orderBy(pageable.getSort()), Transaction.class);
+        parameters.forEach(query::setParameter);
+        if (pageable.isUnpaged()) {
+            List<Transaction> content = query.getResultList();
+            return new PageImpl<>(content);
+        }
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        List<Transaction> content = query.getResultList();
+
+        // The count is skipped when the page itself tells the total
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            Query countQuery = entityManager.createNativeQuery("SELECT COUNT(*)" + from);
+            parameters.forEach(countQuery::setParameter);
+            return ((Number) countQuery.getSingleResult()).longValue();
+        });
+    }
+
+    /**
+     * Returns the OR of all search alternatives, or null if none of them can match.
+     */
+    private String searchPredicate(TransactionFilter filter, Map<String, Object> parameters) {
+        List<String> alternatives = new ArrayList<>();
+
+        List<String> tokens = filter.getDescriptionTokens();
+        if (!tokens.isEmpty()) {
+            // The first token drives the lookup through the (user_id, token) or (token) index, the rest are probes by transaction id
+            StringBuilder description = new StringBuilder("(t.transaction_id IN (SELECT s0.transaction_id FROM transaction_search_token s0 WHERE ");
+            if (filter.getUserId() != null) {
+                description.append("s0.user_id = :userId AND ");
+            }
+            description.append("s0.token LIKE :token0)");
+            parameters.put("token0", tokens.get(0) + "%");
+
+            for (int i = 1; i < tokens.size(); i++) {
+                description.append(" AND EXISTS (SELECT 1 FROM transaction_search_token s").append(i)
+                        .append(" WHERE s").append(i).append(".transaction_id = t.transaction_id")
+                        .append(" AND s").append(i).append(".token LIKE :token").append(i).append(")");
+                parameters.put("token" + i, tokens.get(i) + "%");
+            }
+            alternatives.add(description.append(")").toString());
+        }
+
+        if (filter.getMatchingCategoryIds() != null && !filter.getMatchingCategoryIds().isEmpty()) {
+            alternatives.add("t.category_id IN (:matchingCategoryIds)");
+            parameters.put("matchingCategoryIds", filter.getMatchingCategoryIds());
+        }
+
+        if (filter.getEmailPrefix() != null) {
+            alternatives.add("t.user_id IN (SELECT u.id FROM users u WHERE u.email LIKE :emailPrefix)");
+            parameters.put("emailPrefix", escapeLike(filter.getEmailPrefix()) + "%");
+        }
+
+        return alternatives.isEmpty() ? null : "(" + String.join(" OR ", alternatives) + ")";
+    }
+
+    /**
+     * Only index-backed columns are sorted on, anything else falls back to the newest transactions first.
+     */
+    private String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        String tieBreakDirection = "DESC";
+        for (Sort.Order order : sort) {
+            TransactionSortField field = TransactionSortField.fromParam(order.getProperty());
+            if (field != null) {
+                String direction = order.isAscending() ? "ASC" : "DESC";
+                orders.add(field.getColumn() + " " + direction);
+                tieBreakDirection = direction;
+            }
+        }
+        if (orders.isEmpty()) {
+            orders.add(TransactionSortField.DATE.getColumn() + " DESC");
+        }
+        // Makes paging deterministic when many transactions share a date or amount
+        String idColumn = TransactionSortField.ID.getColumn();
+        if (!orders.contains(idColumn + " ASC") && !orders.contains(idColumn + " DESC")) {
+            orders.add(idColumn + " " + tieBreakDirection);
+        }
+        return " ORDER BY " + String.join(", ", orders);
+    }
+
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,29 @@
+package com.fullStack.expenseTracker.repository;
+
+import com.fullStack.expenseTracker.models.TransactionSearchToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface TransactionSearchTokenRepository extends JpaRepository<TransactionSearchToken, Long> {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TransactionSearchToken s WHERE s.transactionId = :transactionId")
+    void deleteByTransactionId(@Param("transactionId") Long transactionId);
+
+    /**
+     * Keyset page of transactions that have a description but no tokens yet, as [transaction_id, user_id, description].
+     */
+    @Query(value = "SELECT t.transaction_id, t.user_id, t.description FROM transaction t " +
+            "WHERE t.transaction_id > :afterId AND t.description IS NOT NULL AND t.description <> '' " +
+            "AND NOT EXISTS (SELECT 1 FROM transaction_search_token s WHERE s.transaction_id = t.transaction_id) " +
+            "ORDER BY t.transaction_id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findUnindexedTransactions(@Param("afterId") long afterId, @Param("limit") int limit);
+}
@@ -25,13 +25,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Boolean existsByEmail(String email);
 
+    boolean existsByProfileImgUrlAndIdNot(String profileImgUrl, Long id);
+
     @Query(value = "SELECT * from users u " +
             "JOIN user_roles ur ON u.id = ur.user_id " +
             "WHERE ur.role_id = :roleId AND (:keyword IS NULL OR :keyword = '' OR u.username LIKE CONCAT('%', :keyword, '%') OR u.email LIKE CONCAT('%', :keyword, '%'))", nativeQuery = true)
     Page<User> findAll(Pageable pageable, @Param("roleId") int roleId, @Param("keyword") String keyword);
 
     @Query(value = "SELECT DISTINCT u.* FROM users u " +
-            "WHERE :keyword IS NULL OR :keyword = '' OR u.username LIKE CONCAT('%', :keyword, '%') OR u.email LIKE CONCAT('%', :keyword, '%')", nativeQuery = true)
+            "WHERE :keyword IS NULL OR :keyword = '' OR u.username LIKE CONCAT('%', :keyword, '%') OR u.email LIKE CONCAT('%', :keyword, '%')",
+            countQuery = "SELECT COUNT(*) FROM users u " +
+            "WHERE :keyword IS NULL OR :keyword = '' OR u.username LIKE CONCAT('%', :keyword, '%') OR u.email LIKE CONCAT('%', :keyword, '%')",
+            nativeQuery = true)
     Page<User> findAllUsers(Pageable pageable, @Param("keyword") String keyword);
 
     @Query(value = "SELECT COUNT(DISTINCT u.id) FROM users u " +
@@ -0,0 +1,41 @@
+package com.fullStack.expenseTracker.repository;
+
+import com.fullStack.expenseTracker.models.WebhookDelivery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WebhookDeliveryRepository extends JpaRepository<WebhookDelivery, Long> {
+
+    @Query("SELECT DISTINCT d.endpointId FROM WebhookDelivery d, WebhookEndpoint e " +
+            "WHERE e.id = d.endpointId AND e.enabled = true AND d.failed = false AND d.nextAttemptAt <= :now")
+    List<Long> findEndpointsWithDueDeliveries(@Param("now") LocalDateTime now);
+
+    List<WebhookDelivery> findByEndpointIdAndFailedFalseAndNextAttemptAtLessThanEqualOrderByIdAsc(Long endpointId,
+                                                                                                LocalDateTime now,
+                                                                                                Pageable pageable);
+
+    long countByEndpointIdAndFailed(Long endpointId, boolean failed);
+
+    @Query("SELECT MIN(d.createdAt) FROM WebhookDelivery d WHERE d.endpointId = :endpointId AND d.failed = false")
+    LocalDateTime findOldestPending(@Param("endpointId") Long endpointId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE WebhookDelivery d SET d.failed = false, d.attempts = 0, d.lastError = null, d.nextAttemptAt = :now " +
+            "WHERE d.endpointId = :endpointId AND d.failed = true")
+    int retryFailed(@Param("endpointId") Long endpointId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM WebhookDelivery d WHERE d.endpointId = :endpointId")
+    int deleteByEndpoint(@Param("endpointId") Long endpointId);
+}
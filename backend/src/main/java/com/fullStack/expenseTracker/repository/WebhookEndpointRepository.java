@@ -0,0 +1,25 @@
+package com.fullStack.expenseTracker.repository;
+
+import com.fullStack.expenseTracker.models.User;
+import com.fullStack.expenseTracker.models.WebhookEndpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WebhookEndpointRepository extends JpaRepository<WebhookEndpoint, Long> {
+    List<WebhookEndpoint> findByUserIdOrderByIdAsc(Long userId);
+    Optional<WebhookEndpoint> findByIdAndUser(Long id, User user);
+    long countByUser(User user);
+
+    /**
+     * Enabled endpoints that receive events of the given users, including the admin endpoints.
+     */
+    @Query("SELECT e FROM WebhookEndpoint e WHERE e.enabled = true AND (e.user IS NULL OR e.user.id IN :userIds)")
+    List<WebhookEndpoint> findReceiving(@Param("userIds") Collection<Long> userIds);
+}
@@ -4,6 +4,7 @@ import com.fullStack.expenseTracker.factories.RoleFactory;
 import com.fullStack.expenseTracker.models.Role;
 import com.fullStack.expenseTracker.models.User;
 import com.fullStack.expenseTracker.repository.UserRepository;
+import com.fullStack.expenseTracker.services.SystemStatsService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -31,6 +32,9 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private SystemStatsService systemStatsService;
+
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
         OAuth2User oauth2User = super.loadUser(userRequest);
@@ -80,6 +84,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             newUser.setRoles(roles);
 
             userRepository.save(newUser);
+            systemStatsService.userCreated(newUser);
             log.info("New OAuth2 user created: {}", email);
 
             return newUser;
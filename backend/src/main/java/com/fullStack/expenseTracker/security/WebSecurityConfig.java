@@ -4,6 +4,9 @@ import com.fullStack.expenseTracker.security.jwt.AuthEntryPointJwt;
 import com.fullStack.expenseTracker.security.jwt.AuthTokenFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -115,6 +118,12 @@ public class WebSecurityConfig {
                                 // OAuth2 endpoints
                                 .requestMatchers("/oauth2/**").permitAll()
                                 .requestMatchers("/login/oauth2/**").permitAll()
+                                // Locally stored profile images, loaded directly by <img> tags
+                                .requestMatchers("/expensia/blobs/**").permitAll()
+                                // Actuator, served on the management port only: health and the Prometheus scrape
+                                // are open to probes and scrapers, the other endpoints are for admins
+                                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
+                                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole("ADMIN")
                                 // All other requests require authentication
                                 .anyRequest().authenticated()
                 )
@@ -0,0 +1,94 @@
+package com.fullStack.expenseTracker.services;
+
+import com.fullStack.expenseTracker.dto.reponses.PresignedUrlDto;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Storage for binary objects such as profile images.
+ * Implementations stream content and never hold a whole object on the heap.
+ */
+public interface BlobStore {
+
+    /**
+     * Stores the content under a key derived from its SHA-256 hash and returns that key.
+     * Content that is already stored is not written a second time.
+     * Example: (profile-images/, .jpg) -> profile-images/9f86d081884c7d65...0f00a08.jpg
+     */
+    String putContentAddressed(String prefix, InputStreamSource content, long contentLength, String contentType, String extension) throws IOException;
+
+    /**
+     * Streams the content into the store under the given key, replacing any existing object.
+     * Used for variants derived from a content-addressed blob, such as thumbnails.
+     * Returns only once the object is durably stored.
+     */
+    void put(String key, InputStream content, long contentLength, String contentType) throws IOException;
+
+    InputStream get(String key) throws IOException;
+
+    boolean exists(String key);
+
+    void delete(String key) throws IOException;
+
+    /**
+     * Accounts for an object written directly by a client through a presigned URL.
+     * Returns false when no object exists under the key.
+     */
+    boolean confirmUpload(String key);
+
+    /**
+     * Total size of all stored objects. Maintained incrementally on every write and delete.
+     */
+    long getUsedBytes();
+
+    String getPublicUrl(String key);
+
+    /**
+     * Reverse of {@link #getPublicUrl(String)}.
+     * Example: https://nyc3.digitaloceanspaces.com/bucket-name/profile-images/user.jpg -> profile-images/user.jpg
+     */
+    String getKeyFromUrl(String url);
+
+    /**
+     * Whether clients can transfer content directly with the store through presigned URLs,
+     * bypassing the application server.
+     */
+    default boolean supportsPresignedUrls() {
+        return false;
+    }
+
+    /**
+     * Issues a short-lived URL that accepts exactly one PUT of the given type and length.
+     */
+    default PresignedUrlDto presignUpload(String key, String contentType, long contentLength, Duration ttl) {
+        throw new UnsupportedOperationException("Presigned uploads are not supported by " + getClass().getSimpleName());
+    }
+
+    default PresignedUrlDto presignDownload(String key, Duration ttl) {
+        throw new UnsupportedOperationException("Presigned downloads are not supported by " + getClass().getSimpleName());
+    }
+
+    static MessageDigest newContentDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static String contentHash(InputStreamSource content) throws IOException {
+        MessageDigest digest = newContentDigest();
+        try (InputStream in = new DigestInputStream(content.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -1,5 +1,6 @@
 package com.fullStack.expenseTracker.services;
 
+import com.fullStack.expenseTracker.jfr.BudgetJobEvent;
 import com.fullStack.expenseTracker.models.CategoryBudget;
 import com.fullStack.expenseTracker.models.User;
 import com.fullStack.expenseTracker.repository.CategoryBudgetRepository;
@@ -32,6 +33,9 @@ public class BudgetAlertService {
     @Scheduled(cron = "0 0 5 * * ?")
     public void checkBudgetAlerts() {
         log.info("Starting budget alert check...");
+        BudgetJobEvent event = new BudgetJobEvent();
+        event.job = "checkBudgetAlerts";
+        event.begin();
 
         LocalDate now = LocalDate.now();
         int currentMonth = now.getMonthValue();
@@ -40,19 +44,36 @@ public class BudgetAlertService {
         List<CategoryBudget> budgets = categoryBudgetRepository.findByMonthAndYear(currentMonth, currentYear);
 
         for (CategoryBudget budget : budgets) {
+            event.budgetsChecked++;
             try {
-                checkAndSendAlert(budget, currentMonth, currentYear);
+                if (checkAndSendAlert(budget, currentMonth, currentYear)) {
+                    event.alertsSent++;
+                }
             } catch (Exception e) {
+                event.failures++;
                 log.error("Error checking budget alert for budget ID {}: {}", budget.getId(), e.getMessage());
             }
         }
 
+        event.commit();
         log.info("Budget alert check completed.");
     }
 
-    private void checkAndSendAlert(CategoryBudget budget, int month, int year) {
+    /**
+     * Checks the user's budgets of one category and month right after its spending changed.
+     */
+    public void checkBudgets(Long userId, Integer categoryId, int month, int year) {
+        for (CategoryBudget budget : categoryBudgetRepository.findByUserIdAndCategoryCategoryIdAndMonthAndYear(userId, categoryId, month, year)) {
+            checkAndSendAlert(budget, month, year);
+        }
+    }
+
+    /**
+     * Returns true when an alert was sent.
+     */
+    private boolean checkAndSendAlert(CategoryBudget budget, int month, int year) {
         if (budget.isAlertSent()) {
-            return;
+            return false;
         }
 
         User user = budget.getUser();
@@ -87,9 +108,11 @@ public class BudgetAlertService {
                 categoryBudgetRepository.save(budget);
 
                 log.info("Budget alert sent to {} for category {}", email, budget.getCategory().getCategoryName());
+                return true;
             } catch (Exception e) {
                 log.error("Failed to send budget alert: {}", e.getMessage());
             }
         }
+        return false;
     }
 }
@@ -0,0 +1,21 @@
+package com.fullStack.expenseTracker.services;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.dto.requests.CategoryRuleRequestDto;
+import com.fullStack.expenseTracker.exceptions.CategoryNotFoundException;
+import com.fullStack.expenseTracker.exceptions.CategoryRuleNotFoundException;
+import com.fullStack.expenseTracker.exceptions.CategoryRuleServiceLogicException;
+import com.fullStack.expenseTracker.exceptions.UserNotFoundException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface CategoryRuleService {
+    ResponseEntity<ApiResponseDto<?>> createRule(CategoryRuleRequestDto categoryRuleRequestDto)
+            throws UserNotFoundException, CategoryNotFoundException, CategoryRuleServiceLogicException;
+    ResponseEntity<ApiResponseDto<?>> getRulesByUser(String email) throws UserNotFoundException;
+    ResponseEntity<ApiResponseDto<?>> updateRule(Long ruleId, CategoryRuleRequestDto categoryRuleRequestDto)
+            throws UserNotFoundException, CategoryNotFoundException, CategoryRuleNotFoundException;
+    ResponseEntity<ApiResponseDto<?>> deleteRule(Long ruleId, String email) throws UserNotFoundException, CategoryRuleNotFoundException;
+    ResponseEntity<ApiResponseDto<?>> applyRulesToHistory(String email) throws UserNotFoundException;
+}
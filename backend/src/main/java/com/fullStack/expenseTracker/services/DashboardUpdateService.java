@@ -0,0 +1,274 @@
+package com.fullStack.expenseTracker.services;
+
+import com.fullStack.expenseTracker.dto.reponses.AccountSummaryDto;
+import com.fullStack.expenseTracker.models.Account;
+import com.fullStack.expenseTracker.models.Category;
+import com.fullStack.expenseTracker.models.CategoryBudget;
+import com.fullStack.expenseTracker.models.User;
+import com.fullStack.expenseTracker.repository.CategoryBudgetRepository;
+import com.fullStack.expenseTracker.services.impls.BudgetProgressCalculator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes balance and budget changes to the open dashboards of their user, so the dashboard no longer polls.
+ *
+ * Write paths only put small events into a bounded buffer per stream, a push thread drains it to the client.
+ * A stream whose buffer is full is closed instead of holding events back: the client reconnects and reloads
+ * the dashboard once, which costs less than queueing an unbounded backlog for it. Nothing is looked up for
+ * users without an open stream.
+ */
+@Service
+@Slf4j
+public class DashboardUpdateService {
+
+    @Autowired
+    private CategoryBudgetRepository categoryBudgetRepository;
+
+    @Autowired
+    private BudgetProgressCalculator budgetProgressCalculator;
+
+    @Autowired
+    @Qualifier("pushTaskExecutor")
+    private TaskExecutor pushTaskExecutor;
+
+    @Value("${app.updates.stream-timeout:30m}")
+    private Duration streamTimeout;
+
+    @Value("${app.updates.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${app.updates.max-streams-per-user:5}")
+    private int maxStreamsPerUser;
+
+    private final Map<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(userId, emitter, bufferSize);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        List<Subscriber> streams = subscribers.compute(userId, (id, current) -> {
+            List<Subscriber> list = current != null ? current : new CopyOnWriteArrayList<>();
+            list.add(subscriber);
+            return list;
+        });
+        // Tabs left open elsewhere: the oldest stream makes room for the new one
+        while (streams.size() > maxStreamsPerUser) {
+            close(streams.get(0));
+        }
+
+        enqueue(subscriber, new Update("connected", userId));
+        return emitter;
+    }
+
+    public boolean hasSubscribers(Long userId) {
+        return userId != null && subscribers.containsKey(userId);
+    }
+
+    public void accountChanged(Long userId, Account account) {
+        if (!hasSubscribers(userId)) {
+            return;
+        }
+        AccountSummaryDto summary = new AccountSummaryDto(
+                account.getId(),
+                account.getAccountName(),
+                account.getAccountType(),
+                account.getBalance()
+        );
+        afterCommit(() -> publish(userId, new Update("balance", summary)));
+    }
+
+    public void accountDeleted(Long userId, Long accountId) {
+        if (hasSubscribers(userId)) {
+            afterCommit(() -> publish(userId, new Update("account-deleted", accountId)));
+        }
+    }
+
+    public void budgetChanged(User user, CategoryBudget budget) {
+        if (hasSubscribers(user.getId())) {
+            afterCommit(() -> publish(user.getId(), new Update("budget", budgetProgressCalculator.progressOf(budget, user.getEmail()))));
+        }
+    }
+
+    public void budgetDeleted(Long userId, Long budgetId) {
+        if (hasSubscribers(userId)) {
+            afterCommit(() -> publish(userId, new Update("budget-deleted", budgetId)));
+        }
+    }
+
+    /**
+     * A transaction was added, changed or removed: its account balance and the budget of its category and month moved.
+     */
+    public void transactionChanged(User user, Account account, Category category, LocalDate date) {
+        if (!hasSubscribers(user.getId())) {
+            return;
+        }
+        if (account != null) {
+            accountChanged(user.getId(), account);
+        }
+        if (category != null && date != null) {
+            spendingChanged(user, category.getCategoryId(), YearMonth.from(date));
+        }
+    }
+
+    public void spendingChanged(User user, Integer categoryId, YearMonth month) {
+        if (!hasSubscribers(user.getId())) {
+            return;
+        }
+        afterCommit(() -> {
+            for (CategoryBudget budget : categoryBudgetRepository.findByUserIdAndCategoryCategoryIdAndMonthAndYear(
+                    user.getId(), categoryId, month.getMonthValue(), month.getYear())) {
+                publish(user.getId(), new Update("budget", budgetProgressCalculator.progressOf(budget, user.getEmail())));
+            }
+        });
+    }
+
+    /**
+     * Keeps idle streams open through proxies and finds the clients that went away without closing.
+     */
+    @Scheduled(fixedDelayString = "${app.updates.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        for (List<Subscriber> streams : subscribers.values()) {
+            for (Subscriber subscriber : streams) {
+                enqueue(subscriber, Update.HEARTBEAT);
+            }
+        }
+    }
+
+    // Clients must never see a value that is rolled back afterwards
+    private void afterCommit(Runnable action) {
+        Runnable guarded = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                log.warn("Failed to prepare dashboard update: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+
+    private void publish(Long userId, Update update) {
+        List<Subscriber> streams = subscribers.get(userId);
+        if (streams != null) {
+            for (Subscriber subscriber : streams) {
+                enqueue(subscriber, update);
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Update update) {
+        if (!subscriber.buffer.offer(update)) {
+            log.info("Closing the dashboard update stream of user {}, it fell {} events behind", subscriber.userId, bufferSize);
+            close(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                pushTaskExecutor.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                subscriber.draining.set(false);
+                close(subscriber);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            try {
+                Update update;
+                while ((update = subscriber.buffer.poll()) != null) {
+                    subscriber.emitter.send(update.toEvent());
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away, stop pushing to it
+                subscriber.draining.set(false);
+                close(subscriber);
+                return;
+            }
+            subscriber.draining.set(false);
+            // An event offered between the last poll and the reset above would otherwise wait for the next one
+        } while (!subscriber.buffer.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void close(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            subscriber.buffer.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(subscriber.userId, (id, streams) -> {
+            removed[0] = streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+        return removed[0];
+    }
+
+    private static class Update {
+        private static final Update HEARTBEAT = new Update(null, null);
+
+        private final String name;
+        private final Object data;
+
+        private Update(String name, Object data) {
+            this.name = name;
+            this.data = data;
+        }
+
+        // Builders are single use, each stream gets its own
+        private SseEmitter.SseEventBuilder toEvent() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().name(name).data(data);
+        }
+    }
+
+    private static class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Update> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.fullStack.expenseTracker.services;
+
+import com.fullStack.expenseTracker.dto.reponses.FlightRecordingDto;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Starts, stops and dumps Java Flight Recorder recordings for admins, so a latency spike can be profiled without
+ * shell access. The number of recordings kept, their duration and their size are capped, a recording always ends
+ * by itself. The "default" profile costs about 1% CPU, "profile" samples more and costs about 2%.
+ */
+@Service
+@Slf4j
+public class FlightRecorderService {
+
+    @Value("${app.admin.jfr.max-recordings:2}")
+    private int maxRecordings;
+
+    @Value("${app.admin.jfr.max-duration:30m}")
+    private Duration maxDuration;
+
+    @Value("${app.admin.jfr.max-size:256MB}")
+    private DataSize maxSize;
+
+    @Value("${app.admin.jfr.dump-dir:${java.io.tmpdir}/expensia-jfr}")
+    private Path dumpDir;
+
+    private final Map<Long, ManagedRecording> recordings = new ConcurrentHashMap<>();
+
+    public List<FlightRecordingDto> getRecordings() {
+        return recordings.values().stream()
+                .sorted(Comparator.comparingLong(managed -> managed.recording().getId()))
+                .map(FlightRecorderService::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Starts a recording with one of the JFR profiles that stops after the duration, max-duration when none is
+     * given. When max-recordings are kept already, the oldest stopped one is closed to make room.
+     */
+    public synchronized FlightRecordingDto start(String profile, Duration duration, String name) {
+        Configuration configuration = findConfiguration(profile);
+        Duration recordingDuration = duration != null ? duration : maxDuration;
+        if (recordingDuration.isNegative() || recordingDuration.isZero() || recordingDuration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("Duration must be between 1s and " + maxDuration);
+        }
+        makeRoom();
+
+        Recording recording = new Recording(configuration);
+        // The name also names the dump files
+        recording.setName("expensia-" + (name != null && !name.isBlank() ? name.replaceAll("[^A-Za-z0-9_-]", "_") : profile));
+        recording.setDuration(recordingDuration);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setToDisk(true);
+        recording.start();
+        recordings.put(recording.getId(), new ManagedRecording(recording, profile));
+
+        log.info("Started JFR recording {} ({}) with profile {} for {}", recording.getId(), recording.getName(),
+                profile, recordingDuration);
+        return toDto(recordings.get(recording.getId()));
+    }
+
+    public FlightRecordingDto stop(long id) {
+        ManagedRecording managed = find(id);
+        if (managed.recording().getState() == RecordingState.RUNNING) {
+            managed.recording().stop();
+            log.info("Stopped JFR recording {}", id);
+        }
+        return toDto(managed);
+    }
+
+    /**
+     * Writes what the recording holds so far to a new file below the dump directory. The caller deletes the file
+     * once it has been sent.
+     */
+    public Path dump(long id) throws IOException {
+        ManagedRecording managed = find(id);
+        Files.createDirectories(dumpDir);
+        Path file = Files.createTempFile(dumpDir, managed.recording().getName() + "-", ".jfr");
+        managed.recording().dump(file);
+        return file;
+    }
+
+    public void close(long id) {
+        ManagedRecording managed = find(id);
+        recordings.remove(id);
+        managed.recording().close();
+        log.info("Closed JFR recording {}", id);
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        recordings.values().forEach(managed -> managed.recording().close());
+        recordings.clear();
+    }
+
+    private ManagedRecording find(long id) {
+        ManagedRecording managed = recordings.get(id);
+        if (managed == null) {
+            throw new IllegalArgumentException("No JFR recording with id " + id);
+        }
+        return managed;
+    }
+
+    private void makeRoom() {
+        if (recordings.size() < maxRecordings) {
+            return;
+        }
+        ManagedRecording oldestStopped = recordings.values().stream()
+                .filter(managed -> managed.recording().getState() != RecordingState.RUNNING
+                        && managed.recording().getState() != RecordingState.DELAYED)
+                .min(Comparator.comparingLong(managed -> managed.recording().getId()))
+                .orElseThrow(() -> new IllegalStateException(
+                        "Already " + recordings.size() + " JFR recordings running, stop one first"));
+        close(oldestStopped.recording().getId());
+    }
+
+    private static Configuration findConfiguration(String profile) {
+        // Only the configurations shipped with the JDK, never a file named by the caller
+        List<Configuration> configurations = Configuration.getConfigurations();
+        return configurations.stream()
+                .filter(configuration -> configuration.getName().equals(profile))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown JFR profile " + profile + ", use one of: "
+                        + configurations.stream().map(Configuration::getName).collect(Collectors.joining(", "))));
+    }
+
+    private static FlightRecordingDto toDto(ManagedRecording managed) {
+        Recording recording = managed.recording();
+        return new FlightRecordingDto(
+                recording.getId(),
+                recording.getName(),
+                managed.profile(),
+                recording.getState().name(),
+                recording.getStartTime() != null ? recording.getStartTime().toString() : null,
+                recording.getDuration() != null ? recording.getDuration().toString() : null,
+                recording.getSize()
+        );
+    }
+
+    private record ManagedRecording(Recording recording, String profile) {
+    }
+}
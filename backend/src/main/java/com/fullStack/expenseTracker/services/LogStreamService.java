@@ -0,0 +1,134 @@
+package com.fullStack.expenseTracker.services;
+
+import com.fullStack.expenseTracker.dto.reponses.LogEventDto;
+import com.fullStack.expenseTracker.dto.reponses.LogTailDto;
+import com.fullStack.expenseTracker.logging.RingBufferLogAppender;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Pushes new log events from the in-memory buffer to subscribed admins.
+ * A single scheduled dispatcher polls the buffer for all subscribers, so logging threads never do network I/O.
+ * The sends run on the push executor with at most one in flight per subscriber, so a slow client holds up
+ * neither the scheduler thread nor the other subscribers.
+ * Nothing in here logs on the hot path, otherwise every dispatch would feed the buffer it reads from.
+ */
+@Service
+public class LogStreamService {
+
+    @Autowired
+    private RingBufferLogAppender logBuffer;
+
+    @Autowired
+    @Qualifier("pushTaskExecutor")
+    private TaskExecutor pushTaskExecutor;
+
+    @Value("${app.admin.log-stream.timeout:30m}")
+    private Duration streamTimeout;
+
+    @Value("${app.admin.log-stream.backlog:100}")
+    private int backlog;
+
+    @Value("${app.admin.log-stream.batch-size:500}")
+    private int batchSize;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public LogTailDto getRecentEvents(int limit, String level, String logger) {
+        return logBuffer.recent(limit, RingBufferLogAppender.filter(level, logger));
+    }
+
+    public LogTailDto getEventsAfter(long after, int limit, String level, String logger) {
+        return logBuffer.readAfter(after, limit, RingBufferLogAppender.filter(level, logger));
+    }
+
+    /**
+     * Opens a stream that starts with the latest backlog events, or resumes right after the given sequence.
+     */
+    public SseEmitter subscribe(String level, String logger, Long after) {
+        Predicate<LogEventDto> filter = RingBufferLogAppender.filter(level, logger);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, filter);
+
+        LogTailDto initial = after != null
+                ? logBuffer.readAfter(after, batchSize, filter)
+                : logBuffer.recent(backlog, filter);
+        subscriber.cursor = initial.getCursor();
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        if (send(subscriber, initial.getEvents())) {
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.admin.log-stream.poll-interval-ms:500}")
+    public void dispatch() {
+        for (Subscriber subscriber : subscribers) {
+            // A subscriber still busy with the previous batch picks up the new events on the next poll
+            if (subscriber.sending.compareAndSet(false, true)) {
+                try {
+                    pushTaskExecutor.execute(() -> sendNew(subscriber));
+                } catch (RuntimeException e) {
+                    subscriber.sending.set(false);
+                }
+            }
+        }
+    }
+
+    private void sendNew(Subscriber subscriber) {
+        try {
+            LogTailDto tail = logBuffer.readAfter(subscriber.cursor, batchSize, subscriber.filter);
+            subscriber.cursor = tail.getCursor();
+            if (!tail.getEvents().isEmpty()) {
+                send(subscriber, tail.getEvents());
+            }
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+
+    private boolean send(Subscriber subscriber, List<LogEventDto> events) {
+        try {
+            for (LogEventDto event : events) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.getSequence()))
+                        .name("log")
+                        .data(event));
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // The client went away, stop dispatching to it
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final Predicate<LogEventDto> filter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long cursor;
+
+        private Subscriber(SseEmitter emitter, Predicate<LogEventDto> filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.fullStack.expenseTracker.services;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.enums.StatementFormat;
+import com.fullStack.expenseTracker.exceptions.AccountNotFoundException;
+import com.fullStack.expenseTracker.exceptions.CategoryNotFoundException;
+import com.fullStack.expenseTracker.exceptions.StatementImportException;
+import com.fullStack.expenseTracker.exceptions.UserNotFoundException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+@Service
+public interface StatementImportService {
+
+    ResponseEntity<ApiResponseDto<?>> importStatement(String email, MultipartFile file, StatementFormat format,
+                                                      Long accountId, Integer expenseCategoryId, Integer incomeCategoryId)
+            throws UserNotFoundException, AccountNotFoundException, CategoryNotFoundException, StatementImportException;
+}
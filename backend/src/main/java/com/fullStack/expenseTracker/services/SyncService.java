@@ -0,0 +1,12 @@
+package com.fullStack.expenseTracker.services;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.exceptions.UserNotFoundException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface SyncService {
+
+    ResponseEntity<ApiResponseDto<?>> getChanges(String email, long cursor, int limit) throws UserNotFoundException;
+}
@@ -0,0 +1,107 @@
+package com.fullStack.expenseTracker.services;
+
+import com.fullStack.expenseTracker.datasource.ReportingRead;
+import com.fullStack.expenseTracker.enums.ERole;
+import com.fullStack.expenseTracker.models.Role;
+import com.fullStack.expenseTracker.models.User;
+import com.fullStack.expenseTracker.repository.CategoryRepository;
+import com.fullStack.expenseTracker.repository.TransactionRepository;
+import com.fullStack.expenseTracker.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process counters behind the admin system overview.
+ * Seeded from the database at startup, adjusted on every write and periodically reconciled to correct any drift.
+ */
+@Service
+@Slf4j
+public class SystemStatsService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong totalAdmins = new AtomicLong();
+    private final AtomicLong totalRegularUsers = new AtomicLong();
+    private final AtomicLong totalCategories = new AtomicLong();
+    private final AtomicLong totalTransactions = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${app.admin.stats-reconcile-interval-ms:600000}",
+            initialDelayString = "${app.admin.stats-reconcile-interval-ms:600000}")
+    @ReportingRead
+    public void reconcile() {
+        try {
+            totalUsers.set(userRepository.count());
+            totalAdmins.set(userRepository.countByRolesRoleName(ERole.ROLE_ADMIN.name()));
+            totalRegularUsers.set(userRepository.countByRolesRoleName(ERole.ROLE_USER.name()));
+            totalCategories.set(categoryRepository.count());
+            totalTransactions.set(transactionRepository.count());
+        } catch (Exception e) {
+            log.warn("Failed to reconcile system stats: {}", e.getMessage());
+        }
+    }
+
+    public void userCreated(User user) {
+        totalUsers.incrementAndGet();
+        if (user.getRoles() == null) {
+            return;
+        }
+        for (Role role : user.getRoles()) {
+            if (role.getName() == ERole.ROLE_ADMIN) {
+                totalAdmins.incrementAndGet();
+            } else if (role.getName() == ERole.ROLE_USER) {
+                totalRegularUsers.incrementAndGet();
+            }
+        }
+    }
+
+    public void categoryCreated() {
+        totalCategories.incrementAndGet();
+    }
+
+    public void transactionsCreated(long count) {
+        totalTransactions.addAndGet(count);
+    }
+
+    public void transactionsDeleted(long count) {
+        totalTransactions.addAndGet(-count);
+    }
+
+    public long getTotalUsers() {
+        return totalUsers.get();
+    }
+
+    public long getTotalAdmins() {
+        return totalAdmins.get();
+    }
+
+    public long getTotalRegularUsers() {
+        return totalRegularUsers.get();
+    }
+
+    public long getTotalCategories() {
+        return totalCategories.get();
+    }
+
+    public long getTotalTransactions() {
+        return totalTransactions.get();
+    }
+}
@@ -1,8 +1,10 @@
 package com.fullStack.expenseTracker.services;
 
 import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.dto.requests.TransactionFilterRequestDto;
 import com.fullStack.expenseTracker.dto.requests.TransactionRequestDto;
 import com.fullStack.expenseTracker.exceptions.CategoryNotFoundException;
+import com.fullStack.expenseTracker.exceptions.IdempotencyKeyConflictException;
 import com.fullStack.expenseTracker.exceptions.TransactionNotFoundException;
 import com.fullStack.expenseTracker.exceptions.TransactionServiceLogicException;
 import com.fullStack.expenseTracker.exceptions.UserNotFoundException;
@@ -13,8 +15,8 @@ import org.springframework.stereotype.Service;
 public interface TransactionService {
 
 
-    ResponseEntity<ApiResponseDto<?>> addTransaction(TransactionRequestDto transactionRequestDto)
-            throws UserNotFoundException, CategoryNotFoundException, TransactionServiceLogicException;
+    ResponseEntity<ApiResponseDto<?>> addTransaction(TransactionRequestDto transactionRequestDto, String idempotencyKey)
+            throws UserNotFoundException, CategoryNotFoundException, TransactionServiceLogicException, IdempotencyKeyConflictException;
 
     ResponseEntity<ApiResponseDto<?>> getTransactionById(Long TransactionId)
             throws TransactionNotFoundException;
@@ -26,6 +28,8 @@ public interface TransactionService {
 
     ResponseEntity<ApiResponseDto<?>> getAllTransactions(int pageNumber, int pageSize, String searchKey) throws TransactionServiceLogicException;
 
-    ResponseEntity<ApiResponseDto<?>> getTransactionsByUser(String email, int pageNumber, int pageSize, String searchKey, String sortField, String sortDirec, String transactionType) throws UserNotFoundException, TransactionServiceLogicException;
+    ResponseEntity<ApiResponseDto<?>> getTransactionsByUser(String email, int pageNumber, int pageSize, String searchKey, String sortField, String sortDirec, String transactionType, TransactionFilterRequestDto filterRequestDto) throws UserNotFoundException, TransactionServiceLogicException;
+
+    ResponseEntity<ApiResponseDto<?>> getDescriptionSuggestions(String email, String prefix, int limit);
 
 }
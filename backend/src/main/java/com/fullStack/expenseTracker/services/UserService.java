@@ -25,7 +25,13 @@ public interface UserService {
 
     ResponseEntity<ApiResponseDto<?>> uploadProfileImg(String email, MultipartFile file) throws UserServiceLogicException, UserNotFoundException;
 
-    ResponseEntity<ApiResponseDto<?>> getProfileImg(String email) throws UserNotFoundException, IOException, UserServiceLogicException;
+    ResponseEntity<ApiResponseDto<?>> createProfileImgUploadUrl(String email, String fileName, String contentType, long contentLength) throws UserServiceLogicException, UserNotFoundException;
+
+    ResponseEntity<ApiResponseDto<?>> completeProfileImgUpload(String email, String key) throws UserServiceLogicException, UserNotFoundException;
+
+    ResponseEntity<ApiResponseDto<?>> getProfileImgDownloadUrl(String email, Integer size) throws UserServiceLogicException, UserNotFoundException;
+
+    ResponseEntity<ApiResponseDto<?>> getProfileImg(String email, Integer size) throws UserNotFoundException, IOException, UserServiceLogicException;
 
     ResponseEntity<ApiResponseDto<?>> deleteProfileImg(String email) throws UserServiceLogicException, UserNotFoundException;
 
@@ -0,0 +1,23 @@
+package com.fullStack.expenseTracker.services;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.dto.requests.WebhookRequestDto;
+import com.fullStack.expenseTracker.exceptions.UserNotFoundException;
+import com.fullStack.expenseTracker.exceptions.WebhookNotFoundException;
+import com.fullStack.expenseTracker.exceptions.WebhookServiceLogicException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+@Service
+public interface WebhookService {
+    ResponseEntity<ApiResponseDto<?>> createWebhook(WebhookRequestDto webhookRequestDto)
+            throws UserNotFoundException, WebhookServiceLogicException;
+    ResponseEntity<ApiResponseDto<?>> getWebhooksByUser(String email) throws UserNotFoundException;
+    ResponseEntity<ApiResponseDto<?>> updateWebhook(Long webhookId, WebhookRequestDto webhookRequestDto)
+            throws UserNotFoundException, WebhookNotFoundException, WebhookServiceLogicException;
+    ResponseEntity<ApiResponseDto<?>> deleteWebhook(Long webhookId, String email) throws UserNotFoundException, WebhookNotFoundException;
+    ResponseEntity<ApiResponseDto<?>> retryFailedDeliveries(Long webhookId, String email) throws UserNotFoundException, WebhookNotFoundException;
+    ResponseEntity<ApiResponseDto<?>> createGlobalWebhook(WebhookRequestDto webhookRequestDto) throws WebhookServiceLogicException;
+    ResponseEntity<ApiResponseDto<?>> getAllWebhooks();
+    ResponseEntity<ApiResponseDto<?>> deleteWebhookById(Long webhookId) throws WebhookNotFoundException;
+}
@@ -8,14 +8,17 @@ import com.fullStack.expenseTracker.exceptions.AccountNotFoundException;
 import com.fullStack.expenseTracker.exceptions.UserNotFoundException;
 import com.fullStack.expenseTracker.models.Account;
 import com.fullStack.expenseTracker.models.User;
+import com.fullStack.expenseTracker.outbox.OutboxWriter;
 import com.fullStack.expenseTracker.repository.AccountRepository;
 import com.fullStack.expenseTracker.services.AccountService;
+import com.fullStack.expenseTracker.services.DashboardUpdateService;
 import com.fullStack.expenseTracker.services.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,6 +33,15 @@ public class AccountServiceImpl implements AccountService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DashboardUpdateService dashboardUpdateService;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Override
     public ResponseEntity<ApiResponseDto<?>> createAccount(AccountRequestDto accountRequestDto) throws UserNotFoundException {
         User user = userService.findByEmail(accountRequestDto.getEmail());
@@ -40,8 +52,13 @@ public class AccountServiceImpl implements AccountService {
                 accountRequestDto.getBalance(),
                 user
         );
+        account.setAccountNumber(accountRequestDto.getAccountNumber());
 
-        accountRepository.save(account);
+        transactionTemplate.executeWithoutResult(status -> {
+            accountRepository.save(account);
+            outboxWriter.accountChanged(user.getId(), account);
+        });
+        dashboardUpdateService.accountChanged(user.getId(), account);
 
         AccountResponseDto responseDto = mapToResponseDto(account);
 
@@ -92,8 +109,13 @@ public class AccountServiceImpl implements AccountService {
         account.setAccountName(accountRequestDto.getAccountName());
         account.setAccountType(accountRequestDto.getAccountType());
         account.setBalance(accountRequestDto.getBalance());
+        account.setAccountNumber(accountRequestDto.getAccountNumber());
 
-        accountRepository.save(account);
+        transactionTemplate.executeWithoutResult(status -> {
+            accountRepository.save(account);
+            outboxWriter.accountChanged(user.getId(), account);
+        });
+        dashboardUpdateService.accountChanged(user.getId(), account);
 
         AccountResponseDto responseDto = mapToResponseDto(account);
 
@@ -110,7 +132,11 @@ public class AccountServiceImpl implements AccountService {
         Account account = accountRepository.findByIdAndUser(accountId, user)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + accountId));
 
-        accountRepository.delete(account);
+        transactionTemplate.executeWithoutResult(status -> {
+            accountRepository.delete(account);
+            outboxWriter.accountDeleted(user.getId(), accountId);
+        });
+        dashboardUpdateService.accountDeleted(user.getId(), accountId);
 
         return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
                 ApiResponseStatus.SUCCESS,
@@ -119,12 +145,13 @@ public class AccountServiceImpl implements AccountService {
         ));
     }
 
-    private AccountResponseDto mapToResponseDto(Account account) {
+    AccountResponseDto mapToResponseDto(Account account) {
         return new AccountResponseDto(
                 account.getId(),
                 account.getAccountName(),
                 account.getAccountType(),
-                account.getBalance()
+                account.getBalance(),
+                account.getAccountNumber()
         );
     }
 }
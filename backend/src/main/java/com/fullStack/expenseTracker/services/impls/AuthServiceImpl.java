@@ -11,6 +11,7 @@ import com.fullStack.expenseTracker.models.User;
 import com.fullStack.expenseTracker.repository.UserRepository;
 import com.fullStack.expenseTracker.services.AuthService;
 import com.fullStack.expenseTracker.services.NotificationService;
+import com.fullStack.expenseTracker.services.SystemStatsService;
 import com.fullStack.expenseTracker.services.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -37,6 +38,9 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private SystemStatsService systemStatsService;
+
     @Autowired
     RoleFactory roleFactory;
 
@@ -60,6 +64,7 @@ public class AuthServiceImpl implements AuthService {
             User user = createUser(signUpRequestDto);
 
             userRepository.save(user);
+            systemStatsService.userCreated(user);
             notificationService.sendUserRegistrationVerificationEmail(user);
 
             return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponseDto<>(
@@ -0,0 +1,40 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.dto.reponses.BudgetProgressDto;
+import com.fullStack.expenseTracker.models.CategoryBudget;
+import com.fullStack.expenseTracker.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spending against a category budget, shared by the budget progress endpoint and the live dashboard updates.
+ */
+@Component
+public class BudgetProgressCalculator {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    public BudgetProgressDto progressOf(CategoryBudget budget, String email) {
+        // Get total spending for this category in the budget's month/year
+        Double spending = transactionRepository.findTotalByUserAndCategory(
+                email,
+                budget.getCategory().getCategoryId(),
+                budget.getMonth(),
+                budget.getYear()
+        );
+
+        double currentSpending = spending != null ? spending : 0.0;
+        double percentageUsed = (currentSpending / budget.getAmount()) * 100;
+        boolean isOverBudget = currentSpending > budget.getAmount();
+
+        return new BudgetProgressDto(
+                budget.getId(),
+                budget.getCategory().getCategoryName(),
+                budget.getAmount(),
+                currentSpending,
+                percentageUsed,
+                isOverBudget
+        );
+    }
+}
@@ -10,16 +10,18 @@ import com.fullStack.expenseTracker.exceptions.UserNotFoundException;
 import com.fullStack.expenseTracker.models.Category;
 import com.fullStack.expenseTracker.models.CategoryBudget;
 import com.fullStack.expenseTracker.models.User;
+import com.fullStack.expenseTracker.outbox.OutboxWriter;
 import com.fullStack.expenseTracker.repository.CategoryBudgetRepository;
-import com.fullStack.expenseTracker.repository.TransactionRepository;
 import com.fullStack.expenseTracker.services.CategoryBudgetService;
 import com.fullStack.expenseTracker.services.CategoryService;
+import com.fullStack.expenseTracker.services.DashboardUpdateService;
 import com.fullStack.expenseTracker.services.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -38,7 +40,16 @@ public class CategoryBudgetServiceImpl implements CategoryBudgetService {
     private CategoryService categoryService;
 
     @Autowired
-    private TransactionRepository transactionRepository;
+    private BudgetProgressCalculator budgetProgressCalculator;
+
+    @Autowired
+    private DashboardUpdateService dashboardUpdateService;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
     @Override
     public ResponseEntity<ApiResponseDto<?>> createBudget(CategoryBudgetRequestDto requestDto) 
@@ -54,7 +65,11 @@ public class CategoryBudgetServiceImpl implements CategoryBudgetService {
                 category
         );
 
-        categoryBudgetRepository.save(budget);
+        transactionTemplate.executeWithoutResult(status -> {
+            categoryBudgetRepository.save(budget);
+            outboxWriter.budgetChanged(user.getId(), budget);
+        });
+        dashboardUpdateService.budgetChanged(user, budget);
 
         CategoryBudgetResponseDto responseDto = mapToResponseDto(budget);
 
@@ -98,7 +113,11 @@ public class CategoryBudgetServiceImpl implements CategoryBudgetService {
             budget.setCategory(category);
         }
 
-        categoryBudgetRepository.save(budget);
+        transactionTemplate.executeWithoutResult(status -> {
+            categoryBudgetRepository.save(budget);
+            outboxWriter.budgetChanged(user.getId(), budget);
+        });
+        dashboardUpdateService.budgetChanged(user, budget);
 
         CategoryBudgetResponseDto responseDto = mapToResponseDto(budget);
 
@@ -115,7 +134,11 @@ public class CategoryBudgetServiceImpl implements CategoryBudgetService {
         CategoryBudget budget = categoryBudgetRepository.findByIdAndUser(budgetId, user)
                 .orElseThrow(() -> new Exception("Budget not found"));
 
-        categoryBudgetRepository.delete(budget);
+        transactionTemplate.executeWithoutResult(status -> {
+            categoryBudgetRepository.delete(budget);
+            outboxWriter.budgetDeleted(user.getId(), budget);
+        });
+        dashboardUpdateService.budgetDeleted(user.getId(), budgetId);
 
         return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
                 ApiResponseStatus.SUCCESS,
@@ -131,28 +154,7 @@ public class CategoryBudgetServiceImpl implements CategoryBudgetService {
         List<CategoryBudget> budgets = categoryBudgetRepository.findByUserAndMonthAndYear(user, month, year);
 
         List<BudgetProgressDto> progressList = budgets.stream()
-                .map(budget -> {
-                    // Get total spending for this category in the given month/year
-                    Double spending = transactionRepository.findTotalByUserAndCategory(
-                            email, 
-                            budget.getCategory().getCategoryId(), 
-                            month, 
-                            year
-                    );
-                    
-                    double currentSpending = spending != null ? spending : 0.0;
-                    double percentageUsed = (currentSpending / budget.getAmount()) * 100;
-                    boolean isOverBudget = currentSpending > budget.getAmount();
-
-                    return new BudgetProgressDto(
-                            budget.getId(),
-                            budget.getCategory().getCategoryName(),
-                            budget.getAmount(),
-                            currentSpending,
-                            percentageUsed,
-                            isOverBudget
-                    );
-                })
+                .map(budget -> budgetProgressCalculator.progressOf(budget, email))
                 .collect(Collectors.toList());
 
         return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
@@ -162,7 +164,7 @@ public class CategoryBudgetServiceImpl implements CategoryBudgetService {
         ));
     }
 
-    private CategoryBudgetResponseDto mapToResponseDto(CategoryBudget budget) {
+    CategoryBudgetResponseDto mapToResponseDto(CategoryBudget budget) {
         return new CategoryBudgetResponseDto(
                 budget.getId(),
                 budget.getAmount(),
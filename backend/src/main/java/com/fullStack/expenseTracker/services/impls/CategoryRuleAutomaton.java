@@ -0,0 +1,128 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.models.CategoryRule;
+
+import java.util.*;
+
+/**
+ * Aho-Corasick automaton over all rule patterns of one user.
+ * A description is scanned once, whatever the number of rules, and the preferred matching rule is returned.
+ */
+class CategoryRuleAutomaton {
+
+    private static final int NO_RULE = Integer.MAX_VALUE;
+
+    private static final Comparator<CategoryRule> PREFERENCE = Comparator
+            .comparingInt(CategoryRule::getPriority).reversed()
+            .thenComparing(rule -> rule.getPattern().length(), Comparator.reverseOrder())
+            .thenComparing(CategoryRule::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    // Rules ordered by preference, states refer to them by index so the best match is the smallest index
+    private final List<CategoryRule> rules;
+
+    private final char[][] keys;
+
+    private final int[][] targets;
+
+    private final int[] fail;
+
+    private final int[] best;
+
+    CategoryRuleAutomaton(List<CategoryRule> userRules) {
+        rules = new ArrayList<>(userRules);
+        rules.sort(PREFERENCE);
+
+        List<TreeMap<Character, Integer>> transitions = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        transitions.add(new TreeMap<>());
+        outputs.add(NO_RULE);
+
+        for (int i = 0; i < rules.size(); i++) {
+            String pattern = normalize(rules.get(i).getPattern());
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (char c : pattern.toCharArray()) {
+                Integer next = transitions.get(state).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.get(state).put(c, next);
+                    transitions.add(new TreeMap<>());
+                    outputs.add(NO_RULE);
+                }
+                state = next;
+            }
+            outputs.set(state, Math.min(outputs.get(state), i));
+        }
+
+        int stateCount = transitions.size();
+        keys = new char[stateCount][];
+        targets = new int[stateCount][];
+        fail = new int[stateCount];
+        best = new int[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            TreeMap<Character, Integer> stateTransitions = transitions.get(state);
+            keys[state] = new char[stateTransitions.size()];
+            targets[state] = new int[stateTransitions.size()];
+            int j = 0;
+            for (Map.Entry<Character, Integer> transition : stateTransitions.entrySet()) {
+                keys[state][j] = transition.getKey();
+                targets[state][j++] = transition.getValue();
+            }
+            best[state] = outputs.get(state);
+        }
+
+        // Breadth-first, so the failure state of every state is final before its children are visited
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int j = 0; j < keys[state].length; j++) {
+                int child = targets[state][j];
+                fail[child] = step(fail[state], keys[state][j]);
+                best[child] = Math.min(best[child], best[fail[child]]);
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Returns the preferred rule whose pattern occurs in the description, ignoring case, or null.
+     */
+    CategoryRule match(String description) {
+        if (description == null || rules.isEmpty()) {
+            return null;
+        }
+        int state = 0;
+        int match = NO_RULE;
+        for (char c : normalize(description).toCharArray()) {
+            state = step(state, c);
+            match = Math.min(match, best[state]);
+        }
+        return match == NO_RULE ? null : rules.get(match);
+    }
+
+    int size() {
+        return rules.size();
+    }
+
+    private int step(int state, char c) {
+        while (true) {
+            int index = Arrays.binarySearch(keys[state], c);
+            if (index >= 0) {
+                return targets[state][index];
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = fail[state];
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,200 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.enums.OutboxEventType;
+import com.fullStack.expenseTracker.models.Category;
+import com.fullStack.expenseTracker.models.CategoryRule;
+import com.fullStack.expenseTracker.models.OutboxEvent;
+import com.fullStack.expenseTracker.outbox.OutboxWriter;
+import com.fullStack.expenseTracker.outbox.TransactionEventPayload;
+import com.fullStack.expenseTracker.repository.CategoryRepository;
+import com.fullStack.expenseTracker.repository.CategoryRuleRepository;
+import com.fullStack.expenseTracker.repository.TransactionRepository;
+import com.fullStack.expenseTracker.sync.ChangeSequencer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Applies a user's category rules, at ingest and retroactively over their history.
+ * Compiled automatons are cached per user and rebuilt after any change to that user's rules.
+ */
+@Component
+@Slf4j
+public class CategoryRuleEngine {
+
+    @Autowired
+    private CategoryRuleRepository categoryRuleRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ChangeSequencer changeSequencer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Value("${app.rules.cache-size:1000}")
+    private int cacheSize;
+
+    @Value("${app.rules.apply-chunk-size:500}")
+    private int chunkSize;
+
+    private final Map<Long, CategoryRuleAutomaton> automatons = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CategoryRuleAutomaton> eldest) {
+            return size() > cacheSize;
+        }
+    };
+
+    // Bumped on every invalidation, guarded by the automatons lock
+    private long generation;
+
+    /**
+     * Returns the category of the preferred rule matching the description, or null if no rule matches.
+     */
+    public Category categorize(Long userId, String description) {
+        CategoryRule rule = automatonFor(userId).match(description);
+        return rule != null ? rule.getCategory() : null;
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (automatons) {
+            automatons.remove(userId);
+            generation++;
+        }
+    }
+
+    /**
+     * Re-categorises the user's existing transactions chunk by chunk, with one batched UPDATE per chunk.
+     * A rule only moves a transaction to a category of the same transaction type, so account balances stay valid.
+     */
+    @Async("backgroundTaskExecutor")
+    public void applyToHistory(Long userId) {
+        CategoryRuleAutomaton automaton = automatonFor(userId);
+        if (automaton.size() == 0) {
+            return;
+        }
+
+        Map<Integer, Category> categories = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categories.put(category.getCategoryId(), category);
+        }
+
+        long afterId = 0;
+        long updated = 0;
+        try {
+            List<Object[]> chunk;
+            do {
+                chunk = transactionRepository.findCategorisationChunk(userId, afterId, chunkSize);
+                List<Move> moves = new ArrayList<>();
+
+                for (Object[] row : chunk) {
+                    afterId = ((Number) row[0]).longValue();
+                    CategoryRule rule = automaton.match((String) row[1]);
+                    Category current = row[2] != null ? categories.get(((Number) row[2]).intValue()) : null;
+                    if (rule != null && current != null && isSameTypeMove(current, rule.getCategory())) {
+                        moves.add(new Move(afterId, current.getCategoryId(), rule.getCategory().getCategoryId(),
+                                row[3] != null ? ((Number) row[3]).longValue() : null, ((Number) row[4]).doubleValue(), toLocalDate(row[5]), (String) row[1]));
+                    }
+                }
+
+                if (!moves.isEmpty()) {
+                    updated += transactionTemplate.execute(status -> move(userId, moves));
+                }
+            } while (chunk.size() == chunkSize);
+
+            log.info("Category rules re-categorised {} transactions of user {}", updated, userId);
+        } catch (Exception e) {
+            log.error("Applying category rules for user {} stopped after transaction {}: {}", userId, afterId, e.getMessage());
+        }
+    }
+
+    /**
+     * Moves one chunk in a single batch, numbering the moved rows for sync like any other update.
+     * A row is only moved while it still has the category it was matched with, a user editing the transaction
+     * since the chunk was read wins over the rule. The moved rows get their TRANSACTION_UPDATED events in the same
+     * transaction. Returns the number of rows moved.
+     */
+    private int move(Long userId, List<Move> moves) {
+        long changeSeq = changeSequencer.allocate(userId, moves.size());
+        List<Object[]> updates = new ArrayList<>();
+        for (Move move : moves) {
+            updates.add(new Object[]{move.toCategoryId(), changeSeq++, move.transactionId(), move.fromCategoryId()});
+        }
+        int[] results = jdbcTemplate.batchUpdate(
+                "UPDATE transaction SET category_id = ?, change_seq = ? WHERE transaction_id = ? AND category_id = ?", updates);
+
+        List<OutboxEvent> events = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] > 0) {
+                Move move = moves.get(i);
+                events.add(outboxWriter.event(userId, OutboxEventType.TRANSACTION_UPDATED, move.transactionId(), new TransactionEventPayload(
+                        move.transactionId(),
+                        userId,
+                        move.toCategoryId(),
+                        move.accountId(),
+                        move.amount(),
+                        move.date(),
+                        move.description(),
+                        move.fromCategoryId(),
+                        move.accountId(),
+                        move.date()
+                )));
+            }
+        }
+        if (!events.isEmpty()) {
+            outboxWriter.writeAll(events);
+        }
+        return events.size();
+    }
+
+    private boolean isSameTypeMove(Category current, Category target) {
+        return !current.getCategoryId().equals(target.getCategoryId())
+                && current.getTransactionType() != null && target.getTransactionType() != null
+                && current.getTransactionType().getTransactionTypeId().equals(target.getTransactionType().getTransactionTypeId());
+    }
+
+    private LocalDate toLocalDate(Object date) {
+        return date instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) date;
+    }
+
+    private record Move(long transactionId, int fromCategoryId, int toCategoryId, Long accountId, double amount, LocalDate date,
+                        String description) {
+    }
+
+    private CategoryRuleAutomaton automatonFor(Long userId) {
+        long loadedGeneration;
+        synchronized (automatons) {
+            CategoryRuleAutomaton automaton = automatons.get(userId);
+            if (automaton != null) {
+                return automaton;
+            }
+            loadedGeneration = generation;
+        }
+        CategoryRuleAutomaton automaton = new CategoryRuleAutomaton(categoryRuleRepository.findByUserIdOrderByIdAsc(userId));
+        synchronized (automatons) {
+            // If rules changed while loading, the result is used once but not cached
+            if (generation == loadedGeneration) {
+                automatons.put(userId, automaton);
+            }
+        }
+        return automaton;
+    }
+}
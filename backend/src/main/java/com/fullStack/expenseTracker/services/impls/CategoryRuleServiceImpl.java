@@ -0,0 +1,147 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.dto.reponses.CategoryRuleResponseDto;
+import com.fullStack.expenseTracker.dto.requests.CategoryRuleRequestDto;
+import com.fullStack.expenseTracker.enums.ApiResponseStatus;
+import com.fullStack.expenseTracker.exceptions.CategoryNotFoundException;
+import com.fullStack.expenseTracker.exceptions.CategoryRuleNotFoundException;
+import com.fullStack.expenseTracker.exceptions.CategoryRuleServiceLogicException;
+import com.fullStack.expenseTracker.exceptions.UserNotFoundException;
+import com.fullStack.expenseTracker.models.Category;
+import com.fullStack.expenseTracker.models.CategoryRule;
+import com.fullStack.expenseTracker.models.User;
+import com.fullStack.expenseTracker.repository.CategoryRuleRepository;
+import com.fullStack.expenseTracker.services.CategoryRuleService;
+import com.fullStack.expenseTracker.services.CategoryService;
+import com.fullStack.expenseTracker.services.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class CategoryRuleServiceImpl implements CategoryRuleService {
+
+    @Autowired
+    private CategoryRuleRepository categoryRuleRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRuleEngine categoryRuleEngine;
+
+    @Value("${app.rules.max-per-user:500}")
+    private int maxRulesPerUser;
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> createRule(CategoryRuleRequestDto categoryRuleRequestDto)
+            throws UserNotFoundException, CategoryNotFoundException, CategoryRuleServiceLogicException {
+        User user = userService.findByEmail(categoryRuleRequestDto.getEmail());
+        Category category = categoryService.getCategoryById(categoryRuleRequestDto.getCategoryId());
+
+        if (categoryRuleRepository.countByUser(user) >= maxRulesPerUser) {
+            throw new CategoryRuleServiceLogicException("You can have at most " + maxRulesPerUser + " category rules!");
+        }
+
+        CategoryRule rule = new CategoryRule(
+                user,
+                categoryRuleRequestDto.getPattern().trim(),
+                category,
+                categoryRuleRequestDto.getPriority()
+        );
+
+        categoryRuleRepository.save(rule);
+        categoryRuleEngine.invalidate(user.getId());
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.CREATED,
+                mapToResponseDto(rule)
+        ));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> getRulesByUser(String email) throws UserNotFoundException {
+        User user = userService.findByEmail(email);
+
+        List<CategoryRuleResponseDto> rules = categoryRuleRepository.findByUserIdOrderByIdAsc(user.getId()).stream()
+                .map(this::mapToResponseDto)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.OK,
+                rules
+        ));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> updateRule(Long ruleId, CategoryRuleRequestDto categoryRuleRequestDto)
+            throws UserNotFoundException, CategoryNotFoundException, CategoryRuleNotFoundException {
+        User user = userService.findByEmail(categoryRuleRequestDto.getEmail());
+        CategoryRule rule = categoryRuleRepository.findByIdAndUser(ruleId, user)
+                .orElseThrow(() -> new CategoryRuleNotFoundException("Category rule not found with id: " + ruleId));
+
+        rule.setPattern(categoryRuleRequestDto.getPattern().trim());
+        rule.setCategory(categoryService.getCategoryById(categoryRuleRequestDto.getCategoryId()));
+        rule.setPriority(categoryRuleRequestDto.getPriority());
+
+        categoryRuleRepository.save(rule);
+        categoryRuleEngine.invalidate(user.getId());
+
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.OK,
+                mapToResponseDto(rule)
+        ));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> deleteRule(Long ruleId, String email) throws UserNotFoundException, CategoryRuleNotFoundException {
+        User user = userService.findByEmail(email);
+        CategoryRule rule = categoryRuleRepository.findByIdAndUser(ruleId, user)
+                .orElseThrow(() -> new CategoryRuleNotFoundException("Category rule not found with id: " + ruleId));
+
+        categoryRuleRepository.delete(rule);
+        categoryRuleEngine.invalidate(user.getId());
+
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.OK,
+                "Category rule deleted successfully"
+        ));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> applyRulesToHistory(String email) throws UserNotFoundException {
+        User user = userService.findByEmail(email);
+        categoryRuleEngine.applyToHistory(user.getId());
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.ACCEPTED,
+                "Your transactions are being re-categorised in the background"
+        ));
+    }
+
+    private CategoryRuleResponseDto mapToResponseDto(CategoryRule rule) {
+        return new CategoryRuleResponseDto(
+                rule.getId(),
+                rule.getPattern(),
+                rule.getCategory().getCategoryId(),
+                rule.getCategory().getCategoryName(),
+                rule.getPriority()
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package com.fullStack.expenseTracker.services.impls;
 
 import com.fullStack.expenseTracker.services.CategoryService;
+import com.fullStack.expenseTracker.services.SystemStatsService;
 import com.fullStack.expenseTracker.services.TransactionTypeService;
 import com.fullStack.expenseTracker.dto.requests.CategoryRequestDto;
 import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
@@ -26,6 +27,9 @@ public class CategoryServiceImpl implements CategoryService {
     @Autowired
     private TransactionTypeService transactionTypeService;
 
+    @Autowired
+    private SystemStatsService systemStatsService;
+
     @Override
     public ResponseEntity<ApiResponseDto<?>> getCategories() {
         return ResponseEntity.ok(
@@ -67,6 +71,7 @@ public class CategoryServiceImpl implements CategoryService {
 
         try {
             categoryRepository.save(category);
+            systemStatsService.categoryCreated();
 
             return ResponseEntity.status(HttpStatus.CREATED).body(
                     new ApiResponseDto<>(
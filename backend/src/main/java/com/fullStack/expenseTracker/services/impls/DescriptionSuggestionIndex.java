@@ -0,0 +1,173 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.repository.TransactionRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds description tries for recently active users. A user's trie is built from the database on first lookup,
+ * kept current on every new transaction and dropped when the user goes idle or the memory cap is reached.
+ */
+@Component
+@Slf4j
+public class DescriptionSuggestionIndex implements MeterBinder {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Value("${app.suggestions.max-memory:32MB}")
+    private DataSize maxMemory = DataSize.ofMegabytes(32);
+
+    @Value("${app.suggestions.idle-timeout:30m}")
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    @Value("${app.suggestions.half-life:30d}")
+    private Duration halfLife = Duration.ofDays(30);
+
+    @Value("${app.suggestions.max-descriptions-per-user:5000}")
+    private int maxDescriptionsPerUser = 5000;
+
+    @Value("${app.suggestions.per-prefix:10}")
+    private int suggestionsPerPrefix = 10;
+
+    // Access ordered, so iteration starts with the least recently used user
+    private final LinkedHashMap<String, CachedTrie> tries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public List<String> suggest(String email, String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return trieFor(email).suggest(prefix, Math.min(limit, suggestionsPerPrefix));
+    }
+
+    /**
+     * Counts a new use of a description. Users without a loaded trie pick it up from the database when they are loaded.
+     * A loaded trie holds at most max-descriptions-per-user descriptions, the same as one freshly loaded.
+     */
+    public void record(String email, String description) {
+        CachedTrie cached;
+        synchronized (tries) {
+            cached = tries.get(key(email));
+        }
+        if (cached != null) {
+            cached.trie.add(description, 1, Instant.now().getEpochSecond());
+            cached.lastAccess = System.nanoTime();
+            enforceMemoryCap();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum).tags("cache", "descriptionSuggestions", "result", "hit")
+                .description("Suggestion lookups served by a loaded trie").register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum).tags("cache", "descriptionSuggestions", "result", "miss")
+                .description("Suggestion lookups that loaded the user's trie from the database").register(registry);
+        Gauge.builder("cache.size", tries, map -> {
+            synchronized (map) {
+                return map.size();
+            }
+        }).tag("cache", "descriptionSuggestions").description("Users with a loaded trie").register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.suggestions.eviction-interval-ms:60000}")
+    public void evictIdleUsers() {
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        synchronized (tries) {
+            tries.values().removeIf(cached -> cached.lastAccess - cutoff < 0);
+        }
+    }
+
+    private DescriptionTrie trieFor(String email) {
+        String key = key(email);
+        CachedTrie cached;
+        synchronized (tries) {
+            cached = tries.get(key);
+        }
+        if (cached == null) {
+            misses.increment();
+            // Built outside the lock so a slow query for one user does not block lookups of the others
+            CachedTrie loaded = new CachedTrie(load(key));
+            synchronized (tries) {
+                cached = tries.putIfAbsent(key, loaded);
+                if (cached == null) {
+                    cached = loaded;
+                }
+            }
+            enforceMemoryCap();
+        } else {
+            hits.increment();
+        }
+        cached.lastAccess = System.nanoTime();
+        return cached.trie;
+    }
+
+    private DescriptionTrie load(String email) {
+        DescriptionTrie trie = new DescriptionTrie(suggestionsPerPrefix, halfLife.toSeconds(), maxDescriptionsPerUser);
+        for (Object[] row : transactionRepository.findDescriptionUsageByUser(email, maxDescriptionsPerUser)) {
+            trie.add((String) row[0], ((Number) row[1]).longValue(), toEpochSecond(row[2]));
+        }
+        return trie;
+    }
+
+    private void enforceMemoryCap() {
+        synchronized (tries) {
+            long total = 0;
+            for (CachedTrie cached : tries.values()) {
+                total += cached.trie.estimatedBytes();
+            }
+
+            Iterator<Map.Entry<String, CachedTrie>> eldest = tries.entrySet().iterator();
+            // The most recently used trie always stays, even when it alone exceeds the cap
+            while (total > maxMemory.toBytes() && tries.size() > 1 && eldest.hasNext()) {
+                total -= eldest.next().getValue().trie.estimatedBytes();
+                eldest.remove();
+            }
+        }
+    }
+
+    private long toEpochSecond(Object date) {
+        if (date instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate().atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        }
+        if (date instanceof LocalDate localDate) {
+            return localDate.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        }
+        return Instant.now().getEpochSecond();
+    }
+
+    private String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class CachedTrie {
+        private final DescriptionTrie trie;
+        private volatile long lastAccess = System.nanoTime();
+
+        private CachedTrie(DescriptionTrie trie) {
+            this.trie = trie;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prefix index over one user's transaction descriptions.
+ * Every node keeps its best entries, so a lookup only walks the typed prefix.
+ *
+ * Entries are ranked by frecency: every use adds 1 to a score that halves each half-life.
+ * The score is stored as log2(score) + time / halfLife, which keeps the ordering stable while time passes,
+ * so the per-node lists never have to be re-sorted for entries that were not touched.
+ */
+class DescriptionTrie {
+
+    // Descriptions are also reachable from the start of their first few words, "Groceries - Lidl" matches "lidl"
+    private static final int MAX_INDEXED_WORDS = 4;
+
+    private static final int MAX_INDEXED_LENGTH = 64;
+
+    private static final int NODE_BYTES = 64;
+
+    private static final int ENTRY_BYTES = 64;
+
+    private final int suggestionsPerNode;
+
+    private final double halfLifeSeconds;
+
+    private final int maxEntries;
+
+    private final Node root = new Node();
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private long estimatedBytes = NODE_BYTES;
+
+    DescriptionTrie(int suggestionsPerNode, double halfLifeSeconds, int maxEntries) {
+        this.suggestionsPerNode = suggestionsPerNode;
+        this.halfLifeSeconds = halfLifeSeconds;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Records uses of a description, the last one at the given time in epoch seconds.
+     * Once the trie holds maxEntries descriptions only those keep being counted, new ones are left out
+     * until the trie is rebuilt from the user's most used descriptions.
+     */
+    synchronized void add(String description, long uses, long epochSecond) {
+        if (description == null || description.isBlank() || uses <= 0) {
+            return;
+        }
+        String text = description.trim();
+        String key = text.toLowerCase(Locale.ROOT);
+        double now = epochSecond / halfLifeSeconds;
+
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+            entry = new Entry(text, now + log2(uses));
+            entries.put(key, entry);
+            estimatedBytes += ENTRY_BYTES + 2L * text.length();
+        } else {
+            entry.description = text;
+            entry.rank = now + log2(Math.pow(2, entry.rank - now) + uses);
+        }
+
+        for (String suffix : indexedSuffixes(key)) {
+            offer(suffix, entry);
+        }
+    }
+
+    synchronized List<String> suggest(String prefix, int limit) {
+        Node node = root;
+        for (char c : prefix.trim().toLowerCase(Locale.ROOT).toCharArray()) {
+            node = node.child(c);
+            if (node == null) {
+                return List.of();
+            }
+        }
+
+        List<String> suggestions = new ArrayList<>();
+        for (int i = 0; i < node.size && suggestions.size() < limit; i++) {
+            suggestions.add(node.best[i].description);
+        }
+        return suggestions;
+    }
+
+    synchronized long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    private void offer(String key, Entry entry) {
+        Node node = root;
+        for (int i = 0; i < key.length() && i < MAX_INDEXED_LENGTH; i++) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                child = node.addChild(key.charAt(i));
+                estimatedBytes += NODE_BYTES;
+            }
+            node = child;
+            node.offer(entry, suggestionsPerNode);
+        }
+    }
+
+    private Set<String> indexedSuffixes(String key) {
+        Set<String> suffixes = new LinkedHashSet<>();
+        suffixes.add(key);
+        for (int i = 1; i < key.length() && suffixes.size() < MAX_INDEXED_WORDS; i++) {
+            if (!Character.isLetterOrDigit(key.charAt(i - 1)) && Character.isLetterOrDigit(key.charAt(i))) {
+                suffixes.add(key.substring(i));
+            }
+        }
+        return suffixes;
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+
+    private static class Entry {
+        private String description;
+        private double rank;
+
+        private Entry(String description, double rank) {
+            this.description = description;
+            this.rank = rank;
+        }
+    }
+
+    private static class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private Entry[] best = new Entry[0];
+        private int size;
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node addChild(char c) {
+            int index = -Arrays.binarySearch(keys, c) - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+
+            Node child = new Node();
+            newKeys[index] = c;
+            newChildren[index] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        /**
+         * Ranks only ever grow for the entry being offered, so it can at most move up in the list.
+         */
+        private void offer(Entry entry, int capacity) {
+            int position = -1;
+            for (int i = 0; i < size; i++) {
+                if (best[i] == entry) {
+                    position = i;
+                    break;
+                }
+            }
+
+            if (position < 0) {
+                if (size < capacity) {
+                    if (best.length == size) {
+                        best = Arrays.copyOf(best, Math.min(capacity, Math.max(2, size * 2)));
+                    }
+                    position = size++;
+                } else if (entry.rank > best[size - 1].rank) {
+                    position = size - 1;
+                } else {
+                    return;
+                }
+                best[position] = entry;
+            }
+
+            while (position > 0 && best[position - 1].rank < entry.rank) {
+                best[position] = best[position - 1];
+                best[--position] = entry;
+            }
+        }
+    }
+}
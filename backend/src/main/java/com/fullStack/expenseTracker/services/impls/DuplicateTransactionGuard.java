@@ -0,0 +1,167 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Remembers, per user, the content fingerprints of transactions written within the duplicate window,
+ * so a double tap or a retried request does not record the same transaction twice.
+ *
+ * The in-memory window slides and only lives in this instance. The dedupe key derived from it is stored with the
+ * transaction under a unique key, which catches duplicates across restarts and instances within the same
+ * window-sized time bucket.
+ */
+@Component
+public class DuplicateTransactionGuard {
+
+    // Marks a fingerprint whose transaction is still being written
+    private static final long PENDING = -1;
+
+    @Value("${app.transactions.duplicate-window:2m}")
+    private Duration window = Duration.ofMinutes(2);
+
+    @Value("${app.transactions.duplicate-max-users:10000}")
+    private int maxUsers = 10000;
+
+    // Least recently active user first, fingerprints of a user in insertion order, so the oldest expire first
+    private final LinkedHashMap<Long, LinkedHashMap<String, Seen>> windows = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, LinkedHashMap<String, Seen>> eldest) {
+            return size() > maxUsers;
+        }
+    };
+
+    /**
+     * Example: (12.5, 3, 7, "  Coffee  Shop", 2024-01-05) -> sha256("12.5|3|7|coffee shop|2024-01-05")
+     */
+    public String fingerprint(double amount, Integer categoryId, Long accountId, String description, LocalDate date) {
+        String normalisedDescription = description == null ? "" : description.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return sha256(BigDecimal.valueOf(amount).stripTrailingZeros().toPlainString() + "|" + categoryId + "|"
+                + accountId + "|" + normalisedDescription + "|" + date);
+    }
+
+    /**
+     * The fingerprint combined with the current window-sized time bucket, stored in Transaction.dedupeKey.
+     */
+    public String dedupeKey(String fingerprint) {
+        return sha256(fingerprint + "|" + System.currentTimeMillis() / window.toMillis());
+    }
+
+    /**
+     * Returns true and remembers the fingerprint if the user wrote no transaction with it within the window.
+     */
+    public boolean claim(Long userId, String fingerprint) {
+        long now = System.nanoTime();
+        synchronized (windows) {
+            LinkedHashMap<String, Seen> seen = windows.computeIfAbsent(userId, id -> new LinkedHashMap<>());
+            expire(seen, now);
+            if (seen.containsKey(fingerprint)) {
+                return false;
+            }
+            seen.put(fingerprint, new Seen(now + window.toNanos(), PENDING));
+            return true;
+        }
+    }
+
+    public boolean isRecent(Long userId, String fingerprint) {
+        long now = System.nanoTime();
+        synchronized (windows) {
+            LinkedHashMap<String, Seen> seen = windows.get(userId);
+            if (seen == null) {
+                return false;
+            }
+            expire(seen, now);
+            return seen.containsKey(fingerprint);
+        }
+    }
+
+    /**
+     * Records the transaction written for a claimed fingerprint, so duplicates can point at it.
+     */
+    public void attach(Long userId, String fingerprint, Long transactionId) {
+        synchronized (windows) {
+            LinkedHashMap<String, Seen> seen = windows.get(userId);
+            Seen entry = seen != null ? seen.get(fingerprint) : null;
+            if (entry != null) {
+                entry.transactionId = transactionId;
+            }
+        }
+    }
+
+    /**
+     * Returns the transaction written with the fingerprint within the window, or null if unknown or still being written.
+     */
+    public Long originalOf(Long userId, String fingerprint) {
+        synchronized (windows) {
+            LinkedHashMap<String, Seen> seen = windows.get(userId);
+            Seen entry = seen != null ? seen.get(fingerprint) : null;
+            return entry == null || entry.transactionId == PENDING ? null : entry.transactionId;
+        }
+    }
+
+    /**
+     * Releases a claimed fingerprint whose transaction could not be written.
+     */
+    public void forget(Long userId, String fingerprint) {
+        synchronized (windows) {
+            LinkedHashMap<String, Seen> seen = windows.get(userId);
+            if (seen != null) {
+                seen.remove(fingerprint);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.transactions.duplicate-eviction-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        synchronized (windows) {
+            Iterator<LinkedHashMap<String, Seen>> users = windows.values().iterator();
+            while (users.hasNext()) {
+                LinkedHashMap<String, Seen> seen = users.next();
+                expire(seen, now);
+                if (seen.isEmpty()) {
+                    users.remove();
+                }
+            }
+        }
+    }
+
+    static String sha256(String text) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void expire(LinkedHashMap<String, Seen> seen, long now) {
+        Iterator<Seen> oldest = seen.values().iterator();
+        while (oldest.hasNext() && oldest.next().expiresAt - now <= 0) {
+            oldest.remove();
+        }
+    }
+
+    private static class Seen {
+        private final long expiresAt;
+        private long transactionId;
+
+        private Seen(long expiresAt, long transactionId) {
+            this.expiresAt = expiresAt;
+            this.transactionId = transactionId;
+        }
+    }
+}
@@ -3,18 +3,22 @@ import java.io.UnsupportedEncodingException;
 
 import com.fullStack.expenseTracker.services.NotificationService;
 import com.fullStack.expenseTracker.models.User;
+import io.micrometer.core.annotation.Timed;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 
 @Component
+@Timed(value = "expensia.email.send", description = "Time to hand an email to the mail server")
 public class EmailNotificationService implements NotificationService {
 
     @Autowired
+    @Lazy
     private JavaMailSender javaMailSender;
 
     @Value("${spring.mail.username}")
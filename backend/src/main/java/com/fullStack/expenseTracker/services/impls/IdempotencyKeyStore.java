@@ -0,0 +1,94 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.exceptions.IdempotencyKeyConflictException;
+import com.fullStack.expenseTracker.exceptions.TransactionServiceLogicException;
+import com.fullStack.expenseTracker.models.IdempotencyKey;
+import com.fullStack.expenseTracker.repository.IdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Idempotency keys of transaction requests. A key is reserved before the transaction is written and completed with
+ * its id in the same database transaction, the unique key on (user, key) makes sure only one of two concurrent
+ * retries gets to write.
+ */
+@Component
+@Slf4j
+public class IdempotencyKeyStore {
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Value("${app.transactions.idempotency-key-ttl:24h}")
+    private Duration ttl;
+
+    // A reservation older than this belongs to a request that died before completing or releasing it
+    @Value("${app.transactions.idempotency-key-abandon-after:1m}")
+    private Duration abandonAfter;
+
+    /**
+     * Reserves the key for this request, or returns the completed key when a transaction is already recorded under it.
+     */
+    public IdempotencyKey reserve(Long userId, String key) throws TransactionServiceLogicException, IdempotencyKeyConflictException {
+        if (key.length() > IdempotencyKey.MAX_KEY_LENGTH) {
+            throw new TransactionServiceLogicException("Idempotency key can have atmost " + IdempotencyKey.MAX_KEY_LENGTH + " characters!");
+        }
+
+        Optional<IdempotencyKey> existing = idempotencyKeyRepository.findByUserIdAndKey(userId, key);
+        if (existing.isPresent()) {
+            IdempotencyKey reservation = existing.get();
+            if (reservation.getTransactionId() != null) {
+                return reservation;
+            }
+            if (reservation.getCreatedAt().isAfter(LocalDateTime.now().minus(abandonAfter))) {
+                throw new IdempotencyKeyConflictException("A request with this idempotency key is still being processed");
+            }
+            idempotencyKeyRepository.delete(reservation);
+        }
+
+        try {
+            return idempotencyKeyRepository.saveAndFlush(new IdempotencyKey(userId, key));
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race against a concurrent retry with the same key
+            throw new IdempotencyKeyConflictException("A request with this idempotency key is still being processed");
+        }
+    }
+
+    /**
+     * Records the transaction on the reservation. Called inside the transaction that inserts it, so the key is
+     * completed exactly when the insert commits. Fails when the reservation was abandoned and taken over by a retry,
+     * which rolls the insert back instead of recording the transaction twice.
+     */
+    public void complete(IdempotencyKey reservation, Long transactionId) {
+        if (idempotencyKeyRepository.completeReservation(reservation.getId(), transactionId) == 0) {
+            throw new IllegalStateException("Idempotency key " + reservation.getKey() + " is no longer reserved by this request");
+        }
+    }
+
+    /**
+     * Drops the reservation of a request that rolled back, so the client can retry with the same key.
+     */
+    public void release(IdempotencyKey reservation) {
+        try {
+            idempotencyKeyRepository.deleteReservation(reservation.getId());
+        } catch (Exception e) {
+            log.warn("Failed to release idempotency key of user {}: {}", reservation.getUserId(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.transactions.idempotency-key-cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        int deleted = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+}
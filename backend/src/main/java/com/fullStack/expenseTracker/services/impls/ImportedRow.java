@@ -0,0 +1,30 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.models.Account;
+import com.fullStack.expenseTracker.models.Category;
+import com.fullStack.expenseTracker.enums.ETransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * A statement entry resolved to the columns of a new transaction, waiting for its chunk to be written.
+ */
+@Data
+@AllArgsConstructor
+class ImportedRow {
+    private String fingerprint;
+    private Category category;
+    private Account account;
+    private String description;
+    private double amount;
+    private LocalDate date;
+
+    /**
+     * The signed change this row makes to its account balance.
+     */
+    double balanceDelta() {
+        return category.getTransactionType().getTransactionTypeName() == ETransactionType.TYPE_INCOME ? amount : -amount;
+    }
+}
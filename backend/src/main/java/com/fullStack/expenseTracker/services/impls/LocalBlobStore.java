@@ -0,0 +1,282 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.services.BlobStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Stores blobs below the profile upload directory. Used for local development and tests.
+ * Small blobs are served from an in-memory LRU cache bounded by total size.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+@Slf4j
+public class LocalBlobStore implements BlobStore, MeterBinder {
+
+    @Value("${app.user.profile.upload.dir}")
+    private String rootDir;
+
+    @Value("${app.storage.local.public-base-url:/expensia/blobs}")
+    private String publicBaseUrl;
+
+    @Value("${app.storage.local.cache-size:16MB}")
+    private DataSize cacheSize = DataSize.ofMegabytes(16);
+
+    @Value("${app.storage.local.cache-max-entry-size:512KB}")
+    private DataSize cacheMaxEntrySize = DataSize.ofKilobytes(512);
+
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    private final LinkedHashMap<String, byte[]> readCache = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long readCacheBytes;
+
+    private final LongAdder cacheHits = new LongAdder();
+
+    private final LongAdder cacheMisses = new LongAdder();
+
+    /**
+     * Walks the directory once at startup to seed the usage counter. After that it is only adjusted on writes.
+     */
+    @PostConstruct
+    public void seedUsedBytes() {
+        Path root = root();
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            usedBytes.set(files.filter(Files::isRegularFile).mapToLong(this::sizeOf).sum());
+        } catch (IOException e) {
+            log.warn("Failed to compute initial storage usage: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", cacheHits, LongAdder::sum).tags("cache", "localBlobs", "result", "hit")
+                .description("Blob reads served from memory").register(registry);
+        FunctionCounter.builder("cache.gets", cacheMisses, LongAdder::sum).tags("cache", "localBlobs", "result", "miss")
+                .description("Blob reads that went to disk").register(registry);
+        Gauge.builder("cache.size", readCache, cache -> {
+            synchronized (cache) {
+                return readCacheBytes;
+            }
+        }).tag("cache", "localBlobs").baseUnit("bytes").description("Bytes held by the read cache").register(registry);
+    }
+
+    @Override
+    public String putContentAddressed(String prefix, InputStreamSource content, long contentLength, String contentType, String extension) throws IOException {
+        Path directory = resolve(prefix + "x").getParent();
+        Files.createDirectories(directory);
+
+        // Hash while copying so the content is read only once
+        MessageDigest digest = BlobStore.newContentDigest();
+        Path temp = writeTemp(directory, new DigestInputStream(content.getInputStream(), digest));
+        try {
+            String key = prefix + HexFormat.of().formatHex(digest.digest()) + extension;
+            Path target = resolve(key);
+
+            if (!Files.exists(target)) {
+                long size = Files.size(temp);
+                if (createIfAbsent(target, temp)) {
+                    usedBytes.addAndGet(size);
+                }
+            }
+            return key;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void put(String key, InputStream content, long contentLength, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+
+        Path temp = writeTemp(target.getParent(), content);
+        try {
+            long previousSize = Files.exists(target) ? Files.size(target) : 0;
+            long size = Files.size(temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            usedBytes.addAndGet(size - previousSize);
+            evict(key);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        byte[] cached;
+        synchronized (readCache) {
+            cached = readCache.get(key);
+        }
+        if (cached != null) {
+            cacheHits.increment();
+            return new ByteArrayInputStream(cached);
+        }
+        cacheMisses.increment();
+
+        Path path = resolve(key);
+        if (Files.size(path) > cacheMaxEntrySize.toBytes()) {
+            return Files.newInputStream(path);
+        }
+
+        byte[] content = Files.readAllBytes(path);
+        cache(key, content);
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        synchronized (readCache) {
+            if (readCache.containsKey(key)) {
+                return true;
+            }
+        }
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Path path = resolve(key);
+        evict(key);
+        if (Files.exists(path)) {
+            long size = Files.size(path);
+            if (Files.deleteIfExists(path)) {
+                usedBytes.addAndGet(-size);
+            }
+        }
+    }
+
+    @Override
+    public boolean confirmUpload(String key) {
+        // Local storage never issues presigned URLs, every object is written through put
+        return exists(key);
+    }
+
+    @Override
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    @Override
+    public String getPublicUrl(String key) {
+        return publicBaseUrl + "/" + key;
+    }
+
+    @Override
+    public String getKeyFromUrl(String url) {
+        return url.startsWith(publicBaseUrl + "/") ? url.substring(publicBaseUrl.length() + 1) : url;
+    }
+
+    /**
+     * Writes to a temp file and fsyncs it, so it can be moved into place without readers ever seeing a partial blob.
+     */
+    private Path writeTemp(Path directory, InputStream content) throws IOException {
+        Path temp = Files.createTempFile(directory, ".upload-", ".tmp");
+        try (InputStream in = content;
+             FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             OutputStream out = Channels.newOutputStream(channel)) {
+            in.transferTo(out);
+            out.flush();
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return temp;
+    }
+
+    /**
+     * Puts the temp file in place unless the target exists, and tells whether it did. A move would silently
+     * replace a target created by a concurrent upload of the same content, a hard link fails instead.
+     */
+    private boolean createIfAbsent(Path target, Path temp) throws IOException {
+        try {
+            Files.createLink(target, temp);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            // A concurrent upload of the same content won the race, nothing left to store
+            return false;
+        } catch (UnsupportedOperationException e) {
+            // No hard links on this file system, check and move under a lock instead
+            synchronized (this) {
+                if (Files.exists(target)) {
+                    return false;
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                return true;
+            }
+        }
+    }
+
+    private void cache(String key, byte[] content) {
+        synchronized (readCache) {
+            byte[] previous = readCache.put(key, content);
+            readCacheBytes += content.length - (previous != null ? previous.length : 0);
+
+            Iterator<Map.Entry<String, byte[]>> eldest = readCache.entrySet().iterator();
+            while (readCacheBytes > cacheSize.toBytes() && eldest.hasNext()) {
+                readCacheBytes -= eldest.next().getValue().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private void evict(String key) {
+        synchronized (readCache) {
+            byte[] removed = readCache.remove(key);
+            if (removed != null) {
+                readCacheBytes -= removed.length;
+            }
+        }
+    }
+
+    private long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private Path root() {
+        return Paths.get(rootDir).toAbsolutePath().normalize();
+    }
+
+    private Path resolve(String key) {
+        Path root = root();
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,112 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.services.BlobStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@Component
+@Slf4j
+public class ProfileThumbnailGenerator {
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Value("${app.user.profile.thumbnail-sizes:64,256}")
+    private List<Integer> thumbnailSizes;
+
+    /**
+     * Builds the bounded-size variants of an uploaded profile image.
+     * Runs on the image executor so the upload request only waits for the original.
+     */
+    @Async("imageTaskExecutor")
+    public void generateThumbnails(String originalKey) {
+        try {
+            createThumbnails(originalKey);
+        } catch (Exception e) {
+            log.warn("Failed to generate thumbnails for {}: {}", originalKey, e.getMessage());
+        }
+    }
+
+    void createThumbnails(String originalKey) throws IOException {
+        // The original is content-addressed, so existing thumbnails already match it
+        if (thumbnailSizes.stream().allMatch(size -> blobStore.exists(thumbnailKey(originalKey, size)))) {
+            return;
+        }
+
+        BufferedImage original;
+        try (InputStream in = blobStore.get(originalKey)) {
+            original = ImageIO.read(in);
+        }
+
+        if (original == null) {
+            log.warn("Unsupported image format, skipping thumbnails for {}", originalKey);
+            return;
+        }
+
+        for (int size : thumbnailSizes) {
+            byte[] thumbnail = toPng(scaleToFit(original, size));
+            blobStore.put(thumbnailKey(originalKey, size), new ByteArrayInputStream(thumbnail), thumbnail.length, "image/png");
+        }
+    }
+
+    public void deleteThumbnails(String originalKey) {
+        for (int size : thumbnailSizes) {
+            try {
+                blobStore.delete(thumbnailKey(originalKey, size));
+            } catch (Exception e) {
+                log.warn("Failed to delete {}px thumbnail of {}: {}", size, originalKey, e.getMessage());
+            }
+        }
+    }
+
+    public boolean isSupportedSize(int size) {
+        return thumbnailSizes.contains(size);
+    }
+
+    /**
+     * Example: profile-images/9f86d081...0f00a08.jpg -> profile-images/thumbnails/64/9f86d081...0f00a08.png
+     */
+    public static String thumbnailKey(String originalKey, int size) {
+        int slash = originalKey.lastIndexOf('/');
+        String directory = slash >= 0 ? originalKey.substring(0, slash + 1) : "";
+        String fileName = originalKey.substring(slash + 1);
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return directory + "thumbnails/" + size + "/" + baseName + ".png";
+    }
+
+    private BufferedImage scaleToFit(BufferedImage source, int maxSize) {
+        double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private byte[] toPng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -1,5 +1,6 @@
 package com.fullStack.expenseTracker.services.impls;
 
+import com.fullStack.expenseTracker.datasource.ReportingRead;
 import com.fullStack.expenseTracker.dto.reponses.AccountSummaryDto;
 import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
 import com.fullStack.expenseTracker.dto.reponses.CategoryExpenseDto;
@@ -21,6 +22,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 
+@ReportingRead
 @Component
 @Slf4j
 public class ReportServiceImpl implements ReportService {
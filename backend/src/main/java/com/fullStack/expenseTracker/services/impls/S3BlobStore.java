@@ -0,0 +1,265 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.dto.reponses.PresignedUrlDto;
+import com.fullStack.expenseTracker.services.BlobStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "s3", matchIfMissing = true)
+@Slf4j
+public class S3BlobStore implements BlobStore {
+
+    // Lazy, so the SDK clients are built on first use instead of at startup, see app.startup.lazy-beans
+    @Autowired
+    @Lazy
+    private S3Client s3Client;
+
+    @Autowired
+    @Lazy
+    private S3Presigner s3Presigner;
+
+    @Value("${aws.s3.bucket-name}")
+    private String bucketName;
+
+    @Value("${aws.s3.endpoint}")
+    private String s3Endpoint;
+
+    @Value("${app.storage.usage-tracked-objects:10000}")
+    private int maxTrackedObjects = 10000;
+
+    @Value("${app.storage.usage-refresh-interval:6h}")
+    private Duration usageRefreshInterval = Duration.ofHours(6);
+
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    // Size of recently written objects, -1 for deleted ones, so repeated writes and confirmations of the same key
+    // are counted once. Least recently accounted first, bounded, and cleared whenever the bucket is listed again.
+    private final LinkedHashMap<String, Long> objectSizes = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > maxTrackedObjects;
+        }
+    };
+
+    private volatile long nextListingAt = System.nanoTime();
+
+    private final AtomicBoolean listing = new AtomicBoolean();
+
+    /**
+     * Lists the bucket on the first read of the usage rather than at startup, so the S3 client stays lazy, and again
+     * once the refresh interval has passed. The listing replaces the counter, so drift from keys that fell out of
+     * objectSizes, or from writes that raced with the listing, lasts until the next one at most.
+     * Writes are not blocked while the bucket is listed.
+     */
+    private void listUsedBytes() {
+        if (!listing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long total = 0;
+            for (ListObjectsV2Response page : s3Client.listObjectsV2Paginator(ListObjectsV2Request.builder().bucket(bucketName).build())) {
+                for (S3Object object : page.contents()) {
+                    total += object.size();
+                }
+            }
+            synchronized (objectSizes) {
+                usedBytes.set(total);
+                objectSizes.clear();
+            }
+            nextListingAt = System.nanoTime() + usageRefreshInterval.toNanos();
+        } catch (Exception e) {
+            log.warn("Failed to compute storage usage: {}", e.getMessage());
+        } finally {
+            listing.set(false);
+        }
+    }
+
+    @Override
+    public String putContentAddressed(String prefix, InputStreamSource content, long contentLength, String contentType, String extension) throws IOException {
+        // Hashing re-reads the multipart temp file, which is far cheaper than uploading a duplicate
+        String key = prefix + BlobStore.contentHash(content) + extension;
+
+        if (!exists(key)) {
+            try (InputStream in = content.getInputStream()) {
+                upload(key, in, contentLength, contentType);
+            }
+            account(key, contentLength, 0);
+        }
+        return key;
+    }
+
+    @Override
+    public void put(String key, InputStream content, long contentLength, String contentType) {
+        upload(key, content, contentLength, contentType);
+        account(key, contentLength, 0);
+    }
+
+    @Override
+    public InputStream get(String key) {
+        return s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build());
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return size(key) >= 0;
+    }
+
+    @Override
+    public void delete(String key) {
+        long size = size(key);
+        if (size < 0) {
+            return;
+        }
+
+        s3Client.deleteObject(DeleteObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build());
+        // An object without a record was counted by the listing or by a write that has since been evicted
+        account(key, -1, size);
+    }
+
+    @Override
+    public boolean confirmUpload(String key) {
+        long size = size(key);
+        if (size < 0) {
+            return false;
+        }
+        // A client may call /complete again, the object is counted once either way
+        account(key, size, 0);
+        return true;
+    }
+
+    @Override
+    public long getUsedBytes() {
+        if (System.nanoTime() - nextListingAt >= 0) {
+            listUsedBytes();
+        }
+        return usedBytes.get();
+    }
+
+    @Override
+    public String getPublicUrl(String key) {
+        return s3Endpoint + "/" + bucketName + "/" + key;
+    }
+
+    @Override
+    public String getKeyFromUrl(String url) {
+        String[] parts = url.split("/" + bucketName + "/");
+        return parts.length > 1 ? parts[1] : url;
+    }
+
+    @Override
+    public boolean supportsPresignedUrls() {
+        return true;
+    }
+
+    @Override
+    public PresignedUrlDto presignUpload(String key, String contentType, long contentLength, Duration ttl) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .acl(ObjectCannedACL.PUBLIC_READ)
+                .build();
+
+        PresignedPutObjectRequest presigned = s3Presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .putObjectRequest(putObjectRequest)
+                .build());
+
+        return new PresignedUrlDto(
+                key,
+                "PUT",
+                presigned.url().toString(),
+                presigned.signedHeaders(),
+                presigned.expiration()
+        );
+    }
+
+    @Override
+    public PresignedUrlDto presignDownload(String key, Duration ttl) {
+        PresignedGetObjectRequest presigned = s3Presigner.presignGetObject(GetObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .getObjectRequest(GetObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .build())
+                .build());
+
+        return new PresignedUrlDto(
+                key,
+                "GET",
+                presigned.url().toString(),
+                presigned.signedHeaders(),
+                presigned.expiration()
+        );
+    }
+
+    private void upload(String key, InputStream content, long contentLength, String contentType) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(contentLength)
+                .acl(ObjectCannedACL.PUBLIC_READ)
+                .build();
+
+        // The SDK reads the stream in chunks, so the upload is never fully buffered on the heap
+        s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(content, contentLength));
+    }
+
+    /**
+     * Records the current size of an object, -1 once deleted, and moves the counter by the difference.
+     * countedSize is what the counter is assumed to hold for a key it has no record of.
+     */
+    private void account(String key, long size, long countedSize) {
+        synchronized (objectSizes) {
+            Long previous = objectSizes.put(key, size);
+            usedBytes.addAndGet(Math.max(size, 0) - (previous != null ? Math.max(previous, 0) : countedSize));
+        }
+    }
+
+    private long size(String key) {
+        try {
+            return s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .build()).contentLength();
+        } catch (NoSuchKeyException e) {
+            return -1;
+        } catch (S3Exception e) {
+            // HEAD responses carry no error body, so some providers surface a missing key as a bare 404
+            if (e.statusCode() == 404) {
+                return -1;
+            }
+            throw e;
+        }
+    }
+}
@@ -15,17 +15,21 @@ import com.fullStack.expenseTracker.models.Category;
 import com.fullStack.expenseTracker.models.SavedTransaction;
 import com.fullStack.expenseTracker.models.Transaction;
 import com.fullStack.expenseTracker.models.User;
+import com.fullStack.expenseTracker.outbox.OutboxWriter;
 import com.fullStack.expenseTracker.repository.AccountRepository;
 import com.fullStack.expenseTracker.repository.SavedTransactionRepository;
 import com.fullStack.expenseTracker.repository.TransactionRepository;
 import com.fullStack.expenseTracker.repository.UserRepository;
 import com.fullStack.expenseTracker.services.CategoryService;
+import com.fullStack.expenseTracker.services.DashboardUpdateService;
+import com.fullStack.expenseTracker.services.SystemStatsService;
 import com.fullStack.expenseTracker.services.SavedTransactionService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -51,6 +55,21 @@ public class SavedTransactionServiceImpl implements SavedTransactionService {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private SystemStatsService systemStatsService;
+
+    @Autowired
+    private DescriptionSuggestionIndex descriptionSuggestionIndex;
+
+    @Autowired
+    private DashboardUpdateService dashboardUpdateService;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
 
     @Override
     public ResponseEntity<ApiResponseDto<?>> createSavedTransaction(SavedTransactionRequestDto requestDto)
@@ -83,16 +102,24 @@ public class SavedTransactionServiceImpl implements SavedTransactionService {
                         .orElse(null);
 
                 Transaction transaction = savedTransactionToTransaction(plannedTransaction);
-                transactionRepository.save(transaction);
-                
-                if (transaction.getAccount() != null) {
-                    updateAccountBalance(transaction, true);
-                }
-
                 LocalDate upcomingDate = getUpcomingDate(plannedTransaction.getFrequency(), plannedTransaction.getUpcomingDate());
 
-                plannedTransaction.setUpcomingDate(upcomingDate);
-                savedTransactionRepository.save(plannedTransaction);
+                // Posting the transaction and moving the plan to its next date commit together
+                transactionTemplate.executeWithoutResult(status -> {
+                    transactionRepository.save(transaction);
+                    if (transaction.getAccount() != null) {
+                        updateAccountBalance(transaction, true);
+                    }
+                    outboxWriter.transactionCreated(transaction);
+
+                    plannedTransaction.setUpcomingDate(upcomingDate);
+                    savedTransactionRepository.save(plannedTransaction);
+                });
+                systemStatsService.transactionsCreated(1);
+                if (transaction.getUser() != null) {
+                    descriptionSuggestionIndex.record(transaction.getUser().getEmail(), transaction.getDescription());
+                    dashboardUpdateService.transactionChanged(transaction.getUser(), transaction.getAccount(), transaction.getCategory(), transaction.getDate());
+                }
 
                 return ResponseEntity.status(HttpStatus.CREATED).body(
                         new ApiResponseDto<>(
@@ -307,12 +334,16 @@ public class SavedTransactionServiceImpl implements SavedTransactionService {
         return null;
     }
 
-    private SavedTransactionResponseDto savedTransactionToDto(SavedTransaction savedTransaction)
+    SavedTransactionResponseDto savedTransactionToDto(SavedTransaction savedTransaction)
             throws CategoryNotFoundException {
+        return savedTransactionToDto(savedTransaction, categoryService.getCategoryById(savedTransaction.getCategoryId()).getCategoryName());
+    }
+
+    SavedTransactionResponseDto savedTransactionToDto(SavedTransaction savedTransaction, String categoryName) {
         return new SavedTransactionResponseDto(
                 savedTransaction.getPlanId(),  // Maps to 'id' in DTO
                 savedTransaction.getTransactionTypeId(),
-                categoryService.getCategoryById(savedTransaction.getCategoryId()).getCategoryName(),
+                categoryName,
                 savedTransaction.getAmount(),
                 savedTransaction.getDescription(),
                 savedTransaction.getFrequency(),
@@ -322,7 +353,7 @@ public class SavedTransactionServiceImpl implements SavedTransactionService {
         );
     }
 
-    private String getDueInformation(SavedTransaction transaction) {
+    String getDueInformation(SavedTransaction transaction) {
         if (transaction.getUpcomingDate() == null) return null;
         if (Objects.equals(transaction.getUpcomingDate(), LocalDate.now()))
             return "Due on Today";
@@ -370,5 +401,6 @@ public class SavedTransactionServiceImpl implements SavedTransactionService {
         }
         
         accountRepository.save(account);
+        outboxWriter.accountChanged(transaction.getUser().getId(), account);
     }
 }
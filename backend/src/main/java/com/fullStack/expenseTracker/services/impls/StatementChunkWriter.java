@@ -0,0 +1,118 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.enums.OutboxEventType;
+import com.fullStack.expenseTracker.models.OutboxEvent;
+import com.fullStack.expenseTracker.outbox.AccountEventPayload;
+import com.fullStack.expenseTracker.outbox.OutboxWriter;
+import com.fullStack.expenseTracker.outbox.TransactionEventPayload;
+import com.fullStack.expenseTracker.repository.AccountRepository;
+import com.fullStack.expenseTracker.repository.TransactionRepository;
+import com.fullStack.expenseTracker.sync.ChangeSequencer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes one chunk of imported statement entries in a single database transaction:
+ * a JDBC batch insert, one balance update per account and the outbox events of both.
+ */
+@Component
+class StatementChunkWriter {
+
+    private static final String INSERT_TRANSACTION = "INSERT INTO transaction " +
+            "(user_id, category_id, account_id, description, amount, date, timestamp, import_fingerprint, change_seq) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private ChangeSequencer changeSequencer;
+
+    /**
+     * Fails with a DataIntegrityViolationException, and writes nothing, when another import of the same user
+     * inserted one of the fingerprints after the caller checked them.
+     */
+    @Transactional
+    public void write(Long userId, List<ImportedRow> rows) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // Rows bypass the entity listener, so they are numbered here, in insert order
+        long firstChangeSeq = changeSequencer.allocate(userId, rows.size());
+        Map<ImportedRow, Long> changeSeqs = new IdentityHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            changeSeqs.put(rows.get(i), firstChangeSeq + i);
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, rows, rows.size(), (statement, row) -> {
+            statement.setLong(1, userId);
+            statement.setInt(2, row.getCategory().getCategoryId());
+            if (row.getAccount() != null) {
+                statement.setLong(3, row.getAccount().getId());
+            } else {
+                statement.setNull(3, Types.BIGINT);
+            }
+            statement.setString(4, row.getDescription());
+            statement.setDouble(5, row.getAmount());
+            statement.setDate(6, Date.valueOf(row.getDate()));
+            statement.setTimestamp(7, now);
+            statement.setString(8, row.getFingerprint());
+            statement.setLong(9, changeSeqs.get(row));
+        });
+
+        Map<Long, Double> balanceDeltas = new HashMap<>();
+        Map<String, ImportedRow> byFingerprint = new HashMap<>();
+        for (ImportedRow row : rows) {
+            if (row.getAccount() != null) {
+                balanceDeltas.merge(row.getAccount().getId(), row.balanceDelta(), Double::sum);
+            }
+            byFingerprint.put(row.getFingerprint(), row);
+        }
+        for (Map.Entry<Long, Double> delta : balanceDeltas.entrySet()) {
+            accountRepository.adjustBalance(delta.getKey(), delta.getValue(), changeSequencer.next(userId));
+        }
+
+        List<OutboxEvent> events = new ArrayList<>();
+        for (Object[] inserted : transactionRepository.findIdsByImportFingerprints(userId, byFingerprint.keySet())) {
+            long transactionId = ((Number) inserted[0]).longValue();
+            ImportedRow row = byFingerprint.get((String) inserted[1]);
+            events.add(outboxWriter.event(userId, OutboxEventType.TRANSACTION_CREATED, transactionId, new TransactionEventPayload(
+                    transactionId,
+                    userId,
+                    row.getCategory().getCategoryId(),
+                    row.getAccount() != null ? row.getAccount().getId() : null,
+                    row.getAmount(),
+                    row.getDate(),
+                    row.getDescription(),
+                    null,
+                    null,
+                    null
+            )));
+        }
+        for (Long accountId : balanceDeltas.keySet()) {
+            // Read back with JDBC, the entities of the caller still hold the balance from before the chunk
+            Double balance = jdbcTemplate.queryForObject("SELECT balance FROM account WHERE id = ?", Double.class, accountId);
+            events.add(outboxWriter.event(userId, OutboxEventType.ACCOUNT_CHANGED, accountId,
+                    new AccountEventPayload(accountId, balance != null ? balance : 0, false)));
+        }
+        outboxWriter.writeAll(events);
+    }
+}
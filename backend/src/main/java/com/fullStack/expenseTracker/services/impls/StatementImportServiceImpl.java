@@ -0,0 +1,345 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.dto.reponses.StatementImportResultDto;
+import com.fullStack.expenseTracker.enums.ApiResponseStatus;
+import com.fullStack.expenseTracker.enums.ETransactionType;
+import com.fullStack.expenseTracker.enums.StatementFormat;
+import com.fullStack.expenseTracker.exceptions.AccountNotFoundException;
+import com.fullStack.expenseTracker.exceptions.CategoryNotFoundException;
+import com.fullStack.expenseTracker.exceptions.StatementImportException;
+import com.fullStack.expenseTracker.exceptions.UserNotFoundException;
+import com.fullStack.expenseTracker.imports.StatementLine;
+import com.fullStack.expenseTracker.imports.StatementLineHandler;
+import com.fullStack.expenseTracker.imports.StatementParser;
+import com.fullStack.expenseTracker.models.Account;
+import com.fullStack.expenseTracker.models.Category;
+import com.fullStack.expenseTracker.models.User;
+import com.fullStack.expenseTracker.repository.AccountRepository;
+import com.fullStack.expenseTracker.repository.TransactionRepository;
+import com.fullStack.expenseTracker.services.CategoryService;
+import com.fullStack.expenseTracker.services.DashboardUpdateService;
+import com.fullStack.expenseTracker.services.StatementImportService;
+import com.fullStack.expenseTracker.services.SystemStatsService;
+import com.fullStack.expenseTracker.services.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Imports bank statements. The file is streamed through the parser of its format and written in chunks,
+ * so memory use depends on the chunk size and not on the size of the statement.
+ *
+ * Every entry gets a fingerprint, unique per user in the database. It is derived from the bank reference when the
+ * format has one and from account, date, amount and description otherwise, so importing an overlapping statement
+ * again skips the entries that are already there.
+ */
+@Component
+@Slf4j
+public class StatementImportServiceImpl implements StatementImportService {
+
+    private static final int MAX_DESCRIPTION_LENGTH = 50;
+
+    private static final int MAX_REPORTED_PROBLEMS = 20;
+
+    @Autowired
+    private List<StatementParser> parsers;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private StatementChunkWriter statementChunkWriter;
+
+    @Autowired
+    private CategoryRuleEngine categoryRuleEngine;
+
+    @Autowired
+    private DescriptionSuggestionIndex descriptionSuggestionIndex;
+
+    @Autowired
+    private SystemStatsService systemStatsService;
+
+    @Autowired
+    private DuplicateTransactionGuard duplicateTransactionGuard;
+
+    @Autowired
+    private DashboardUpdateService dashboardUpdateService;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> importStatement(String email, MultipartFile file, StatementFormat format,
+                                                             Long accountId, Integer expenseCategoryId, Integer incomeCategoryId)
+            throws UserNotFoundException, AccountNotFoundException, CategoryNotFoundException, StatementImportException {
+
+        if (file == null || file.isEmpty()) {
+            throw new StatementImportException("Statement file is required");
+        }
+        if (format == null) {
+            format = StatementFormat.fromFileName(file.getOriginalFilename());
+            if (format == null) {
+                throw new StatementImportException("Could not tell the statement format from the file name, pass format=CSV, OFX or CAMT053");
+            }
+        }
+        StatementFormat statementFormat = format;
+        StatementParser parser = parsers.stream()
+                .filter(candidate -> candidate.getFormat() == statementFormat)
+                .findFirst()
+                .orElseThrow(() -> new StatementImportException("Statement format " + statementFormat + " is not supported"));
+
+        User user = userService.findByEmail(email);
+
+        Account defaultAccount = null;
+        if (accountId != null) {
+            defaultAccount = accountRepository.findByIdAndUser(accountId, user)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found with id: " + accountId));
+        }
+
+        ImportRun run = new ImportRun(
+                user,
+                defaultAccount,
+                fallbackCategory(expenseCategoryId, ETransactionType.TYPE_EXPENSE),
+                fallbackCategory(incomeCategoryId, ETransactionType.TYPE_INCOME)
+        );
+
+        try (InputStream in = file.getInputStream()) {
+            parser.parse(in, run);
+            run.flush();
+        } catch (IOException e) {
+            log.error("Failed to read statement of {}: {}", email, e.getMessage());
+            throw new StatementImportException("Failed to read the statement file, Try again later!");
+        } catch (DataAccessException e) {
+            log.error("Failed to store statement entries of {}: {}", email, e.getMessage());
+            throw new StatementImportException("Import stopped after " + run.imported + " entries, importing the file again continues where it stopped");
+        } finally {
+            if (run.imported > 0) {
+                log.info("Imported {} of {} statement entries for {} ({} duplicates)", run.imported, run.entries, email, run.duplicates);
+                publishDashboardUpdates(run);
+            }
+        }
+
+        return ResponseEntity.status(HttpStatus.OK).body(
+                new ApiResponseDto<>(
+                        ApiResponseStatus.SUCCESS,
+                        HttpStatus.OK,
+                        new StatementImportResultDto(format, run.entries, run.imported, run.duplicates, run.skipped, run.problems)
+                )
+        );
+    }
+
+    /**
+     * One update per touched account and budget month after the whole file, instead of one per entry.
+     */
+    private void publishDashboardUpdates(ImportRun run) {
+        if (!dashboardUpdateService.hasSubscribers(run.user.getId())) {
+            return;
+        }
+        for (Account account : accountRepository.findAllById(run.touchedAccounts)) {
+            dashboardUpdateService.accountChanged(run.user.getId(), account);
+        }
+        for (Map.Entry<Integer, Set<YearMonth>> touched : run.touchedMonths.entrySet()) {
+            for (YearMonth month : touched.getValue()) {
+                dashboardUpdateService.spendingChanged(run.user, touched.getKey(), month);
+            }
+        }
+    }
+
+    private Category fallbackCategory(Integer categoryId, ETransactionType type)
+            throws CategoryNotFoundException, StatementImportException {
+        if (categoryId == null) {
+            return null;
+        }
+        Category category = categoryService.getCategoryById(categoryId);
+        if (category.getTransactionType() == null || category.getTransactionType().getTransactionTypeName() != type) {
+            throw new StatementImportException("Category " + category.getCategoryName() + " is not a "
+                    + type.name().replace("TYPE_", "").toLowerCase(Locale.ROOT) + " category");
+        }
+        return category;
+    }
+
+    static String normalizeAccountNumber(String accountNumber) {
+        return accountNumber == null ? null : accountNumber.replaceAll("[\\s-]", "").toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * State of one import: the pending chunk, the counters and the lookups resolved once per file.
+     */
+    private class ImportRun implements StatementLineHandler {
+
+        private final User user;
+        private final Account defaultAccount;
+        private final Category expenseFallback;
+        private final Category incomeFallback;
+        private final Map<String, Account> accountsByNumber = new HashMap<>();
+
+        private final List<ImportedRow> pending = new ArrayList<>();
+        private final List<String> problems = new ArrayList<>();
+        private final Set<Long> touchedAccounts = new HashSet<>();
+        private final Map<Integer, Set<YearMonth>> touchedMonths = new HashMap<>();
+
+        // Identical entries on the same day (two coffees) are told apart by their occurrence within the file.
+        // Only the current booking day is tracked, which covers statements ordered by date.
+        private LocalDate occurrenceDay;
+        private final Map<String, Integer> occurrences = new HashMap<>();
+
+        private long entries;
+        private long imported;
+        private long duplicates;
+        private long skipped;
+
+        private ImportRun(User user, Account defaultAccount, Category expenseFallback, Category incomeFallback) {
+            this.user = user;
+            this.defaultAccount = defaultAccount;
+            this.expenseFallback = expenseFallback;
+            this.incomeFallback = incomeFallback;
+            for (Account account : accountRepository.findByUser(user)) {
+                if (account.getAccountNumber() != null && !account.getAccountNumber().isBlank()) {
+                    accountsByNumber.put(normalizeAccountNumber(account.getAccountNumber()), account);
+                }
+            }
+        }
+
+        @Override
+        public void line(StatementLine line) {
+            entries++;
+            if (line.getAmount().signum() == 0) {
+                skip(line.getLineNumber(), "amount is zero");
+                return;
+            }
+
+            boolean income = line.getAmount().signum() > 0;
+            String description = line.getDescription() == null ? "" : line.getDescription().replaceAll("\\s+", " ").trim();
+            if (description.length() > MAX_DESCRIPTION_LENGTH) {
+                description = description.substring(0, MAX_DESCRIPTION_LENGTH).trim();
+            }
+
+            Category category = categoryRuleEngine.categorize(user.getId(), description);
+            if (category == null || category.getTransactionType() == null
+                    || (category.getTransactionType().getTransactionTypeName() == ETransactionType.TYPE_INCOME) != income) {
+                category = income ? incomeFallback : expenseFallback;
+            }
+            if (category == null) {
+                skip(line.getLineNumber(), "no category rule matches and no " + (income ? "income" : "expense") + " category was given");
+                return;
+            }
+
+            Account account = defaultAccount;
+            String accountNumber = normalizeAccountNumber(line.getAccountIdentifier());
+            if (accountNumber != null && accountsByNumber.containsKey(accountNumber)) {
+                account = accountsByNumber.get(accountNumber);
+            }
+
+            // Just entered by hand, or by a sync retry, and now arriving with the statement
+            double amount = line.getAmount().abs().doubleValue();
+            if (duplicateTransactionGuard.isRecent(user.getId(), duplicateTransactionGuard.fingerprint(
+                    amount, category.getCategoryId(), account != null ? account.getId() : null, description, line.getBookingDate()))) {
+                duplicates++;
+                return;
+            }
+
+            pending.add(new ImportedRow(
+                    fingerprint(line, accountNumber, description),
+                    category,
+                    account,
+                    description,
+                    amount,
+                    line.getBookingDate()
+            ));
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void invalidLine(long lineNumber, String reason) {
+            entries++;
+            skip(lineNumber, reason);
+        }
+
+        private void skip(long lineNumber, String reason) {
+            skipped++;
+            if (problems.size() < MAX_REPORTED_PROBLEMS) {
+                problems.add("Line " + lineNumber + ": " + reason);
+            }
+        }
+
+        private String fingerprint(StatementLine line, String accountNumber, String description) {
+            String account = accountNumber != null ? accountNumber : (defaultAccount != null ? "#" + defaultAccount.getId() : "");
+            if (line.getReference() != null) {
+                return DuplicateTransactionGuard.sha256("ref|" + account + "|" + line.getReference());
+            }
+
+            String key = account + "|" + line.getBookingDate() + "|"
+                    + line.getAmount().stripTrailingZeros().toPlainString() + "|" + description.toLowerCase(Locale.ROOT);
+            if (!line.getBookingDate().equals(occurrenceDay)) {
+                occurrenceDay = line.getBookingDate();
+                occurrences.clear();
+            }
+            int occurrence = occurrences.merge(key, 1, Integer::sum);
+            return DuplicateTransactionGuard.sha256("line|" + key + "|" + occurrence);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                write();
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent import of the same user wrote some of these entries first, check again and retry once
+                write();
+            }
+            pending.clear();
+        }
+
+        private void write() {
+            Set<String> existing = new HashSet<>(transactionRepository.findExistingImportFingerprints(
+                    user.getId(), pending.stream().map(ImportedRow::getFingerprint).toList()));
+
+            List<ImportedRow> rows = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (ImportedRow row : pending) {
+                if (!existing.contains(row.getFingerprint()) && seen.add(row.getFingerprint())) {
+                    rows.add(row);
+                }
+            }
+            if (!rows.isEmpty()) {
+                statementChunkWriter.write(user.getId(), rows);
+                systemStatsService.transactionsCreated(rows.size());
+                for (ImportedRow row : rows) {
+                    descriptionSuggestionIndex.record(user.getEmail(), row.getDescription());
+                    if (row.getAccount() != null) {
+                        touchedAccounts.add(row.getAccount().getId());
+                    }
+                    touchedMonths.computeIfAbsent(row.getCategory().getCategoryId(), id -> new HashSet<>())
+                            .add(YearMonth.from(row.getDate()));
+                }
+            }
+            imported += rows.size();
+            duplicates += pending.size() - rows.size();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.dto.reponses.*;
+import com.fullStack.expenseTracker.enums.ApiResponseStatus;
+import com.fullStack.expenseTracker.exceptions.CategoryNotFoundException;
+import com.fullStack.expenseTracker.exceptions.UserNotFoundException;
+import com.fullStack.expenseTracker.models.*;
+import com.fullStack.expenseTracker.repository.*;
+import com.fullStack.expenseTracker.services.SyncService;
+import com.fullStack.expenseTracker.services.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serves the changes of one user after a cursor. Change sequence numbers are unique per user across all synced
+ * entity types, so the next page is the smallest numbers of the union of all types.
+ */
+@Component
+@Slf4j
+public class SyncServiceImpl implements SyncService {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryBudgetRepository categoryBudgetRepository;
+
+    @Autowired
+    private SavedTransactionRepository savedTransactionRepository;
+
+    @Autowired
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Autowired
+    private TransactionServiceImpl transactionService;
+
+    @Autowired
+    private AccountServiceImpl accountService;
+
+    @Autowired
+    private CategoryBudgetServiceImpl categoryBudgetService;
+
+    @Autowired
+    private SavedTransactionServiceImpl savedTransactionService;
+
+    @Value("${app.sync.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> getChanges(String email, long cursor, int limit) throws UserNotFoundException {
+        User user = userService.findByEmail(email);
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+
+        // Each type contributes at most pageSize + 1 rows, enough to fill the page and to tell whether more follow
+        Pageable candidates = PageRequest.of(0, pageSize + 1);
+        Long after = Math.max(0, cursor);
+        TreeMap<Long, Object> changes = new TreeMap<>();
+        for (Transaction transaction : transactionRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(user.getId(), after, candidates)) {
+            changes.put(transaction.getChangeSeq(), transaction);
+        }
+        for (Account account : accountRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(user.getId(), after, candidates)) {
+            changes.put(account.getChangeSeq(), account);
+        }
+        for (CategoryBudget budget : categoryBudgetRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(user.getId(), after, candidates)) {
+            changes.put(budget.getChangeSeq(), budget);
+        }
+        for (SavedTransaction savedTransaction : savedTransactionRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(user.getId(), after, candidates)) {
+            changes.put(savedTransaction.getChangeSeq(), savedTransaction);
+        }
+        for (SyncTombstone tombstone : syncTombstoneRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(user.getId(), after, candidates)) {
+            changes.put(tombstone.getChangeSeq(), tombstone);
+        }
+
+        SyncChangesDto page = new SyncChangesDto(after, changes.size() > pageSize,
+                new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        int taken = 0;
+        for (Map.Entry<Long, Object> change : changes.entrySet()) {
+            if (taken++ == pageSize) {
+                break;
+            }
+            page.setCursor(change.getKey());
+            add(page, change.getValue());
+        }
+
+        return ResponseEntity.ok(
+                new ApiResponseDto<>(
+                        ApiResponseStatus.SUCCESS,
+                        HttpStatus.OK,
+                        page
+                )
+        );
+    }
+
+    private void add(SyncChangesDto page, Object change) {
+        if (change instanceof Transaction transaction) {
+            page.getTransactions().add(transactionService.transactionToTransactionResponseDto(transaction));
+        } else if (change instanceof Account account) {
+            page.getAccounts().add(accountService.mapToResponseDto(account));
+        } else if (change instanceof CategoryBudget budget) {
+            page.getBudgets().add(categoryBudgetService.mapToResponseDto(budget));
+        } else if (change instanceof SavedTransaction savedTransaction) {
+            try {
+                page.getSavedTransactions().add(savedTransactionService.savedTransactionToDto(savedTransaction));
+            } catch (CategoryNotFoundException e) {
+                // Still sent, the cursor moves past it and the client would otherwise never see this change
+                log.warn("Saved transaction {} refers to a missing category: {}", savedTransaction.getPlanId(), e.getMessage());
+                page.getSavedTransactions().add(savedTransactionService.savedTransactionToDto(savedTransaction, null));
+            }
+        } else if (change instanceof SyncTombstone tombstone) {
+            page.getDeletions().add(new SyncDeletionDto(tombstone.getEntityType(), tombstone.getEntityId()));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.models.Transaction;
+import com.fullStack.expenseTracker.models.TransactionSearchToken;
+import com.fullStack.expenseTracker.outbox.TransactionEventPayload;
+import com.fullStack.expenseTracker.repository.TransactionSearchTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the word index over transaction descriptions that backs transaction search.
+ * Category names are not indexed per transaction, there are few of them and they are matched in memory.
+ */
+@Component
+@Slf4j
+public class TransactionSearchIndexer {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int MAX_TOKENS_PER_TRANSACTION = 32;
+
+    @Autowired
+    private TransactionSearchTokenRepository searchTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.search.backfill-batch-size:1000}")
+    private int backfillBatchSize;
+
+    public void index(Transaction transaction) {
+        if (transaction.getTransactionId() == null || transaction.getUser() == null) {
+            return;
+        }
+        try {
+            searchTokenRepository.deleteByTransactionId(transaction.getTransactionId());
+            searchTokenRepository.saveAll(toTokens(
+                    transaction.getTransactionId(), transaction.getUser().getId(), transaction.getDescription()));
+        } catch (Exception e) {
+            log.warn("Failed to index transaction {}: {}", transaction.getTransactionId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the tokens of changed transactions and drops those of removed ones, with one JDBC batch each.
+     * Runs in the caller's transaction, so a batch of outbox events is indexed completely or not at all.
+     */
+    public void reindex(Collection<TransactionEventPayload> changed, Collection<Long> removedIds) {
+        List<Long> staleIds = new ArrayList<>(removedIds);
+        List<TransactionSearchToken> tokens = new ArrayList<>();
+        for (TransactionEventPayload transaction : changed) {
+            staleIds.add(transaction.getTransactionId());
+            tokens.addAll(toTokens(transaction.getTransactionId(), transaction.getUserId(), transaction.getDescription()));
+        }
+        jdbcTemplate.batchUpdate(
+                "DELETE FROM transaction_search_token WHERE transaction_id = ?",
+                staleIds, staleIds.size(),
+                (statement, transactionId) -> statement.setLong(1, transactionId));
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transaction_search_token (transaction_id, user_id, token) VALUES (?, ?, ?)",
+                tokens, tokens.size(),
+                (statement, token) -> {
+                    statement.setLong(1, token.getTransactionId());
+                    statement.setLong(2, token.getUserId());
+                    statement.setString(3, token.getToken());
+                });
+    }
+
+    public void remove(Long transactionId) {
+        try {
+            searchTokenRepository.deleteByTransactionId(transactionId);
+        } catch (Exception e) {
+            log.warn("Failed to remove transaction {} from the search index: {}", transactionId, e.getMessage());
+        }
+    }
+
+    /**
+     * Indexes transactions written before the index existed, or while indexing failed.
+     */
+    @Async("backgroundTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long afterId = 0;
+        long indexed = 0;
+        try {
+            List<Object[]> rows;
+            do {
+                rows = searchTokenRepository.findUnindexedTransactions(afterId, backfillBatchSize);
+                List<TransactionSearchToken> tokens = new ArrayList<>();
+                for (Object[] row : rows) {
+                    afterId = ((Number) row[0]).longValue();
+                    tokens.addAll(toTokens(afterId, ((Number) row[1]).longValue(), (String) row[2]));
+                }
+                searchTokenRepository.saveAll(tokens);
+                indexed += rows.size();
+            } while (rows.size() == backfillBatchSize);
+
+            if (indexed > 0) {
+                log.info("Indexed {} transactions for search", indexed);
+            }
+        } catch (Exception e) {
+            log.warn("Search index backfill stopped after transaction {}: {}", afterId, e.getMessage());
+        }
+    }
+
+    /**
+     * Example: "Lunch @ Joe's Café" -> [lunch, joe, s, café]
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String word : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                tokens.add(word.length() > TransactionSearchToken.MAX_TOKEN_LENGTH
+                        ? word.substring(0, TransactionSearchToken.MAX_TOKEN_LENGTH)
+                        : word);
+            }
+            if (tokens.size() == MAX_TOKENS_PER_TRANSACTION) {
+                break;
+            }
+        }
+        return tokens;
+    }
+
+    private List<TransactionSearchToken> toTokens(Long transactionId, Long userId, String description) {
+        List<TransactionSearchToken> tokens = new ArrayList<>();
+        for (String token : tokenize(description)) {
+            tokens.add(new TransactionSearchToken(transactionId, userId, token));
+        }
+        return tokens;
+    }
+}
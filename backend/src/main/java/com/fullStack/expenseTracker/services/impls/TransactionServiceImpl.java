@@ -1,26 +1,40 @@
 package com.fullStack.expenseTracker.services.impls;
 
+import com.fullStack.expenseTracker.datasource.ReportingRead;
 import com.fullStack.expenseTracker.dto.reponses.*;
 import com.fullStack.expenseTracker.enums.ApiResponseStatus;
 import com.fullStack.expenseTracker.enums.ETransactionType;
+import com.fullStack.expenseTracker.enums.TransactionSortField;
 import com.fullStack.expenseTracker.exceptions.*;
 import com.fullStack.expenseTracker.services.CategoryService;
+import com.fullStack.expenseTracker.services.DashboardUpdateService;
+import com.fullStack.expenseTracker.services.SystemStatsService;
 import com.fullStack.expenseTracker.services.TransactionService;
 import com.fullStack.expenseTracker.services.UserService;
+import com.fullStack.expenseTracker.dto.requests.TransactionFilterRequestDto;
 import com.fullStack.expenseTracker.dto.requests.TransactionRequestDto;
 import com.fullStack.expenseTracker.models.Account;
+import com.fullStack.expenseTracker.models.Category;
+import com.fullStack.expenseTracker.models.IdempotencyKey;
 import com.fullStack.expenseTracker.models.Transaction;
+import com.fullStack.expenseTracker.models.User;
+import com.fullStack.expenseTracker.outbox.OutboxWriter;
 import com.fullStack.expenseTracker.repository.AccountRepository;
+import com.fullStack.expenseTracker.repository.CategoryRepository;
 import com.fullStack.expenseTracker.repository.TransactionRepository;
+import com.fullStack.expenseTracker.repository.TransactionFilter;
+import com.fullStack.expenseTracker.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -30,6 +44,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+
     @Autowired
     TransactionRepository transactionRepository;
 
@@ -42,48 +58,179 @@ public class TransactionServiceImpl implements TransactionService {
     @Autowired
     AccountRepository accountRepository;
 
+    @Autowired
+    SystemStatsService systemStatsService;
+
+    @Autowired
+    CategoryRepository categoryRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    DescriptionSuggestionIndex descriptionSuggestionIndex;
+
+    @Autowired
+    CategoryRuleEngine categoryRuleEngine;
+
+    @Autowired
+    DuplicateTransactionGuard duplicateTransactionGuard;
+
+    @Autowired
+    IdempotencyKeyStore idempotencyKeyStore;
+
+    @Autowired
+    DashboardUpdateService dashboardUpdateService;
+
+    @Autowired
+    OutboxWriter outboxWriter;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    /**
+     * A retried request, identified by its idempotency key, or a duplicate of a transaction recorded within the
+     * duplicate window gets the original result back, without a second insert or balance change.
+     */
     @Override
-    public ResponseEntity<ApiResponseDto<?>> addTransaction(TransactionRequestDto transactionRequestDto)
-            throws UserNotFoundException, CategoryNotFoundException, TransactionServiceLogicException {
-        Transaction transaction = TransactionRequestDtoToTransaction(transactionRequestDto);
+    public ResponseEntity<ApiResponseDto<?>> addTransaction(TransactionRequestDto transactionRequestDto, String idempotencyKey)
+            throws UserNotFoundException, CategoryNotFoundException, TransactionServiceLogicException, IdempotencyKeyConflictException {
+        User user = userService.findByEmail(transactionRequestDto.getUserEmail());
+
+        String key = idempotencyKey == null || idempotencyKey.isBlank() ? null : idempotencyKey.trim();
+        IdempotencyKey reservation = key != null ? idempotencyKeyStore.reserve(user.getId(), key) : null;
+        if (reservation != null && reservation.getTransactionId() != null) {
+            return transactionRecorded(true);
+        }
+
+        Long recordedId = null;
+        String fingerprint = null;
         try {
-            transactionRepository.save(transaction);
-            
-            if (transaction.getAccount() != null) {
-                updateAccountBalance(transaction, true);
+            Transaction transaction = TransactionRequestDtoToTransaction(user, transactionRequestDto);
+            fingerprint = duplicateTransactionGuard.fingerprint(
+                    transaction.getAmount(),
+                    transaction.getCategory().getCategoryId(),
+                    transaction.getAccount() != null ? transaction.getAccount().getId() : null,
+                    transaction.getDescription(),
+                    transaction.getDate()
+            );
+
+            if (!duplicateTransactionGuard.claim(user.getId(), fingerprint)) {
+                log.info("Skipped duplicate transaction of user {}", user.getId());
+                recordedId = duplicateTransactionGuard.originalOf(user.getId(), fingerprint);
+                fingerprint = null;
+                completeDuplicate(reservation, recordedId);
+                return transactionRecorded(true);
+            }
+
+            transaction.setDedupeKey(duplicateTransactionGuard.dedupeKey(fingerprint));
+            try {
+                // The row, the balance and their outbox events commit together, search indexing follows from the events
+                transactionTemplate.executeWithoutResult(status -> {
+                    transactionRepository.save(transaction);
+                    if (reservation != null) {
+                        idempotencyKeyStore.complete(reservation, transaction.getTransactionId());
+                    }
+                    if (transaction.getAccount() != null) {
+                        updateAccountBalance(transaction, true);
+                    }
+                    outboxWriter.transactionCreated(transaction);
+                });
+            } catch (DataIntegrityViolationException e) {
+                // Recorded by another instance, or before a restart, within the same window. Any other violation
+                // fails the request, the finally block releases the fingerprint and the idempotency key.
+                recordedId = transactionRepository.findIdByDedupeKey(user.getId(), transaction.getDedupeKey());
+                if (recordedId == null) {
+                    throw e;
+                }
+                log.info("Skipped duplicate transaction of user {}", user.getId());
+                duplicateTransactionGuard.attach(user.getId(), fingerprint, recordedId);
+                completeDuplicate(reservation, recordedId);
+                return transactionRecorded(true);
             }
+            recordedId = transaction.getTransactionId();
+            duplicateTransactionGuard.attach(user.getId(), fingerprint, recordedId);
+
+            systemStatsService.transactionsCreated(1);
+            descriptionSuggestionIndex.record(transactionRequestDto.getUserEmail(), transaction.getDescription());
+            dashboardUpdateService.transactionChanged(user, transaction.getAccount(), transaction.getCategory(), transaction.getDate());
             
-            return ResponseEntity.status(HttpStatus.CREATED).body(
-                    new ApiResponseDto<>(
-                            ApiResponseStatus.SUCCESS,
-                            HttpStatus.CREATED,
-                            "Transaction has been successfully recorded!"
-                    )
-            );
+            return transactionRecorded(false);
 
-        }catch(Exception e) {
+        } catch (CategoryNotFoundException e) {
+            throw e;
+        } catch(Exception e) {
             log.error("Error happen when adding new transaction: " + e.getMessage());
             throw new TransactionServiceLogicException("Failed to record your new transaction, Try again later!");
+        } finally {
+            if (recordedId == null && fingerprint != null) {
+                duplicateTransactionGuard.forget(user.getId(), fingerprint);
+            }
+            // Completed keys are written with the transaction, anything else rolled back
+            if (reservation != null && recordedId == null) {
+                idempotencyKeyStore.release(reservation);
+            }
         }
 
     }
 
+    /**
+     * Completes the key of a request that turned out to duplicate an earlier transaction with that transaction,
+     * so a retry under the key is answered like the original.
+     */
+    private void completeDuplicate(IdempotencyKey reservation, Long originalId) {
+        if (reservation != null && originalId != null) {
+            try {
+                idempotencyKeyStore.complete(reservation, originalId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to complete idempotency key of a duplicate transaction: {}", e.getMessage());
+            }
+        }
+    }
+
+    private ResponseEntity<ApiResponseDto<?>> transactionRecorded(boolean replayed) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAY_HEADER, String.valueOf(replayed))
+                .body(
+                        new ApiResponseDto<>(
+                                ApiResponseStatus.SUCCESS,
+                                HttpStatus.CREATED,
+                                "Transaction has been successfully recorded!"
+                        )
+                );
+    }
+
     @Override
     public ResponseEntity<ApiResponseDto<?>> getTransactionsByUser(String email,
                                                                    int pageNumber, int pageSize,
                                                                    String searchKey, String sortField,
-                                                                   String sortDirec, String transactionType)
+                                                                   String sortDirec, String transactionType,
+                                                                   TransactionFilterRequestDto filterRequestDto)
             throws TransactionServiceLogicException {
 
+        TransactionSortField sort = TransactionSortField.fromParam(sortField);
+        if (sort == null) {
+            throw new TransactionServiceLogicException("Sorting by " + sortField + " is not supported, use date, amount or transactionId");
+        }
+
         Sort.Direction direction = Sort.Direction.ASC;
-        if (sortDirec.equalsIgnoreCase("DESC")) {
+        if ("DESC".equalsIgnoreCase(sortDirec)) {
             direction = Sort.Direction.DESC;
         }
 
-        Pageable pageable =  PageRequest.of(pageNumber, pageSize).withSort(direction, sortField);
+        Pageable pageable =  PageRequest.of(pageNumber, pageSize).withSort(direction, sort.getProperty());
+
+        TransactionFilter filter = searchFilter(searchKey, false);
+        applyFilterRequest(filter, filterRequestDto);
+        filter.setCategoryIds(intersect(categoryIdsOfType(transactionType), filter.getCategoryIds()));
 
-        Page<Transaction> transactions = transactionRepository.findByUser(email,
-                pageable, searchKey, transactionType);
+        // An unknown email simply has no transactions
+        Optional<User> user = userRepository.findByEmail(email);
+        Page<Transaction> transactions = Page.empty(pageable);
+        if (user.isPresent()) {
+            filter.setUserId(user.get().getId());
+            transactions = transactionRepository.search(filter, pageable);
+        }
 
         try {
             if (transactions.getTotalElements() == 0) {
@@ -124,6 +271,17 @@ public class TransactionServiceImpl implements TransactionService {
 
     }
 
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> getDescriptionSuggestions(String email, String prefix, int limit) {
+        return ResponseEntity.ok(
+                new ApiResponseDto<>(
+                        ApiResponseStatus.SUCCESS,
+                        HttpStatus.OK,
+                        descriptionSuggestionIndex.suggest(email, prefix, Math.max(1, limit))
+                )
+        );
+    }
+
     @Override
     public ResponseEntity<ApiResponseDto<?>> getTransactionById(Long transactionId)
             throws TransactionNotFoundException {
@@ -146,34 +304,46 @@ public class TransactionServiceImpl implements TransactionService {
         Transaction transaction = transactionRepository.findById(transactionId).orElseThrow(
                 () -> new TransactionNotFoundException("Transaction not found with id : " + transactionId)
         );
+        User user = userService.findByEmail(transactionRequestDto.getUserEmail());
+        Category category = categoryService.getCategoryById(transactionRequestDto.getCategoryId());
 
-        if (transaction.getAccount() != null) {
-            updateAccountBalance(transaction, false);
-        }
-
-        transaction.setAmount(transactionRequestDto.getAmount());
-        transaction.setDate(transactionRequestDto.getDate());
-        transaction.setUser(userService.findByEmail(transactionRequestDto.getUserEmail()));
-        transaction.setCategory(categoryService.getCategoryById(transactionRequestDto.getCategoryId()));
-        transaction.setDescription(transactionRequestDto.getDescription());
-        
-        if (transactionRequestDto.getTimestamp() != null) {
-            transaction.setTimestamp(transactionRequestDto.getTimestamp());
-        }
-        
-        if (transactionRequestDto.getAccountId() != null) {
-            Account account = accountRepository.findById(transactionRequestDto.getAccountId()).orElse(null);
-            transaction.setAccount(account);
-        } else {
-            transaction.setAccount(null);
-        }
+        Account previousAccount = transaction.getAccount();
+        Category previousCategory = transaction.getCategory();
+        LocalDate previousDate = transaction.getDate();
 
         try {
-            transactionRepository.save(transaction);
-            
-            if (transaction.getAccount() != null) {
-                updateAccountBalance(transaction, true);
-            }
+            transactionTemplate.executeWithoutResult(status -> {
+                if (transaction.getAccount() != null) {
+                    updateAccountBalance(transaction, false);
+                }
+
+                transaction.setAmount(transactionRequestDto.getAmount());
+                transaction.setDate(transactionRequestDto.getDate());
+                transaction.setUser(user);
+                transaction.setCategory(category);
+                transaction.setDescription(transactionRequestDto.getDescription());
+
+                if (transactionRequestDto.getTimestamp() != null) {
+                    transaction.setTimestamp(transactionRequestDto.getTimestamp());
+                }
+
+                if (transactionRequestDto.getAccountId() != null) {
+                    Account account = accountRepository.findById(transactionRequestDto.getAccountId()).orElse(null);
+                    transaction.setAccount(account);
+                } else {
+                    transaction.setAccount(null);
+                }
+
+                transactionRepository.save(transaction);
+                if (transaction.getAccount() != null) {
+                    updateAccountBalance(transaction, true);
+                }
+                outboxWriter.transactionUpdated(transaction, previousCategory, previousAccount, previousDate);
+            });
+
+            // The old account and month lose the previous amount, the new ones get the new amount
+            dashboardUpdateService.transactionChanged(transaction.getUser(), previousAccount, previousCategory, previousDate);
+            dashboardUpdateService.transactionChanged(transaction.getUser(), transaction.getAccount(), transaction.getCategory(), transaction.getDate());
             
             return ResponseEntity.status(HttpStatus.OK).body(
                     new ApiResponseDto<>(
@@ -196,11 +366,15 @@ public class TransactionServiceImpl implements TransactionService {
             try {
                 Transaction transaction = transactionRepository.findById(transactionId).orElseThrow();
                 
-                if (transaction.getAccount() != null) {
-                    updateAccountBalance(transaction, false);
-                }
-                
-                transactionRepository.deleteById(transactionId);
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (transaction.getAccount() != null) {
+                        updateAccountBalance(transaction, false);
+                    }
+                    transactionRepository.deleteById(transactionId);
+                    outboxWriter.transactionDeleted(transaction);
+                });
+                systemStatsService.transactionsDeleted(1);
+                dashboardUpdateService.transactionChanged(transaction.getUser(), transaction.getAccount(), transaction.getCategory(), transaction.getDate());
                 return ResponseEntity.status(HttpStatus.OK).body(
                         new ApiResponseDto<>(
                                 ApiResponseStatus.SUCCESS,
@@ -219,10 +393,11 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
+    @ReportingRead
     public ResponseEntity<ApiResponseDto<?>> getAllTransactions(int pageNumber, int pageSize, String searchKey) throws TransactionServiceLogicException {
-        Pageable pageable =  PageRequest.of(pageNumber, pageSize).withSort(Sort.Direction.DESC, "transaction_id");
+        Pageable pageable =  PageRequest.of(pageNumber, pageSize).withSort(Sort.Direction.DESC, TransactionSortField.ID.getProperty());
 
-        Page<Transaction> transactions = transactionRepository.findAll(pageable, searchKey);
+        Page<Transaction> transactions = transactionRepository.search(searchFilter(searchKey, true), pageable);
 
         try {
             if (transactions.getTotalElements() == 0) {
@@ -261,15 +436,117 @@ public class TransactionServiceImpl implements TransactionService {
         }
     }
 
-    private Transaction TransactionRequestDtoToTransaction(TransactionRequestDto transactionRequestDto) throws UserNotFoundException, CategoryNotFoundException {
+    /**
+     * Resolves a free-text search term against the word index and the category names.
+     * Admins additionally match transaction type names and user email prefixes.
+     */
+    private TransactionFilter searchFilter(String searchKey, boolean admin) {
+        TransactionFilter filter = new TransactionFilter();
+        if (searchKey == null || searchKey.isBlank()) {
+            return filter;
+        }
+
+        String term = searchKey.trim().toLowerCase(Locale.ROOT);
+        filter.setSearching(true);
+        filter.setDescriptionTokens(new ArrayList<>(TransactionSearchIndexer.tokenize(term)));
+
+        Set<Integer> matchingCategoryIds = new HashSet<>();
+        for (Category category : categoryRepository.findAll()) {
+            boolean nameMatches = containsIgnoreCase(category.getCategoryName(), term);
+            boolean typeMatches = admin && category.getTransactionType() != null
+                    && containsIgnoreCase(category.getTransactionType().getTransactionTypeName().name(), term);
+            if (nameMatches || typeMatches) {
+                matchingCategoryIds.add(category.getCategoryId());
+            }
+        }
+        filter.setMatchingCategoryIds(matchingCategoryIds);
+
+        if (admin) {
+            filter.setEmailPrefix(term);
+        }
+        return filter;
+    }
+
+    private void applyFilterRequest(TransactionFilter filter, TransactionFilterRequestDto filterRequestDto)
+            throws TransactionServiceLogicException {
+        if (filterRequestDto == null) {
+            return;
+        }
+        if (filterRequestDto.getFromDate() != null && filterRequestDto.getToDate() != null
+                && filterRequestDto.getFromDate().isAfter(filterRequestDto.getToDate())) {
+            throw new TransactionServiceLogicException("From date must not be after to date");
+        }
+        if (filterRequestDto.getMinAmount() != null && filterRequestDto.getMaxAmount() != null
+                && filterRequestDto.getMinAmount() > filterRequestDto.getMaxAmount()) {
+            throw new TransactionServiceLogicException("Minimum amount must not be greater than maximum amount");
+        }
+
+        filter.setFromDate(filterRequestDto.getFromDate());
+        filter.setToDate(filterRequestDto.getToDate());
+        filter.setMinAmount(filterRequestDto.getMinAmount());
+        filter.setMaxAmount(filterRequestDto.getMaxAmount());
+        if (filterRequestDto.getCategoryIds() != null && !filterRequestDto.getCategoryIds().isEmpty()) {
+            filter.setCategoryIds(new HashSet<>(filterRequestDto.getCategoryIds()));
+        }
+        if (filterRequestDto.getAccountIds() != null && !filterRequestDto.getAccountIds().isEmpty()) {
+            filter.setAccountIds(new HashSet<>(filterRequestDto.getAccountIds()));
+        }
+    }
+
+    /**
+     * Null stands for "no restriction", so only restrictions given on both sides are intersected.
+     */
+    private Set<Integer> intersect(Set<Integer> first, Set<Integer> second) {
+        if (first == null || second == null) {
+            return first != null ? first : second;
+        }
+        Set<Integer> intersection = new HashSet<>(first);
+        intersection.retainAll(second);
+        return intersection;
+    }
+
+    /**
+     * Returns null when no type is given, so the category predicate is left out.
+     */
+    private Set<Integer> categoryIdsOfType(String transactionType) {
+        if (transactionType == null || transactionType.isBlank()) {
+            return null;
+        }
+        String type = transactionType.trim().toLowerCase(Locale.ROOT);
+        return categoryRepository.findAll().stream()
+                .filter(category -> category.getTransactionType() != null
+                        && containsIgnoreCase(category.getTransactionType().getTransactionTypeName().name(), type))
+                .map(Category::getCategoryId)
+                .collect(Collectors.toSet());
+    }
+
+    private boolean containsIgnoreCase(String value, String lowerCaseTerm) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(lowerCaseTerm);
+    }
+
+    /**
+     * A category id of 0 asks for the user's category rules to pick the category from the description.
+     */
+    private Category resolveCategory(User user, TransactionRequestDto transactionRequestDto) throws CategoryNotFoundException {
+        if (transactionRequestDto.getCategoryId() > 0) {
+            return categoryService.getCategoryById(transactionRequestDto.getCategoryId());
+        }
+        Category category = categoryRuleEngine.categorize(user.getId(), transactionRequestDto.getDescription());
+        if (category == null) {
+            throw new CategoryNotFoundException("No category given and no category rule matches the description");
+        }
+        return category;
+    }
+
+    private Transaction TransactionRequestDtoToTransaction(User user, TransactionRequestDto transactionRequestDto) throws CategoryNotFoundException {
         Account account = null;
         if (transactionRequestDto.getAccountId() != null) {
             account = accountRepository.findById(transactionRequestDto.getAccountId()).orElse(null);
         }
-        
+
         Transaction transaction = new Transaction(
-                userService.findByEmail(transactionRequestDto.getUserEmail()),
-                categoryService.getCategoryById(transactionRequestDto.getCategoryId()),
+                user,
+                resolveCategory(user, transactionRequestDto),
                 account,
                 transactionRequestDto.getDescription(),
                 transactionRequestDto.getAmount(),
@@ -305,9 +582,10 @@ public class TransactionServiceImpl implements TransactionService {
         }
         
         accountRepository.save(account);
+        outboxWriter.accountChanged(transaction.getUser().getId(), account);
     }
 
-    private TransactionResponseDto transactionToTransactionResponseDto(Transaction transaction) {
+    TransactionResponseDto transactionToTransactionResponseDto(Transaction transaction) {
         TransactionResponseDto.TransactionTypeDto transactionTypeDto = null;
         if (transaction.getCategory() != null && transaction.getCategory().getTransactionType() != null) {
             transactionTypeDto = new TransactionResponseDto.TransactionTypeDto(
@@ -357,7 +635,7 @@ public class TransactionServiceImpl implements TransactionService {
         );
     }
 
-    private Map<String, List<TransactionResponseDto>> groupTransactionsByDate(List<TransactionResponseDto> transactionResponseDtoList) {
+    Map<String, List<TransactionResponseDto>> groupTransactionsByDate(List<TransactionResponseDto> transactionResponseDtoList) {
         LocalDate today = LocalDate.now();
         LocalDate yesterday = today.minusDays(1);
 
@@ -1,8 +1,10 @@
 package com.fullStack.expenseTracker.services.impls;
 
 
+import com.fullStack.expenseTracker.datasource.ReportingRead;
 import com.fullStack.expenseTracker.dto.reponses.PageResponseDto;
 import com.fullStack.expenseTracker.dto.requests.UserSettingsRequestDto;
+import com.fullStack.expenseTracker.services.BlobStore;
 import com.fullStack.expenseTracker.services.NotificationService;
 import com.fullStack.expenseTracker.services.UserService;
 import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
@@ -24,19 +26,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.*;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.*;
 
 @Component
 @Slf4j
@@ -57,20 +58,23 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private TransactionTypeRepository transactionTypeRepository;
 
-    @Value("${app.user.profile.upload.dir}")
-    private String userProfileUploadDir;
+    @Autowired
+    private BlobStore blobStore;
 
     @Autowired
-    private S3Client s3Client;
+    private ProfileThumbnailGenerator profileThumbnailGenerator;
+
+    @Value("${app.user.profile.max-size:5MB}")
+    private DataSize maxProfileImgSize;
 
-    @Value("${aws.s3.bucket-name}")
-    private String bucketName;
+    @Value("${app.storage.presigned-url-ttl:5m}")
+    private Duration presignedUrlTtl;
 
-    @Value("${aws.s3.endpoint}")
-    private String s3Endpoint;
+    private static final String PROFILE_IMAGE_PREFIX = "profile-images/";
 
 
     @Override
+    @ReportingRead
     public ResponseEntity<ApiResponseDto<?>> getAllUsers(int pageNumber, int pageSize, String searchKey)
             throws RoleNotFoundException, UserServiceLogicException {
 
@@ -121,23 +125,26 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+
     // ============================================
-    // OLD LOCAL FILE STORAGE METHODS (COMMENTED OUT)
+    // BLOB STORE METHODS (AWS S3 / DigitalOcean Spaces or local disk)
     // ============================================
-    
-    /*
+
     @Override
     public ResponseEntity<ApiResponseDto<?>> uploadProfileImg(String email, MultipartFile file)
             throws UserServiceLogicException, UserNotFoundException {
         if (existsByEmail(email)) {
             try {
                 User user = findByEmail(email);
-                String extention = Objects.requireNonNull(file.getOriginalFilename()).substring(file.getOriginalFilename().lastIndexOf("."));
-                String newFileName = user.getUsername().concat(extention);
-                Path targetLocation = Paths.get(userProfileUploadDir).resolve(newFileName);
-                Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-                user.setProfileImgUrl(String.valueOf(targetLocation));
-                userRepository.save(user);
+                String extension = Objects.requireNonNull(file.getOriginalFilename())
+                        .substring(file.getOriginalFilename().lastIndexOf(".")).toLowerCase();
+
+                // Stream the multipart content straight to the store instead of loading it on-heap.
+                // Keys are content hashes, so re-uploading an image that is already stored writes nothing.
+                String key = blobStore.putContentAddressed(PROFILE_IMAGE_PREFIX, file, file.getSize(), file.getContentType(), extension);
+
+                replaceProfileImage(user, key, file);
+
                 return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponseDto<>(
                         ApiResponseStatus.SUCCESS,
                         HttpStatus.CREATED,
@@ -151,114 +158,161 @@ public class UserServiceImpl implements UserService {
 
         throw new UserNotFoundException("User not found with email " + email);
     }
-    */
-
-    // ============================================
-    // NEW CLOUD STORAGE METHODS (AWS S3 / DigitalOcean Spaces)
-    // ============================================
 
     @Override
-    public ResponseEntity<ApiResponseDto<?>> uploadProfileImg(String email, MultipartFile file)
+    public ResponseEntity<ApiResponseDto<?>> createProfileImgUploadUrl(String email, String fileName, String contentType, long contentLength)
             throws UserServiceLogicException, UserNotFoundException {
-        if (existsByEmail(email)) {
-            try {
-                User user = findByEmail(email);
-                String extension = Objects.requireNonNull(file.getOriginalFilename())
-                        .substring(file.getOriginalFilename().lastIndexOf("."));
-                String key = "profile-images/" + user.getUsername() + "-" + System.currentTimeMillis() + extension;
-
-                // Upload to S3/Spaces
-                PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                        .bucket(bucketName)
-                        .key(key)
-                        .contentType(file.getContentType())
-                        .acl(ObjectCannedACL.PUBLIC_READ)
-                        .build();
+        User user = findByEmail(email);
 
-                s3Client.putObject(putObjectRequest, RequestBody.fromBytes(file.getBytes()));
+        if (!blobStore.supportsPresignedUrls()) {
+            throw new UserServiceLogicException("Direct uploads are not supported by the configured storage!");
+        }
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new UserServiceLogicException("Profile image must be an image file!");
+        }
+        if (contentLength <= 0 || contentLength > maxProfileImgSize.toBytes()) {
+            throw new UserServiceLogicException("Profile image must be at most " + maxProfileImgSize.toMegabytes() + "MB!");
+        }
 
-                // Generate public URL
-                String publicUrl = s3Endpoint + "/" + bucketName + "/" + key;
+        try {
+            String extension = fileName != null && fileName.contains(".") ? fileName.substring(fileName.lastIndexOf(".")) : "";
+            String key = profileImageKeyPrefix(user) + System.currentTimeMillis() + extension;
 
-                // Delete old image if exists
-                if (user.getProfileImgUrl() != null && !user.getProfileImgUrl().isEmpty()) {
-                    try {
-                        String oldKey = extractKeyFromUrl(user.getProfileImgUrl());
-                        DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
-                                .bucket(bucketName)
-                                .key(oldKey)
-                                .build();
-                        s3Client.deleteObject(deleteObjectRequest);
-                    } catch (Exception e) {
-                        log.warn("Failed to delete old profile image: {}", e.getMessage());
-                    }
-                }
+            return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                    ApiResponseStatus.SUCCESS,
+                    HttpStatus.OK,
+                    blobStore.presignUpload(key, contentType, contentLength, presignedUrlTtl)
+            ));
+        } catch (Exception e) {
+            log.error("Failed to create profile img upload url: {}", e.getMessage());
+            throw new UserServiceLogicException("Failed to prepare profile image upload: Try again later!");
+        }
+    }
 
-                user.setProfileImgUrl(publicUrl);
-                userRepository.save(user);
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> completeProfileImgUpload(String email, String key)
+            throws UserServiceLogicException, UserNotFoundException {
+        User user = findByEmail(email);
 
-                return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponseDto<>(
-                        ApiResponseStatus.SUCCESS,
-                        HttpStatus.CREATED,
-                        "Profile image successfully updated!"
-                ));
-            } catch (Exception e) {
-                log.error("Failed to update profile img: {}", e.getMessage());
-                throw new UserServiceLogicException("Failed to update profile image: Try again later!");
-            }
+        // Only keys handed out to this user by createProfileImgUploadUrl can be claimed: a single file name
+        // directly under the user's own directory
+        String prefix = profileImageKeyPrefix(user);
+        if (key == null || !key.startsWith(prefix) || key.indexOf('/', prefix.length()) >= 0 || key.contains("..")) {
+            throw new UserServiceLogicException("Invalid profile image key!");
+        }
+        if (!blobStore.confirmUpload(key)) {
+            throw new UserServiceLogicException("Profile image has not been uploaded yet!");
         }
 
-        throw new UserNotFoundException("User not found with email " + email);
+        try {
+            replaceProfileImage(user, key, null);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponseDto<>(
+                    ApiResponseStatus.SUCCESS,
+                    HttpStatus.CREATED,
+                    "Profile image successfully updated!"
+            ));
+        } catch (Exception e) {
+            log.error("Failed to complete profile img upload: {}", e.getMessage());
+            throw new UserServiceLogicException("Failed to update profile image: Try again later!");
+        }
     }
 
-    /*
     @Override
-    public ResponseEntity<ApiResponseDto<?>> getProfileImg(String email) throws UserNotFoundException, IOException, UserServiceLogicException {
-        if (existsByEmail(email)) {
-            try{
-                User user = findByEmail(email);
-
-                if (user.getProfileImgUrl() != null) {
-                    Path profileImgPath = Paths.get(user.getProfileImgUrl());
+    public ResponseEntity<ApiResponseDto<?>> getProfileImgDownloadUrl(String email, Integer size)
+            throws UserServiceLogicException, UserNotFoundException {
+        User user = findByEmail(email);
 
-                    byte[] imageBytes = Files.readAllBytes(profileImgPath);
-                    String base64Image = Base64.getEncoder().encodeToString(imageBytes);
+        if (!blobStore.supportsPresignedUrls()) {
+            throw new UserServiceLogicException("Direct downloads are not supported by the configured storage!");
+        }
+        if (user.getProfileImgUrl() == null) {
+            return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                    ApiResponseStatus.SUCCESS,
+                    HttpStatus.OK,
+                    null
+            ));
+        }
 
-                    return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
-                            ApiResponseStatus.SUCCESS,
-                            HttpStatus.OK,
-                            base64Image
-                    ));
-                }else {
-                    return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
-                            ApiResponseStatus.SUCCESS,
-                            HttpStatus.OK,
-                            null
-                    ));
+        try {
+            String key = blobStore.getKeyFromUrl(user.getProfileImgUrl());
+            if (size != null && profileThumbnailGenerator.isSupportedSize(size)) {
+                String thumbnailKey = ProfileThumbnailGenerator.thumbnailKey(key, size);
+                if (blobStore.exists(thumbnailKey)) {
+                    key = thumbnailKey;
                 }
+            }
+
+            return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                    ApiResponseStatus.SUCCESS,
+                    HttpStatus.OK,
+                    blobStore.presignDownload(key, presignedUrlTtl)
+            ));
+        } catch (Exception e) {
+            log.error("Failed to create profile img download url: {}", e.getMessage());
+            throw new UserServiceLogicException("Failed to get profile image: Try again later!");
+        }
+    }
+
+    /**
+     * content is the uploaded image for content-addressed keys, which other users may share, null otherwise.
+     */
+    private void replaceProfileImage(User user, String key, MultipartFile content) throws IOException {
+        String oldProfileImgUrl = user.getProfileImgUrl();
+        String newProfileImgUrl = blobStore.getPublicUrl(key);
+
+        user.setProfileImgUrl(newProfileImgUrl);
+        userRepository.save(user);
+
+        // The shared blob may have been deleted by another user dropping the same image between the upload
+        // finding it stored and the reference being saved, see deleteProfileImageBlobs
+        if (content != null && !blobStore.exists(key)) {
+            try (InputStream in = content.getInputStream()) {
+                blobStore.put(key, in, content.getSize(), content.getContentType());
+            }
+        }
 
+        // Delete old image if exists
+        if (oldProfileImgUrl != null && !oldProfileImgUrl.isEmpty() && !oldProfileImgUrl.equals(newProfileImgUrl)) {
+            try {
+                deleteProfileImageBlobs(user, oldProfileImgUrl);
             } catch (Exception e) {
-                log.error("Failed to get profile img: {}", e.getMessage());
-                throw new UserServiceLogicException("Failed to get profile image: Try again later!");
+                log.warn("Failed to delete old profile image: {}", e.getMessage());
             }
         }
 
-        throw new UserNotFoundException("User not found with email " + email);
+        // Thumbnails are built off the request thread once the original is stored
+        profileThumbnailGenerator.generateThumbnails(key);
+    }
+
+    private String profileImageKeyPrefix(User user) {
+        // The id is its own path segment, a username prefix would also match other users' keys ("alice" and "alice-bob")
+        return PROFILE_IMAGE_PREFIX + user.getId() + "/";
     }
-    */
+
 
     @Override
-    public ResponseEntity<ApiResponseDto<?>> getProfileImg(String email) throws UserNotFoundException, IOException, UserServiceLogicException {
+    public ResponseEntity<ApiResponseDto<?>> getProfileImg(String email, Integer size) throws UserNotFoundException, IOException, UserServiceLogicException {
         if (existsByEmail(email)) {
             try{
                 User user = findByEmail(email);
 
                 if (user.getProfileImgUrl() != null) {
+                    String profileImgUrl = user.getProfileImgUrl();
+
+                    // Thumbnails are generated asynchronously, fall back to the original until they exist
+                    if (size != null && profileThumbnailGenerator.isSupportedSize(size)) {
+                        String thumbnailKey = ProfileThumbnailGenerator.thumbnailKey(blobStore.getKeyFromUrl(profileImgUrl), size);
+                        if (blobStore.exists(thumbnailKey)) {
+                            profileImgUrl = blobStore.getPublicUrl(thumbnailKey);
+                        }
+                    }
+
                     // Return the public URL directly
                     return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
                             ApiResponseStatus.SUCCESS,
                             HttpStatus.OK,
-                            user.getProfileImgUrl()
+                            profileImgUrl
                     ));
                 } else {
                     return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
@@ -277,36 +331,6 @@ public class UserServiceImpl implements UserService {
         throw new UserNotFoundException("User not found with email " + email);
     }
 
-    /*
-    @Override
-    public ResponseEntity<ApiResponseDto<?>> deleteProfileImg(String email) throws UserServiceLogicException, UserNotFoundException {
-        if (existsByEmail(email)) {
-            try{
-                User user = findByEmail(email);
-
-                File file = new File(user.getProfileImgUrl());
-                if (file.exists()) {
-                    if (file.delete()) {
-                        user.setProfileImgUrl(null);
-                        User savedUser = userRepository.save(user);
-                        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
-                                ApiResponseStatus.SUCCESS,
-                                HttpStatus.OK,
-                                "Profile image removed successfully!"
-                        ));
-                    }else {
-                        throw new UserServiceLogicException("Failed to remove profile image: Try again later!");
-                    }
-                }
-            } catch (Exception e) {
-                log.error("Failed to get profile img: {}", e.getMessage());
-                throw new UserServiceLogicException("Failed to remove profile image: Try again later!");
-            }
-        }
-
-        throw new UserNotFoundException("User not found with email " + email);
-    }
-    */
 
     @Override
     public ResponseEntity<ApiResponseDto<?>> deleteProfileImg(String email) throws UserServiceLogicException, UserNotFoundException {
@@ -316,14 +340,9 @@ public class UserServiceImpl implements UserService {
 
                 if (user.getProfileImgUrl() != null && !user.getProfileImgUrl().isEmpty()) {
                     try {
-                        String key = extractKeyFromUrl(user.getProfileImgUrl());
-                        DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
-                                .bucket(bucketName)
-                                .key(key)
-                                .build();
-                        s3Client.deleteObject(deleteObjectRequest);
+                        deleteProfileImageBlobs(user, user.getProfileImgUrl());
                     } catch (Exception e) {
-                        log.error("Failed to delete object from S3: {}", e.getMessage());
+                        log.error("Failed to delete object from storage: {}", e.getMessage());
                         throw new UserServiceLogicException("Failed to remove profile image: Try again later!");
                     }
 
@@ -351,13 +370,35 @@ public class UserServiceImpl implements UserService {
         throw new UserNotFoundException("User not found with email " + email);
     }
 
-    /**
-     * Helper method to extract the S3 key from a full URL
-     * Example: https://nyc3.digitaloceanspaces.com/bucket-name/profile-images/user.jpg -> profile-images/user.jpg
-     */
-    private String extractKeyFromUrl(String url) {
-        String[] parts = url.split("/" + bucketName + "/");
-        return parts.length > 1 ? parts[1] : url;
+    private void deleteProfileImageBlobs(User user, String profileImgUrl) throws IOException {
+        // Identical images share one content-addressed blob, keep it while another user still points at it
+        if (userRepository.existsByProfileImgUrlAndIdNot(profileImgUrl, user.getId())) {
+            return;
+        }
+
+        String key = blobStore.getKeyFromUrl(profileImgUrl);
+        if (blobStore.exists(key)) {
+            // An upload of the same image can find the blob stored and save its reference between the check above
+            // and the delete. Keep a copy until the reference check after the delete, and put the blob back if it
+            // is in use again. Uploads that save their reference later rewrite it themselves, see replaceProfileImage.
+            Path copy = Files.createTempFile("profile-image-", null);
+            try {
+                try (InputStream in = blobStore.get(key)) {
+                    Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+                }
+                blobStore.delete(key);
+
+                if (userRepository.existsByProfileImgUrlAndIdNot(profileImgUrl, user.getId())) {
+                    try (InputStream in = Files.newInputStream(copy)) {
+                        blobStore.put(key, in, Files.size(copy), URLConnection.guessContentTypeFromName(key));
+                    }
+                    return;
+                }
+            } finally {
+                Files.deleteIfExists(copy);
+            }
+        }
+        profileThumbnailGenerator.deleteThumbnails(key);
     }
 
     @Override
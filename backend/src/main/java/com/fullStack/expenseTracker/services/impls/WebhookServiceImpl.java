@@ -0,0 +1,220 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.dto.reponses.WebhookResponseDto;
+import com.fullStack.expenseTracker.dto.requests.WebhookRequestDto;
+import com.fullStack.expenseTracker.enums.ApiResponseStatus;
+import com.fullStack.expenseTracker.exceptions.UserNotFoundException;
+import com.fullStack.expenseTracker.exceptions.WebhookNotFoundException;
+import com.fullStack.expenseTracker.exceptions.WebhookServiceLogicException;
+import com.fullStack.expenseTracker.models.User;
+import com.fullStack.expenseTracker.models.WebhookEndpoint;
+import com.fullStack.expenseTracker.repository.WebhookDeliveryRepository;
+import com.fullStack.expenseTracker.repository.WebhookEndpointRepository;
+import com.fullStack.expenseTracker.services.UserService;
+import com.fullStack.expenseTracker.services.WebhookService;
+import com.fullStack.expenseTracker.webhooks.WebhookDeliverer;
+import com.fullStack.expenseTracker.webhooks.WebhookTargetPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class WebhookServiceImpl implements WebhookService {
+
+    private static final SecureRandom SECRET_RANDOM = new SecureRandom();
+
+    @Autowired
+    private WebhookEndpointRepository webhookEndpointRepository;
+
+    @Autowired
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private WebhookDeliverer webhookDeliverer;
+
+    @Autowired
+    private WebhookTargetPolicy webhookTargetPolicy;
+
+    @Value("${app.webhooks.max-per-user:10}")
+    private int maxWebhooksPerUser;
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> createWebhook(WebhookRequestDto webhookRequestDto)
+            throws UserNotFoundException, WebhookServiceLogicException {
+        User user = userService.findByEmail(webhookRequestDto.getEmail());
+
+        if (webhookEndpointRepository.countByUser(user) >= maxWebhooksPerUser) {
+            throw new WebhookServiceLogicException("You can have at most " + maxWebhooksPerUser + " webhooks!");
+        }
+
+        return create(user, webhookRequestDto);
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> getWebhooksByUser(String email) throws UserNotFoundException {
+        User user = userService.findByEmail(email);
+
+        List<WebhookResponseDto> webhooks = webhookEndpointRepository.findByUserIdOrderByIdAsc(user.getId()).stream()
+                .map(endpoint -> mapToResponseDto(endpoint, null))
+                .collect(Collectors.toList());
+
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.OK,
+                webhooks
+        ));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> updateWebhook(Long webhookId, WebhookRequestDto webhookRequestDto)
+            throws UserNotFoundException, WebhookNotFoundException, WebhookServiceLogicException {
+        User user = userService.findByEmail(webhookRequestDto.getEmail());
+        WebhookEndpoint endpoint = findOwned(webhookId, user);
+
+        endpoint.setUrl(validUrl(webhookRequestDto.getUrl()));
+        endpoint.getTopics().clear();
+        endpoint.getTopics().addAll(webhookRequestDto.getTopics());
+        endpoint.setEnabled(webhookRequestDto.isEnabled());
+
+        webhookEndpointRepository.save(endpoint);
+
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.OK,
+                mapToResponseDto(endpoint, null)
+        ));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> deleteWebhook(Long webhookId, String email) throws UserNotFoundException, WebhookNotFoundException {
+        User user = userService.findByEmail(email);
+        delete(findOwned(webhookId, user));
+
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.OK,
+                "Webhook deleted successfully"
+        ));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> retryFailedDeliveries(Long webhookId, String email) throws UserNotFoundException, WebhookNotFoundException {
+        User user = userService.findByEmail(email);
+        WebhookEndpoint endpoint = findOwned(webhookId, user);
+
+        int retried = webhookDeliveryRepository.retryFailed(endpoint.getId(), LocalDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.ACCEPTED,
+                retried + " failed deliveries will be sent again"
+        ));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> createGlobalWebhook(WebhookRequestDto webhookRequestDto) throws WebhookServiceLogicException {
+        return create(null, webhookRequestDto);
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> getAllWebhooks() {
+        List<WebhookResponseDto> webhooks = webhookEndpointRepository.findAll().stream()
+                .map(endpoint -> mapToResponseDto(endpoint, null))
+                .collect(Collectors.toList());
+
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.OK,
+                webhooks
+        ));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponseDto<?>> deleteWebhookById(Long webhookId) throws WebhookNotFoundException {
+        WebhookEndpoint endpoint = webhookEndpointRepository.findById(webhookId)
+                .orElseThrow(() -> new WebhookNotFoundException("Webhook not found with id: " + webhookId));
+        delete(endpoint);
+
+        return ResponseEntity.status(HttpStatus.OK).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.OK,
+                "Webhook deleted successfully"
+        ));
+    }
+
+    private ResponseEntity<ApiResponseDto<?>> create(User user, WebhookRequestDto webhookRequestDto) throws WebhookServiceLogicException {
+        byte[] key = new byte[32];
+        SECRET_RANDOM.nextBytes(key);
+        String secret = HexFormat.of().formatHex(key);
+        WebhookEndpoint endpoint = new WebhookEndpoint(
+                user,
+                validUrl(webhookRequestDto.getUrl()),
+                secret,
+                webhookRequestDto.getTopics()
+        );
+        endpoint.setEnabled(webhookRequestDto.isEnabled());
+
+        webhookEndpointRepository.save(endpoint);
+        log.info("Webhook {} registered for {}", endpoint.getId(), user != null ? "user " + user.getId() : "all users");
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponseDto<>(
+                ApiResponseStatus.SUCCESS,
+                HttpStatus.CREATED,
+                mapToResponseDto(endpoint, secret)
+        ));
+    }
+
+    private void delete(WebhookEndpoint endpoint) {
+        webhookDeliveryRepository.deleteByEndpoint(endpoint.getId());
+        webhookEndpointRepository.delete(endpoint);
+        webhookDeliverer.forget(endpoint.getId());
+    }
+
+    private WebhookEndpoint findOwned(Long webhookId, User user) throws WebhookNotFoundException {
+        return webhookEndpointRepository.findByIdAndUser(webhookId, user)
+                .orElseThrow(() -> new WebhookNotFoundException("Webhook not found with id: " + webhookId));
+    }
+
+    private String validUrl(String url) throws WebhookServiceLogicException {
+        URI uri = null;
+        try {
+            uri = URI.create(url.trim());
+        } catch (IllegalArgumentException e) {
+            // Reported below
+        }
+        if (uri == null || !("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme())) || uri.getHost() == null) {
+            throw new WebhookServiceLogicException("Webhook url must be an absolute http or https url!");
+        }
+        if (!webhookTargetPolicy.isAllowed(uri)) {
+            throw new WebhookServiceLogicException("Webhook url must point to a public host!");
+        }
+        return uri.toString();
+    }
+
+    private WebhookResponseDto mapToResponseDto(WebhookEndpoint endpoint, String secret) {
+        return new WebhookResponseDto(
+                endpoint.getId(),
+                endpoint.getUrl(),
+                endpoint.getTopics(),
+                endpoint.isEnabled(),
+                endpoint.getCreatedAt(),
+                secret,
+                webhookDeliverer.getStatus(endpoint.getId())
+        );
+    }
+}
@@ -0,0 +1,85 @@
+package com.fullStack.expenseTracker.sync;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+public class ChangeSequenceBackfill {
+
+    // Table, id column, owner column of every SyncTracked entity
+    private static final String[][] TRACKED_TABLES = {
+            {"transaction", "transaction_id", "user_id"},
+            {"account", "id", "user_id"},
+            {"category_budget", "id", "user_id"},
+            {"saved_transaction", "plan_id", "user_id"}
+    };
+
+    @Autowired
+    private ChangeSequencer changeSequencer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.sync.backfill-batch-size:1000}")
+    private int backfillBatchSize;
+
+    /**
+     * Numbers rows written before change tracking existed, so a first sync from cursor 0 returns them too.
+     */
+    @Async("backgroundTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        for (String[] table : TRACKED_TABLES) {
+            try {
+                long numbered = 0;
+                List<Map<String, Object>> rows;
+                do {
+                    rows = jdbcTemplate.queryForList(
+                            "SELECT " + table[2] + " AS owner_id, " + table[1] + " AS row_id FROM " + table[0] +
+                            " WHERE change_seq IS NULL AND " + table[2] + " IS NOT NULL ORDER BY " + table[2] + " LIMIT ?",
+                            backfillBatchSize);
+                    Map<Long, List<Long>> idsByUser = new LinkedHashMap<>();
+                    for (Map<String, Object> row : rows) {
+                        idsByUser.computeIfAbsent(((Number) row.get("owner_id")).longValue(), id -> new ArrayList<>())
+                                .add(((Number) row.get("row_id")).longValue());
+                    }
+                    for (Map.Entry<Long, List<Long>> user : idsByUser.entrySet()) {
+                        transactionTemplate.executeWithoutResult(status -> number(table, user.getKey(), user.getValue()));
+                    }
+                    numbered += rows.size();
+                } while (rows.size() == backfillBatchSize);
+
+                if (numbered > 0) {
+                    log.info("Assigned change sequence numbers to {} rows of {}", numbered, table[0]);
+                }
+            } catch (Exception e) {
+                log.warn("Change sequence backfill of {} stopped: {}", table[0], e.getMessage());
+            }
+        }
+    }
+
+    private void number(String[] table, Long userId, List<Long> ids) {
+        long first = changeSequencer.allocate(userId, ids.size());
+        List<Object[]> updates = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            updates.add(new Object[]{first + i, ids.get(i)});
+        }
+        jdbcTemplate.batchUpdate("UPDATE " + table[0] + " SET change_seq = ? WHERE " + table[1] + " = ? AND change_seq IS NULL", updates);
+    }
+}
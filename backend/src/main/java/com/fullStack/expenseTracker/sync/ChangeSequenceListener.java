@@ -0,0 +1,34 @@
+package com.fullStack.expenseTracker.sync;
+
+import com.fullStack.expenseTracker.models.SyncTracked;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Stamps SyncTracked entities on every insert and update, and leaves a tombstone when one is deleted.
+ * Instantiated by Hibernate through Spring, so it takes part in the transaction of the write.
+ */
+public class ChangeSequenceListener {
+
+    @Autowired
+    private ChangeSequencer changeSequencer;
+
+    @PrePersist
+    @PreUpdate
+    public void stamp(SyncTracked entity) {
+        Long userId = entity.syncUserId();
+        if (userId != null) {
+            entity.setChangeSeq(changeSequencer.next(userId));
+        }
+    }
+
+    @PreRemove
+    public void recordDeletion(SyncTracked entity) {
+        Long userId = entity.syncUserId();
+        if (userId != null && entity.syncEntityId() != null) {
+            changeSequencer.recordDeletion(userId, entity.syncEntityType(), entity.syncEntityId());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.fullStack.expenseTracker.sync;
+
+import com.fullStack.expenseTracker.enums.SyncEntityType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Hands out change sequence numbers from a per-user counter on the users row.
+ *
+ * Incrementing the counter locks the user's row until the surrounding transaction ends, so the writes of one user
+ * commit in sequence order. A client that has seen number n can therefore never miss a later commit below n.
+ * It only depends on JDBC: Hibernate creates ChangeSequenceListener, and with it this bean, while the entity manager
+ * factory is still starting.
+ */
+@Component
+public class ChangeSequencer {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public long next(Long userId) {
+        return allocate(userId, 1);
+    }
+
+    /**
+     * Reserves count consecutive numbers and returns the first one.
+     */
+    public long allocate(Long userId, int count) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Change sequence numbers must be allocated inside a transaction");
+        }
+        jdbcTemplate.update("UPDATE users SET change_seq = change_seq + ? WHERE id = ?", count, userId);
+        Long last = jdbcTemplate.queryForObject("SELECT change_seq FROM users WHERE id = ?", Long.class, userId);
+        return last - count + 1;
+    }
+
+    /**
+     * Locks the user's row until the surrounding transaction ends, without allocating a number. Taken before writes
+     * that must commit in order with the user's other writes but happen before the flush that allocates.
+     */
+    public void lock(Long userId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("User rows must be locked inside a transaction");
+        }
+        jdbcTemplate.queryForObject("SELECT id FROM users WHERE id = ? FOR UPDATE", Long.class, userId);
+    }
+
+    public void recordDeletion(Long userId, SyncEntityType entityType, Long entityId) {
+        jdbcTemplate.update("INSERT INTO sync_tombstone (user_id, entity_type, entity_id, change_seq, deleted_at) VALUES (?, ?, ?, ?, ?)",
+                userId, entityType.name(), entityId, next(userId), Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.fullStack.expenseTracker.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.function.Supplier;
+
+/**
+ * Opens a span for every call to a Spring Data repository, named after the repository interface and the method,
+ * findById and the other inherited methods included. Added to the repository proxies by TracingConfig.
+ */
+public class RepositorySpanInterceptor implements MethodInterceptor {
+
+    private final Supplier<Tracer> tracer;
+
+    private final Class<?> repositoryInterface;
+
+    public RepositorySpanInterceptor(Supplier<Tracer> tracer, Class<?> repositoryInterface) {
+        this.tracer = tracer;
+        this.repositoryInterface = repositoryInterface;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        Tracer tracer = this.tracer.get();
+        Span span = tracer.nextSpan()
+                .name(repositoryInterface.getSimpleName() + "." + invocation.getMethod().getName())
+                .tag("code.namespace", repositoryInterface.getName())
+                .tag("code.function", invocation.getMethod().getName())
+                .start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.fullStack.expenseTracker.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+/**
+ * Opens a client span for every S3 operation, such as S3.PutObject, retries included. Registered on the S3Client
+ * by S3Config.
+ */
+public class S3TracingInterceptor implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Span> SPAN = new ExecutionAttribute<>("expensia.tracing.span");
+
+    private final Tracer tracer;
+
+    public S3TracingInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        String service = executionAttributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME);
+        String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        Span span = tracer.nextSpan()
+                .name(service + "." + operation)
+                .remoteServiceName("s3")
+                .tag("rpc.system", "aws-api")
+                .tag("rpc.service", service)
+                .tag("rpc.method", operation);
+        context.request().getValueForField("Bucket", String.class)
+                .ifPresent(bucket -> span.tag("aws.s3.bucket", bucket));
+        executionAttributes.putAttribute(SPAN, span.start());
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        Span span = executionAttributes.getAttribute(SPAN);
+        if (span != null) {
+            span.tag("http.status_code", Integer.toString(context.httpResponse().statusCode()));
+            span.end();
+        }
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        Span span = executionAttributes.getAttribute(SPAN);
+        if (span != null) {
+            span.error(context.exception());
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.fullStack.expenseTracker.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens a span for every public service method and every mail handed to the mail server. The spans are children of
+ * the request span, and the repository and SQL spans of the method are their children.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+
+    @Autowired
+    private Tracer tracer;
+
+    @Around("execution(public * com.fullStack.expenseTracker.services..*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Span span = tracer.nextSpan()
+                .name(service + "." + method)
+                .tag("code.namespace", joinPoint.getSignature().getDeclaringTypeName())
+                .tag("code.function", method);
+        return proceedInSpan(joinPoint, span);
+    }
+
+    @Around("execution(* org.springframework.mail.javamail.JavaMailSender.send(..))")
+    public Object traceMail(ProceedingJoinPoint joinPoint) throws Throwable {
+        Span span = tracer.nextSpan()
+                .name("smtp send")
+                .remoteServiceName("smtp");
+        return proceedInSpan(joinPoint, span);
+    }
+
+    private Object proceedInSpan(ProceedingJoinPoint joinPoint, Span span) throws Throwable {
+        try (Tracer.SpanInScope ignored = tracer.withSpan(span.start())) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
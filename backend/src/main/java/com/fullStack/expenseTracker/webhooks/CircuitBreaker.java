@@ -0,0 +1,66 @@
+package com.fullStack.expenseTracker.webhooks;
+
+/**
+ * Stops sending to an endpoint after consecutive failures. Once the open period has passed a single trial
+ * batch is let through: success closes the breaker, failure opens it again. A trial that ends without either,
+ * because there was nothing to send or the delivery was interrupted, is released and opens the breaker again too,
+ * so the endpoint never stays half open.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+
+    private int consecutiveFailures;
+
+    private long openUntil;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    public synchronized boolean allowRequest(long now) {
+        if (state == State.OPEN && now >= openUntil) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void recordFailure(long now) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openUntil = now + openMillis;
+        }
+    }
+
+    /**
+     * Ends a trial that recorded neither a success nor a failure. Does nothing outside a trial.
+     */
+    public synchronized void releaseTrial(long now) {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+            openUntil = now + openMillis;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
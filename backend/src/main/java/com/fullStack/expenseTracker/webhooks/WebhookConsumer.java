@@ -0,0 +1,83 @@
+package com.fullStack.expenseTracker.webhooks;
+
+import com.fullStack.expenseTracker.enums.WebhookTopic;
+import com.fullStack.expenseTracker.models.OutboxEvent;
+import com.fullStack.expenseTracker.models.WebhookDelivery;
+import com.fullStack.expenseTracker.models.WebhookEndpoint;
+import com.fullStack.expenseTracker.outbox.OutboxConsumer;
+import com.fullStack.expenseTracker.repository.WebhookEndpointRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Queues every transaction and budget event once per endpoint that receives it. Queueing happens in the
+ * outbox transaction and sending in WebhookDeliverer, so a slow or broken endpoint never holds up the
+ * other outbox consumers.
+ */
+@Component
+public class WebhookConsumer implements OutboxConsumer {
+
+    @Autowired
+    private WebhookEndpointRepository webhookEndpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public String getName() {
+        return "webhooks";
+    }
+
+    @Override
+    public void handle(List<OutboxEvent> events) {
+        List<OutboxEvent> published = events.stream()
+                .filter(event -> WebhookTopic.of(event.getEventType()) != null)
+                .toList();
+        if (published.isEmpty()) {
+            return;
+        }
+
+        Set<Long> userIds = published.stream().map(OutboxEvent::getUserId).collect(Collectors.toSet());
+        List<WebhookEndpoint> endpoints = webhookEndpointRepository.findReceiving(userIds);
+        if (endpoints.isEmpty()) {
+            return;
+        }
+
+        List<WebhookDelivery> deliveries = new ArrayList<>();
+        for (OutboxEvent event : published) {
+            WebhookTopic topic = WebhookTopic.of(event.getEventType());
+            for (WebhookEndpoint endpoint : endpoints) {
+                if (receives(endpoint, event.getUserId()) && endpoint.getTopics().contains(topic)) {
+                    deliveries.add(new WebhookDelivery(endpoint.getId(), event));
+                }
+            }
+        }
+        insert(deliveries);
+    }
+
+    private boolean receives(WebhookEndpoint endpoint, Long userId) {
+        return endpoint.getUser() == null || endpoint.getUser().getId().equals(userId);
+    }
+
+    private void insert(List<WebhookDelivery> deliveries) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO webhook_delivery (endpoint_id, event_id, event_type, payload, attempts, next_attempt_at, failed, created_at) " +
+                        "VALUES (?, ?, ?, ?, 0, ?, false, ?)",
+                deliveries, deliveries.size(),
+                (statement, delivery) -> {
+                    statement.setLong(1, delivery.getEndpointId());
+                    statement.setLong(2, delivery.getEventId());
+                    statement.setString(3, delivery.getEventType().name());
+                    statement.setString(4, delivery.getPayload());
+                    statement.setTimestamp(5, Timestamp.valueOf(delivery.getNextAttemptAt()));
+                    statement.setTimestamp(6, Timestamp.valueOf(delivery.getCreatedAt()));
+                });
+    }
+}
@@ -0,0 +1,297 @@
+package com.fullStack.expenseTracker.webhooks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fullStack.expenseTracker.dto.reponses.WebhookDeliveryStatusDto;
+import com.fullStack.expenseTracker.models.WebhookDelivery;
+import com.fullStack.expenseTracker.models.WebhookEndpoint;
+import com.fullStack.expenseTracker.repository.WebhookDeliveryRepository;
+import com.fullStack.expenseTracker.repository.WebhookEndpointRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends the queued webhook deliveries on the webhook executor, one batch per endpoint at a time and in event order.
+ *
+ * A failed batch is retried with exponential backoff until it has used all its attempts and is marked failed.
+ * Each endpoint has its own circuit breaker, so an endpoint that is down costs one trial request per open period
+ * instead of a timeout per batch. Delivery is at least once, receivers deduplicate by delivery id.
+ * Delivered, failed and given up events and the delivery lag are exported as expensia.webhooks.* meters.
+ */
+@Component
+@Slf4j
+public class WebhookDeliverer implements MeterBinder {
+
+    @Autowired
+    private WebhookEndpointRepository webhookEndpointRepository;
+
+    @Autowired
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebhookTargetPolicy webhookTargetPolicy;
+
+    @Autowired
+    @Qualifier("webhookTaskExecutor")
+    private TaskExecutor webhookTaskExecutor;
+
+    @Value("${app.webhooks.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.webhooks.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.webhooks.retry-delay:10s}")
+    private Duration retryDelay;
+
+    @Value("${app.webhooks.max-retry-delay:1h}")
+    private Duration maxRetryDelay;
+
+    @Value("${app.webhooks.request-timeout:10s}")
+    private Duration requestTimeout;
+
+    @Value("${app.webhooks.circuit.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${app.webhooks.circuit.open-duration:1m}")
+    private Duration openDuration;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    private final Map<Long, EndpointState> states = new ConcurrentHashMap<>();
+
+    private final LongAdder deliveredEvents = new LongAdder();
+
+    private final LongAdder failedAttempts = new LongAdder();
+
+    private final LongAdder deadLetteredEvents = new LongAdder();
+
+    // From the event to its successful delivery, null until bound to a registry
+    private volatile Timer deliveryLag;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("expensia.webhooks.events.delivered", deliveredEvents, LongAdder::sum)
+                .description("Events delivered to webhook endpoints").register(registry);
+        FunctionCounter.builder("expensia.webhooks.attempts.failed", failedAttempts, LongAdder::sum)
+                .description("Webhook batches that failed and will be retried or given up").register(registry);
+        FunctionCounter.builder("expensia.webhooks.events.dead.lettered", deadLetteredEvents, LongAdder::sum)
+                .description("Events given up after the last attempt").register(registry);
+        Gauge.builder("expensia.webhooks.circuits.open", states, endpoints -> endpoints.values().stream()
+                        .filter(state -> state.breaker.getState() != CircuitBreaker.State.CLOSED).count())
+                .description("Endpoints whose circuit breaker is open or half open").register(registry);
+        deliveryLag = Timer.builder("expensia.webhooks.delivery.lag")
+                .description("Time from the event to its delivery")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    /**
+     * Hands every endpoint with due deliveries to the webhook executor, unless it is already being delivered to
+     * or its circuit is open.
+     */
+    @Scheduled(fixedDelayString = "${app.webhooks.poll-interval-ms:1000}")
+    public void poll() {
+        for (Long endpointId : webhookDeliveryRepository.findEndpointsWithDueDeliveries(LocalDateTime.now())) {
+            EndpointState state = stateOf(endpointId);
+            if (!state.inFlight.compareAndSet(false, true)) {
+                continue;
+            }
+            if (!state.breaker.allowRequest(System.currentTimeMillis())) {
+                state.inFlight.set(false);
+                continue;
+            }
+            try {
+                webhookTaskExecutor.execute(() -> deliverDue(endpointId, state));
+            } catch (RuntimeException e) {
+                state.inFlight.set(false);
+                log.warn("Webhook delivery to endpoint {} not started: {}", endpointId, e.getMessage());
+            }
+        }
+    }
+
+    public WebhookDeliveryStatusDto getStatus(Long endpointId) {
+        EndpointState state = states.get(endpointId);
+        LocalDateTime oldestPending = webhookDeliveryRepository.findOldestPending(endpointId);
+        return new WebhookDeliveryStatusDto(
+                state != null ? state.breaker.getState() : CircuitBreaker.State.CLOSED,
+                webhookDeliveryRepository.countByEndpointIdAndFailed(endpointId, false),
+                webhookDeliveryRepository.countByEndpointIdAndFailed(endpointId, true),
+                oldestPending != null ? Math.max(0, Duration.between(oldestPending, LocalDateTime.now()).toSeconds()) : 0,
+                state != null ? state.delivered.sum() : 0,
+                state != null ? state.failedAttempts.sum() : 0,
+                state != null ? state.lastError : null
+        );
+    }
+
+    public void forget(Long endpointId) {
+        states.remove(endpointId);
+    }
+
+    private void deliverDue(Long endpointId, EndpointState state) {
+        try {
+            WebhookEndpoint endpoint = webhookEndpointRepository.findById(endpointId).orElse(null);
+            if (endpoint == null || !endpoint.isEnabled()) {
+                return;
+            }
+            List<WebhookDelivery> batch;
+            do {
+                batch = webhookDeliveryRepository.findByEndpointIdAndFailedFalseAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                        endpointId, LocalDateTime.now(), PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    return;
+                }
+            } while (send(endpoint, batch, state) && batch.size() == batchSize);
+        } catch (Exception e) {
+            log.error("Webhook delivery to endpoint {} failed: {}", endpointId, e.getMessage());
+        } finally {
+            // Only this run can be the trial of a half open breaker, one that sent nothing must not leave it half open
+            state.breaker.releaseTrial(System.currentTimeMillis());
+            state.inFlight.set(false);
+        }
+    }
+
+    private boolean send(WebhookEndpoint endpoint, List<WebhookDelivery> batch, EndpointState state) {
+        String error;
+        try {
+            URI target = URI.create(endpoint.getUrl());
+            // Checked on every delivery, the host may resolve to a different address than at registration
+            if (!webhookTargetPolicy.isAllowed(target)) {
+                failed(endpoint, batch, state, "Target address is not allowed");
+                return false;
+            }
+            String body = bodyOf(batch);
+            long timestamp = System.currentTimeMillis() / 1000;
+            HttpRequest request = HttpRequest.newBuilder(target)
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .header("User-Agent", "Expensia-Webhooks")
+                    .header(WebhookSignature.TIMESTAMP_HEADER, Long.toString(timestamp))
+                    .header(WebhookSignature.SIGNATURE_HEADER, WebhookSignature.sign(endpoint.getSecret(), timestamp, body))
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 == 2) {
+                webhookDeliveryRepository.deleteAllInBatch(batch);
+                state.breaker.recordSuccess();
+                state.delivered.add(batch.size());
+                deliveredEvents.add(batch.size());
+                recordLag(batch);
+                return true;
+            }
+            error = "HTTP " + response.statusCode();
+        } catch (IOException e) {
+            error = e.getClass().getSimpleName() + (e.getMessage() != null ? ": " + e.getMessage() : "");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        failed(endpoint, batch, state, error);
+        return false;
+    }
+
+    private void failed(WebhookEndpoint endpoint, List<WebhookDelivery> batch, EndpointState state, String error) {
+        state.breaker.recordFailure(System.currentTimeMillis());
+        state.failedAttempts.increment();
+        state.lastError = error;
+        failedAttempts.increment();
+
+        LocalDateTime now = LocalDateTime.now();
+        int deadLettered = 0;
+        for (WebhookDelivery delivery : batch) {
+            int attempts = delivery.getAttempts() + 1;
+            delivery.setAttempts(attempts);
+            delivery.setLastError(error.length() > 500 ? error.substring(0, 500) : error);
+            if (attempts >= maxAttempts) {
+                delivery.setFailed(true);
+                deadLettered++;
+            } else {
+                delivery.setNextAttemptAt(now.plus(backoff(attempts)));
+            }
+        }
+        webhookDeliveryRepository.saveAll(batch);
+        deadLetteredEvents.add(deadLettered);
+
+        log.warn("Webhook delivery of {} events to endpoint {} failed ({}), {} gave up after {} attempts",
+                batch.size(), endpoint.getId(), error, deadLettered, maxAttempts);
+    }
+
+    private void recordLag(List<WebhookDelivery> batch) {
+        Timer timer = deliveryLag;
+        if (timer == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (WebhookDelivery delivery : batch) {
+            timer.record(Duration.between(delivery.getCreatedAt(), now));
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long delay = retryDelay.toMillis() << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delay, maxRetryDelay.toMillis()));
+    }
+
+    private String bodyOf(List<WebhookDelivery> batch) throws IOException {
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode events = body.putArray("events");
+        for (WebhookDelivery delivery : batch) {
+            ObjectNode event = events.addObject();
+            event.put("deliveryId", delivery.getId());
+            event.put("eventId", delivery.getEventId());
+            event.put("type", delivery.getEventType().name());
+            event.put("createdAt", delivery.getCreatedAt().toString());
+            event.set("data", objectMapper.readTree(delivery.getPayload()));
+        }
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private EndpointState stateOf(Long endpointId) {
+        return states.computeIfAbsent(endpointId,
+                id -> new EndpointState(new CircuitBreaker(failureThreshold, openDuration.toMillis())));
+    }
+
+    private static class EndpointState {
+        private final CircuitBreaker breaker;
+        private final AtomicBoolean inFlight = new AtomicBoolean();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder failedAttempts = new LongAdder();
+        private volatile String lastError;
+
+        private EndpointState(CircuitBreaker breaker) {
+            this.breaker = breaker;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.fullStack.expenseTracker.webhooks;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.HexFormat;
+
+/**
+ * Signature of a webhook batch: "sha256=" and the hex HMAC-SHA256 of "timestamp.body" keyed with the endpoint secret.
+ * Receivers recompute it from the X-Expensia-Timestamp header and the raw body, and reject old timestamps against replays.
+ */
+public final class WebhookSignature {
+
+    public static final String SIGNATURE_HEADER = "X-Expensia-Signature";
+
+    public static final String TIMESTAMP_HEADER = "X-Expensia-Timestamp";
+
+    private WebhookSignature() {
+    }
+
+    public static String sign(String secret, long timestamp, String body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] hash = mac.doFinal((timestamp + "." + body).getBytes(StandardCharsets.UTF_8));
+            return "sha256=" + HexFormat.of().formatHex(hash);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
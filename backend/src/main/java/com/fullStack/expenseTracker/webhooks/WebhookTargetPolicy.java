@@ -0,0 +1,87 @@
+package com.fullStack.expenseTracker.webhooks;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+
+/**
+ * Decides which hosts webhooks may be sent to. Users choose the url, so without this check a webhook could reach
+ * the management port, other services on the private network or the cloud metadata endpoint.
+ *
+ * A host is allowed only when every address it resolves to is public. It is checked when the webhook is registered
+ * and again right before each delivery, so a name that is re-pointed to a private address later is refused too.
+ * The delivery resolves the host through the same JVM address cache, within its TTL it connects to the address
+ * that was checked.
+ */
+@Component
+public class WebhookTargetPolicy {
+
+    // For local development and tests, where the receiver runs on the same machine
+    @Value("${app.webhooks.allow-private-targets:false}")
+    private boolean allowPrivateTargets;
+
+    public boolean isAllowed(URI uri) {
+        if (uri.getHost() == null) {
+            return false;
+        }
+        if (allowPrivateTargets) {
+            return true;
+        }
+        try {
+            for (InetAddress address : InetAddress.getAllByName(uri.getHost())) {
+                if (!isPublic(address)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    static boolean isPublic(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            int first = bytes[0] & 0xff;
+            int second = bytes[1] & 0xff;
+            // 0.0.0.0/8, carrier-grade NAT 100.64.0.0/10, 192.0.0.0/24 and the benchmarking range 198.18.0.0/15
+            return first != 0
+                    && !(first == 100 && second >= 64 && second < 128)
+                    && !(first == 192 && second == 0 && (bytes[2] & 0xff) == 0)
+                    && !(first == 198 && (second == 18 || second == 19))
+                    && first < 240;
+        }
+        if (address instanceof Inet6Address) {
+            // Unique local fc00::/7, and IPv4 addresses embedded as ::ffff:a.b.c.d are checked as IPv4
+            if ((bytes[0] & 0xfe) == 0xfc) {
+                return false;
+            }
+            if (isMappedIpv4(bytes)) {
+                try {
+                    return isPublic(InetAddress.getByAddress(new byte[]{bytes[12], bytes[13], bytes[14], bytes[15]}));
+                } catch (UnknownHostException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isMappedIpv4(byte[] bytes) {
+        for (int i = 0; i < 10; i++) {
+            if (bytes[i] != 0) {
+                return false;
+            }
+        }
+        return (bytes[10] & 0xff) == 0xff && (bytes[11] & 0xff) == 0xff;
+    }
+}
@@ -0,0 +1,163 @@
+-- The schema as Hibernate's ddl-auto=update left it before the schema was versioned. Databases created before
+-- that are baselined at version 1 on their first migration and only run the later scripts, see
+-- spring.flyway.baseline-on-migrate.
+
+create table account (
+    balance float(53) not null,
+    id bigint not null auto_increment,
+    user_id bigint,
+    account_name varchar(255),
+    account_type enum ('CASH','BANK','CREDIT_CARD'),
+    primary key (id)
+) engine=InnoDB;
+
+create table budget (
+    amount float(53) not null,
+    month integer not null,
+    budget_id bigint not null,
+    user_id bigint not null,
+    year bigint not null,
+    primary key (budget_id)
+) engine=InnoDB;
+
+create table budget_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into budget_seq values ( 1 );
+
+create table category (
+    category_id integer not null auto_increment,
+    enabled bit not null,
+    transaction_type_id integer,
+    category_name varchar(255),
+    primary key (category_id)
+) engine=InnoDB;
+
+create table category_budget (
+    alert_sent bit not null,
+    amount float(53) not null,
+    category_id integer,
+    month integer not null,
+    year integer not null,
+    id bigint not null auto_increment,
+    user_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table roles (
+    id integer not null auto_increment,
+    name enum ('ROLE_USER','ROLE_ADMIN'),
+    primary key (id)
+) engine=InnoDB;
+
+create table saved_transaction_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into saved_transaction_seq values ( 1 );
+
+create table saved_transaction (
+    amount float(53) not null,
+    category_id integer not null,
+    start_date date,
+    transaction_type_id integer not null,
+    upcoming_date date,
+    account_id bigint,
+    plan_id bigint not null,
+    user_id bigint not null,
+    description varchar(255),
+    frequency enum ('ONE_TIME','DAILY','MONTHLY'),
+    primary key (plan_id)
+) engine=InnoDB;
+
+create table transaction (
+    amount float(53) not null,
+    category_id integer,
+    date date,
+    account_id bigint,
+    timestamp datetime(6),
+    transaction_id bigint not null auto_increment,
+    user_id bigint,
+    description varchar(255),
+    primary key (transaction_id)
+) engine=InnoDB;
+
+create table transaction_type (
+    transaction_type_id integer not null auto_increment,
+    transaction_type_name enum ('TYPE_EXPENSE','TYPE_INCOME'),
+    primary key (transaction_type_id)
+) engine=InnoDB;
+
+create table user_roles (
+    role_id integer not null,
+    user_id bigint not null,
+    primary key (role_id, user_id)
+) engine=InnoDB;
+
+create table users (
+    enabled bit not null,
+    resend_count integer not null,
+    id bigint not null auto_increment,
+    last_resend_time datetime(6),
+    verification_code_expiry_time datetime(6),
+    username varchar(20),
+    verification_code varchar(64),
+    currency varchar(255),
+    email varchar(255),
+    password varchar(255),
+    profile_img_url varchar(255),
+    timezone varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+alter table users
+    add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table users
+    add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table account
+    add constraint FKra7xoi9wtlcq07tmoxxe5jrh4
+    foreign key (user_id)
+    references users (id);
+
+alter table category
+    add constraint FKnsbgi05kd9jtu7k9ted8x93s1
+    foreign key (transaction_type_id)
+    references transaction_type (transaction_type_id);
+
+alter table category_budget
+    add constraint FKgcj2cam4havj9jiahr1hht7l4
+    foreign key (category_id)
+    references category (category_id);
+
+alter table category_budget
+    add constraint FK1m7ik3wsdwr7cemjx3g20diif
+    foreign key (user_id)
+    references users (id);
+
+alter table transaction
+    add constraint FK6g20fcr3bhr6bihgy24rq1r1b
+    foreign key (account_id)
+    references account (id);
+
+alter table transaction
+    add constraint FKgik7ruym8r1n4xngrclc6kiih
+    foreign key (category_id)
+    references category (category_id);
+
+alter table transaction
+    add constraint FKanjpo5tiapru7an6cw4cu37y4
+    foreign key (user_id)
+    references users (id);
+
+alter table user_roles
+    add constraint FKh8ciramu9cc9q3qcqiv4ue8a6
+    foreign key (role_id)
+    references roles (id);
+
+alter table user_roles
+    add constraint FKhfh9dx7w3ubf1co1vdev94g3f
+    foreign key (user_id)
+    references users (id);
@@ -0,0 +1,18 @@
+-- Word index over transaction descriptions and category names, filled by TransactionSearchIndexer.
+
+create table transaction_search_token (
+    id bigint not null auto_increment,
+    transaction_id bigint not null,
+    user_id bigint not null,
+    token varchar(64) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_search_token_user_token
+    on transaction_search_token (user_id, token);
+
+create index idx_search_token_token
+    on transaction_search_token (token);
+
+create index idx_search_token_transaction
+    on transaction_search_token (transaction_id);
@@ -0,0 +1,23 @@
+-- Per-user auto-categorisation rules.
+
+create table category_rule (
+    category_id integer not null,
+    priority integer not null,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    pattern varchar(50) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_category_rule_user
+    on category_rule (user_id);
+
+alter table category_rule
+    add constraint FK6t0e0ex5fonwb30prx9qxilas
+    foreign key (category_id)
+    references category (category_id);
+
+alter table category_rule
+    add constraint FKml55lcx42m4plt2mmvdgmsw2o
+    foreign key (user_id)
+    references users (id);
@@ -0,0 +1,13 @@
+-- One index per supported transaction sort order and per id filter, all led by the owner.
+
+create index idx_transaction_user_date
+    on transaction (user_id, date, transaction_id);
+
+create index idx_transaction_user_amount
+    on transaction (user_id, amount, transaction_id);
+
+create index idx_transaction_user_category
+    on transaction (user_id, category_id);
+
+create index idx_transaction_user_account
+    on transaction (user_id, account_id);
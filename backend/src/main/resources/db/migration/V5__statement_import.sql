@@ -0,0 +1,10 @@
+-- Account numbers map statement entries to accounts, fingerprints skip entries imported before.
+
+alter table account
+    add column account_number varchar(255);
+
+alter table transaction
+    add column import_fingerprint varchar(64);
+
+alter table transaction
+    add constraint uk_transaction_user_import_fingerprint unique (user_id, import_fingerprint);
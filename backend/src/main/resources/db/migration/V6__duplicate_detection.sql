@@ -0,0 +1,22 @@
+-- Idempotency keys of transaction requests and the dedupe key of manually entered transactions.
+
+create table idempotency_key (
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    transaction_id bigint,
+    user_id bigint not null,
+    idempotency_key varchar(100) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_idempotency_key_created_at
+    on idempotency_key (created_at);
+
+alter table idempotency_key
+    add constraint uk_idempotency_key_user_key unique (user_id, idempotency_key);
+
+alter table transaction
+    add column dedupe_key varchar(64);
+
+alter table transaction
+    add constraint uk_transaction_user_dedupe_key unique (user_id, dedupe_key);
@@ -0,0 +1,42 @@
+-- Per-user change sequence numbers and tombstones for the delta sync. Existing rows get their numbers from
+-- ChangeSequenceBackfill on the next start.
+
+alter table account
+    add column change_seq bigint;
+
+alter table category_budget
+    add column change_seq bigint;
+
+alter table saved_transaction
+    add column change_seq bigint;
+
+alter table transaction
+    add column change_seq bigint;
+
+alter table users
+    add column change_seq bigint default 0 not null;
+
+create table sync_tombstone (
+    change_seq bigint not null,
+    deleted_at datetime(6) not null,
+    entity_id bigint not null,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    entity_type enum ('TRANSACTION','ACCOUNT','CATEGORY_BUDGET','SAVED_TRANSACTION') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_account_user_change_seq
+    on account (user_id, change_seq);
+
+create index idx_category_budget_user_change_seq
+    on category_budget (user_id, change_seq);
+
+create index idx_saved_transaction_user_change_seq
+    on saved_transaction (user_id, change_seq);
+
+create index idx_sync_tombstone_user_change_seq
+    on sync_tombstone (user_id, change_seq);
+
+create index idx_transaction_user_change_seq
+    on transaction (user_id, change_seq);
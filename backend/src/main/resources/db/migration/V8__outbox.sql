@@ -0,0 +1,32 @@
+-- Transactional outbox: domain events, the position of each consumer and the ids it passed over.
+
+create table outbox_checkpoint (
+    last_event_id bigint not null,
+    updated_at datetime(6) not null,
+    consumer varchar(64) not null,
+    primary key (consumer)
+) engine=InnoDB;
+
+create table outbox_gap (
+    event_id bigint not null,
+    id bigint not null auto_increment,
+    skipped_at datetime(6) not null,
+    consumer varchar(64) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table outbox_event (
+    aggregate_id bigint not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    payload TEXT not null,
+    event_type enum ('TRANSACTION_CREATED','TRANSACTION_UPDATED','TRANSACTION_DELETED','ACCOUNT_CHANGED','BUDGET_CHANGED','BUDGET_DELETED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_outbox_event_created_at
+    on outbox_event (created_at);
+
+alter table outbox_gap
+    add constraint uk_outbox_gap_consumer_event unique (consumer, event_id);
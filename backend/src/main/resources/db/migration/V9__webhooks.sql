@@ -0,0 +1,46 @@
+-- Webhook endpoints, their topics and the queued deliveries.
+
+create table webhook_delivery (
+    attempts integer not null,
+    failed bit not null,
+    created_at datetime(6) not null,
+    endpoint_id bigint not null,
+    event_id bigint not null,
+    id bigint not null auto_increment,
+    next_attempt_at datetime(6) not null,
+    last_error varchar(500),
+    payload TEXT not null,
+    event_type enum ('TRANSACTION_CREATED','TRANSACTION_UPDATED','TRANSACTION_DELETED','ACCOUNT_CHANGED','BUDGET_CHANGED','BUDGET_DELETED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table webhook_endpoint (
+    enabled bit not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    user_id bigint,
+    secret varchar(64) not null,
+    url varchar(500) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table webhook_endpoint_topic (
+    endpoint_id bigint not null,
+    topic enum ('TRANSACTION','BUDGET')
+) engine=InnoDB;
+
+create index idx_webhook_delivery_due
+    on webhook_delivery (endpoint_id, failed, next_attempt_at);
+
+create index idx_webhook_endpoint_user
+    on webhook_endpoint (user_id);
+
+alter table webhook_endpoint
+    add constraint FKfvqu4n6c7sd26gn0yh6v4x82q
+    foreign key (user_id)
+    references users (id);
+
+alter table webhook_endpoint_topic
+    add constraint FKqo9jp9ieqvlsg8sohrxsu5ns8
+    foreign key (endpoint_id)
+    references webhook_endpoint (id);
@@ -0,0 +1,66 @@
+package com.fullStack.expenseTracker.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestConcurrencyLimitFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RequestConcurrencyLimitFilter filter = new RequestConcurrencyLimitFilter(
+            1, Duration.ofMillis(100), new ObjectMapper(), meterRegistry);
+
+    @Test
+    void requestsOverTheLimitAreTurnedAwayAfterTheQueueTimeout() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(new MockHttpServletRequest("GET", "/expensia/report"), response, (request, res) -> {
+                    running.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                return response;
+            });
+            assertTrue(running.await(10, TimeUnit.SECONDS));
+
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/expensia/report"), rejected, new MockFilterChain());
+            assertEquals(503, rejected.getStatus());
+            assertEquals("1", rejected.getHeader("Retry-After"));
+            assertTrue(rejected.getContentAsString().contains("\"status\":\"FAILED\""));
+            assertEquals(1.0, meterRegistry.get("expensia.requests.rejected").counter().count());
+
+            release.countDown();
+            assertEquals(200, first.get(10, TimeUnit.SECONDS).getStatus());
+
+            // The permit is back once the first request is done
+            MockHttpServletResponse next = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/expensia/report"), next, new MockFilterChain());
+            assertEquals(200, next.getStatus());
+            assertEquals(0.0, meterRegistry.get("expensia.requests.active").gauge().value());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
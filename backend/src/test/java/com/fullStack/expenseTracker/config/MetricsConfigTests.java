@@ -0,0 +1,56 @@
+package com.fullStack.expenseTracker.config;
+
+import com.fullStack.expenseTracker.metrics.ServiceMetricsAspect;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsConfigTests {
+
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        MetricsConfig metricsConfig = new MetricsConfig();
+        ReflectionTestUtils.setField(metricsConfig, "maxUriTags", 2);
+        ReflectionTestUtils.setField(metricsConfig, "maxMethodTags", 2);
+
+        registry = new SimpleMeterRegistry();
+        registry.config()
+                .meterFilter(metricsConfig.userTagsFilter())
+                .meterFilter(metricsConfig.uriTagLimit())
+                .meterFilter(metricsConfig.serviceMethodTagLimit());
+    }
+
+    @Test
+    void userTagsAreDroppedFromEveryMeter() {
+        registry.counter("expensia.test", "userId", "42", "email", "someone@example.com", "outcome", "SUCCESS").increment();
+        registry.counter("expensia.test", "userId", "43", "email", "other@example.com", "outcome", "SUCCESS").increment();
+
+        Counter counter = registry.get("expensia.test").counter();
+        assertEquals(2, counter.count());
+        assertNull(counter.getId().getTag("userId"));
+        assertNull(counter.getId().getTag("email"));
+        assertEquals("SUCCESS", counter.getId().getTag("outcome"));
+    }
+
+    @Test
+    void seriesOverTheTagLimitAreNotRecorded() {
+        for (String uri : new String[]{"/a", "/b", "/c"}) {
+            registry.timer("http.server.requests", "uri", uri).record(Duration.ofMillis(1));
+        }
+        for (String method : new String[]{"one", "two", "three"}) {
+            registry.timer(ServiceMetricsAspect.METRIC_NAME, "method", method).record(Duration.ofMillis(1));
+        }
+
+        assertEquals(2, registry.find("http.server.requests").timers().size());
+        assertEquals(2, registry.find(ServiceMetricsAspect.METRIC_NAME).timers().size());
+    }
+}
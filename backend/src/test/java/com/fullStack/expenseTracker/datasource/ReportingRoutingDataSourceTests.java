@@ -0,0 +1,166 @@
+package com.fullStack.expenseTracker.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two H2 databases stand in for the primary and the replica, each one knows its own name.
+ */
+class ReportingRoutingDataSourceTests {
+
+    private HikariDataSource primary;
+
+    private HikariDataSource reporting;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = pool("primary", 2);
+        reporting = pool("reporting", 1);
+
+        ReportingRoutingDataSource routingDataSource =
+                new ReportingRoutingDataSource(new ReadYourWritesTracker(Duration.ofMinutes(1), 100));
+        routingDataSource.setTargetDataSources(Map.of(
+                ReportingRoutingDataSource.Route.PRIMARY, primary,
+                ReportingRoutingDataSource.Route.REPORTING, reporting));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        primary.close();
+        reporting.close();
+    }
+
+    @Test
+    void onlyReadOnlyReportingReadsUseTheReportingPool() {
+        try (ReportingReads.Scope ignored = ReportingReads.begin()) {
+            assertEquals("reporting", readOnly.execute(status -> databaseName()));
+            assertEquals("primary", readWrite.execute(status -> databaseName()));
+        }
+        assertEquals("primary", readOnly.execute(status -> databaseName()));
+        assertEquals("primary", databaseName());
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimary() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("writer@example.com", null, "ROLE_USER"));
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET name = name"));
+
+        try (ReportingReads.Scope ignored = ReportingReads.begin()) {
+            assertEquals("primary", readOnly.execute(status -> databaseName()));
+
+            SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("reader@example.com", null, "ROLE_USER"));
+            assertEquals("reporting", readOnly.execute(status -> databaseName()));
+        }
+    }
+
+    @Test
+    void readsOutsideReadOnlyTransactionsDoNotCountAsWrites() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("reader@example.com", null, "ROLE_USER"));
+        assertEquals("primary", readWrite.execute(status -> databaseName()));
+        assertEquals("primary", databaseName());
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE marker SET name = name");
+            status.setRollbackOnly();
+        });
+
+        try (ReportingReads.Scope ignored = ReportingReads.begin()) {
+            assertEquals("reporting", readOnly.execute(status -> databaseName()));
+        }
+
+        assertFalse(ReportingRoutingDataSource.isWrite("  SELECT name FROM marker"));
+        assertFalse(ReportingRoutingDataSource.isWrite("with recent as (select 1) select * from recent"));
+        assertTrue(ReportingRoutingDataSource.isWrite("insert into marker values ('x')"));
+        assertTrue(ReportingRoutingDataSource.isWrite(null));
+    }
+
+    @Test
+    void writesStillGetConnectionsWhileReportsHoldTheReportingPool() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch reportRunning = new CountDownLatch(1);
+        CountDownLatch writesDone = new CountDownLatch(1);
+        try {
+            // A long report takes the only reporting connection
+            Future<String> report = executor.submit(() -> {
+                try (ReportingReads.Scope ignored = ReportingReads.begin()) {
+                    return readOnly.execute(status -> {
+                        String name = databaseName();
+                        reportRunning.countDown();
+                        await(writesDone);
+                        return name;
+                    });
+                }
+            });
+            assertTrue(reportRunning.await(10, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 10; i++) {
+                assertEquals(Integer.valueOf(1), readWrite.execute(status -> jdbcTemplate.update("UPDATE marker SET name = name")));
+            }
+            assertEquals(1, reporting.getHikariPoolMXBean().getActiveConnections());
+
+            writesDone.countDown();
+            assertEquals("reporting", report.get(10, TimeUnit.SECONDS));
+        } finally {
+            writesDone.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private String databaseName() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static HikariDataSource pool(String name, int size) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(size);
+        dataSource.setConnectionTimeout(1000);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM marker");
+        jdbcTemplate.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.fullStack.expenseTracker.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementParserTests {
+
+    @Test
+    void readsCsvWithSemicolonsQuotesAndDebitCreditColumns() throws Exception {
+        String csv = "Booking Date;Payee;Debit;Credit;IBAN\n" +
+                "05.01.2024;\"Lidl; Berlin\";12,50;;DE89 3704 0044 0532 0130 00\n" +
+                "06.01.2024;\"Salary \"\"January\"\"\";;1.234,56;DE89 3704 0044 0532 0130 00\n" +
+                "not a date;Broken;1,00;;\n";
+
+        Collector collector = parse(new CsvStatementParser(), csv);
+
+        assertEquals(2, collector.lines.size());
+        StatementLine groceries = collector.lines.get(0);
+        assertEquals(LocalDate.of(2024, 1, 5), groceries.getBookingDate());
+        assertEquals(new BigDecimal("-12.50"), groceries.getAmount());
+        assertEquals("Lidl; Berlin", groceries.getDescription());
+        assertEquals("DE89 3704 0044 0532 0130 00", groceries.getAccountIdentifier());
+        assertEquals(new BigDecimal("1234.56"), collector.lines.get(1).getAmount());
+        assertEquals("Salary \"January\"", collector.lines.get(1).getDescription());
+        assertEquals(List.of(4L), collector.invalidLines);
+    }
+
+    @Test
+    void readsTheLinesAfterAStrayQuoteAgain() throws Exception {
+        StringBuilder csv = new StringBuilder("Date,Description,Amount\n2024-01-05,\"Lidl,-12.50\n");
+        for (int day = 1; day <= 25; day++) {
+            csv.append(String.format("2024-02-%02d,Coffee,-3.00%n", day));
+        }
+
+        Collector collector = parse(new CsvStatementParser(), csv.toString());
+
+        assertEquals(List.of(2L), collector.invalidLines);
+        assertEquals(25, collector.lines.size());
+        assertEquals(3L, collector.lines.get(0).getLineNumber());
+        assertEquals(LocalDate.of(2024, 2, 25), collector.lines.get(24).getBookingDate());
+    }
+
+    @Test
+    void letsFailuresOfTheHandlerFailTheParse() {
+        String csv = "Date,Description,Amount\n2024-01-05,Lidl,-12.50\n";
+        StatementLineHandler failing = new Collector() {
+            @Override
+            public void line(StatementLine line) {
+                throw new IllegalStateException("insert failed");
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> new CsvStatementParser()
+                .parse(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), failing));
+    }
+
+    @Test
+    void readsSgmlOfxWithoutClosingLeafTags() throws Exception {
+        String ofx = "OFXHEADER:100\nDATA:OFXSGML\n\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS>\n" +
+                "<BANKACCTFROM><BANKID>123<ACCTID>998877</BANKACCTFROM>\n" +
+                "<BANKTRANLIST>\n" +
+                "<STMTTRN><TRNTYPE>DEBIT<DTPOSTED>20240105120000[-5:EST]<TRNAMT>-42.10<FITID>A1<NAME>Shell<MEMO>Fuel</STMTTRN>\n" +
+                "<STMTTRN>\n<TRNTYPE>CREDIT\n<DTPOSTED>20240107\n<TRNAMT>100.00\n<FITID>A2\n<NAME>Refund &amp; Co\n</STMTTRN>\n" +
+                "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n";
+
+        Collector collector = parse(new OfxStatementParser(), ofx);
+
+        assertEquals(2, collector.lines.size());
+        StatementLine fuel = collector.lines.get(0);
+        assertEquals(LocalDate.of(2024, 1, 5), fuel.getBookingDate());
+        assertEquals(new BigDecimal("-42.10"), fuel.getAmount());
+        assertEquals("Shell Fuel", fuel.getDescription());
+        assertEquals("A1", fuel.getReference());
+        assertEquals("998877", fuel.getAccountIdentifier());
+        assertEquals("Refund & Co", collector.lines.get(1).getDescription());
+    }
+
+    @Test
+    void readsCamt053EntriesWithTheirStatementAccount() throws Exception {
+        String camt = "<?xml version=\"1.0\"?>" +
+                "<Document xmlns=\"urn:iso:std:iso:20022:tech:xsd:camt.053.001.02\"><BkToCstmrStmt><Stmt>" +
+                "<Acct><Id><IBAN>CH9300762011623852957</IBAN></Id></Acct>" +
+                "<Ntry><Amt Ccy=\"CHF\">25.00</Amt><CdtDbtInd>DBIT</CdtDbtInd><BookgDt><Dt>2024-02-01</Dt></BookgDt>" +
+                "<AcctSvcrRef>REF-1</AcctSvcrRef><NtryDtls><TxDtls><AmtDtls><TxAmt><Amt Ccy=\"EUR\">26.10</Amt></TxAmt></AmtDtls>" +
+                "<RmtInf><Ustrd>Migros Zurich</Ustrd></RmtInf></TxDtls></NtryDtls></Ntry>" +
+                "<Ntry><Amt Ccy=\"CHF\">5000.00</Amt><CdtDbtInd>CRDT</CdtDbtInd><BookgDt><DtTm>2024-02-25T08:00:00</DtTm></BookgDt>" +
+                "<AddtlNtryInf>Salary</AddtlNtryInf></Ntry>" +
+                "</Stmt></BkToCstmrStmt></Document>";
+
+        Collector collector = parse(new Camt053StatementParser(), camt);
+
+        assertEquals(2, collector.lines.size());
+        StatementLine groceries = collector.lines.get(0);
+        assertEquals(new BigDecimal("-25.00"), groceries.getAmount());
+        assertEquals(LocalDate.of(2024, 2, 1), groceries.getBookingDate());
+        assertEquals("Migros Zurich", groceries.getDescription());
+        assertEquals("REF-1", groceries.getReference());
+        assertEquals("CH9300762011623852957", groceries.getAccountIdentifier());
+        StatementLine salary = collector.lines.get(1);
+        assertEquals(new BigDecimal("5000.00"), salary.getAmount());
+        assertEquals("Salary", salary.getDescription());
+        assertNull(salary.getReference());
+    }
+
+    private Collector parse(StatementParser parser, String content) throws Exception {
+        Collector collector = new Collector();
+        parser.parse(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), collector);
+        return collector;
+    }
+
+    private static class Collector implements StatementLineHandler {
+        private final List<StatementLine> lines = new ArrayList<>();
+        private final List<Long> invalidLines = new ArrayList<>();
+
+        @Override
+        public void line(StatementLine line) {
+            lines.add(line);
+        }
+
+        @Override
+        public void invalidLine(long lineNumber, String reason) {
+            invalidLines.add(lineNumber);
+        }
+    }
+}
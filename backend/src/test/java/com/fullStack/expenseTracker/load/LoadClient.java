@@ -0,0 +1,123 @@
+package com.fullStack.expenseTracker.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * One signed in browser session against the app. Every request is timed into the metrics under its endpoint
+ * name, a request that does not answer 2xx fails the journey.
+ */
+public class LoadClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final String baseUrl;
+
+    private final LoadMetrics metrics;
+
+    private String token;
+
+    public LoadClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, LoadMetrics metrics) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Signs in and keeps the token for the following requests, returns the sign in response.
+     */
+    public JsonNode signIn(String email, String password) {
+        JsonNode response = post("POST /auth/signin", "/expensia/auth/signin", Map.of("email", email, "password", password));
+        token = response.get("token").asText();
+        return response;
+    }
+
+    public JsonNode get(String endpoint, String path, Object... query) {
+        return send(endpoint, request(path, query).GET());
+    }
+
+    public JsonNode post(String endpoint, String path, Object body) {
+        return send(endpoint, request(path).POST(HttpRequest.BodyPublishers.ofString(json(body))));
+    }
+
+    public JsonNode put(String endpoint, String path, Object body, Object... query) {
+        return send(endpoint, request(path, query).PUT(HttpRequest.BodyPublishers.ofString(json(body))));
+    }
+
+    public JsonNode delete(String endpoint, String path, Object... query) {
+        return send(endpoint, request(path, query).DELETE());
+    }
+
+    private JsonNode send(String endpoint, HttpRequest.Builder request) {
+        long started = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            metrics.request(endpoint, System.nanoTime() - started, false);
+            throw new JourneyFailedException(endpoint + " failed: " + e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JourneyFailedException(endpoint + " interrupted");
+        }
+        boolean success = response.statusCode() / 100 == 2;
+        metrics.request(endpoint, System.nanoTime() - started, success);
+        if (!success) {
+            throw new JourneyFailedException(endpoint + " answered HTTP " + response.statusCode());
+        }
+
+        try {
+            return response.body().length == 0 ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new JourneyFailedException(endpoint + " answered invalid JSON: " + e.getMessage());
+        }
+    }
+
+    // Query is given as name, value pairs
+    private HttpRequest.Builder request(String path, Object... query) {
+        StringBuilder url = new StringBuilder(baseUrl).append(path);
+        for (int i = 0; i + 1 < query.length; i += 2) {
+            url.append(i == 0 ? '?' : '&')
+                    .append(query[i])
+                    .append('=')
+                    .append(URLEncoder.encode(String.valueOf(query[i + 1]), StandardCharsets.UTF_8));
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url.toString()))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    private String json(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Request body cannot be written as JSON", e);
+        }
+    }
+
+    public static class JourneyFailedException extends RuntimeException {
+        public JourneyFailedException(String message) {
+            super(message);
+        }
+    }
+}
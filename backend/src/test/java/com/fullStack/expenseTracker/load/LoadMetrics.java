@@ -0,0 +1,133 @@
+package com.fullStack.expenseTracker.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and errors per endpoint and per journey, recorded between start() and stop().
+ *
+ * Samples are kept whole and sorted for the report, a run of a few hundred thousand requests needs a few MB.
+ * Journey times are measured from when the journey was due to start, so time spent waiting for a free slot
+ * counts against the server instead of disappearing.
+ */
+public class LoadMetrics {
+
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+    private final Samples journeys = new Samples();
+
+    private final LongAdder droppedJourneys = new LongAdder();
+
+    private volatile boolean recording;
+
+    private volatile long startedAt;
+
+    private volatile long stoppedAt;
+
+    public void start() {
+        endpoints.clear();
+        journeys.clear();
+        droppedJourneys.reset();
+        startedAt = System.nanoTime();
+        recording = true;
+    }
+
+    public void stop() {
+        stoppedAt = System.nanoTime();
+        recording = false;
+    }
+
+    public void request(String endpoint, long nanos, boolean success) {
+        if (recording) {
+            endpoints.computeIfAbsent(endpoint, name -> new Samples()).add(nanos, success);
+        }
+    }
+
+    public void journey(long nanos, boolean success) {
+        if (recording) {
+            journeys.add(nanos, success);
+        }
+    }
+
+    public void droppedJourney() {
+        if (recording) {
+            droppedJourneys.increment();
+        }
+    }
+
+    public long requests() {
+        return endpoints.values().stream().mapToLong(Samples::count).sum();
+    }
+
+    public double errorRate() {
+        long requests = requests();
+        long errors = endpoints.values().stream().mapToLong(samples -> samples.errors.sum()).sum();
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    public String report() {
+        double seconds = Math.max(1, stoppedAt - startedAt) / 1e9;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%n  %-36s %8s %8s %7s %9s %9s %9s %9s",
+                "endpoint", "count", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, Samples> endpoint : new TreeMap<>(endpoints).entrySet()) {
+            row(report, endpoint.getKey(), endpoint.getValue(), seconds);
+        }
+        report.append(String.format("%n  %-36s %8d %8.1f %6.2f%%", "all requests", requests(), requests() / seconds,
+                errorRate() * 100));
+        row(report, "journeys", journeys, seconds);
+        report.append(String.format("%n  %d journeys dropped over the in-flight limit, %.1f s recorded",
+                droppedJourneys.sum(), seconds));
+        return report.toString();
+    }
+
+    private void row(StringBuilder report, String name, Samples samples, double seconds) {
+        long[] sorted = samples.sorted();
+        report.append(String.format("%n  %-36s %8d %8.1f %6.2f%% %9.1f %9.1f %9.1f %9.1f",
+                name, sorted.length, sorted.length / seconds,
+                sorted.length == 0 ? 0 : samples.errors.sum() * 100.0 / sorted.length,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 1)));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = Math.max(0, (int) Math.ceil(p * sorted.length) - 1);
+        return sorted[index] / 1e6;
+    }
+
+    private static class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private final LongAdder errors = new LongAdder();
+
+        synchronized void add(long sample, boolean success) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = sample;
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        synchronized long count() {
+            return size;
+        }
+
+        synchronized long[] sorted() {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        synchronized void clear() {
+            size = 0;
+            errors.reset();
+        }
+    }
+}
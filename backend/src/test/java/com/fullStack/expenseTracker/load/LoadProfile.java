@@ -0,0 +1,40 @@
+package com.fullStack.expenseTracker.load;
+
+import java.time.Duration;
+
+/**
+ * How hard and how long to drive the app. Journeys arrive at a fixed average rate whether or not earlier ones
+ * have finished (an open model), so a slow server builds up a queue instead of quietly getting fewer requests.
+ *
+ * @param arrivalRate  journeys started per second on average, with exponential gaps between them
+ * @param warmup       load applied before recording starts, for the JIT and the connection pools
+ * @param duration     recorded load after the warmup
+ * @param maxInFlight  journeys running at once, arrivals over it are counted as dropped
+ * @param users        synthetic users the journeys are spread over
+ * @param thinkTime    mean pause between the steps of a journey, zero for none
+ * @param maxErrorRate share of failed requests the run may have
+ */
+public record LoadProfile(double arrivalRate,
+                          Duration warmup,
+                          Duration duration,
+                          int maxInFlight,
+                          int users,
+                          Duration thinkTime,
+                          double maxErrorRate) {
+
+    /**
+     * Reads -Dload.rate, load.warmup-seconds, load.duration-seconds, load.max-in-flight, load.users,
+     * load.think-time-ms and load.max-error-rate, defaulting to a short smoke run.
+     */
+    public static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Double.parseDouble(System.getProperty("load.rate", "5")),
+                Duration.ofSeconds(Long.getLong("load.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("load.duration-seconds", 30)),
+                Integer.getInteger("load.max-in-flight", 500),
+                Integer.getInteger("load.users", 50),
+                Duration.ofMillis(Long.getLong("load.think-time-ms", 0)),
+                Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"))
+        );
+    }
+}
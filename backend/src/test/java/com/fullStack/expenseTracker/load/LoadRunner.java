@@ -0,0 +1,86 @@
+package com.fullStack.expenseTracker.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts journeys as a Poisson process at the profile's arrival rate, each on its own virtual thread, so
+ * thousands of concurrent sessions cost little more than their sockets.
+ */
+@Slf4j
+public class LoadRunner {
+
+    private final LoadProfile profile;
+
+    private final LoadMetrics metrics;
+
+    public LoadRunner(LoadProfile profile, LoadMetrics metrics) {
+        this.profile = profile;
+        this.metrics = metrics;
+    }
+
+    public void run(UserJourney journey, long seed) throws InterruptedException {
+        Random arrivals = new Random(seed);
+        Semaphore inFlight = new Semaphore(profile.maxInFlight());
+        long start = System.nanoTime();
+        long recordFrom = start + profile.warmup().toNanos();
+        long end = recordFrom + profile.duration().toNanos();
+        boolean recording = false;
+
+        log.info("Load: {} journeys/s for {} s after {} s warmup", profile.arrivalRate(),
+                profile.duration().toSeconds(), profile.warmup().toSeconds());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long next = start;
+            long session = 0;
+            while (next < end) {
+                long wait;
+                while ((wait = next - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!recording && next >= recordFrom) {
+                    metrics.start();
+                    recording = true;
+                }
+
+                long due = next;
+                Random random = new Random(seed + ++session);
+                if (inFlight.tryAcquire()) {
+                    executor.execute(() -> {
+                        boolean success = false;
+                        try {
+                            journey.run(random);
+                            success = true;
+                        } catch (LoadClient.JourneyFailedException e) {
+                            log.debug("Journey failed: {}", e.getMessage());
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } catch (RuntimeException e) {
+                            log.warn("Journey failed: {}", e.toString());
+                        } finally {
+                            metrics.journey(System.nanoTime() - due, success);
+                            inFlight.release();
+                        }
+                    });
+                } else {
+                    metrics.droppedJourney();
+                }
+                next += (long) (-Math.log(1 - arrivals.nextDouble()) / profile.arrivalRate() * 1e9);
+            }
+
+            // Let the journeys still running finish within the recording
+            executor.shutdown();
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Load: journeys still running after a minute are abandoned");
+                executor.shutdownNow();
+            }
+        } finally {
+            metrics.stop();
+        }
+    }
+}
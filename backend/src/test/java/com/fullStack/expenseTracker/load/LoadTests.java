@@ -0,0 +1,101 @@
+package com.fullStack.expenseTracker.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullStack.expenseTracker.scale.SyntheticDataGenerator;
+import com.fullStack.expenseTracker.scale.SyntheticDataSpec;
+import com.fullStack.expenseTracker.scale.SyntheticDataset;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Boots the whole app on a random port and drives it over HTTP with scripted user journeys, then reports latency
+ * percentiles, throughput and error rates per endpoint. Tagged "load", so only the load-tests profile runs it:
+ *
+ *   ./mvnw -Pload-tests test -Dload.rate=50 -Dload.duration-seconds=120
+ *
+ * See LoadProfile for the other settings. Runs on H2 in MySQL mode by default, -Dload.datasource.url, .username
+ * and .password point it at a local MySQL instead. The run fails when more requests fail than load.max-error-rate.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(SyntheticDataGenerator.class)
+@Slf4j
+class LoadTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        applicationProperties("load").forEach((name, value) -> registry.add(name, () -> value));
+    }
+
+    /**
+     * The properties a load run boots the app with, on the given H2 database unless -Dload.datasource.url is set.
+     */
+    static Map<String, String> applicationProperties(String database) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        String url = System.getProperty("load.datasource.url");
+        if (url == null) {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:" + database + ";MODE=MySQL;NON_KEYWORDS=MONTH,YEAR,VALUE");
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+            properties.put("spring.flyway.enabled", "false");
+            properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        } else {
+            properties.put("spring.datasource.url", url);
+            properties.put("spring.datasource.username", System.getProperty("load.datasource.username", "root"));
+            properties.put("spring.datasource.password", System.getProperty("load.datasource.password", ""));
+        }
+        // Requests must not wait on mail or object storage that is not there
+        properties.put("app.storage.type", "local");
+        properties.put("app.user.profile.upload.dir", "target/load/uploads");
+        properties.put("aws.s3.access-key", "unused");
+        properties.put("aws.s3.secret-key", "unused");
+        properties.put("aws.s3.bucket-name", "unused");
+        properties.put("spring.mail.host", "localhost");
+        return properties;
+    }
+
+    @Test
+    void userJourneys() throws InterruptedException {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        SyntheticDataset dataset = syntheticDataGenerator.generate(
+                new SyntheticDataSpec(profile.users(), 2, profile.users() * 300L, 7, 3, 6, 42));
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        LoadMetrics metrics = new LoadMetrics();
+        UserJourney journey = new UserJourney(dataset, httpClient, objectMapper, "http://localhost:" + port, metrics,
+                profile.thinkTime());
+
+        new LoadRunner(profile, metrics).run(journey, 42);
+
+        String report = metrics.report();
+        log.info("Load test against {} users:{}", profile.users(), report);
+        assertTrue(metrics.requests() > 0, "No requests were recorded");
+        assertTrue(metrics.errorRate() <= profile.maxErrorRate(), "Error rate over " + profile.maxErrorRate() + report);
+    }
+}
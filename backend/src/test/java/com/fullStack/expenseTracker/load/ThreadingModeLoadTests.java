@@ -0,0 +1,93 @@
+package com.fullStack.expenseTracker.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullStack.expenseTracker.ExpenseTrackerApplication;
+import com.fullStack.expenseTracker.jfr.VirtualThreadPinningMonitor;
+import com.fullStack.expenseTracker.scale.SyntheticDataGenerator;
+import com.fullStack.expenseTracker.scale.SyntheticDataSpec;
+import com.fullStack.expenseTracker.scale.SyntheticDataset;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the load of LoadTests twice, once on platform threads and once with spring.threads.virtual.enabled, each
+ * against a freshly booted app and database, and logs the two reports one after the other with the requests the
+ * concurrency limit turned away and the virtual thread pinnings. Takes the same -Dload.* settings:
+ *
+ *   ./mvnw -Pload-tests test -Dtest=ThreadingModeLoadTests -Dload.rate=50 -Dload.duration-seconds=120
+ *
+ * The difference shows once the arrival rate outgrows Tomcat's 200 platform threads, or with think time.
+ */
+@Tag("load")
+@Slf4j
+class ThreadingModeLoadTests {
+
+    @Test
+    void platformAndVirtualThreads() throws InterruptedException {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        String platform = run(profile, false);
+        String virtual = run(profile, true);
+        log.info("Load test against {} users, platform threads:{}\nVirtual threads:{}", profile.users(), platform, virtual);
+    }
+
+    private String run(LoadProfile profile, boolean virtualThreads) throws InterruptedException {
+        String mode = virtualThreads ? "virtual" : "platform";
+        Map<String, String> properties = LoadTests.applicationProperties("load-" + mode);
+        properties.put("server.port", "0");
+        properties.put("management.server.port", "0");
+        properties.put("spring.threads.virtual.enabled", String.valueOf(virtualThreads));
+        // Command line arguments, so they win over application.properties like @DynamicPropertySource does
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+
+        try (ConfigurableApplicationContext context =
+                     new SpringApplicationBuilder(ExpenseTrackerApplication.class, SyntheticDataGenerator.class).run(args)) {
+            SyntheticDataset dataset = context.getBean(SyntheticDataGenerator.class).generate(
+                    new SyntheticDataSpec(profile.users(), 2, profile.users() * 300L, 7, 3, 6, 42));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            LoadMetrics metrics = new LoadMetrics();
+            UserJourney journey = new UserJourney(dataset, httpClient, context.getBean(ObjectMapper.class),
+                    "http://localhost:" + port, metrics, profile.thinkTime());
+
+            new LoadRunner(profile, metrics).run(journey, 42);
+
+            String report = metrics.report();
+            assertTrue(metrics.requests() > 0, "No requests were recorded on " + mode + " threads");
+            assertTrue(metrics.errorRate() <= profile.maxErrorRate(),
+                    "Error rate on " + mode + " threads over " + profile.maxErrorRate() + report);
+            return report + threadingReport(context.getBean(MeterRegistry.class));
+        }
+    }
+
+    private static String threadingReport(MeterRegistry meterRegistry) {
+        Counter rejected = meterRegistry.find("expensia.requests.rejected").counter();
+        Timer pinned = meterRegistry.find(VirtualThreadPinningMonitor.METRIC_NAME).timer();
+        if (rejected == null && pinned == null) {
+            return "";
+        }
+        return String.format("%n  rejected by concurrency limit: %d, pinned virtual threads: %d (%.1f ms max)",
+                rejected != null ? (long) rejected.count() : 0,
+                pinned != null ? pinned.count() : 0,
+                pinned != null ? pinned.max(TimeUnit.MILLISECONDS) : 0.0);
+    }
+}
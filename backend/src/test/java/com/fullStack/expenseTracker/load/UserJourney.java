@@ -0,0 +1,138 @@
+package com.fullStack.expenseTracker.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullStack.expenseTracker.enums.ETransactionType;
+import com.fullStack.expenseTracker.models.Category;
+import com.fullStack.expenseTracker.scale.SyntheticDataGenerator;
+import com.fullStack.expenseTracker.scale.SyntheticDataset;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * A visit of one synthetic user, the way the frontend makes it: sign in, load the dashboard, page through the
+ * transactions, add one, correct it and delete it again, adjust a budget and look at the saved transactions.
+ */
+public class UserJourney {
+
+    private static final int PAGE_SIZE = 10;
+
+    private final SyntheticDataset dataset;
+
+    private final List<Integer> expenseCategoryIds;
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final String baseUrl;
+
+    private final LoadMetrics metrics;
+
+    private final Duration thinkTime;
+
+    public UserJourney(SyntheticDataset dataset, HttpClient httpClient, ObjectMapper objectMapper, String baseUrl,
+                       LoadMetrics metrics, Duration thinkTime) {
+        this.dataset = dataset;
+        this.expenseCategoryIds = dataset.categories().values().stream()
+                .filter(category -> category.getTransactionType().getTransactionTypeName() == ETransactionType.TYPE_EXPENSE)
+                .map(Category::getCategoryId)
+                .toList();
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.metrics = metrics;
+        this.thinkTime = thinkTime;
+    }
+
+    public void run(Random random) throws InterruptedException {
+        LoadClient client = new LoadClient(httpClient, objectMapper, baseUrl, metrics);
+        String email = dataset.email(random.nextInt(dataset.userIds().size()));
+        YearMonth month = YearMonth.now();
+
+        long userId = client.signIn(email, SyntheticDataGenerator.PASSWORD).get("id").asLong();
+        think(random);
+
+        // Dashboard
+        client.get("GET /report/getDashboardSummary", "/expensia/report/getDashboardSummary", "email", email);
+        JsonNode accounts = client.get("GET /accounts/getByUser", "/expensia/accounts/getByUser", "email", email).get("response");
+        client.get("GET /budgets/progress", "/expensia/budgets/progress",
+                "email", email, "month", month.getMonthValue(), "year", month.getYear());
+        think(random);
+
+        // Transactions, newest first, and the next page
+        for (int page = 0; page < 2; page++) {
+            transactions(client, email, page, PAGE_SIZE, "date");
+            think(random);
+        }
+
+        // Add, correct and delete one
+        String description = "Load " + UUID.randomUUID().toString().substring(0, 8);
+        Map<String, Object> transaction = new HashMap<>();
+        transaction.put("userEmail", email);
+        transaction.put("categoryId", expenseCategoryIds.get(random.nextInt(expenseCategoryIds.size())));
+        transaction.put("accountId", accounts.isEmpty() ? null : accounts.get(random.nextInt(accounts.size())).get("id").asLong());
+        transaction.put("description", description);
+        transaction.put("amount", Math.round(random.nextDouble(5, 120) * 100) / 100.0);
+        transaction.put("date", LocalDate.now().toString());
+        client.post("POST /transaction/new", "/expensia/transaction/new", transaction);
+
+        long transactionId = createdTransaction(client, email, description);
+        think(random);
+        transaction.put("amount", (double) transaction.get("amount") + 1);
+        client.put("PUT /transaction/update", "/expensia/transaction/update", transaction, "transactionId", transactionId);
+        think(random);
+        client.delete("DELETE /transaction/delete", "/expensia/transaction/delete", "transactionId", transactionId);
+        think(random);
+
+        // Budgets
+        JsonNode budgets = client.get("GET /budgets/getByUser", "/expensia/budgets/getByUser",
+                "email", email, "month", month.getMonthValue(), "year", month.getYear()).get("response");
+        if (!budgets.isEmpty()) {
+            JsonNode budget = budgets.get(random.nextInt(budgets.size()));
+            Map<String, Object> update = Map.of(
+                    "amount", Math.max(1, budget.get("amount").asDouble() + random.nextInt(-10, 11)),
+                    "month", budget.get("month").asInt(),
+                    "year", budget.get("year").asInt(),
+                    "categoryId", budget.get("categoryId").asInt(),
+                    "email", email
+            );
+            client.put("PUT /budgets/update", "/expensia/budgets/update", update, "budgetId", budget.get("id").asLong());
+        }
+        think(random);
+
+        client.get("GET /saved/user", "/expensia/saved/user", "id", userId);
+    }
+
+    private JsonNode transactions(LoadClient client, String email, int page, int pageSize, String sortField) {
+        return client.get("GET /transaction/getByUser", "/expensia/transaction/getByUser",
+                "email", email, "pageNumber", page, "pageSize", pageSize, "searchKey", "",
+                "sortField", sortField, "sortDirec", "DESC", "transactionType", "").get("response");
+    }
+
+    // Add does not return the new id, so it is looked up among the latest transactions by its unique description
+    private long createdTransaction(LoadClient client, String email, String description) {
+        for (JsonNode day : transactions(client, email, 0, 5, "transactionId").get("data")) {
+            for (JsonNode transaction : day) {
+                if (description.equals(transaction.get("description").asText())) {
+                    return transaction.get("id").asLong();
+                }
+            }
+        }
+        throw new LoadClient.JourneyFailedException("Added transaction " + description + " not found");
+    }
+
+    private void think(Random random) throws InterruptedException {
+        if (!thinkTime.isZero()) {
+            Thread.sleep((long) (-Math.log(1 - random.nextDouble()) * thinkTime.toMillis()));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.fullStack.expenseTracker.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fullStack.expenseTracker.dto.reponses.LogEventDto;
+import com.fullStack.expenseTracker.dto.reponses.LogTailDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferLogAppenderTests {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+
+    @Test
+    void keepsOnlyTheLatestEventsAndResumesFromCursor() {
+        RingBufferLogAppender appender = startedAppender(4);
+        for (int i = 0; i < 6; i++) {
+            append(appender, "com.fullStack.expenseTracker.Test", Level.INFO, "event " + i);
+        }
+
+        LogTailDto all = appender.readAfter(-1, 100, RingBufferLogAppender.filter(null, null));
+        assertEquals(List.of("event 2", "event 3", "event 4", "event 5"), messages(all));
+        assertEquals(5, all.getCursor());
+
+        append(appender, "com.fullStack.expenseTracker.Test", Level.INFO, "event 6");
+
+        LogTailDto next = appender.readAfter(all.getCursor(), 100, RingBufferLogAppender.filter(null, null));
+        assertEquals(List.of("event 6"), messages(next));
+        assertEquals(6, next.getCursor());
+    }
+
+    @Test
+    void filtersByMinimumLevelAndLoggerPrefix() {
+        RingBufferLogAppender appender = startedAppender(16);
+        append(appender, "com.fullStack.expenseTracker.services.A", Level.DEBUG, "debug");
+        append(appender, "com.fullStack.expenseTracker.services.A", Level.WARN, "warn");
+        append(appender, "org.hibernate.SQL", Level.ERROR, "other logger");
+        append(appender, "com.fullStack.expenseTracker.services.B", Level.ERROR, "error");
+
+        LogTailDto recent = appender.recent(10, RingBufferLogAppender.filter("warn", "com.fullStack"));
+
+        assertEquals(List.of("warn", "error"), messages(recent));
+        assertEquals(3, recent.getCursor());
+    }
+
+    private RingBufferLogAppender startedAppender(int capacity) {
+        RingBufferLogAppender appender = new RingBufferLogAppender(capacity);
+        appender.setContext(loggerContext);
+        appender.start();
+        return appender;
+    }
+
+    private void append(RingBufferLogAppender appender, String loggerName, Level level, String message) {
+        Logger logger = loggerContext.getLogger(loggerName);
+        appender.doAppend(new LoggingEvent(Logger.class.getName(), logger, level, message, null, null));
+    }
+
+    private List<String> messages(LogTailDto tail) {
+        return tail.getEvents().stream().map(LogEventDto::getMessage).toList();
+    }
+}
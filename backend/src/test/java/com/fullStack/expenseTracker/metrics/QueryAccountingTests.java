@@ -0,0 +1,86 @@
+package com.fullStack.expenseTracker.metrics;
+
+import com.fullStack.expenseTracker.config.QueryAccountingConfig;
+import com.fullStack.expenseTracker.enums.ETransactionType;
+import com.fullStack.expenseTracker.models.Category;
+import com.fullStack.expenseTracker.models.TransactionType;
+import com.fullStack.expenseTracker.repository.CategoryRepository;
+import com.fullStack.expenseTracker.repository.TransactionTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(QueryAccountingConfig.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queries;MODE=MySQL;NON_KEYWORDS=MONTH,YEAR,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+// Every repository call in its own transaction, so each one reaches the database
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryAccountingTests {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionTypeRepository transactionTypeRepository;
+
+    private final List<Integer> categoryIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository.deleteAll();
+        transactionTypeRepository.deleteAll();
+        TransactionType expense = transactionTypeRepository.save(new TransactionType(ETransactionType.TYPE_EXPENSE));
+        for (int i = 0; i < 12; i++) {
+            categoryIds.add(categoryRepository.save(new Category("Category " + i, expense, true)).getCategoryId());
+        }
+    }
+
+    @Test
+    void countsTheStatementsOfTheCodeRun() throws Throwable {
+        // The categories and, eagerly, their transaction type
+        QueryStats stats = QueryCountAssertions.assertMaxQueries(2, () -> categoryRepository.findAll());
+
+        assertEquals(2, stats.getStatements());
+        assertTrue(stats.getNanos() > 0);
+        assertEquals(2, stats.getShapes().size());
+    }
+
+    @Test
+    void oneQueryPerRowShowsAsARepeatedShape() throws Throwable {
+        QueryStats stats = QueryCountAssertions.assertMaxQueries(12, () -> categoryIds.forEach(categoryRepository::findById));
+
+        Map<String, Integer> repeated = stats.repeatedOver(10);
+        assertEquals(1, repeated.size());
+        assertEquals(12, repeated.values().iterator().next());
+
+        AssertionFailedError failure = assertThrows(AssertionFailedError.class,
+                () -> QueryCountAssertions.assertMaxQueries(5, () -> categoryIds.forEach(categoryRepository::findById)));
+        assertTrue(failure.getMessage().contains("12 x select"));
+    }
+
+    @Test
+    void inListsOfAnyLengthHaveOneShape() {
+        assertEquals(QueryStats.shapeOf("select * from category where id in (?, ?)"),
+                QueryStats.shapeOf("select *\n  from category where id IN (?,?,?,?)"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.fullStack.expenseTracker.metrics;
+
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Query budgets for tests: runs the code, counting its SQL statements, and fails when it ran more than allowed.
+ * Needs QueryAccountingConfig in the context, a @SpringBootTest has it, slice tests @Import it. Around a MockMvc
+ * call it counts everything the endpoint ran:
+ *
+ *   QueryCountAssertions.assertMaxQueries(3, () -> mockMvc.perform(get("/expensia/budgets/progress")...));
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static QueryStats assertMaxQueries(int max, Executable executable) throws Throwable {
+        QueryStats stats;
+        try (QueryAccounting.Scope scope = QueryAccounting.begin()) {
+            stats = scope.stats();
+            executable.execute();
+        }
+        if (stats.getStatements() > max) {
+            fail("Expected at most " + max + " SQL statements but " + stats.getStatements() + " ran:\n"
+                    + describe(stats.getShapes()));
+        }
+        return stats;
+    }
+
+    private static String describe(Map<String, Integer> shapes) {
+        return shapes.entrySet().stream()
+                .map(shape -> "  " + shape.getValue() + " x " + shape.getKey())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,155 @@
+package com.fullStack.expenseTracker.outbox;
+
+import com.fullStack.expenseTracker.enums.OutboxEventType;
+import com.fullStack.expenseTracker.models.OutboxCheckpoint;
+import com.fullStack.expenseTracker.models.OutboxEvent;
+import com.fullStack.expenseTracker.repository.OutboxCheckpointRepository;
+import com.fullStack.expenseTracker.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({OutboxDispatcher.class, OutboxDispatcherTests.RecordingConsumerConfig.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=MySQL;NON_KEYWORDS=MONTH,YEAR,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.outbox.batch-size=2"
+})
+class OutboxDispatcherTests {
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private RecordingConsumer consumer;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxCheckpointRepository outboxCheckpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        consumer.batches.clear();
+    }
+
+    @Test
+    void deliversInOrderInBatchesAndAdvancesCheckpoint() {
+        List<Long> ids = save(5);
+
+        assertEquals(2, outboxDispatcher.dispatch(consumer));
+        assertEquals(2, outboxDispatcher.dispatch(consumer));
+        assertEquals(1, outboxDispatcher.dispatch(consumer));
+        assertEquals(0, outboxDispatcher.dispatch(consumer));
+
+        assertEquals(List.of(ids.subList(0, 2), ids.subList(2, 4), ids.subList(4, 5)), consumer.batches);
+        assertEquals(ids.get(4), outboxCheckpointRepository.findById(consumer.getName()).orElseThrow().getLastEventId());
+    }
+
+    @Test
+    void waitsForRecentGapAndPassesOldOne() {
+        List<Long> ids = save(3);
+        // As if the second write had not committed yet
+        outboxEventRepository.deleteById(ids.get(1));
+
+        assertEquals(1, outboxDispatcher.dispatch(consumer));
+        assertEquals(0, outboxDispatcher.dispatch(consumer));
+
+        OutboxEvent third = outboxEventRepository.findById(ids.get(2)).orElseThrow();
+        third.setCreatedAt(LocalDateTime.now().minusMinutes(1));
+        outboxEventRepository.save(third);
+
+        assertEquals(1, outboxDispatcher.dispatch(consumer));
+        assertEquals(List.of(List.of(ids.get(0)), List.of(ids.get(2))), consumer.batches);
+    }
+
+    @Test
+    void deliversEventOfPassedGapLateWhenItCommits() {
+        List<Long> ids = save(3);
+        OutboxEvent slow = outboxEventRepository.findById(ids.get(1)).orElseThrow();
+        outboxEventRepository.deleteById(ids.get(1));
+        OutboxEvent third = outboxEventRepository.findById(ids.get(2)).orElseThrow();
+        third.setCreatedAt(LocalDateTime.now().minusMinutes(1));
+        outboxEventRepository.save(third);
+
+        assertEquals(2, outboxDispatcher.dispatch(consumer));
+        assertEquals(1, outboxDispatcher.getStatus().get(0).getOpenGaps());
+
+        // The slow write commits after the checkpoint has moved past its id
+        jdbcTemplate.update("INSERT INTO outbox_event (id, user_id, event_type, aggregate_id, payload, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                slow.getId(), slow.getUserId(), slow.getEventType().name(), slow.getAggregateId(), slow.getPayload(), slow.getCreatedAt());
+
+        assertEquals(1, outboxDispatcher.dispatch(consumer));
+        assertEquals(0, outboxDispatcher.dispatch(consumer));
+        assertEquals(List.of(List.of(ids.get(0), ids.get(2)), List.of(ids.get(1))), consumer.batches);
+        assertEquals(0, outboxDispatcher.getStatus().get(0).getOpenGaps());
+    }
+
+    @Test
+    void replayDeliversEventsAgain() {
+        List<Long> ids = save(2);
+        outboxDispatcher.dispatch(consumer);
+
+        outboxDispatcher.replay(consumer.getName(), ids.get(1));
+        assertEquals(1, outboxDispatcher.dispatch(consumer));
+
+        assertEquals(List.of(ids, List.of(ids.get(1))), consumer.batches);
+        assertThrows(IllegalArgumentException.class, () -> outboxDispatcher.replay("unknown", 0));
+    }
+
+    private List<Long> save(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(outboxEventRepository.save(new OutboxEvent(1L, OutboxEventType.TRANSACTION_CREATED, (long) i, "{}")).getId());
+        }
+        // Ids of events rolled back by earlier tests are gone, the consumer starts right before the new ones
+        outboxCheckpointRepository.save(new OutboxCheckpoint(consumer.getName(), ids.get(0) - 1, LocalDateTime.now()));
+        return ids;
+    }
+
+    static class RecordingConsumer implements OutboxConsumer {
+
+        private final List<List<Long>> batches = new ArrayList<>();
+
+        @Override
+        public String getName() {
+            return "recording";
+        }
+
+        @Override
+        public void handle(List<OutboxEvent> events) {
+            batches.add(events.stream().map(OutboxEvent::getId).toList());
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingConsumerConfig {
+
+        @Bean
+        RecordingConsumer recordingConsumer() {
+            return new RecordingConsumer();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.fullStack.expenseTracker.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts on a database that the app created with ddl-auto=update before the schema was versioned: the V1 schema
+ * with data and without a Flyway history. Flyway has to baseline it at version 1 and apply every later migration,
+ * otherwise Hibernate's validation fails and the context does not start.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1"
+})
+class BaselineSchemaMigrationTests {
+
+    private static final String URL = "jdbc:h2:mem:baseline;MODE=MySQL;NON_KEYWORDS=MONTH,YEAR,VALUE;DB_CLOSE_DELAY=-1";
+
+    // H2 creates the database with the credentials of the first connection, the context has to log in with the same
+    private static final String USERNAME = "sa";
+
+    private static final String PASSWORD = "";
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void unversionedDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, USERNAME, PASSWORD);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // The database outlives the context, start from scratch should the context be created again
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline_schema.sql"));
+        }
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, enabled, resend_count) VALUES (1, 'old', 'old@example.com', 'x', true, 0)");
+        jdbcTemplate.update("INSERT INTO account (id, account_name, account_type, balance, user_id) VALUES (1, 'Wallet', 'CASH', 10, 1)");
+        jdbcTemplate.update("INSERT INTO transaction (transaction_id, amount, description, user_id, account_id) VALUES (1, 10, 'Coffee', 1, 1)");
+        registry.add("spring.datasource.url", () -> URL);
+        registry.add("spring.datasource.username", () -> USERNAME);
+        registry.add("spring.datasource.password", () -> PASSWORD);
+    }
+
+    @Test
+    void baselinesAnUnversionedDatabaseAndAppliesTheLaterMigrations() {
+        assertEquals("1", flyway.info().applied()[0].getVersion().getVersion());
+        assertTrue(flyway.info().applied().length > 1);
+        assertEquals(0, flyway.info().pending().length);
+
+        // Rows written before keep their data and get the defaults of the new columns
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT change_seq FROM users WHERE id = 1", Long.class));
+        assertNull(jdbcTemplate.queryForObject("SELECT account_number FROM account WHERE id = 1", String.class));
+        assertEquals("Coffee", jdbcTemplate.queryForObject("SELECT description FROM transaction WHERE transaction_id = 1", String.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_event", Integer.class));
+    }
+}
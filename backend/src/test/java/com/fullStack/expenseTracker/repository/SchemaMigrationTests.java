@@ -0,0 +1,57 @@
+package com.fullStack.expenseTracker.repository;
+
+import com.fullStack.expenseTracker.dataSeeders.RoleDataSeeder;
+import com.fullStack.expenseTracker.dataSeeders.TransactionTypeDataSeeder;
+import com.fullStack.expenseTracker.enums.ERole;
+import com.fullStack.expenseTracker.enums.ETransactionType;
+import com.fullStack.expenseTracker.models.Role;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds the schema from the Flyway migrations only, the context fails to start when Hibernate's validation finds
+ * an entity the migrations do not match. H2 runs in MySQL mode with the MySQL dialect, which the migrations are
+ * written for, so enum columns validate as they do on MySQL.
+ */
+@DataJpaTest
+@Import({RoleDataSeeder.class, TransactionTypeDataSeeder.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;NON_KEYWORDS=MONTH,YEAR,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect"
+})
+class SchemaMigrationTests {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private TransactionTypeRepository transactionTypeRepository;
+
+    @Test
+    void migrationsMatchTheEntitiesAndSeedingFillsTheReferenceData() {
+        MigrationInfo[] migrations = flyway.info().all();
+        assertEquals(migrations[migrations.length - 1].getVersion(), flyway.info().current().getVersion());
+        assertEquals(0, flyway.info().pending().length);
+
+        assertEquals(Set.of(ERole.values()),
+                roleRepository.findAll().stream().map(Role::getName).collect(Collectors.toSet()));
+        assertEquals(ETransactionType.values().length, transactionTypeRepository.count());
+    }
+}
@@ -0,0 +1,162 @@
+package com.fullStack.expenseTracker.repository;
+
+import com.fullStack.expenseTracker.enums.ETransactionType;
+import com.fullStack.expenseTracker.models.*;
+import com.fullStack.expenseTracker.services.impls.TransactionSearchIndexer;
+import com.fullStack.expenseTracker.sync.ChangeSequencer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({TransactionSearchIndexer.class, ChangeSequencer.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:search;MODE=MySQL;NON_KEYWORDS=MONTH,YEAR,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class TransactionSearchRepositoryTests {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionTypeRepository transactionTypeRepository;
+
+    @Autowired
+    private TransactionSearchIndexer transactionSearchIndexer;
+
+    private User alice;
+
+    private Category groceries;
+
+    private Category salary;
+
+    @BeforeEach
+    void setUp() {
+        TransactionType expense = transactionTypeRepository.save(new TransactionType(ETransactionType.TYPE_EXPENSE));
+        TransactionType income = transactionTypeRepository.save(new TransactionType(ETransactionType.TYPE_INCOME));
+        groceries = categoryRepository.save(new Category("Groceries", expense, true));
+        salary = categoryRepository.save(new Category("Salary", income, true));
+
+        alice = userRepository.save(user("alice", "alice@example.com"));
+        User bob = userRepository.save(user("bob", "bob@example.com"));
+
+        save(alice, groceries, "Weekly market shopping", 40, LocalDate.of(2024, 1, 3));
+        save(alice, groceries, "Corner shop snacks", 20, LocalDate.of(2024, 1, 5));
+        save(alice, salary, "January payroll", 90, LocalDate.of(2024, 1, 31));
+        save(bob, groceries, "Market run", 30, LocalDate.of(2024, 1, 4));
+    }
+
+    @Test
+    void returnsAllTransactionsOfUserWithoutSearchPredicates() {
+        TransactionFilter filter = new TransactionFilter();
+        filter.setUserId(alice.getId());
+
+        Page<Transaction> page = transactionRepository.search(filter, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "date")));
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of("January payroll", "Corner shop snacks"), descriptions(page));
+    }
+
+    @Test
+    void matchesDescriptionWordPrefixesWithinUser() {
+        TransactionFilter filter = new TransactionFilter();
+        filter.setUserId(alice.getId());
+        filter.setSearching(true);
+        filter.setDescriptionTokens(new ArrayList<>(TransactionSearchIndexer.tokenize("sho")));
+
+        Page<Transaction> page = transactionRepository.search(filter, PageRequest.of(0, 10, Sort.by("date")));
+
+        assertEquals(List.of("Weekly market shopping", "Corner shop snacks"), descriptions(page));
+    }
+
+    @Test
+    void combinesWordMatchesWithCategoryMatchesAndTypeRestriction() {
+        TransactionFilter filter = new TransactionFilter();
+        filter.setUserId(alice.getId());
+        filter.setCategoryIds(Set.of(groceries.getCategoryId()));
+        filter.setSearching(true);
+        filter.setDescriptionTokens(new ArrayList<>(TransactionSearchIndexer.tokenize("weekly market")));
+        filter.setMatchingCategoryIds(Set.of(salary.getCategoryId()));
+
+        Page<Transaction> page = transactionRepository.search(filter, PageRequest.of(0, 10, Sort.by("date")));
+
+        assertEquals(List.of("Weekly market shopping"), descriptions(page));
+    }
+
+    @Test
+    void matchesEmailPrefixAcrossUsersAndIgnoresUnknownSortFields() {
+        TransactionFilter filter = new TransactionFilter();
+        filter.setSearching(true);
+        filter.setEmailPrefix("bob");
+
+        Page<Transaction> page = transactionRepository.search(filter, PageRequest.of(0, 10, Sort.by("date; DROP TABLE users")));
+
+        assertEquals(List.of("Market run"), descriptions(page));
+    }
+
+    @Test
+    void appliesDateAndAmountRangesAndSortsByAmount() {
+        TransactionFilter filter = new TransactionFilter();
+        filter.setUserId(alice.getId());
+        filter.setFromDate(LocalDate.of(2024, 1, 4));
+        filter.setToDate(LocalDate.of(2024, 1, 31));
+        filter.setMinAmount(15.0);
+        filter.setMaxAmount(100.0);
+
+        Page<Transaction> page = transactionRepository.search(filter, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "amount")));
+
+        assertEquals(List.of("January payroll", "Corner shop snacks"), descriptions(page));
+    }
+
+    @Test
+    void returnsNothingWhenSearchTermCannotMatch() {
+        TransactionFilter filter = new TransactionFilter();
+        filter.setUserId(alice.getId());
+        filter.setSearching(true);
+
+        assertTrue(transactionRepository.search(filter, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private void save(User user, Category category, String description, double amount, LocalDate date) {
+        Transaction transaction = transactionRepository.save(new Transaction(user, category, description, amount, date));
+        transactionSearchIndexer.index(transaction);
+    }
+
+    private User user(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setEnabled(true);
+        return user;
+    }
+
+    private List<String> descriptions(Page<Transaction> page) {
+        return page.getContent().stream().map(Transaction::getDescription).toList();
+    }
+}
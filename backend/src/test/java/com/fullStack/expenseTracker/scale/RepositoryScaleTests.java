@@ -0,0 +1,265 @@
+package com.fullStack.expenseTracker.scale;
+
+import com.fullStack.expenseTracker.enums.ERole;
+import com.fullStack.expenseTracker.models.Category;
+import com.fullStack.expenseTracker.models.User;
+import com.fullStack.expenseTracker.repository.*;
+import com.fullStack.expenseTracker.sync.ChangeSequencer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Times every TransactionRepository, UserRepository and CategoryBudgetRepository query against generated data
+ * and checks the median against a latency budget for the data size. Tagged "scale", so only the scale-tests
+ * profile runs it:
+ *
+ *   ./mvnw -Pscale-tests test -Dscale.transactions=1000000
+ *
+ * Runs on H2 in MySQL mode by default. -Dscale.datasource.url, .username and .password point it at a local MySQL
+ * instead, where the schema is updated and the generated rows are kept. A single budget can be overridden with
+ * -Dscale.budget.&lt;query&gt;=&lt;ms&gt;.
+ */
+@Tag("scale")
+@DataJpaTest
+@Import({SyntheticDataGenerator.class, ChangeSequencer.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class RepositoryScaleTests {
+
+    private static final int WARMUP_RUNS = 3;
+
+    private static final int MEASURED_RUNS = 9;
+
+    // Sample users the per-user queries rotate over, so no single user's rows stay cached
+    private static final int SAMPLE_USERS = 10;
+
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryBudgetRepository categoryBudgetRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private SyntheticDataset dataset;
+
+    private final List<User> sampleUsers = new ArrayList<>();
+
+    private int tier;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("scale.datasource.url");
+        if (url == null) {
+            registry.add("spring.datasource.url", () -> "jdbc:h2:mem:scale;MODE=MySQL;NON_KEYWORDS=MONTH,YEAR,VALUE");
+            registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+            registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+            registry.add("spring.flyway.enabled", () -> "false");
+            registry.add("spring.jpa.properties.hibernate.dialect", () -> "org.hibernate.dialect.H2Dialect");
+        } else {
+            registry.add("spring.datasource.url", () -> url);
+            registry.add("spring.datasource.username", () -> System.getProperty("scale.datasource.username", "root"));
+            registry.add("spring.datasource.password", () -> System.getProperty("scale.datasource.password", ""));
+            registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        }
+    }
+
+    @BeforeAll
+    void generate() {
+        long transactions = Long.getLong("scale.transactions", 10_000);
+        tier = transactions <= 10_000 ? 0 : transactions <= 1_000_000 ? 1 : 2;
+        dataset = syntheticDataGenerator.generate(SyntheticDataSpec.forTransactions(transactions));
+
+        int step = Math.max(1, dataset.userIds().size() / SAMPLE_USERS);
+        for (int i = 0; i < dataset.userIds().size() && sampleUsers.size() < SAMPLE_USERS; i += step) {
+            sampleUsers.add(userRepository.findById(dataset.userIds().get(i)).orElseThrow());
+        }
+    }
+
+    @Test
+    void transactionRepositoryQueries() {
+        YearMonth month = YearMonth.now();
+        int groceries = category("Groceries").getCategoryId();
+        int expenseType = category("Groceries").getTransactionType().getTransactionTypeId();
+        Set<String> fingerprints = Set.of("missing-1", "missing-2", "missing-3");
+
+        List<Timing> timings = new ArrayList<>();
+        // Per-user queries, each led by an index on user_id: time must not grow with the table
+        timings.add(time("findById", Budget.INDEXED, i -> transactionRepository.findById((long) (i * 97 + 1))));
+        // A full sync page, the time goes into loading 500 entities and their eager account and category
+        timings.add(time("findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc", Budget.ENTITY_PAGE,
+                i -> transactionRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(user(i).getId(), 0L, PageRequest.of(0, 500))));
+        timings.add(time("findCategorisationChunk", Budget.INDEXED,
+                i -> transactionRepository.findCategorisationChunk(user(i).getId(), 0, 500)));
+        timings.add(time("findIdByDedupeKey", Budget.INDEXED,
+                i -> transactionRepository.findIdByDedupeKey(user(i).getId(), "missing")));
+        timings.add(time("findExistingImportFingerprints", Budget.INDEXED,
+                i -> transactionRepository.findExistingImportFingerprints(user(i).getId(), fingerprints)));
+        timings.add(time("findIdsByImportFingerprints", Budget.INDEXED,
+                i -> transactionRepository.findIdsByImportFingerprints(user(i).getId(), fingerprints)));
+        // Also counts the user's matching rows for the page total
+        timings.add(time("search", Budget.USER_AGGREGATE, i -> {
+            TransactionFilter filter = new TransactionFilter();
+            filter.setUserId(user(i).getId());
+            filter.setFromDate(LocalDate.now().minusMonths(3));
+            return transactionRepository.search(filter, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "date")));
+        }));
+
+        // Per-user aggregates, they read all of one user's rows
+        timings.add(time("findDescriptionUsageByUser", Budget.USER_AGGREGATE,
+                i -> transactionRepository.findDescriptionUsageByUser(user(i).getEmail(), 200)));
+        timings.add(time("findTotalByUserAndTransactionType", Budget.USER_AGGREGATE,
+                i -> transactionRepository.findTotalByUserAndTransactionType(user(i).getId(), expenseType, month.getMonthValue(), month.getYear())));
+        timings.add(time("findTotalNoOfTransactionsByUser", Budget.USER_AGGREGATE,
+                i -> transactionRepository.findTotalNoOfTransactionsByUser(user(i).getId(), month.getMonthValue(), month.getYear())));
+        timings.add(time("findTotalByUserAndCategory", Budget.USER_AGGREGATE,
+                i -> transactionRepository.findTotalByUserAndCategory(user(i).getEmail(), groceries, month.getMonthValue(), month.getYear())));
+        if (onMySql()) {
+            // DATE_SUB is MySQL only
+            timings.add(time("findMonthlySummaryByUser", Budget.USER_AGGREGATE,
+                    i -> transactionRepository.findMonthlySummaryByUser(user(i).getEmail())));
+        }
+        timings.add(time("findCategoryExpenseBreakdown", Budget.USER_AGGREGATE,
+                i -> transactionRepository.findCategoryExpenseBreakdown(user(i).getEmail(), month.getMonthValue(), month.getYear())));
+
+        check("TransactionRepository", timings);
+    }
+
+    @Test
+    void userRepositoryQueries() {
+        int userRoleId = roleRepository.findByName(ERole.ROLE_USER).orElseThrow().getId();
+
+        List<Timing> timings = new ArrayList<>();
+        timings.add(time("findByEmail", Budget.INDEXED, i -> userRepository.findByEmail(user(i).getEmail())));
+        timings.add(time("existsByUsername", Budget.INDEXED, i -> userRepository.existsByUsername(user(i).getUsername())));
+        timings.add(time("existsByEmail", Budget.INDEXED, i -> userRepository.existsByEmail(user(i).getEmail())));
+
+        // No index on these columns, or a '%keyword%' match: they read the whole users table
+        timings.add(time("findByVerificationCode", Budget.TABLE_SCAN, i -> userRepository.findByVerificationCode("missing-" + i)));
+        timings.add(time("existsByProfileImgUrlAndIdNot", Budget.TABLE_SCAN,
+                i -> userRepository.existsByProfileImgUrlAndIdNot("profile-" + i + ".png", user(i).getId())));
+        timings.add(time("findAll", Budget.TABLE_SCAN,
+                i -> userRepository.findAll(PageRequest.of(i % 5, 10), userRoleId, "sd" + dataset.runId() + "-" + i)));
+        timings.add(time("findAllUsers", Budget.TABLE_SCAN,
+                i -> userRepository.findAllUsers(PageRequest.of(i % 5, 10), "sd" + dataset.runId() + "-" + i)));
+        timings.add(time("countByRolesRoleName", Budget.TABLE_SCAN, i -> userRepository.countByRolesRoleName(ERole.ROLE_USER.name())));
+
+        check("UserRepository", timings);
+    }
+
+    @Test
+    void categoryBudgetRepositoryQueries() {
+        YearMonth month = YearMonth.now();
+        int groceries = category("Groceries").getCategoryId();
+
+        List<Timing> timings = new ArrayList<>();
+        timings.add(time("findByUserAndMonthAndYear", Budget.INDEXED,
+                i -> categoryBudgetRepository.findByUserAndMonthAndYear(user(i), month.getMonthValue(), month.getYear())));
+        timings.add(time("findByIdAndUser", Budget.INDEXED, i -> categoryBudgetRepository.findByIdAndUser((long) (i + 1), user(i))));
+        timings.add(time("findByUser", Budget.INDEXED, i -> categoryBudgetRepository.findByUser(user(i))));
+        timings.add(time("findByUserIdAndCategoryCategoryIdAndMonthAndYear", Budget.INDEXED,
+                i -> categoryBudgetRepository.findByUserIdAndCategoryCategoryIdAndMonthAndYear(user(i).getId(), groceries, month.getMonthValue(), month.getYear())));
+        timings.add(time("findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc", Budget.INDEXED,
+                i -> categoryBudgetRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(user(i).getId(), 0L, PageRequest.of(0, 500))));
+
+        // The daily alert run loads every budget of the month, it grows with the number of users
+        timings.add(time("findByMonthAndYear", Budget.TABLE_SCAN,
+                i -> categoryBudgetRepository.findByMonthAndYear(month.getMonthValue(), month.getYear())));
+
+        check("CategoryBudgetRepository", timings);
+    }
+
+    private Timing time(String query, Budget budget, IntFunction<?> run) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run.apply(i);
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            run.apply(WARMUP_RUNS + i);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        long budgetMillis = Long.getLong("scale.budget." + query, budget.millis[tier]);
+        return new Timing(query, nanos[MEASURED_RUNS / 2] / 1_000_000.0, nanos[MEASURED_RUNS - 1] / 1_000_000.0, budgetMillis);
+    }
+
+    private void check(String repository, List<Timing> timings) {
+        StringBuilder report = new StringBuilder();
+        List<String> overBudget = new ArrayList<>();
+        for (Timing timing : timings) {
+            report.append(String.format("%n  %-58s median %9.2f ms  max %9.2f ms  budget %6d ms",
+                    timing.query(), timing.medianMillis(), timing.maxMillis(), timing.budgetMillis()));
+            if (timing.medianMillis() > timing.budgetMillis()) {
+                overBudget.add(timing.query());
+            }
+        }
+        log.info("{} at {} transactions / {} users:{}", repository, dataset.transactions(), dataset.userIds().size(), report);
+        if (!overBudget.isEmpty()) {
+            fail(repository + " queries over their latency budget: " + overBudget + report);
+        }
+    }
+
+    private static boolean onMySql() {
+        return System.getProperty("scale.datasource.url", "").startsWith("jdbc:mysql:");
+    }
+
+    private User user(int run) {
+        return sampleUsers.get(run % sampleUsers.size());
+    }
+
+    private Category category(String name) {
+        return dataset.categories().get(name);
+    }
+
+    private record Timing(String query, double medianMillis, double maxMillis, long budgetMillis) {
+    }
+
+    /**
+     * Median latency budgets in ms at 10k, 1M and 10M transactions.
+     */
+    private enum Budget {
+        INDEXED(30, 40, 50),
+        USER_AGGREGATE(50, 75, 100),
+        ENTITY_PAGE(150, 200, 250),
+        TABLE_SCAN(50, 500, 2000);
+
+        private final long[] millis;
+
+        Budget(long... millis) {
+            this.millis = millis;
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.fullStack.expenseTracker.scale;
+
+import com.fullStack.expenseTracker.enums.AccountType;
+import com.fullStack.expenseTracker.enums.ERole;
+import com.fullStack.expenseTracker.enums.ETransactionFrequency;
+import com.fullStack.expenseTracker.enums.ETransactionType;
+import com.fullStack.expenseTracker.models.Category;
+import com.fullStack.expenseTracker.models.Role;
+import com.fullStack.expenseTracker.models.SavedTransaction;
+import com.fullStack.expenseTracker.models.TransactionType;
+import com.fullStack.expenseTracker.repository.CategoryRepository;
+import com.fullStack.expenseTracker.repository.RoleRepository;
+import com.fullStack.expenseTracker.repository.SavedTransactionRepository;
+import com.fullStack.expenseTracker.repository.TransactionTypeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills the database with users, accounts, transactions, budgets and saved transactions shaped like real usage:
+ * a monthly salary and rent per user, day-to-day spending weighted by category with log-normal amounts, and
+ * a few heavy users next to many light ones.
+ *
+ * Rows go in with JDBC batches in chunks of their own transaction, so tens of millions of transactions load in
+ * minutes. Against MySQL add rewriteBatchedStatements=true to the url for multi-row inserts. Every run adds a new
+ * set of users, existing data is left alone. Search tokens are not generated, description searches find nothing.
+ * Tests add it with @Import.
+ */
+@Slf4j
+public class SyntheticDataGenerator {
+
+    private static final int CHUNK_SIZE = 5000;
+
+    // Every generated user signs in with this password
+    public static final String PASSWORD = "Synthetic#2024";
+
+    private static final String PASSWORD_HASH = new BCryptPasswordEncoder().encode(PASSWORD);
+
+    // Day-to-day spending: name, share of transactions, median amount, merchants
+    private static final List<Spending> SPENDING = List.of(
+            new Spending("Groceries", 30, 45, "Whole Foods", "Trader Joe's", "Aldi", "Costco", "Corner Market"),
+            new Spending("Dining", 22, 25, "Starbucks", "Chipotle", "Pizza Place", "Sushi Bar", "Cafe Central"),
+            new Spending("Transport", 15, 15, "Uber", "Metro Card", "Shell", "Parking Garage"),
+            new Spending("Shopping", 12, 60, "Amazon", "Target", "IKEA", "Zara"),
+            new Spending("Entertainment", 9, 20, "Netflix", "Spotify", "Cinema", "Concert Tickets"),
+            new Spending("Utilities", 6, 90, "Electricity", "Water", "Internet", "Phone Bill"),
+            new Spending("Health", 6, 40, "Pharmacy", "Gym", "Dentist")
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TransactionTypeRepository transactionTypeRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SavedTransactionRepository savedTransactionRepository;
+
+    public SyntheticDataset generate(SyntheticDataSpec spec) {
+        long started = System.currentTimeMillis();
+        Random random = new Random(spec.seed());
+        String runId = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+
+        Map<String, Category> categories = referenceData();
+        List<Long> userIds = insertUsers(spec, runId);
+        long[] changeSeqs = new long[userIds.size()];
+        List<List<Long>> accountIds = insertAccounts(spec, userIds, changeSeqs);
+        long transactions = insertTransactions(spec, random, categories, userIds, accountIds, changeSeqs);
+        insertBudgets(spec, random, categories, userIds, changeSeqs);
+
+        List<Object[]> sequences = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            sequences.add(new Object[]{changeSeqs[i], userIds.get(i)});
+        }
+        jdbcTemplate.batchUpdate("UPDATE users SET change_seq = ? WHERE id = ?", sequences);
+
+        // Few rows, saved through JPA so their ids come from the entity's generator
+        insertSavedTransactions(spec, random, categories, userIds, accountIds);
+
+        log.info("Generated {} users, {} accounts, {} transactions in {} ms",
+                userIds.size(), (long) userIds.size() * spec.accountsPerUser(), transactions,
+                System.currentTimeMillis() - started);
+        return new SyntheticDataset(runId, userIds, categories, transactions, spec.months());
+    }
+
+    public static String emailOf(String runId, int userIndex) {
+        return "sd" + runId + "-" + userIndex + "@synthetic.test";
+    }
+
+    public static String usernameOf(String runId, int userIndex) {
+        return "sd" + runId + "-" + userIndex;
+    }
+
+    private Map<String, Category> referenceData() {
+        for (ETransactionType type : ETransactionType.values()) {
+            if (!transactionTypeRepository.existsByTransactionTypeName(type)) {
+                transactionTypeRepository.save(new TransactionType(type));
+            }
+        }
+        for (ERole role : ERole.values()) {
+            if (!roleRepository.existsByName(role)) {
+                roleRepository.save(new Role(role));
+            }
+        }
+
+        TransactionType expense = transactionTypeRepository.findByTransactionTypeName(ETransactionType.TYPE_EXPENSE);
+        TransactionType income = transactionTypeRepository.findByTransactionTypeName(ETransactionType.TYPE_INCOME);
+        Map<String, Category> categories = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categories.putIfAbsent(category.getCategoryName(), category);
+        }
+        List<String> expenseNames = new ArrayList<>(SPENDING.stream().map(Spending::category).toList());
+        expenseNames.add("Rent");
+        for (String name : expenseNames) {
+            categories.computeIfAbsent(name, missing -> categoryRepository.save(new Category(missing, expense, true)));
+        }
+        categories.computeIfAbsent("Salary", missing -> categoryRepository.save(new Category(missing, income, true)));
+        return categories;
+    }
+
+    private List<Long> insertUsers(SyntheticDataSpec spec, String runId) {
+        Integer userRoleId = roleRepository.findByName(ERole.ROLE_USER).orElseThrow().getId();
+        List<Long> userIds = new ArrayList<>(spec.users());
+
+        for (int from = 0; from < spec.users(); from += CHUNK_SIZE) {
+            int to = Math.min(spec.users(), from + CHUNK_SIZE);
+            List<Object[]> users = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                users.add(new Object[]{usernameOf(runId, i), emailOf(runId, i), PASSWORD_HASH});
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "INSERT INTO users (username, email, password, enabled, resend_count, change_seq) VALUES (?, ?, ?, true, 0, 0)",
+                    users));
+        }
+        userIds.addAll(jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ? ORDER BY id", Long.class, "sd" + runId + "-%"));
+
+        for (int from = 0; from < userIds.size(); from += CHUNK_SIZE) {
+            List<Object[]> roles = userIds.subList(from, Math.min(userIds.size(), from + CHUNK_SIZE)).stream()
+                    .map(userId -> new Object[]{userId, userRoleId})
+                    .toList();
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", roles));
+        }
+        return userIds;
+    }
+
+    private List<List<Long>> insertAccounts(SyntheticDataSpec spec, List<Long> userIds, long[] changeSeqs) {
+        AccountType[] types = AccountType.values();
+        List<Object[]> accounts = new ArrayList<>();
+        for (int u = 0; u < userIds.size(); u++) {
+            for (int a = 0; a < spec.accountsPerUser(); a++) {
+                accounts.add(new Object[]{"Account " + (a + 1), types[a % types.length].name(), 1000.0 * (a + 1), userIds.get(u), ++changeSeqs[u]});
+            }
+            if (accounts.size() >= CHUNK_SIZE || u == userIds.size() - 1) {
+                List<Object[]> chunk = accounts;
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                        "INSERT INTO account (account_name, account_type, balance, user_id, change_seq) VALUES (?, ?, ?, ?, ?)", chunk));
+                accounts = new ArrayList<>();
+            }
+        }
+
+        Map<Long, List<Long>> byUser = new HashMap<>();
+        jdbcTemplate.query("SELECT id, user_id FROM account WHERE user_id BETWEEN ? AND ? ORDER BY id",
+                row -> {
+                    byUser.computeIfAbsent(row.getLong(2), id -> new ArrayList<>()).add(row.getLong(1));
+                },
+                userIds.get(0), userIds.get(userIds.size() - 1));
+        return userIds.stream().map(id -> byUser.getOrDefault(id, List.of())).toList();
+    }
+
+    private long insertTransactions(SyntheticDataSpec spec, Random random, Map<String, Category> categories,
+                                    List<Long> userIds, List<List<Long>> accountIds, long[] changeSeqs) {
+        long[] counts = transactionsPerUser(spec, random, userIds.size());
+        int totalWeight = SPENDING.stream().mapToInt(Spending::weight).sum();
+        YearMonth firstMonth = YearMonth.now().minusMonths(spec.months() - 1);
+        LocalDate today = LocalDate.now();
+        long firstDay = firstMonth.atDay(1).toEpochDay();
+        int days = (int) (today.toEpochDay() - firstDay + 1);
+
+        List<Object[]> chunk = new ArrayList<>(CHUNK_SIZE);
+        long inserted = 0;
+        for (int u = 0; u < userIds.size(); u++) {
+            Long userId = userIds.get(u);
+            List<Long> accounts = accountIds.get(u);
+            long remaining = counts[u];
+
+            // Salary and rent every month, as far as the user's share allows
+            for (int m = 0; m < spec.months() && remaining >= 2; m++, remaining -= 2) {
+                YearMonth month = firstMonth.plusMonths(m);
+                LocalDate payday = month.atDay(Math.min(25, month.lengthOfMonth()));
+                chunk.add(row(userId, categories.get("Salary"), accounts.get(0), "Salary",
+                        round(4000 * logNormal(random, 0.1)), payday.isAfter(today) ? today : payday, ++changeSeqs[u]));
+                chunk.add(row(userId, categories.get("Rent"), accounts.get(0), "Rent",
+                        1200, month.atDay(1), ++changeSeqs[u]));
+            }
+
+            for (; remaining > 0; remaining--) {
+                Spending spending = pick(random, totalWeight);
+                String merchant = spending.merchants()[random.nextInt(spending.merchants().length)];
+                chunk.add(row(userId, categories.get(spending.category()), accounts.get(random.nextInt(accounts.size())),
+                        merchant, round(spending.median() * logNormal(random, 0.6)),
+                        LocalDate.ofEpochDay(firstDay + random.nextInt(days)), ++changeSeqs[u]));
+
+                if (chunk.size() >= CHUNK_SIZE) {
+                    inserted += flushTransactions(chunk);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (chunk.size() >= CHUNK_SIZE) {
+                inserted += flushTransactions(chunk);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        inserted += flushTransactions(chunk);
+        return inserted;
+    }
+
+    /**
+     * Splits the total over the users log-normally, so a few users have many times the median.
+     */
+    private long[] transactionsPerUser(SyntheticDataSpec spec, Random random, int users) {
+        double[] weights = new double[users];
+        double sum = 0;
+        for (int i = 0; i < users; i++) {
+            weights[i] = logNormal(random, 0.75);
+            sum += weights[i];
+        }
+        long[] counts = new long[users];
+        long assigned = 0;
+        for (int i = 0; i < users; i++) {
+            counts[i] = (long) (spec.transactions() * weights[i] / sum);
+            assigned += counts[i];
+        }
+        counts[users - 1] += spec.transactions() - assigned;
+        return counts;
+    }
+
+    private int flushTransactions(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "INSERT INTO transaction (user_id, category_id, account_id, description, amount, date, timestamp, change_seq) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows));
+        return rows.size();
+    }
+
+    private void insertBudgets(SyntheticDataSpec spec, Random random, Map<String, Category> categories,
+                               List<Long> userIds, long[] changeSeqs) {
+        List<Object[]> budgets = new ArrayList<>();
+        YearMonth current = YearMonth.now();
+        for (int u = 0; u < userIds.size(); u++) {
+            // The same categories budgeted month after month, the way users set them up
+            for (int b = 0; b < spec.budgetsPerUser(); b++) {
+                Spending spending = SPENDING.get(b % SPENDING.size());
+                YearMonth month = current.minusMonths(b / SPENDING.size());
+                budgets.add(new Object[]{round(spending.median() * 20 * logNormal(random, 0.3)), month.getMonthValue(),
+                        month.getYear(), userIds.get(u), categories.get(spending.category()).getCategoryId(), ++changeSeqs[u]});
+            }
+            if (budgets.size() >= CHUNK_SIZE || u == userIds.size() - 1) {
+                List<Object[]> chunk = budgets;
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                        "INSERT INTO category_budget (amount, month, year, alert_sent, user_id, category_id, change_seq) " +
+                                "VALUES (?, ?, ?, false, ?, ?, ?)", chunk));
+                budgets = new ArrayList<>();
+            }
+        }
+    }
+
+    private void insertSavedTransactions(SyntheticDataSpec spec, Random random, Map<String, Category> categories,
+                                         List<Long> userIds, List<List<Long>> accountIds) {
+        ETransactionFrequency[] frequencies = ETransactionFrequency.values();
+        List<SavedTransaction> savedTransactions = new ArrayList<>();
+        for (int u = 0; u < userIds.size(); u++) {
+            for (int s = 0; s < spec.savedTransactionsPerUser(); s++) {
+                Spending spending = SPENDING.get(random.nextInt(SPENDING.size()));
+                Category category = categories.get(spending.category());
+                LocalDate upcomingDate = LocalDate.now().plusDays(random.nextInt(45) - 15);
+                savedTransactions.add(SavedTransaction.builder()
+                        .userId(userIds.get(u))
+                        .transactionTypeId(category.getTransactionType().getTransactionTypeId())
+                        .categoryId(category.getCategoryId())
+                        .accountId(accountIds.get(u).get(0))
+                        .amount(round(spending.median() * logNormal(random, 0.4)))
+                        .description(spending.merchants()[0])
+                        .frequency(frequencies[s % frequencies.length])
+                        .upcomingDate(upcomingDate)
+                        .startDate(upcomingDate)
+                        .build());
+            }
+            if (savedTransactions.size() >= CHUNK_SIZE / 10 || u == userIds.size() - 1) {
+                List<SavedTransaction> chunk = savedTransactions;
+                transactionTemplate.executeWithoutResult(status -> savedTransactionRepository.saveAll(chunk));
+                savedTransactions = new ArrayList<>();
+            }
+        }
+    }
+
+    private Object[] row(Long userId, Category category, Long accountId, String description, double amount,
+                         LocalDate date, long changeSeq) {
+        LocalDateTime timestamp = date.atTime(8, 0).plusMinutes(Math.floorMod(changeSeq * 37, 720));
+        return new Object[]{userId, category.getCategoryId(), accountId, description, amount, Date.valueOf(date),
+                Timestamp.valueOf(timestamp), changeSeq};
+    }
+
+    private Spending pick(Random random, int totalWeight) {
+        int target = random.nextInt(totalWeight);
+        for (Spending spending : SPENDING) {
+            target -= spending.weight();
+            if (target < 0) {
+                return spending;
+            }
+        }
+        return SPENDING.get(0);
+    }
+
+    private static double logNormal(Random random, double sigma) {
+        return Math.exp(random.nextGaussian() * sigma);
+    }
+
+    private static double round(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+
+    private record Spending(String category, int weight, double median, String... merchants) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.fullStack.expenseTracker.scale;
+
+/**
+ * Volumes of one generator run. Transactions are split over the users, everything else is per user.
+ */
+public record SyntheticDataSpec(int users,
+                                int accountsPerUser,
+                                long transactions,
+                                int budgetsPerUser,
+                                int savedTransactionsPerUser,
+                                int months,
+                                long seed) {
+
+    public SyntheticDataSpec {
+        if (users < 1 || accountsPerUser < 1 || months < 1) {
+            throw new IllegalArgumentException("At least one user, one account per user and one month are needed");
+        }
+    }
+
+    /**
+     * Around a thousand transactions per user over two years, like an active user of the app.
+     */
+    public static SyntheticDataSpec forTransactions(long transactions) {
+        int users = (int) Math.max(10, transactions / 1000);
+        return new SyntheticDataSpec(users, 3, transactions, 14, 3, 24, 42);
+    }
+}
@@ -0,0 +1,20 @@
+package com.fullStack.expenseTracker.scale;
+
+import com.fullStack.expenseTracker.models.Category;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a generator run created, for picking query parameters. User i has the email emailOf(runId, i).
+ */
+public record SyntheticDataset(String runId,
+                               List<Long> userIds,
+                               Map<String, Category> categories,
+                               long transactions,
+                               int months) {
+
+    public String email(int userIndex) {
+        return SyntheticDataGenerator.emailOf(runId, userIndex);
+    }
+}
@@ -0,0 +1,77 @@
+package com.fullStack.expenseTracker.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardUpdateServiceTests {
+
+    private final DashboardUpdateService service = new DashboardUpdateService();
+
+    // Push tasks are held back, like a client that reads nothing
+    private final List<Runnable> pushTasks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "pushTaskExecutor", (TaskExecutor) pushTasks::add);
+        ReflectionTestUtils.setField(service, "streamTimeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(service, "bufferSize", 4);
+        ReflectionTestUtils.setField(service, "maxStreamsPerUser", 2);
+    }
+
+    @Test
+    void disconnectsStreamThatFallsBehind() {
+        service.subscribe(1L);
+        service.subscribe(2L);
+
+        for (long budgetId = 1; budgetId <= 3; budgetId++) {
+            service.budgetDeleted(1L, budgetId);
+        }
+        assertTrue(service.hasSubscribers(1L));
+
+        service.budgetDeleted(1L, 4L);
+        assertFalse(service.hasSubscribers(1L));
+        assertTrue(service.hasSubscribers(2L));
+        assertEquals(2, pushTasks.size());
+    }
+
+    @Test
+    void drainedStreamKeepsUp() {
+        service.subscribe(1L);
+        for (long budgetId = 1; budgetId <= 20; budgetId++) {
+            service.budgetDeleted(1L, budgetId);
+            runPushTasks();
+        }
+
+        assertTrue(service.hasSubscribers(1L));
+    }
+
+    @Test
+    void newStreamReplacesOldestBeyondLimit() {
+        service.subscribe(1L);
+        service.subscribe(1L);
+        service.subscribe(1L);
+
+        assertEquals(2, streamsOf(1L));
+    }
+
+    private void runPushTasks() {
+        List<Runnable> tasks = new ArrayList<>(pushTasks);
+        pushTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int streamsOf(Long userId) {
+        Map<Long, List<?>> subscribers = (Map<Long, List<?>>) ReflectionTestUtils.getField(service, "subscribers");
+        return subscribers.get(userId).size();
+    }
+}
@@ -0,0 +1,92 @@
+package com.fullStack.expenseTracker.services;
+
+import com.fullStack.expenseTracker.dto.reponses.ApiResponseDto;
+import com.fullStack.expenseTracker.dto.reponses.FlightRecordingDto;
+import com.fullStack.expenseTracker.enums.ApiResponseStatus;
+import com.fullStack.expenseTracker.jfr.BusinessEventsAspect;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FlightRecorderServiceTests {
+
+    @TempDir
+    Path dumpDir;
+
+    private FlightRecorderService flightRecorderService;
+
+    @BeforeEach
+    void setUp() {
+        flightRecorderService = new FlightRecorderService();
+        ReflectionTestUtils.setField(flightRecorderService, "maxRecordings", 2);
+        ReflectionTestUtils.setField(flightRecorderService, "maxDuration", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(flightRecorderService, "maxSize", DataSize.ofMegabytes(16));
+        ReflectionTestUtils.setField(flightRecorderService, "dumpDir", dumpDir);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRecorderService.closeAll();
+    }
+
+    @Test
+    void dumpedRecordingContainsTheReportEvents() throws Exception {
+        ReportService target = mock(ReportService.class);
+        when(target.getMonthlySummaryByUser("someone@example.com")).thenReturn(ResponseEntity.ok(
+                new ApiResponseDto<>(ApiResponseStatus.SUCCESS, HttpStatus.OK, List.of())));
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addAspect(new BusinessEventsAspect());
+        ReportService reportService = proxyFactory.getProxy();
+
+        FlightRecordingDto recording = flightRecorderService.start("default", Duration.ofMinutes(1), "test");
+        assertEquals("RUNNING", recording.getState());
+        reportService.getMonthlySummaryByUser("someone@example.com");
+        flightRecorderService.stop(recording.getId());
+
+        Path file = flightRecorderService.dump(recording.getId());
+        RecordedEvent event = RecordingFile.readAllEvents(file).stream()
+                .filter(recorded -> recorded.getEventType().getName().equals("expensia.ReportComputation"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("getMonthlySummaryByUser", event.getString("report"));
+        assertEquals("SUCCESS", event.getString("status"));
+    }
+
+    @Test
+    void unknownProfilesAndTooLongDurationsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> flightRecorderService.start("../../secrets", Duration.ofMinutes(1), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> flightRecorderService.start("default", Duration.ofHours(1), null));
+        assertTrue(flightRecorderService.getRecordings().isEmpty());
+    }
+
+    @Test
+    void oldestStoppedRecordingMakesRoomAndRunningOnesDoNot() {
+        FlightRecordingDto first = flightRecorderService.start("default", null, "first");
+        flightRecorderService.start("default", null, "second");
+        assertThrows(IllegalStateException.class, () -> flightRecorderService.start("default", null, "third"));
+
+        flightRecorderService.stop(first.getId());
+        flightRecorderService.start("default", null, "third");
+
+        List<String> names = flightRecorderService.getRecordings().stream().map(FlightRecordingDto::getName).toList();
+        assertEquals(List.of("expensia-second", "expensia-third"), names);
+    }
+}
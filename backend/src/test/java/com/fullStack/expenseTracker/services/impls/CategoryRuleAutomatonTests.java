@@ -0,0 +1,72 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.models.Category;
+import com.fullStack.expenseTracker.models.CategoryRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CategoryRuleAutomatonTests {
+
+    private final Category subscriptions = category(1, "Subscriptions");
+
+    private final Category transport = category(2, "Transport");
+
+    private final Category food = category(3, "Food");
+
+    @Test
+    void matchesPatternsAnywhereIgnoringCase() {
+        CategoryRuleAutomaton automaton = new CategoryRuleAutomaton(List.of(
+                rule(1, "netflix", subscriptions, 0),
+                rule(2, "UBER", transport, 0)
+        ));
+
+        assertSame(subscriptions, automaton.match("NETFLIX.COM 1234").getCategory());
+        assertSame(transport, automaton.match("Trip with uber to airport").getCategory());
+        assertNull(automaton.match("Groceries"));
+    }
+
+    @Test
+    void prefersPriorityThenLongestPattern() {
+        CategoryRuleAutomaton automaton = new CategoryRuleAutomaton(List.of(
+                rule(1, "uber", transport, 0),
+                rule(2, "uber eats", food, 0),
+                rule(3, "eats", subscriptions, 5)
+        ));
+
+        assertSame(subscriptions, automaton.match("Uber Eats order").getCategory());
+        assertSame(food, new CategoryRuleAutomaton(List.of(
+                rule(1, "uber", transport, 0),
+                rule(2, "uber eats", food, 0)
+        )).match("Uber Eats order").getCategory());
+    }
+
+    @Test
+    void findsPatternsThatOverlapThroughFailureLinks() {
+        List<CategoryRule> rules = new ArrayList<>();
+        rules.add(rule(1, "abcd", transport, 0));
+        rules.add(rule(2, "bce", food, 0));
+        for (int i = 0; i < 300; i++) {
+            rules.add(rule(100 + i, "merchant" + i, subscriptions, 0));
+        }
+        CategoryRuleAutomaton automaton = new CategoryRuleAutomaton(rules);
+
+        assertSame(food, automaton.match("xabce").getCategory());
+        assertSame(subscriptions, automaton.match("paid merchant299 today").getCategory());
+    }
+
+    private CategoryRule rule(long id, String pattern, Category category, int priority) {
+        CategoryRule rule = new CategoryRule(null, pattern, category, priority);
+        rule.setId(id);
+        return rule;
+    }
+
+    private static Category category(int id, String name) {
+        Category category = new Category(name, null, true);
+        category.setCategoryId(id);
+        return category;
+    }
+}
@@ -0,0 +1,62 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DescriptionTrieTests {
+
+    private static final long DAY = 24 * 60 * 60;
+
+    private static final long NOW = 1_700_000_000L;
+
+    @Test
+    void ranksByFrequencyAndMatchesCaseInsensitively() {
+        DescriptionTrie trie = new DescriptionTrie(10, 30 * DAY, 100);
+        trie.add("Uber", 20, NOW);
+        trie.add("Uber Eats", 3, NOW);
+        trie.add("Udemy course", 1, NOW);
+
+        assertEquals(List.of("Uber", "Uber Eats", "Udemy course"), trie.suggest("u", 10));
+        assertEquals(List.of("Uber", "Uber Eats"), trie.suggest("UBE", 10));
+        assertEquals(List.of(), trie.suggest("x", 10));
+    }
+
+    @Test
+    void recentUsesOutrankOldFrequentOnes() {
+        DescriptionTrie trie = new DescriptionTrie(10, 30 * DAY, 100);
+        trie.add("Gym membership", 8, NOW - 365 * DAY);
+        trie.add("Groceries - Lidl", 2, NOW);
+
+        assertEquals(List.of("Groceries - Lidl", "Gym membership"), trie.suggest("g", 10));
+    }
+
+    @Test
+    void matchesWordStartsAndKeepsOnlyBestEntriesPerPrefix() {
+        DescriptionTrie trie = new DescriptionTrie(2, 30 * DAY, 100);
+        trie.add("Groceries - Lidl", 1, NOW);
+        trie.add("Cafe 1", 1, NOW);
+        trie.add("Cafe 2", 5, NOW);
+        trie.add("Cafe 3", 3, NOW);
+        trie.add("Cafe 1", 10, NOW + DAY);
+
+        assertEquals(List.of("Groceries - Lidl"), trie.suggest("lid", 10));
+        assertEquals(List.of("Cafe 1", "Cafe 2"), trie.suggest("cafe", 10));
+    }
+
+    @Test
+    void stopsAddingDescriptionsAtTheCapButKeepsCountingKnownOnes() {
+        DescriptionTrie trie = new DescriptionTrie(10, 30 * DAY, 2);
+        trie.add("Rent", 1, NOW);
+        trie.add("Restaurant", 1, NOW);
+        long bytes = trie.estimatedBytes();
+
+        trie.add("Refund", 50, NOW);
+        trie.add("Restaurant", 5, NOW);
+
+        assertEquals(List.of("Restaurant", "Rent"), trie.suggest("re", 10));
+        assertEquals(bytes, trie.estimatedBytes());
+    }
+}
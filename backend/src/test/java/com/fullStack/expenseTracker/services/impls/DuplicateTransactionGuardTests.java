@@ -0,0 +1,49 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuplicateTransactionGuardTests {
+
+    private final DuplicateTransactionGuard guard = new DuplicateTransactionGuard();
+
+    @Test
+    void fingerprintIgnoresDescriptionCaseAndSpacing() {
+        LocalDate date = LocalDate.of(2024, 1, 5);
+
+        assertEquals(guard.fingerprint(12.5, 3, 7L, "Coffee  shop ", date), guard.fingerprint(12.50, 3, 7L, "coffee shop", date));
+        assertNotEquals(guard.fingerprint(12.5, 3, 7L, "Coffee shop", date), guard.fingerprint(12.5, 3, null, "Coffee shop", date));
+    }
+
+    @Test
+    void secondClaimWithinWindowPointsAtOriginal() {
+        String fingerprint = guard.fingerprint(10, 1, null, "Lunch", LocalDate.of(2024, 1, 5));
+
+        assertTrue(guard.claim(1L, fingerprint));
+        assertFalse(guard.claim(1L, fingerprint));
+        assertNull(guard.originalOf(1L, fingerprint));
+        assertTrue(guard.claim(2L, fingerprint));
+
+        guard.attach(1L, fingerprint, 42L);
+        assertEquals(42L, guard.originalOf(1L, fingerprint));
+    }
+
+    @Test
+    void forgottenAndExpiredFingerprintsCanBeClaimedAgain() throws InterruptedException {
+        ReflectionTestUtils.setField(guard, "window", Duration.ofMillis(20));
+        String fingerprint = guard.fingerprint(10, 1, null, "Lunch", LocalDate.of(2024, 1, 5));
+
+        assertTrue(guard.claim(1L, fingerprint));
+        guard.forget(1L, fingerprint);
+        assertTrue(guard.claim(1L, fingerprint));
+
+        Thread.sleep(40);
+        assertFalse(guard.isRecent(1L, fingerprint));
+        assertTrue(guard.claim(1L, fingerprint));
+    }
+}
@@ -0,0 +1,111 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProfileThumbnailGeneratorTests {
+
+    @TempDir
+    Path uploadDir;
+
+    private LocalBlobStore blobStore;
+
+    private ProfileThumbnailGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new LocalBlobStore();
+        ReflectionTestUtils.setField(blobStore, "rootDir", uploadDir.toString());
+        ReflectionTestUtils.setField(blobStore, "publicBaseUrl", "/expensia/blobs");
+
+        generator = new ProfileThumbnailGenerator();
+        ReflectionTestUtils.setField(generator, "blobStore", blobStore);
+        ReflectionTestUtils.setField(generator, "thumbnailSizes", List.of(64, 256));
+    }
+
+    @Test
+    void storesOriginalAndBoundedThumbnails() throws Exception {
+        byte[] original = png(1000, 500);
+        String key = blobStore.putContentAddressed("profile-images/", new ByteArrayResource(original), original.length, "image/png", ".png");
+
+        generator.createThumbnails(key);
+
+        assertTrue(blobStore.exists(key));
+        assertDimensions(ProfileThumbnailGenerator.thumbnailKey(key, 64), 64, 32);
+        assertDimensions(ProfileThumbnailGenerator.thumbnailKey(key, 256), 256, 128);
+    }
+
+    @Test
+    void storesDuplicateContentOnceAndTracksUsage() throws Exception {
+        byte[] image = png(10, 10);
+
+        String first = blobStore.putContentAddressed("profile-images/", new ByteArrayResource(image), image.length, "image/png", ".png");
+        String second = blobStore.putContentAddressed("profile-images/", new ByteArrayResource(image), image.length, "image/png", ".png");
+
+        assertEquals(first, second);
+        assertEquals(image.length, blobStore.getUsedBytes());
+
+        blobStore.delete(first);
+
+        assertFalse(blobStore.exists(first));
+        assertEquals(0, blobStore.getUsedBytes());
+    }
+
+    @Test
+    void countsConcurrentUploadsOfTheSameContentOnce() throws Exception {
+        byte[] image = png(20, 20);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> uploads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                uploads.add(executor.submit(() -> blobStore.putContentAddressed("profile-images/", new ByteArrayResource(image), image.length, "image/png", ".png")));
+            }
+            for (Future<String> upload : uploads) {
+                upload.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(image.length, blobStore.getUsedBytes());
+    }
+
+    @Test
+    void mapsKeysToAndFromPublicUrls() {
+        String url = blobStore.getPublicUrl("profile-images/user-1.png");
+
+        assertEquals("/expensia/blobs/profile-images/user-1.png", url);
+        assertEquals("profile-images/user-1.png", blobStore.getKeyFromUrl(url));
+        assertThrows(IllegalArgumentException.class, () -> blobStore.exists("../outside.png"));
+    }
+
+    private void assertDimensions(String key, int width, int height) throws Exception {
+        try (InputStream in = blobStore.get(key)) {
+            BufferedImage thumbnail = ImageIO.read(in);
+            assertEquals(width, thumbnail.getWidth());
+            assertEquals(height, thumbnail.getHeight());
+        }
+    }
+
+    private byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,134 @@
+package com.fullStack.expenseTracker.services.impls;
+
+import com.fullStack.expenseTracker.enums.AccountType;
+import com.fullStack.expenseTracker.enums.ETransactionType;
+import com.fullStack.expenseTracker.enums.OutboxEventType;
+import com.fullStack.expenseTracker.models.*;
+import com.fullStack.expenseTracker.outbox.OutboxDispatcher;
+import com.fullStack.expenseTracker.outbox.OutboxWriter;
+import com.fullStack.expenseTracker.outbox.SearchIndexConsumer;
+import com.fullStack.expenseTracker.repository.*;
+import com.fullStack.expenseTracker.sync.ChangeSequencer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({StatementChunkWriter.class, TransactionSearchIndexer.class, ChangeSequencer.class, OutboxWriter.class,
+        SearchIndexConsumer.class, JacksonAutoConfiguration.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:imports;MODE=MySQL;NON_KEYWORDS=MONTH,YEAR,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class StatementChunkWriterTests {
+
+    @Autowired
+    private StatementChunkWriter statementChunkWriter;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionTypeRepository transactionTypeRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private SearchIndexConsumer searchIndexConsumer;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private OutboxDispatcher outboxDispatcher;
+
+    private User alice;
+
+    private Account checking;
+
+    private Category groceries;
+
+    private Category salary;
+
+    @BeforeEach
+    void setUp() {
+        TransactionType expense = transactionTypeRepository.save(new TransactionType(ETransactionType.TYPE_EXPENSE));
+        TransactionType income = transactionTypeRepository.save(new TransactionType(ETransactionType.TYPE_INCOME));
+        groceries = categoryRepository.save(new Category("Groceries", expense, true));
+        salary = categoryRepository.save(new Category("Salary", income, true));
+
+        User user = new User();
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword("password");
+        user.setEnabled(true);
+        alice = userRepository.save(user);
+        checking = accountRepository.save(new Account("Checking", AccountType.BANK, 100, alice));
+    }
+
+    @Test
+    void insertsChunkAdjustsBalanceAndRecordsEvents() throws Exception {
+        statementChunkWriter.write(alice.getId(), List.of(
+                new ImportedRow("fp-1", groceries, checking, "Lidl Berlin", 30, LocalDate.of(2024, 1, 5)),
+                new ImportedRow("fp-2", salary, checking, "Payroll January", 500, LocalDate.of(2024, 1, 31)),
+                new ImportedRow("fp-3", groceries, null, "Cash market", 10, LocalDate.of(2024, 1, 6))
+        ));
+        entityManager.clear();
+
+        assertEquals(570, accountRepository.findById(checking.getId()).orElseThrow().getBalance(), 0.001);
+        assertEquals(List.of("fp-1", "fp-3"), transactionRepository.findExistingImportFingerprints(alice.getId(), List.of("fp-1", "fp-3", "fp-9"))
+                .stream().sorted().toList());
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(3, events.stream().filter(event -> event.getEventType() == OutboxEventType.TRANSACTION_CREATED).count());
+        assertEquals(List.of(checking.getId()), events.stream()
+                .filter(event -> event.getEventType() == OutboxEventType.ACCOUNT_CHANGED)
+                .map(OutboxEvent::getAggregateId)
+                .toList());
+
+        // Search tokens are derived from the events
+        searchIndexConsumer.handle(events);
+        TransactionFilter filter = new TransactionFilter();
+        filter.setUserId(alice.getId());
+        filter.setSearching(true);
+        filter.setDescriptionTokens(List.of("lidl"));
+        assertEquals(1, transactionRepository.search(filter, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void rejectsFingerprintTheUserAlreadyHas() {
+        statementChunkWriter.write(alice.getId(), List.of(
+                new ImportedRow("fp-1", groceries, checking, "Lidl Berlin", 30, LocalDate.of(2024, 1, 5))));
+
+        assertThrows(DataIntegrityViolationException.class, () -> statementChunkWriter.write(alice.getId(), List.of(
+                new ImportedRow("fp-1", groceries, checking, "Lidl Berlin", 30, LocalDate.of(2024, 1, 5)))));
+    }
+}
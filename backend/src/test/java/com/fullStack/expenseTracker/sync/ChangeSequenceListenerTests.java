@@ -0,0 +1,109 @@
+package com.fullStack.expenseTracker.sync;
+
+import com.fullStack.expenseTracker.enums.AccountType;
+import com.fullStack.expenseTracker.enums.ETransactionType;
+import com.fullStack.expenseTracker.enums.SyncEntityType;
+import com.fullStack.expenseTracker.models.*;
+import com.fullStack.expenseTracker.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(ChangeSequencer.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sync;MODE=MySQL;NON_KEYWORDS=MONTH,YEAR,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ChangeSequenceListenerTests {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private SyncTombstoneRepository syncTombstoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionTypeRepository transactionTypeRepository;
+
+    private User alice;
+
+    private User bob;
+
+    private Category groceries;
+
+    @BeforeEach
+    void setUp() {
+        TransactionType expense = transactionTypeRepository.save(new TransactionType(ETransactionType.TYPE_EXPENSE));
+        groceries = categoryRepository.save(new Category("Groceries", expense, true));
+        alice = userRepository.save(user("alice", "alice@example.com"));
+        bob = userRepository.save(user("bob", "bob@example.com"));
+    }
+
+    @Test
+    void numbersWritesPerUserInOrder() {
+        Account checking = accountRepository.saveAndFlush(new Account("Checking", AccountType.BANK, 100, alice));
+        Transaction lunch = transactionRepository.saveAndFlush(new Transaction(alice, groceries, checking, "Lunch", 12, LocalDate.of(2024, 1, 5)));
+        Account bobs = accountRepository.saveAndFlush(new Account("Savings", AccountType.BANK, 0, bob));
+
+        checking.setBalance(88);
+        accountRepository.saveAndFlush(checking);
+
+        assertEquals(2L, lunch.getChangeSeq());
+        assertEquals(3L, checking.getChangeSeq());
+        assertEquals(1L, bobs.getChangeSeq());
+
+        assertEquals(List.of(checking.getId()), accountRepository
+                .findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(alice.getId(), 2L, PageRequest.of(0, 10))
+                .stream().map(Account::getId).toList());
+        assertTrue(transactionRepository
+                .findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(alice.getId(), 2L, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void leavesTombstoneOnDelete() {
+        Transaction lunch = transactionRepository.saveAndFlush(new Transaction(alice, groceries, "Lunch", 12, LocalDate.of(2024, 1, 5)));
+
+        transactionRepository.delete(lunch);
+        transactionRepository.flush();
+
+        List<SyncTombstone> tombstones = syncTombstoneRepository
+                .findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(alice.getId(), lunch.getChangeSeq(), PageRequest.of(0, 10));
+        assertEquals(1, tombstones.size());
+        assertEquals(SyncEntityType.TRANSACTION, tombstones.get(0).getEntityType());
+        assertEquals(lunch.getTransactionId(), tombstones.get(0).getEntityId());
+        assertEquals(2L, tombstones.get(0).getChangeSeq());
+    }
+
+    private User user(String username, String email) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setEnabled(true);
+        return user;
+    }
+}
@@ -0,0 +1,112 @@
+package com.fullStack.expenseTracker.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.contextpropagation.ObservationAwareSpanThreadLocalAccessor;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingTests {
+
+    interface SampleRepository {
+        String findByName(String name);
+    }
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+
+    private SdkTracerProvider tracerProvider;
+
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = dir.resolve("spans.jsonl");
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(file)))
+                .build();
+        tracer = new OtelTracer(tracerProvider.get("test"), new OtelCurrentTraceContext(), event -> {
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        ContextRegistry.getInstance().removeThreadLocalAccessor(ObservationAwareSpanThreadLocalAccessor.KEY);
+        tracerProvider.close();
+    }
+
+    @Test
+    void repositorySpansAreWrittenAsChildrenOfTheCallerSpan() throws IOException {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setInterfaces(SampleRepository.class);
+        proxyFactory.setTarget((SampleRepository) name -> name);
+        proxyFactory.addAdvice(new RepositorySpanInterceptor(() -> tracer, SampleRepository.class));
+        SampleRepository repository = (SampleRepository) proxyFactory.getProxy();
+
+        Span parent = tracer.nextSpan().name("GET /api/test").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(parent)) {
+            assertEquals("groceries", repository.findByName("groceries"));
+        } finally {
+            parent.end();
+        }
+
+        Map<?, ?> span = writtenSpans().stream()
+                .filter(written -> "SampleRepository.findByName".equals(written.get("name")))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(parent.context().traceId(), span.get("traceId"));
+        assertEquals(parent.context().spanId(), span.get("parentSpanId"));
+        assertEquals("findByName", ((Map<?, ?>) span.get("attributes")).get("code.function"));
+    }
+
+    @Test
+    void asyncTasksContinueTheTraceOfTheCaller() throws Exception {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(
+                new ObservationAwareSpanThreadLocalAccessor(ObservationRegistry.create(), tracer));
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.initialize();
+
+        Span parent = tracer.nextSpan().name("service").start();
+        try (Tracer.SpanInScope ignored = tracer.withSpan(parent)) {
+            Future<String> traceId = executor.submit(() -> tracer.currentSpan().context().traceId());
+            assertEquals(parent.context().traceId(), traceId.get());
+        } finally {
+            parent.end();
+            executor.shutdown();
+        }
+    }
+
+    private List<Map<?, ?>> writtenSpans() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Map<?, ?>> spans = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            spans.add(objectMapper.readValue(line, Map.class));
+        }
+        return spans;
+    }
+}
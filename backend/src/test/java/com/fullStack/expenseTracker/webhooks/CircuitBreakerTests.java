@@ -0,0 +1,41 @@
+package com.fullStack.expenseTracker.webhooks;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTests {
+
+    @Test
+    void letsOneTrialThroughAfterTheOpenPeriod() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 1000);
+        breaker.recordFailure(0);
+        assertTrue(breaker.allowRequest(0));
+        breaker.recordFailure(0);
+        assertFalse(breaker.allowRequest(999));
+
+        assertTrue(breaker.allowRequest(1000));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest(1000));
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void releasedTrialOpensTheBreakerForAnotherPeriod() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 1000);
+        breaker.recordFailure(0);
+        assertTrue(breaker.allowRequest(1000));
+
+        breaker.releaseTrial(1500);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest(2499));
+        assertTrue(breaker.allowRequest(2500));
+
+        // Outside a trial releasing changes nothing
+        breaker.recordSuccess();
+        breaker.releaseTrial(3000);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -0,0 +1,187 @@
+package com.fullStack.expenseTracker.webhooks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fullStack.expenseTracker.enums.OutboxEventType;
+import com.fullStack.expenseTracker.enums.WebhookTopic;
+import com.fullStack.expenseTracker.models.OutboxEvent;
+import com.fullStack.expenseTracker.models.WebhookDelivery;
+import com.fullStack.expenseTracker.models.WebhookEndpoint;
+import com.fullStack.expenseTracker.repository.OutboxEventRepository;
+import com.fullStack.expenseTracker.repository.WebhookDeliveryRepository;
+import com.fullStack.expenseTracker.repository.WebhookEndpointRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({WebhookConsumer.class, WebhookDeliverer.class, WebhookTargetPolicy.class, JacksonAutoConfiguration.class,
+        WebhookDelivererTests.SyncExecutorConfig.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:webhooks;MODE=MySQL;NON_KEYWORDS=MONTH,YEAR,VALUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.webhooks.retry-delay=1m",
+        "app.webhooks.circuit.failure-threshold=2",
+        "app.webhooks.allow-private-targets=true"
+})
+class WebhookDelivererTests {
+
+    @Autowired
+    private WebhookConsumer webhookConsumer;
+
+    @Autowired
+    private WebhookDeliverer webhookDeliverer;
+
+    @Autowired
+    private WebhookEndpointRepository webhookEndpointRepository;
+
+    @Autowired
+    private WebhookDeliveryRepository webhookDeliveryRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Local stand-in for the receiving systems
+    private HttpServer receiver;
+
+    private final List<Received> received = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        receiver = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        receiver.createContext("/", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            received.add(new Received(
+                    exchange.getRequestURI().getPath(),
+                    exchange.getRequestHeaders().getFirst(WebhookSignature.TIMESTAMP_HEADER),
+                    exchange.getRequestHeaders().getFirst(WebhookSignature.SIGNATURE_HEADER),
+                    body
+            ));
+            exchange.sendResponseHeaders(exchange.getRequestURI().getPath().startsWith("/down") ? 503 : 204, -1);
+            exchange.close();
+        });
+        receiver.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        receiver.stop(0);
+    }
+
+    @Test
+    void deliversSignedBatchPerEndpointAndTopic() throws Exception {
+        WebhookEndpoint transactions = endpoint("/transactions", WebhookTopic.TRANSACTION);
+        WebhookEndpoint budgets = endpoint("/budgets", WebhookTopic.BUDGET);
+
+        webhookConsumer.handle(List.of(
+                event(OutboxEventType.TRANSACTION_CREATED, "{\"transactionId\":1,\"amount\":12.5}"),
+                event(OutboxEventType.ACCOUNT_CHANGED, "{\"accountId\":3}"),
+                event(OutboxEventType.TRANSACTION_DELETED, "{\"transactionId\":2}"),
+                event(OutboxEventType.BUDGET_CHANGED, "{\"budgetId\":4}")
+        ));
+        webhookDeliverer.poll();
+
+        Received batch = received(transactions);
+        JsonNode events = objectMapper.readTree(batch.body).get("events");
+        assertEquals(2, events.size());
+        assertEquals("TRANSACTION_CREATED", events.get(0).get("type").asText());
+        assertEquals(12.5, events.get(0).get("data").get("amount").asDouble());
+        assertEquals("TRANSACTION_DELETED", events.get(1).get("type").asText());
+        assertEquals(WebhookSignature.sign(transactions.getSecret(), Long.parseLong(batch.timestamp), batch.body), batch.signature);
+
+        assertEquals(1, objectMapper.readTree(received(budgets).body).get("events").size());
+        assertEquals(2, received.size());
+        assertEquals(0, webhookDeliveryRepository.count());
+        assertEquals(2, webhookDeliverer.getStatus(transactions.getId()).getDeliveredEvents());
+    }
+
+    @Test
+    void failingEndpointIsRetriedWithBackoffUntilItsCircuitOpens() {
+        WebhookEndpoint down = endpoint("/down", WebhookTopic.TRANSACTION);
+        webhookConsumer.handle(List.of(event(OutboxEventType.TRANSACTION_CREATED, "{\"transactionId\":1}")));
+
+        webhookDeliverer.poll();
+        WebhookDelivery delivery = webhookDeliveryRepository.findAll().get(0);
+        assertEquals(1, delivery.getAttempts());
+        assertEquals("HTTP 503", delivery.getLastError());
+        assertTrue(delivery.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(50)));
+
+        // Not due yet
+        webhookDeliverer.poll();
+        assertEquals(1, received.size());
+
+        makeDue(delivery);
+        webhookDeliverer.poll();
+        assertEquals(2, received.size());
+        assertEquals(CircuitBreaker.State.OPEN, webhookDeliverer.getStatus(down.getId()).getCircuit());
+
+        // Due again, but the open circuit keeps the endpoint from being called
+        makeDue(webhookDeliveryRepository.findAll().get(0));
+        webhookDeliverer.poll();
+        assertEquals(2, received.size());
+        assertEquals(1, webhookDeliverer.getStatus(down.getId()).getPendingDeliveries());
+        assertEquals(2, webhookDeliverer.getStatus(down.getId()).getFailedAttempts());
+    }
+
+    private WebhookEndpoint endpoint(String path, WebhookTopic topic) {
+        String url = "http://127.0.0.1:" + receiver.getAddress().getPort() + path;
+        return webhookEndpointRepository.save(new WebhookEndpoint(null, url, "secret" + path, Set.of(topic)));
+    }
+
+    private OutboxEvent event(OutboxEventType type, String payload) {
+        return outboxEventRepository.save(new OutboxEvent(1L, type, 1L, payload));
+    }
+
+    private void makeDue(WebhookDelivery delivery) {
+        delivery.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        webhookDeliveryRepository.save(delivery);
+    }
+
+    private Received received(WebhookEndpoint endpoint) {
+        return received.stream()
+                .filter(request -> endpoint.getUrl().endsWith(request.path))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private record Received(String path, String timestamp, String signature, String body) {
+    }
+
+    @TestConfiguration
+    static class SyncExecutorConfig {
+
+        @Bean(name = "webhookTaskExecutor")
+        TaskExecutor webhookTaskExecutor() {
+            return new SyncTaskExecutor();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.fullStack.expenseTracker.webhooks;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetAddress;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebhookTargetPolicyTests {
+
+    @Test
+    void refusesLoopbackPrivateLinkLocalAndReservedAddresses() throws Exception {
+        for (String address : new String[]{"127.0.0.1", "0.0.0.0", "10.1.2.3", "172.16.0.1", "192.168.1.1",
+                "169.254.169.254", "100.64.0.1", "::1", "fe80::1", "fd00::1", "::ffff:127.0.0.1"}) {
+            assertFalse(WebhookTargetPolicy.isPublic(InetAddress.getByName(address)), address);
+        }
+        assertTrue(WebhookTargetPolicy.isPublic(InetAddress.getByName("93.184.216.34")));
+        assertTrue(WebhookTargetPolicy.isPublic(InetAddress.getByName("2606:2800:220:1:248:1893:25c8:1946")));
+    }
+
+    @Test
+    void checksEveryUrlUnlessPrivateTargetsAreAllowed() {
+        WebhookTargetPolicy policy = new WebhookTargetPolicy();
+
+        assertFalse(policy.isAllowed(URI.create("http://127.0.0.1:8081/actuator")));
+        assertFalse(policy.isAllowed(URI.create("http://169.254.169.254/latest/meta-data")));
+        assertTrue(policy.isAllowed(URI.create("https://93.184.216.34/hooks")));
+
+        ReflectionTestUtils.setField(policy, "allowPrivateTargets", true);
+        assertTrue(policy.isAllowed(URI.create("http://127.0.0.1:8081/hooks")));
+    }
+}